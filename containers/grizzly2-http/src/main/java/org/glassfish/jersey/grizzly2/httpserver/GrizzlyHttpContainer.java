@@ -41,12 +41,12 @@ package org.glassfish.jersey.grizzly2.httpserver;
 
 import java.io.OutputStream;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -71,14 +71,18 @@ import org.glassfish.hk2.TypeLiteral;
 import org.glassfish.hk2.scopes.PerLookup;
 
 import org.glassfish.jersey.internal.inject.AbstractModule;
+import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ExtendedLogger;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.internal.HeaderSource;
 import org.glassfish.jersey.message.internal.Requests;
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.internal.ApplicationHandlerReference;
+import org.glassfish.jersey.server.internal.BaseUriCache;
 import org.glassfish.jersey.server.internal.ConfigHelper;
 import org.glassfish.jersey.server.spi.Container;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
@@ -86,6 +90,7 @@ import org.glassfish.jersey.server.spi.ContainerRequestContext;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.server.spi.JerseyContainerRequestContext;
 import org.glassfish.jersey.server.spi.RequestScopedInitializer;
+import org.glassfish.jersey.uri.UriComponent;
 
 /**
  * Grizzly 2 Jersey HTTP Container.
@@ -160,33 +165,34 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
     private final static class ResponseWriter implements ContainerResponseWriter {
 
-        private final String name;
         private final Response grizzlyResponse;
+        /**
+         * Set once the Grizzly response has been suspended by this writer, so that
+         * responses of synchronously processed requests never touch the Grizzly
+         * response suspend state.
+         */
+        private volatile boolean suspended;
 
         ResponseWriter(final Response response) {
             this.grizzlyResponse = response;
 
-            if (logger.isDebugLoggable()) {
-                this.name = "ResponseWriter {" + "id=" + UUID.randomUUID().toString() + ", grizzlyResponse=" + grizzlyResponse.hashCode() + '}';
-                logger.debugLog("{0} - init", name);
-            } else {
-                this.name = "ResponseWriter";
-            }
+            logger.debugLog("{0} - init", this);
         }
 
         @Override
         public String toString() {
-            return name;
+            return "ResponseWriter {" + "id=" + System.identityHashCode(this)
+                    + ", grizzlyResponse=" + grizzlyResponse.hashCode() + '}';
         }
 
         @Override
         public void commit() {
             try {
-                if (grizzlyResponse.isSuspended()) {
+                if (suspended && grizzlyResponse.isSuspended()) {
                     grizzlyResponse.resume();
                 }
             } finally {
-                logger.debugLog("{0} - commit() called", name);
+                logger.debugLog("{0} - commit() called", this);
             }
         }
 
@@ -195,13 +201,14 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
             try {
                 grizzlyResponse.cancel();
             } finally {
-                logger.debugLog("{0} - cancel() called", name);
+                logger.debugLog("{0} - cancel() called", this);
             }
         }
 
         @Override
         public void suspend(final long timeOut, final TimeUnit timeUnit, final TimeoutHandler timeoutHandler) {
             try {
+                suspended = true;
                 grizzlyResponse.suspend(timeOut, timeUnit, EMPTY_COMPLETION_HANDLER,
                         new org.glassfish.grizzly.http.server.TimeoutHandler() {
 
@@ -216,7 +223,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
                             }
                         });
             } finally {
-                logger.debugLog("{0} - suspend(...) called", name);
+                logger.debugLog("{0} - suspend(...) called", this);
             }
         }
 
@@ -225,7 +232,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
             try {
                 grizzlyResponse.getSuspendContext().setTimeout(timeOut, timeUnit);
             } finally {
-                logger.debugLog("{0} - setSuspendTimeout(...) called", name);
+                logger.debugLog("{0} - setSuspendTimeout(...) called", this);
             }
         }
 
@@ -249,13 +256,34 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
                 return grizzlyResponse.getOutputStream();
             } finally {
-                logger.debugLog("{0} - writeResponseStatusAndHeaders() called", name);
+                logger.debugLog("{0} - writeResponseStatusAndHeaders() called", this);
             }
         }
     }
 
-    private volatile ApplicationHandler appHandler;
-    private final ContainerLifecycleListener containerListener;
+    /**
+     * Factories of the request-scoped Grizzly request and response references, resolved
+     * once per application services instance (i.e. again after the application is reloaded).
+     */
+    private static final class ReferenceFactories {
+
+        private final Services services;
+        private final Factory<Ref<Request>> requestReference;
+        private final Factory<Ref<Response>> responseReference;
+
+        ReferenceFactories(final Services services) {
+            this.services = services;
+            this.requestReference = Providers.asFactory(
+                    services.forContract(new TypeLiteral<Ref<Request>>() {}).getProvider());
+            this.responseReference = Providers.asFactory(
+                    services.forContract(new TypeLiteral<Ref<Response>>() {}).getProvider());
+        }
+    }
+
+    private final ApplicationHandlerReference appHandler;
+    private volatile ContainerLifecycleListener containerListener;
+    private volatile ReferenceFactories referenceFactories;
+    private final BaseUriCache baseUriCache = new BaseUriCache();
 
     /**
      * Creates a new Grizzly container.
@@ -263,10 +291,10 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
      * @param application Jersey application to be deployed on Grizzly container.
      */
     GrizzlyHttpContainer(final ApplicationHandler application) {
-        this.appHandler = application;
+        this.appHandler = new ApplicationHandlerReference(application);
         this.containerListener = ConfigHelper.getContainerLifecycleListener(application);
 
-        this.appHandler.registerAdditionalModules(new HashSet<Module>() {{add(new GrizzlyModule());}});
+        application.registerAdditionalModules(new HashSet<Module>() {{add(new GrizzlyModule());}});
     }
 
     @Override
@@ -278,6 +306,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
     @Override
     public void service(final Request request, final Response response) {
         final ResponseWriter responseWriter = new ResponseWriter(response);
+        final ApplicationHandlerReference.Lease lease = appHandler.acquire();
         try {
             logger.debugLog("GrizzlyHttpContaner.service(...) started");
             ContainerRequestContext containerRequestContext = new JerseyContainerRequestContext(toJaxrsRequest(request), responseWriter,
@@ -285,30 +314,42 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
                     @Override
                     public void initialize(Services services) {
-                        services.forContract(new TypeLiteral<Ref<Request>>() {}).get().set(request);
-                        services.forContract(new TypeLiteral<Ref<Response>>() {}).get().set(response);
+                        final ReferenceFactories factories = getReferenceFactories(services);
+                        factories.requestReference.get().set(request);
+                        factories.responseReference.get().set(response);
                     }
                 });
-            appHandler.apply(containerRequestContext);
+            lease.getHandler().apply(containerRequestContext);
         } finally {
+            lease.release();
             // TODO if writer not closed or suspended yet, suspend.
             logger.debugLog("GrizzlyHttpContaner.service(...) finished");
         }
     }
 
+    private ReferenceFactories getReferenceFactories(final Services services) {
+        ReferenceFactories factories = referenceFactories;
+        if (factories == null || factories.services != services) {
+            factories = new ReferenceFactories(services);
+            referenceFactories = factories;
+        }
+        return factories;
+    }
+
     @Override
     public ResourceConfig getConfiguration() {
-        return appHandler.getConfiguration();
+        return appHandler.get().getConfiguration();
     }
 
     @Override
     public void reload() {
-        reload(appHandler.getConfiguration());
+        reload(getConfiguration());
     }
 
     @Override
     public void reload(ResourceConfig configuration) {
-        appHandler = new ApplicationHandler(configuration.addModules(new GrizzlyModule()));
+        containerListener = ConfigHelper.getContainerLifecycleListener(
+                appHandler.reload(configuration.addModules(new GrizzlyModule())));
         containerListener.onReload(this);
     }
 
@@ -316,6 +357,7 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
     public void destroy() {
         super.destroy();
         containerListener.onShutdown(this);
+        appHandler.destroy();
     }
 
     private SecurityContext getSecurityContext(final Request request) {
@@ -344,12 +386,8 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
     }
 
     private URI getBaseUri(final Request request) {
-        try {
-            return new URI(request.getScheme(), null, request.getServerName(),
-                    request.getServerPort(), getBasePath(request), null, null);
-        } catch (final URISyntaxException ex) {
-            throw new IllegalArgumentException(ex);
-        }
+        return baseUriCache.get(request.getScheme(), request.getServerName(), request.getServerPort(),
+                getBasePath(request));
     }
 
     private String getBasePath(final Request request) {
@@ -368,29 +406,67 @@ public final class GrizzlyHttpContainer extends HttpHandler implements Container
 
         final URI baseUri = getBaseUri(grizzlyRequest);
 
-        // TODO: this is terrible, there must be a way to obtain the original request URI!
-        String originalURI = UriBuilder
-                .fromPath(
-                        grizzlyRequest.getRequest().getRequestURIRef().getOriginalRequestURIBC()
-                                .toString(Charsets.DEFAULT_CHARSET)).build().toString();
+        final URI requestUri = getRequestUri(baseUri, grizzlyRequest);
+
+        final String method = grizzlyRequest.getMethod().getMethodString();
+
+        RequestBuilder rb = Requests.from(baseUri, requestUri, method, grizzlyRequest.getInputStream());
+        Requests.setHeaderSource(rb, new GrizzlyHeaderSource(grizzlyRequest));
+
+        return rb.build();
+    }
+
+    private URI getRequestUri(final URI baseUri, final Request grizzlyRequest) {
+        String originalURI = grizzlyRequest.getRequest().getRequestURIRef().getOriginalRequestURIBC()
+                .toString(Charsets.DEFAULT_CHARSET);
 
-        String queryString = grizzlyRequest.getQueryString();
+        final String queryString = grizzlyRequest.getQueryString();
+        if (UriComponent.valid(originalURI, UriComponent.Type.PATH)) {
+            // the request URI sent over the wire is properly encoded in the common case
+            try {
+                return baseUri.resolve(queryString == null ? originalURI : originalURI + "?" + queryString);
+            } catch (IllegalArgumentException ex) {
+                // malformed percent-encoded octets; fall back to contextual encoding
+            }
+        }
+
+        // TODO: this is terrible, there must be a way to obtain the original request URI!
+        originalURI = UriBuilder.fromPath(originalURI).build().toString();
         if (queryString != null) {
             originalURI = originalURI + "?" + queryString;
         }
 
-        final URI requestUri = baseUri.resolve(originalURI);
+        return baseUri.resolve(originalURI);
+    }
 
-        final String method = grizzlyRequest.getMethod().getMethodString();
+    /**
+     * Request header source reading the headers through from the Grizzly request.
+     */
+    private static final class GrizzlyHeaderSource implements HeaderSource {
 
-        RequestBuilder rb = Requests.from(baseUri, requestUri, method, grizzlyRequest.getInputStream());
+        private final Request grizzlyRequest;
 
-        for (String name : grizzlyRequest.getHeaderNames()) {
-            for (String value : grizzlyRequest.getHeaders(name)) {
-                rb.header(name, value);
-            }
+        GrizzlyHeaderSource(final Request grizzlyRequest) {
+            this.grizzlyRequest = grizzlyRequest;
         }
 
-        return rb.build();
+        @Override
+        public Iterable<String> getHeaderNames() {
+            return grizzlyRequest.getHeaderNames();
+        }
+
+        @Override
+        public List<String> getHeaderValues(final String name) {
+            final Iterator<String> values = grizzlyRequest.getHeaders(name).iterator();
+            if (!values.hasNext()) {
+                return null;
+            }
+
+            final List<String> valueList = new ArrayList<String>(1);
+            do {
+                valueList.add(values.next());
+            } while (values.hasNext());
+            return valueList;
+        }
     }
 }
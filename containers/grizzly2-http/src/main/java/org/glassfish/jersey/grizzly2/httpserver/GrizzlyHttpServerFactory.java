@@ -42,18 +42,35 @@ package org.glassfish.jersey.grizzly2.httpserver;
 import java.io.IOException;
 import java.net.URI;
 
+import org.glassfish.grizzly.http.KeepAlive;
 import org.glassfish.grizzly.http.server.HttpHandler;
 import org.glassfish.grizzly.http.server.HttpServer;
 import org.glassfish.grizzly.http.server.NetworkListener;
 import org.glassfish.grizzly.http.server.ServerConfiguration;
+import org.glassfish.grizzly.nio.transport.TCPNIOTransport;
 import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
 import org.glassfish.jersey.internal.ProcessingException;
 import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerConfiguration;
 import org.glassfish.jersey.server.ContainerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.monitoring.WorkerPool;
 
 /**
  * Factory for creating Grizzly Http Server.
+ * <p/>
+ * Unless a {@link ContainerConfiguration container configuration} is provided, the server
+ * uses the Grizzly default worker thread pool and network settings. If provided, the requests
+ * are processed by a bounded {@link org.glassfish.jersey.server.monitoring.WorkerPool worker pool}
+ * and all the configured network and keep-alive settings are applied to the server listener.
+ * Idle worker threads are released after the configured idle timeout, the worker pool is shut
+ * down when the server is {@link HttpServer#stop() stopped}.
+ * <p/>
+ * Grizzly hands the accepted connections off to the worker pool from its selector threads
+ * before the request is parsed. These threads must never process a request, so connections
+ * handed off to a saturated pool (all the workers busy and the queue full) are
+ * {@link WorkerPool.SaturationPolicy#REJECT rejected} and closed by Grizzly; the configured
+ * worker queue capacity determines the size of the bursts the server absorbs.
  *
  * @author Jakub Podlesak (jakub.podlesak at oracle.com)
  * @author Pavel Bucek (pavel.bucek at oracle.com)
@@ -72,7 +89,7 @@ public class GrizzlyHttpServerFactory {
      * @throws ProcessingException
      */
     public static HttpServer createHttpServer(final URI uri, final ResourceConfig configuration) throws ProcessingException {
-        return createHttpServer(uri, ContainerFactory.createContainer(GrizzlyHttpContainer.class, configuration), false, null);
+        return createHttpServer(uri, ContainerFactory.createContainer(GrizzlyHttpContainer.class, configuration), false, null, null);
     }
 
     /**
@@ -84,7 +101,7 @@ public class GrizzlyHttpServerFactory {
      * @throws ProcessingException
      */
     public static HttpServer createHttpServer(final URI uri, final ApplicationHandler appHandler) throws ProcessingException {
-        return createHttpServer(uri, new GrizzlyHttpContainer(appHandler), false, null);
+        return createHttpServer(uri, new GrizzlyHttpContainer(appHandler), false, null, null);
     }
 
     /**
@@ -95,7 +112,7 @@ public class GrizzlyHttpServerFactory {
      * @throws ProcessingException
      */
     public static HttpServer createHttpServer(final URI uri) throws ProcessingException {
-        return createHttpServer(uri, (GrizzlyHttpContainer) null, false, null);
+        return createHttpServer(uri, (GrizzlyHttpContainer) null, false, null, null);
     }
 
     /**
@@ -111,7 +128,7 @@ public class GrizzlyHttpServerFactory {
                                               final ResourceConfig configuration,
                                               final boolean secure,
                                               final SSLEngineConfigurator sslEngineConfigurator) {
-        return createHttpServer(uri, ContainerFactory.createContainer(GrizzlyHttpContainer.class, configuration), secure, sslEngineConfigurator);
+        return createHttpServer(uri, ContainerFactory.createContainer(GrizzlyHttpContainer.class, configuration), secure, sslEngineConfigurator, null);
     }
 
     /**
@@ -127,10 +144,58 @@ public class GrizzlyHttpServerFactory {
                                               final ApplicationHandler appHandler,
                                               final boolean secure,
                                               final SSLEngineConfigurator sslEngineConfigurator) {
-        return createHttpServer(uri, new GrizzlyHttpContainer(appHandler), secure, sslEngineConfigurator);
+        return createHttpServer(uri, new GrizzlyHttpContainer(appHandler), secure, sslEngineConfigurator, null);
     }
 
+    /**
+     * Creates HttpServer instance.
+     *
+     * @param uri URI on which the Jersey web application will be deployed.
+     * @param configuration web application configuration.
+     * @param containerConfiguration worker pool and network configuration of the server.
+     * @return newly created {@link HttpServer}.
+     * @throws ProcessingException
+     */
+    public static HttpServer createHttpServer(final URI uri,
+                                              final ResourceConfig configuration,
+                                              final ContainerConfiguration containerConfiguration) throws ProcessingException {
+        return createHttpServer(uri, ContainerFactory.createContainer(GrizzlyHttpContainer.class, configuration), false, null,
+                containerConfiguration);
+    }
 
+    /**
+     * Creates HttpServer instance.
+     *
+     * @param uri URI on which the Jersey web application will be deployed.
+     * @param appHandler web application handler.
+     * @param containerConfiguration worker pool and network configuration of the server.
+     * @return newly created {@link HttpServer}.
+     * @throws ProcessingException
+     */
+    public static HttpServer createHttpServer(final URI uri,
+                                              final ApplicationHandler appHandler,
+                                              final ContainerConfiguration containerConfiguration) throws ProcessingException {
+        return createHttpServer(uri, new GrizzlyHttpContainer(appHandler), false, null, containerConfiguration);
+    }
+
+    /**
+     * Creates HttpServer instance.
+     *
+     * @param uri URI on which the Jersey web application will be deployed.
+     * @param configuration web application configuration.
+     * @param secure used for call {@link NetworkListener#setSecure(boolean)}.
+     * @param sslEngineConfigurator Ssl settings to be passed to {@link NetworkListener#setSSLEngineConfig(org.glassfish.grizzly.ssl.SSLEngineConfigurator)}.
+     * @param containerConfiguration worker pool and network configuration of the server.
+     * @return newly created {@link HttpServer}.
+     */
+    public static HttpServer createHttpServer(final URI uri,
+                                              final ResourceConfig configuration,
+                                              final boolean secure,
+                                              final SSLEngineConfigurator sslEngineConfigurator,
+                                              final ContainerConfiguration containerConfiguration) {
+        return createHttpServer(uri, ContainerFactory.createContainer(GrizzlyHttpContainer.class, configuration), secure,
+                sslEngineConfigurator, containerConfiguration);
+    }
 
     /**
      * Creates HttpServer instance.
@@ -139,6 +204,8 @@ public class GrizzlyHttpServerFactory {
      * @param handler {@link HttpHandler} instance.
      * @param secure used for call {@link NetworkListener#setSecure(boolean)}.
      * @param sslEngineConfigurator Ssl settings to be passed to {@link NetworkListener#setSSLEngineConfig(org.glassfish.grizzly.ssl.SSLEngineConfigurator)}.
+     * @param containerConfiguration worker pool and network configuration of the server, {@code null}
+     *                               to keep the Grizzly defaults.
      * @return newly created {@link HttpServer}.
      * @throws ProcessingException
      *
@@ -147,18 +214,37 @@ public class GrizzlyHttpServerFactory {
     private static HttpServer createHttpServer(final URI uri,
                                                final GrizzlyHttpContainer handler,
                                                final boolean secure,
-                                               final SSLEngineConfigurator sslEngineConfigurator)
+                                               final SSLEngineConfigurator sslEngineConfigurator,
+                                               final ContainerConfiguration containerConfiguration)
             throws ProcessingException {
         final String host = (uri.getHost() == null) ? NetworkListener.DEFAULT_NETWORK_HOST
                 : uri.getHost();
         final int port = (uri.getPort() == -1) ? 80 : uri.getPort();
-        final HttpServer server = new HttpServer();
+        // never process the requests on the selector threads of a saturated server
+        final WorkerPool workerPool = (containerConfiguration == null) ? null
+                : containerConfiguration.createWorkerPool("jersey-grizzly-" + port, WorkerPool.SaturationPolicy.REJECT);
+        final HttpServer server = (workerPool == null) ? new HttpServer() : new HttpServer() {
+
+            @Override
+            public synchronized void stop() {
+                try {
+                    super.stop();
+                } finally {
+                    // Grizzly does not manage the lifecycle of an external worker pool
+                    workerPool.shutdown();
+                }
+            }
+        };
         final NetworkListener listener = new NetworkListener("grizzly", host, port);
         listener.setSecure(secure);
         if(sslEngineConfigurator != null) {
             listener.setSSLEngineConfig(sslEngineConfigurator);
         }
 
+        if (workerPool != null) {
+            configureListener(listener, containerConfiguration, workerPool);
+        }
+
         server.addListener(listener);
 
         // Map the path to the processor.
@@ -173,12 +259,46 @@ public class GrizzlyHttpServerFactory {
             // Start the server.
             server.start();
         } catch (IOException ex) {
+            if (workerPool != null) {
+                workerPool.shutdown();
+            }
             throw new ProcessingException("IOException thrown when trying to start grizzly server", ex);
         }
 
         return server;
     }
 
+    private static void configureListener(final NetworkListener listener,
+                                          final ContainerConfiguration configuration,
+                                          final WorkerPool workerPool) {
+        final TCPNIOTransport transport = listener.getTransport();
+        transport.setWorkerThreadPool(workerPool.getExecutorService());
+
+        if (configuration.getSelectorThreads() != null) {
+            transport.setSelectorRunnersCount(configuration.getSelectorThreads());
+        }
+        if (configuration.getBacklog() != null) {
+            transport.setServerConnectionBackLog(configuration.getBacklog());
+        }
+        if (configuration.getTcpNoDelay() != null) {
+            transport.setTcpNoDelay(configuration.getTcpNoDelay());
+        }
+        if (configuration.getReadBufferSize() != null) {
+            transport.setReadBufferSize(configuration.getReadBufferSize());
+        }
+        if (configuration.getWriteBufferSize() != null) {
+            transport.setWriteBufferSize(configuration.getWriteBufferSize());
+        }
+
+        final KeepAlive keepAlive = listener.getKeepAlive();
+        if (configuration.getKeepAliveMaxRequests() != null) {
+            keepAlive.setMaxRequestsCount(configuration.getKeepAliveMaxRequests());
+        }
+        if (configuration.getKeepAliveIdleTimeout() != null) {
+            keepAlive.setIdleTimeoutInSeconds(configuration.getKeepAliveIdleTimeout());
+        }
+    }
+
     /**
      * Prevents instantiation.
      */
@@ -43,7 +43,6 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.URI;
-import java.net.URISyntaxException;
 import java.security.Principal;
 import java.util.List;
 import java.util.Map;
@@ -59,6 +58,7 @@ import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriBuilder;
 
 import org.glassfish.jersey.jdkhttp.internal.LocalizationMessages;
+import org.glassfish.jersey.message.internal.HeaderSource;
 import org.glassfish.jersey.message.internal.Requests;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ContainerException;
@@ -73,6 +73,8 @@ import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import com.sun.net.httpserver.HttpsExchange;
+import org.glassfish.jersey.server.internal.ApplicationHandlerReference;
+import org.glassfish.jersey.server.internal.BaseUriCache;
 import org.glassfish.jersey.server.internal.ConfigHelper;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 
@@ -83,8 +85,9 @@ import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
  */
 public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
-    transient private ApplicationHandler appHandler;
-    private final ContainerLifecycleListener containerListener;
+    private final ApplicationHandlerReference appHandler;
+    private volatile ContainerLifecycleListener containerListener;
+    private final BaseUriCache baseUriCache = new BaseUriCache();
 
     /**
      * Creates a new Container connected to given {@link ApplicationHandler Jersey application}.
@@ -93,7 +96,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
      * initialized.
      */
     JdkHttpHandlerContainer(ApplicationHandler appHandler) {
-        this.appHandler = appHandler;
+        this.appHandler = new ApplicationHandlerReference(appHandler);
         this.containerListener = ConfigHelper.getContainerLifecycleListener(appHandler);
     }
 
@@ -121,8 +124,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
                  * redirection in accordance with resource configuration
                  * feature.
                  */
-                exchangeUri = UriBuilder.fromUri(exchangeUri).
-                        path("/").build();
+                exchangeUri = appendSlash(exchangeUri);
             }
             decodedBasePath += "/";
         }
@@ -137,20 +139,13 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         final boolean isSecure = exchange instanceof HttpsExchange;
         String scheme = isSecure ? "https" : "http";
 
-        URI baseUri;
-        try {
-            List<String> hostHeader = exchange.getRequestHeaders().get("Host");
-            if (hostHeader != null) {
-                StringBuilder sb = new StringBuilder(scheme);
-                sb.append("://").append(hostHeader.get(0)).append(decodedBasePath);
-                baseUri = new URI(sb.toString());
-            } else {
-                InetSocketAddress addr = exchange.getLocalAddress();
-                baseUri = new URI(scheme, null, addr.getHostName(), addr.getPort(),
-                        decodedBasePath, null, null);
-            }
-        } catch (URISyntaxException ex) {
-            throw new IllegalArgumentException(ex);
+        final URI baseUri;
+        final String hostHeader = exchange.getRequestHeaders().getFirst("Host");
+        if (hostHeader != null) {
+            baseUri = baseUriCache.get(scheme, hostHeader, decodedBasePath);
+        } else {
+            final InetSocketAddress addr = exchange.getLocalAddress();
+            baseUri = baseUriCache.get(scheme, addr.getHostName(), addr.getPort(), decodedBasePath);
         }
 
         final URI requestUri = baseUri.resolve(exchangeUri);
@@ -161,11 +156,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         /**
          * Define http headers
          */
-        for (Map.Entry<String, List<String>> entry : exchange.getRequestHeaders().entrySet()) {
-            for (String value : entry.getValue()) {
-                requestBuilder.header(entry.getKey(), value);
-            }
-        }
+        Requests.setHeaderSource(requestBuilder, new ExchangeHeaderSource(exchange.getRequestHeaders()));
 
 
 
@@ -173,13 +164,30 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
         final ResponseWriter responseWriter = new ResponseWriter(exchange);
         ContainerRequestContext containerRequestCtx = new JerseyContainerRequestContext(jaxRsRequest, responseWriter,
                 getSecurityContext(exchange.getPrincipal(), isSecure), null);
+        final ApplicationHandlerReference.Lease lease = appHandler.acquire();
         try {
-            appHandler.apply(containerRequestCtx);
+            lease.getHandler().apply(containerRequestCtx);
         } finally {
             // if the response was not commited yet by the JerseyApplication
             // then commit it and log warning
             responseWriter.closeAndLogWarning();
+            lease.release();
+        }
+    }
+
+    private static URI appendSlash(final URI uri) {
+        if (uri.isAbsolute()) {
+            return UriBuilder.fromUri(uri).path("/").build();
         }
+
+        final StringBuilder sb = new StringBuilder(uri.getRawPath()).append('/');
+        if (uri.getRawQuery() != null) {
+            sb.append('?').append(uri.getRawQuery());
+        }
+        if (uri.getRawFragment() != null) {
+            sb.append('#').append(uri.getRawFragment());
+        }
+        return URI.create(sb.toString());
     }
 
     private SecurityContext getSecurityContext(final Principal principal, final boolean isSecure) {
@@ -209,7 +217,7 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
     @Override
     public ResourceConfig getConfiguration() {
-        return appHandler.getConfiguration();
+        return appHandler.get().getConfiguration();
     }
 
     @Override
@@ -219,10 +227,41 @@ public class JdkHttpHandlerContainer implements HttpHandler, Container {
 
     @Override
     public void reload(ResourceConfig configuration) {
-        appHandler = new ApplicationHandler(configuration);
+        containerListener = ConfigHelper.getContainerLifecycleListener(appHandler.reload(configuration));
         containerListener.onReload(this);
     }
 
+    /**
+     * Notify the container lifecycle listeners about the container shutdown and destroy
+     * the application handler. Invoked once the HTTP server is stopped.
+     */
+    void shutdown() {
+        containerListener.onShutdown(this);
+        appHandler.destroy();
+    }
+
+    /**
+     * Request header source reading the headers through from the exchange request headers.
+     */
+    private static final class ExchangeHeaderSource implements HeaderSource {
+
+        private final Headers headers;
+
+        ExchangeHeaderSource(final Headers headers) {
+            this.headers = headers;
+        }
+
+        @Override
+        public Iterable<String> getHeaderNames() {
+            return headers.keySet();
+        }
+
+        @Override
+        public List<String> getHeaderValues(final String name) {
+            return headers.get(name);
+        }
+    }
+
     private final static class ResponseWriter implements ContainerResponseWriter {
 
         HttpExchange exchange;
@@ -42,22 +42,36 @@ package org.glassfish.jersey.jdkhttp;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.URI;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 import org.glassfish.jersey.internal.ProcessingException;
 import org.glassfish.jersey.jdkhttp.internal.LocalizationMessages;
 import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerConfiguration;
 import org.glassfish.jersey.server.ContainerFactory;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.internal.ConfigHelper;
+import org.glassfish.jersey.server.monitoring.WorkerPool;
 import org.glassfish.jersey.server.spi.ContainerLifecycleListener;
 
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
 import com.sun.net.httpserver.HttpsServer;
 
 /**
  * Factory for creating {@link HttpServer JDK HttpServer} instances adapted to
  * the {@link ApplicationHandler}.
+ * <p>
+ * The requests are processed by a bounded {@link org.glassfish.jersey.server.monitoring.WorkerPool
+ * worker pool} configured by a {@link ContainerConfiguration container configuration}. Of the
+ * network settings, only the {@link ContainerConfiguration#getBacklog() backlog} is supported
+ * by the JDK HTTP server, the other ones are ignored. Idle worker threads are released after
+ * the configured idle timeout. Once the returned server is {@link HttpServer#stop(int) stopped},
+ * the worker pool is shut down and the {@link ContainerLifecycleListener container lifecycle
+ * listeners} are notified about the container shutdown.
+ * </p>
  *
  * @author Miroslav Fuksa (miroslav.fuksa at oracle.com)
  */
@@ -76,8 +90,28 @@ public class JdkHttpServerFactory {
      * occurs.
      */
     public static HttpServer createHttpServer(final URI uri, final ResourceConfig configuration) throws ProcessingException {
+        return createHttpServer(uri, configuration, ContainerConfiguration.getDefault());
+    }
+
+    /**
+     * Creates and starts the {@link HttpServer JDK HttpServer} with the Jersey
+     * application deployed on the given {@link URI}.
+     *
+     * <p>The returned {@link HttpServer JDK HttpServer} is started.</p>
+     *
+     * @param uri The {@link URI uri} on which the Jersey application will be deployed.
+     * @param configuration The Jersey server-side application configuration.
+     * @param containerConfiguration The worker pool and network configuration of the server.
+     * @return Newly created {@link HttpServer}.
+     * @throws ProcessingException Thrown when problems during server creation
+     * occurs.
+     */
+    public static HttpServer createHttpServer(final URI uri,
+                                              final ResourceConfig configuration,
+                                              final ContainerConfiguration containerConfiguration) throws ProcessingException {
         final JdkHttpHandlerContainer handler = ContainerFactory.createContainer(JdkHttpHandlerContainer.class, configuration);
-        return createHttpServer(uri, handler, ConfigHelper.getContainerLifecycleListener(new ApplicationHandler(configuration)));
+        return createHttpServer(uri, handler, ConfigHelper.getContainerLifecycleListener(new ApplicationHandler(configuration)),
+                containerConfiguration);
     }
 
     /**
@@ -93,10 +127,33 @@ public class JdkHttpServerFactory {
      * occurs.
      */
     public static HttpServer createHttpServer(final URI uri, final ApplicationHandler appHandler) throws ProcessingException {
-        return createHttpServer(uri, new JdkHttpHandlerContainer(appHandler), ConfigHelper.getContainerLifecycleListener(appHandler));
+        return createHttpServer(uri, appHandler, ContainerConfiguration.getDefault());
     }
 
-    private static HttpServer createHttpServer(final URI uri, final JdkHttpHandlerContainer handler, final ContainerLifecycleListener containerListener) throws ProcessingException {
+    /**
+     * Creates and starts the {@link HttpServer JDK HttpServer} with the
+     * Jersey application deployed on the given {@link URI}.
+     *
+     * <p>The returned {@link HttpServer JDK HttpServer} is started.</p>
+     *
+     * @param uri The {@link URI uri} on which the Jersey application will be deployed.
+     * @param appHandler The Jersey server-side application handler.
+     * @param containerConfiguration The worker pool and network configuration of the server.
+     * @return Newly created {@link HttpServer}.
+     * @throws ProcessingException Thrown when problems during server creation
+     * occurs.
+     */
+    public static HttpServer createHttpServer(final URI uri,
+                                              final ApplicationHandler appHandler,
+                                              final ContainerConfiguration containerConfiguration) throws ProcessingException {
+        return createHttpServer(uri, new JdkHttpHandlerContainer(appHandler), ConfigHelper.getContainerLifecycleListener(appHandler),
+                containerConfiguration);
+    }
+
+    private static HttpServer createHttpServer(final URI uri,
+                                               final JdkHttpHandlerContainer handler,
+                                               final ContainerLifecycleListener containerListener,
+                                               final ContainerConfiguration containerConfiguration) throws ProcessingException {
 
         if (uri == null) {
             throw new IllegalArgumentException(LocalizationMessages.ERROR_CONTAINER_URI_NULL());
@@ -117,22 +174,192 @@ public class JdkHttpServerFactory {
         }
 
         final int port = (uri.getPort() == -1) ? 80 : uri.getPort();
-        HttpServer server;
+        final ContainerConfiguration config = (containerConfiguration == null)
+                ? ContainerConfiguration.getDefault() : containerConfiguration;
+        // zero backlog means the system default
+        final int backlog = (config.getBacklog() == null) ? 0 : config.getBacklog();
+        final boolean secure = !scheme.equalsIgnoreCase("http");
+        final HttpServer server;
         try {
-            server = (scheme.equalsIgnoreCase("http"))
-                    ? HttpServer.create(new InetSocketAddress(port), 0)
-                    : HttpsServer.create(new InetSocketAddress(port), 0);
+            server = secure
+                    ? HttpsServer.create(new InetSocketAddress(port), backlog)
+                    : HttpServer.create(new InetSocketAddress(port), backlog);
         } catch (IOException ioe) {
             throw new ProcessingException(LocalizationMessages.ERROR_CONTAINER_EXCEPTION_IO(), ioe);
         }
 
-        server.setExecutor(Executors.newCachedThreadPool());
+        final WorkerPool workerPool = config.createWorkerPool("jersey-jdkhttp-" + port);
+        server.setExecutor(workerPool.getExecutorService());
         server.createContext(path, handler);
-        server.start();
+        try {
+            server.start();
+        } catch (RuntimeException ex) {
+            workerPool.shutdown();
+            throw ex;
+        }
 
         containerListener.onStartup(handler);
 
-        return server;
+        // the JDK server neither shuts down its executor nor notifies the container when stopped
+        final Runnable shutdownHook = new Runnable() {
+
+            @Override
+            public void run() {
+                workerPool.shutdown();
+                handler.shutdown();
+            }
+        };
+        return secure
+                ? new ContainerHttpsServer((HttpsServer) server, shutdownHook)
+                : new ContainerHttpServer(server, shutdownHook);
+    }
+
+    /**
+     * HTTP server delegating to the server created by the factory and running the container
+     * shutdown hook once stopped.
+     */
+    private static final class ContainerHttpServer extends HttpServer {
+
+        private final HttpServer server;
+        private final Runnable shutdownHook;
+
+        ContainerHttpServer(final HttpServer server, final Runnable shutdownHook) {
+            this.server = server;
+            this.shutdownHook = shutdownHook;
+        }
+
+        @Override
+        public void bind(final InetSocketAddress address, final int backlog) throws IOException {
+            server.bind(address, backlog);
+        }
+
+        @Override
+        public void start() {
+            server.start();
+        }
+
+        @Override
+        public void setExecutor(final Executor executor) {
+            server.setExecutor(executor);
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return server.getExecutor();
+        }
+
+        @Override
+        public void stop(final int delay) {
+            try {
+                server.stop(delay);
+            } finally {
+                shutdownHook.run();
+            }
+        }
+
+        @Override
+        public HttpContext createContext(final String path, final HttpHandler handler) {
+            return server.createContext(path, handler);
+        }
+
+        @Override
+        public HttpContext createContext(final String path) {
+            return server.createContext(path);
+        }
+
+        @Override
+        public void removeContext(final String path) throws IllegalArgumentException {
+            server.removeContext(path);
+        }
+
+        @Override
+        public void removeContext(final HttpContext context) {
+            server.removeContext(context);
+        }
+
+        @Override
+        public InetSocketAddress getAddress() {
+            return server.getAddress();
+        }
+    }
+
+    /**
+     * HTTPS server delegating to the server created by the factory and running the container
+     * shutdown hook once stopped.
+     */
+    private static final class ContainerHttpsServer extends HttpsServer {
+
+        private final HttpsServer server;
+        private final Runnable shutdownHook;
+
+        ContainerHttpsServer(final HttpsServer server, final Runnable shutdownHook) {
+            this.server = server;
+            this.shutdownHook = shutdownHook;
+        }
+
+        @Override
+        public void setHttpsConfigurator(final HttpsConfigurator configurator) {
+            server.setHttpsConfigurator(configurator);
+        }
+
+        @Override
+        public HttpsConfigurator getHttpsConfigurator() {
+            return server.getHttpsConfigurator();
+        }
+
+        @Override
+        public void bind(final InetSocketAddress address, final int backlog) throws IOException {
+            server.bind(address, backlog);
+        }
+
+        @Override
+        public void start() {
+            server.start();
+        }
+
+        @Override
+        public void setExecutor(final Executor executor) {
+            server.setExecutor(executor);
+        }
+
+        @Override
+        public Executor getExecutor() {
+            return server.getExecutor();
+        }
+
+        @Override
+        public void stop(final int delay) {
+            try {
+                server.stop(delay);
+            } finally {
+                shutdownHook.run();
+            }
+        }
+
+        @Override
+        public HttpContext createContext(final String path, final HttpHandler handler) {
+            return server.createContext(path, handler);
+        }
+
+        @Override
+        public HttpContext createContext(final String path) {
+            return server.createContext(path);
+        }
+
+        @Override
+        public void removeContext(final String path) throws IllegalArgumentException {
+            server.removeContext(path);
+        }
+
+        @Override
+        public void removeContext(final HttpContext context) {
+            server.removeContext(context);
+        }
+
+        @Override
+        public InetSocketAddress getAddress() {
+            return server.getAddress();
+        }
     }
 
     /**
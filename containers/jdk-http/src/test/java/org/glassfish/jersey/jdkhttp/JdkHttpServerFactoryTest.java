@@ -0,0 +1,134 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.jdkhttp;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.util.concurrent.ExecutorService;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerConfiguration;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.spi.AbstractContainerLifecycleListener;
+import org.glassfish.jersey.server.spi.Container;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link JdkHttpServerFactory} tests.
+ */
+public class JdkHttpServerFactoryTest {
+
+    @Path("hello")
+    public static class HelloResource {
+
+        @GET
+        public String get() {
+            return "hello";
+        }
+    }
+
+    private static class LifecycleListener extends AbstractContainerLifecycleListener {
+
+        volatile int started;
+        volatile int shutdown;
+
+        @Override
+        public void onStartup(final Container container) {
+            started++;
+        }
+
+        @Override
+        public void onShutdown(final Container container) {
+            shutdown++;
+        }
+    }
+
+    private static int getFreePort() throws IOException {
+        final ServerSocket socket = new ServerSocket(0);
+        try {
+            return socket.getLocalPort();
+        } finally {
+            socket.close();
+        }
+    }
+
+    @Test
+    public void testStopNotifiesShutdown() throws Exception {
+        final MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        final int port = getFreePort();
+        final ObjectName query = new ObjectName("org.glassfish.jersey:type=WorkerPool,name="
+                + ObjectName.quote("jersey-jdkhttp-" + port) + ",*");
+        final LifecycleListener listener = new LifecycleListener();
+        final ApplicationHandler appHandler =
+                new ApplicationHandler(new ResourceConfig(HelloResource.class).addSingletons(listener));
+
+        final HttpServer server = JdkHttpServerFactory.createHttpServer(URI.create("http://localhost:" + port + "/"),
+                appHandler, ContainerConfiguration.builder().workerThreads(2).build());
+        final ExecutorService workerPool = (ExecutorService) server.getExecutor();
+        assertEquals(1, listener.started);
+        assertEquals(1, mbeanServer.queryNames(query, null).size());
+
+        final HttpURLConnection connection =
+                (HttpURLConnection) URI.create("http://localhost:" + port + "/hello").toURL().openConnection();
+        try {
+            assertEquals(200, connection.getResponseCode());
+        } finally {
+            connection.disconnect();
+        }
+
+        server.stop(0);
+        assertEquals(1, listener.shutdown);
+        assertTrue(workerPool.isShutdown());
+        assertEquals(0, mbeanServer.queryNames(query, null).size());
+    }
+}
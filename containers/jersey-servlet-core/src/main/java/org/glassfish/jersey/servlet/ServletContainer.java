@@ -125,7 +125,7 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
     // TODO
     private transient Pattern staticContentPattern;
     private String filterContextPath = null;
-    private ContainerLifecycleListener containerListener;
+    private volatile ContainerLifecycleListener containerListener;
 
     private static final ExtendedLogger logger =
             new ExtendedLogger(Logger.getLogger(ServletContainer.class.getName()), Level.FINEST);
@@ -139,7 +139,7 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
      */
     protected void init(WebConfig webConfig) throws ServletException {
         webComponent = new WebComponent(webConfig, resourceConfig);
-        containerListener = ConfigHelper.getContainerLifecycleListener(webComponent.appHandler);
+        containerListener = ConfigHelper.getContainerLifecycleListener(webComponent.appHandler.get());
         containerListener.onStartup(this);
     }
 
@@ -307,6 +307,7 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
     public void destroy() {
         super.destroy();
         containerListener.onShutdown(this);
+        webComponent.appHandler.destroy();
     }
 
     @Override
@@ -496,7 +497,7 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
 
     @Override
     public ResourceConfig getConfiguration() {
-        return webComponent.appHandler.getConfiguration();
+        return webComponent.appHandler.get().getConfiguration();
     }
 
     @Override
@@ -507,9 +508,10 @@ public class ServletContainer extends HttpServlet implements Filter, Container {
     @Override
     public void reload(ResourceConfig configuration) {
         try {
-            webComponent = new WebComponent(webComponent.webConfig, configuration);
+            containerListener = ConfigHelper.getContainerLifecycleListener(webComponent.reload(configuration));
             containerListener.onReload(this);
-        } catch (ServletException ex) {
+        } catch (RuntimeException ex) {
+            // the current application keeps serving the requests
             logger.log(Level.SEVERE, "Reload failed", ex);
         }
     }
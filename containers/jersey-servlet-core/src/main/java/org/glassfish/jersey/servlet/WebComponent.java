@@ -43,9 +43,9 @@ import java.io.IOException;
 import java.net.URI;
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -64,10 +64,12 @@ import org.glassfish.jersey.internal.inject.AbstractModule;
 import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.ReflectionHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.message.internal.HeaderSource;
 import org.glassfish.jersey.message.internal.Requests;
 import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.internal.ApplicationHandlerReference;
 import org.glassfish.jersey.server.spi.ContainerRequestContext;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter.TimeoutHandler;
@@ -115,7 +117,7 @@ public class WebComponent {
 
     };
 
-    private AsyncContextDelegateProvider getAsyncExtensionDelegate() {
+    private static AsyncContextDelegateProvider getAsyncExtensionDelegate(final ApplicationHandler appHandler) {
 
         for (AsyncContextDelegateProvider factory : appHandler.getServiceProviders().getAll(AsyncContextDelegateProvider.class)) {
             return factory;
@@ -187,9 +189,9 @@ public class WebComponent {
         }
     }
     //
-    final ApplicationHandler appHandler;
+    final ApplicationHandlerReference appHandler;
     final WebConfig webConfig;
-    private final AsyncContextDelegateProvider asyncExtensionDelegate;
+    private volatile AsyncContextDelegateProvider asyncExtensionDelegate;
 
     public WebComponent(final WebConfig webConfig, ResourceConfig resourceConfig) throws ServletException {
         this.webConfig = webConfig;
@@ -197,8 +199,27 @@ public class WebComponent {
             resourceConfig = createResourceConfig(webConfig);
         }
         resourceConfig.addModules(new WebComponentModule());
-        this.appHandler = new ApplicationHandler(resourceConfig);
-        this.asyncExtensionDelegate = getAsyncExtensionDelegate();
+        final ApplicationHandler handler = new ApplicationHandler(resourceConfig);
+        this.appHandler = new ApplicationHandlerReference(handler);
+        this.asyncExtensionDelegate = getAsyncExtensionDelegate(handler);
+    }
+
+    /**
+     * Replace the hosted application with a new one created for the configuration.
+     * <p>
+     * Requests are served by the current application until the new one is fully initialized;
+     * the method returns once the requests dispatched to the replaced application are drained.
+     * </p>
+     *
+     * @param resourceConfig configuration of the new application.
+     * @return new application handler.
+     */
+    ApplicationHandler reload(final ResourceConfig resourceConfig) {
+        final long start = System.nanoTime();
+        final ApplicationHandler handler = new ApplicationHandler(resourceConfig.addModules(new WebComponentModule()));
+        this.asyncExtensionDelegate = getAsyncExtensionDelegate(handler);
+        appHandler.swap(handler, start);
+        return handler;
     }
 
     /**
@@ -223,7 +244,7 @@ public class WebComponent {
             throws ServletException, IOException {
 
         Request.RequestBuilder requestBuilder = Requests.from(baseUri, requestUri, request.getMethod(), request.getInputStream());
-        requestBuilder = addRequestHeaders(request, requestBuilder);
+        Requests.setHeaderSource(requestBuilder, new ServletHeaderSource(request));
         final Request jaxRsRequest = requestBuilder.build();
 
         try {
@@ -239,9 +260,12 @@ public class WebComponent {
                 }
             });
 
-            appHandler.apply(containerContext);
-
-            // jaxRsRequest, containerContext);
+            final ApplicationHandlerReference.Lease lease = appHandler.acquire();
+            try {
+                lease.getHandler().apply(containerContext);
+            } finally {
+                lease.release();
+            }
 
             return responseWriter.getResponseStatus();
         } catch (Exception e) {
@@ -311,16 +335,31 @@ public class WebComponent {
         }
     }
 
-    private Request.RequestBuilder addRequestHeaders(HttpServletRequest request, Request.RequestBuilder builder) {
-        for (Enumeration<String> names = request.getHeaderNames(); names.hasMoreElements();) {
-            String name = names.nextElement();
-            List<String> valueList = new LinkedList<String>();
-            for (Enumeration<String> values = request.getHeaders(name); values.hasMoreElements();) {
-                builder = builder.header(name, values.nextElement());
-            }
+    /**
+     * Request header source reading the headers through from the servlet request.
+     */
+    private static final class ServletHeaderSource implements HeaderSource {
+
+        private final HttpServletRequest request;
+
+        ServletHeaderSource(final HttpServletRequest request) {
+            this.request = request;
         }
 
-        return builder;
+        @Override
+        public Iterable<String> getHeaderNames() {
+            final Enumeration<String> names = request.getHeaderNames();
+            return names == null ? Collections.<String>emptyList() : Collections.list(names);
+        }
+
+        @Override
+        public List<String> getHeaderValues(final String name) {
+            final Enumeration<String> values = request.getHeaders(name);
+            if (values == null || !values.hasMoreElements()) {
+                return null;
+            }
+            return Collections.list(values);
+        }
     }
 
     private static Map<String, Object> getInitParams(WebConfig webConfig) {
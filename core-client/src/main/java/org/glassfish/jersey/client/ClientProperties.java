@@ -167,6 +167,152 @@ public final class ClientProperties {
     public static final String SSL_CONTEXT =
             "jersey.config.client.ssl.sslContext";
 
+    /**
+     * Built-in request processing mode, i.e. the executor used to run the client request
+     * processing. Supported values are {@code same-thread}, {@code virtual-thread} and
+     * {@code bounded}, see {@link org.glassfish.jersey.process.ProcessingExecutors.Mode}.
+     * The executor is shut down once the client is {@link JerseyClient#close() closed}.
+     *
+     * The value MUST be an instance of {@link java.lang.String} or
+     * {@link org.glassfish.jersey.process.ProcessingExecutors.Mode}.
+     * <p />
+     * A default value is not set, i.e. the requests are processed on the calling thread
+     * unless a custom {@link org.glassfish.jersey.spi.ProcessingExecutorsProvider} is registered.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String PROCESSING_MODE =
+            "jersey.config.client.processing.mode";
+
+    /**
+     * Maximum number of worker threads of the {@code bounded} {@link #PROCESSING_MODE
+     * request processing mode}.
+     *
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p />
+     * The default value is {@link org.glassfish.jersey.process.ProcessingExecutors#DEFAULT_POOL_SIZE}.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String PROCESSING_POOL_SIZE =
+            "jersey.config.client.processing.poolSize";
+
+    /**
+     * Maximum number of requests waiting for a free worker thread in the {@code bounded}
+     * {@link #PROCESSING_MODE request processing mode}. Requests exceeding the limit are
+     * rejected. A negative value means an unbounded queue.
+     *
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p />
+     * The default value is {@link org.glassfish.jersey.process.ProcessingExecutors#DEFAULT_QUEUE_SIZE}.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String PROCESSING_QUEUE_SIZE =
+            "jersey.config.client.processing.queueSize";
+
+    /**
+     * Content coding to be used to encode the entities of the client requests,
+     * e.g. {@code gzip} or {@code deflate}. The property is honored by the
+     * {@link org.glassfish.jersey.client.filter.EncodingFilter} which sets the
+     * {@code Content-Encoding} header of the requests with an entity; the entity
+     * is then encoded by the respective registered
+     * {@link org.glassfish.jersey.spi.ContentEncoder content encoder}.
+     *
+     * The value MUST be an instance of {@link java.lang.String}.
+     * <p />
+     * A default value is not set, i.e. the request entities are not encoded.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String USE_ENCODING =
+            "jersey.config.client.useEncoding";
+
+    /**
+     * Enables the client-side HTTP cache and defines its maximum size in bytes. Cacheable
+     * responses are stored by the {@link org.glassfish.jersey.client.cache.CachingConnector}
+     * and fresh responses are served without contacting the server; stale responses
+     * are revalidated using the {@code If-None-Match} and {@code If-Modified-Since} headers.
+     *
+     * The value MUST be an instance convertible to {@link java.lang.Long}.
+     * <p />
+     * The default value is {@code 0}, i.e. the client cache is disabled unless a custom
+     * {@link #CACHE_STORE cache store} is configured.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String CACHE_SIZE =
+            "jersey.config.client.cache.size";
+
+    /**
+     * Directory of the disk-backed client cache. If set, the cached responses are stored
+     * in the directory (and survive the client restart) instead of the memory. The size of
+     * the cache is defined by the {@link #CACHE_SIZE} property.
+     *
+     * The value MUST be an instance of {@link java.lang.String} or {@link java.io.File}.
+     * <p />
+     * A default value is not set, i.e. the responses are cached in memory.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String CACHE_DIRECTORY =
+            "jersey.config.client.cache.directory";
+
+    /**
+     * Custom client cache store. If set, the client cache is enabled and the responses are stored
+     * in the given store; the {@link #CACHE_SIZE} and {@link #CACHE_DIRECTORY} properties are ignored.
+     *
+     * The value MUST be an instance of {@link org.glassfish.jersey.client.cache.CacheStore}.
+     * <p />
+     * A default value is not set.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String CACHE_STORE =
+            "jersey.config.client.cache.store";
+
+    /**
+     * Enables request coalescing: concurrent identical {@code GET} and {@code HEAD} requests
+     * are collapsed into a single request sent by the transport connector and the buffered
+     * response is shared by all the waiting invocations, see
+     * {@link org.glassfish.jersey.client.CoalescingConnector}.
+     *
+     * The value MUST be an instance convertible to {@link java.lang.Boolean}.
+     * <p />
+     * The default value is {@code false}.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String REQUEST_COALESCING =
+            "jersey.config.client.requestCoalescing";
+
+    /**
+     * Maximum size in bytes of a response entity shared by coalesced requests. If a response
+     * entity is larger, the waiting invocations send their own requests.
+     *
+     * The value MUST be an instance convertible to {@link java.lang.Integer}.
+     * <p />
+     * The default value is {@link org.glassfish.jersey.client.CoalescingConnector#DEFAULT_MAX_SHARED_SIZE}.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String REQUEST_COALESCING_MAX_SIZE =
+            "jersey.config.client.requestCoalescing.maxSize";
+
+    /**
+     * Comma-separated list of the request header names that, together with the request method
+     * and URI, identify coalesced requests. Requests that differ only in the values of other
+     * headers share the same response.
+     *
+     * The value MUST be an instance of {@link java.lang.String}.
+     * <p />
+     * A default value is not set, i.e. all the request headers have to match.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String REQUEST_COALESCING_KEY_HEADERS =
+            "jersey.config.client.requestCoalescing.keyHeaders";
+
     private ClientProperties() {
         // prevents instantiation
     }
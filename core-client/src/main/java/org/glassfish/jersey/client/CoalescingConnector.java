@@ -0,0 +1,288 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.internal.ProcessingException;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+
+import com.google.common.base.Function;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Client transport connector decorator collapsing concurrent identical {@code GET}
+ * and {@code HEAD} requests into a single in-flight request ("single flight").
+ * <p/>
+ * The first request for a key is sent by the decorated connector; requests for
+ * the same key issued while the first one is in flight wait for its
+ * {@link ListenableFuture response future} and receive a copy of the buffered response.
+ * If the response entity exceeds the {@link #DEFAULT_MAX_SHARED_SIZE maximum shared size},
+ * the waiting requests are sent on their own. Failures of the shared request are
+ * propagated to all the waiting requests.
+ *
+ * @see ClientProperties#REQUEST_COALESCING
+ */
+public final class CoalescingConnector implements Inflector<Request, Response> {
+
+    /**
+     * Default maximum size of a shared response entity in bytes.
+     */
+    public static final int DEFAULT_MAX_SHARED_SIZE = 1024 * 1024;
+    /**
+     * Default key function: the request method, URI and all the request headers.
+     */
+    public static final Function<Request, String> DEFAULT_KEY = headersKey(null);
+    //
+    private final Inflector<Request, Response> connector;
+    private final Function<Request, String> keyFunction;
+    private final int maxSharedSize;
+    private final ConcurrentMap<String, SettableFuture<SharedResponse>> inFlight =
+            new ConcurrentHashMap<String, SettableFuture<SharedResponse>>();
+
+    /**
+     * Decorate the connector with request coalescing if enabled by the {@link ClientProperties#REQUEST_COALESCING}
+     * property. The {@link ClientProperties#REQUEST_COALESCING_MAX_SIZE} and
+     * {@link ClientProperties#REQUEST_COALESCING_KEY_HEADERS} properties are honored.
+     *
+     * @param connector  client transport connector.
+     * @param properties client configuration properties.
+     * @return coalescing connector or the original connector if the request coalescing is not enabled.
+     */
+    public static Inflector<Request, Response> wrap(final Inflector<Request, Response> connector,
+                                                    final Map<String, ?> properties) {
+        if (!PropertiesHelper.getValue(properties, ClientProperties.REQUEST_COALESCING, false)) {
+            return connector;
+        }
+
+        final String keyHeaders = PropertiesHelper.getValue(properties,
+                ClientProperties.REQUEST_COALESCING_KEY_HEADERS, (String) null);
+        return new CoalescingConnector(connector,
+                (keyHeaders == null) ? DEFAULT_KEY : headersKey(Arrays.asList(keyHeaders.split(","))),
+                PropertiesHelper.getValue(properties, ClientProperties.REQUEST_COALESCING_MAX_SIZE,
+                        DEFAULT_MAX_SHARED_SIZE));
+    }
+
+    /**
+     * Create a key function deriving the key from the request method, URI and
+     * the values of the given request headers.
+     *
+     * @param headers names of the request headers to be included in the key;
+     *                if {@code null}, all the request headers are included.
+     * @return request key function.
+     */
+    public static Function<Request, String> headersKey(final List<String> headers) {
+        return new Function<Request, String>() {
+
+            @Override
+            public String apply(final Request request) {
+                final StringBuilder key = new StringBuilder(request.getMethod()).append(' ').append(request.getUri());
+                if (headers == null) {
+                    // sorted to make the key independent of the header order
+                    final Map<String, List<String>> sorted =
+                            new TreeMap<String, List<String>>(String.CASE_INSENSITIVE_ORDER);
+                    sorted.putAll(request.getHeaders().asMap());
+                    for (Map.Entry<String, List<String>> header : sorted.entrySet()) {
+                        key.append('\n').append(header.getKey().toLowerCase()).append(':').append(header.getValue());
+                    }
+                } else {
+                    for (String header : headers) {
+                        final String name = header.trim();
+                        key.append('\n').append(name.toLowerCase()).append(':')
+                                .append(request.getHeaders().getHeader(name));
+                    }
+                }
+                return key.toString();
+            }
+        };
+    }
+
+    /**
+     * Create new coalescing connector using the {@link #DEFAULT_KEY default key function}.
+     *
+     * @param connector client transport connector.
+     */
+    public CoalescingConnector(final Inflector<Request, Response> connector) {
+        this(connector, DEFAULT_KEY, DEFAULT_MAX_SHARED_SIZE);
+    }
+
+    /**
+     * Create new coalescing connector.
+     *
+     * @param connector     client transport connector.
+     * @param keyFunction   function deriving the key of coalesced requests. Requests with equal keys
+     *                      are coalesced; a {@code null} key means the request is never coalesced.
+     * @param maxSharedSize maximum size in bytes of a shared response entity.
+     */
+    public CoalescingConnector(final Inflector<Request, Response> connector,
+                               final Function<Request, String> keyFunction,
+                               final int maxSharedSize) {
+        this.connector = connector;
+        this.keyFunction = keyFunction;
+        this.maxSharedSize = maxSharedSize;
+    }
+
+    @Override
+    public Response apply(final Request request) {
+        final String method = request.getMethod();
+        if ((!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) || request.hasEntity()) {
+            return connector.apply(request);
+        }
+
+        final String key = keyFunction.apply(request);
+        if (key == null) {
+            return connector.apply(request);
+        }
+
+        final SettableFuture<SharedResponse> future = SettableFuture.create();
+        final SettableFuture<SharedResponse> inFlightFuture = inFlight.putIfAbsent(key, future);
+        if (inFlightFuture != null) {
+            return await(inFlightFuture, request);
+        }
+
+        try {
+            final Response response = connector.apply(request);
+
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            final InputStream in = response.hasEntity() ? response.readEntity(InputStream.class) : null;
+            if (in != null && !readFully(in, buffer)) {
+                // too large to be shared - the waiting requests are sent on their own
+                future.set(null);
+                final Response.ResponseBuilder builder = Responses.from(response.getStatus(), request,
+                        new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), in));
+                Responses.fillHeaders(builder, response.getHeaders().asMap());
+                return builder.build();
+            }
+
+            final SharedResponse shared = new SharedResponse(response, buffer.toByteArray());
+            future.set(shared);
+            return shared.toResponse(request);
+        } catch (IOException ex) {
+            final ProcessingException pe = new ProcessingException(ex);
+            future.setException(pe);
+            throw pe;
+        } catch (RuntimeException ex) {
+            future.setException(ex);
+            throw ex;
+        } catch (Error error) {
+            future.setException(error);
+            throw error;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Get the number of requests currently in flight.
+     *
+     * @return number of in-flight requests.
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private Response await(final ListenableFuture<SharedResponse> future, final Request request) {
+        final SharedResponse shared;
+        try {
+            shared = Uninterruptibles.getUninterruptibly(future);
+        } catch (ExecutionException ex) {
+            throw Throwables.propagate(ex.getCause());
+        }
+        return (shared == null) ? connector.apply(request) : shared.toResponse(request);
+    }
+
+    private boolean readFully(final InputStream in, final ByteArrayOutputStream out) throws IOException {
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > maxSharedSize) {
+                return false;
+            }
+        }
+        in.close();
+        return true;
+    }
+
+    /**
+     * Buffered response shared by the coalesced requests.
+     */
+    private static final class SharedResponse {
+
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final byte[] entity;
+
+        private SharedResponse(final Response response, final byte[] entity) {
+            this.status = response.getStatus();
+            this.headers = Collections.unmodifiableMap(
+                    new LinkedHashMap<String, List<String>>(response.getHeaders().asMap()));
+            this.entity = entity;
+        }
+
+        private Response toResponse(final Request request) {
+            final Response.ResponseBuilder builder = Responses.from(status, request, new ByteArrayInputStream(entity));
+            Responses.fillHeaders(builder, headers);
+            return builder.build();
+        }
+    }
+}
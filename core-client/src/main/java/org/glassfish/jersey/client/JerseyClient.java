@@ -41,7 +41,6 @@ package org.glassfish.jersey.client;
 
 import java.net.URI;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -58,13 +57,17 @@ import javax.ws.rs.core.UriBuilder;
 import static javax.ws.rs.HttpMethod.POST;
 import static javax.ws.rs.HttpMethod.PUT;
 
+import org.glassfish.jersey.client.cache.CachingConnector;
 import org.glassfish.jersey.internal.ContextResolverFactory;
 import org.glassfish.jersey.internal.ExceptionMapperFactory;
 import org.glassfish.jersey.internal.ServiceProviders;
+import org.glassfish.jersey.internal.inject.Providers;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.internal.MessageBodyFactory;
 import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.process.ProcessingExecutors;
+import org.glassfish.jersey.process.ProcessingExecutorsModule;
 import org.glassfish.jersey.process.internal.FilteringAcceptor;
 import org.glassfish.jersey.process.internal.InvocationCallback;
 import org.glassfish.jersey.process.internal.InvocationContext;
@@ -75,8 +78,10 @@ import org.glassfish.jersey.process.internal.RequestScope;
 import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.spi.ContextResolvers;
 import org.glassfish.jersey.spi.ExceptionMappers;
+import org.glassfish.jersey.spi.ProcessingExecutorsProvider;
 
 import org.glassfish.hk2.ComponentException;
+import org.glassfish.hk2.DynamicBinderFactory;
 import org.glassfish.hk2.Factory;
 import org.glassfish.hk2.HK2;
 import org.glassfish.hk2.Module;
@@ -96,6 +101,27 @@ import static com.google.common.base.Preconditions.checkState;
  */
 public class JerseyClient implements javax.ws.rs.client.Client {
 
+    /**
+     * Service providers and the provider infrastructure built on top of them
+     * for a single client configuration state.
+     */
+    static final class ProcessingProviders {
+
+        private final JerseyClient client;
+        private final ServiceProviders serviceProviders;
+        private final ExceptionMappers exceptionMappers;
+        private final MessageBodyWorkers messageBodyWorkers;
+        private final ContextResolvers contextResolvers;
+
+        private ProcessingProviders(final JerseyClient client, final ServiceProviders serviceProviders) {
+            this.client = client;
+            this.serviceProviders = serviceProviders;
+            this.exceptionMappers = new ExceptionMapperFactory(serviceProviders);
+            this.messageBodyWorkers = new MessageBodyFactory(serviceProviders);
+            this.contextResolvers = new ContextResolverFactory(serviceProviders);
+        }
+    }
+
     private static final class References {
 
         @Inject
@@ -196,6 +222,11 @@ public class JerseyClient implements javax.ws.rs.client.Client {
     private final AtomicBoolean closedFlag;
     private Inflector<Request, Response> connector;
     private Injector injector;
+    /**
+     * Built-in processing executors provider created for the client, {@code null} if the default
+     * or a custom processing executors provider is used.
+     */
+    private ProcessingExecutorsProvider processingExecutors;
     //
     @Inject
     private RequestInvoker invoker;
@@ -207,7 +238,9 @@ public class JerseyClient implements javax.ws.rs.client.Client {
      *
      * @param configuration jersey client configuration.
      * @param connector     transport connector. If {@code null}, the {@link HttpUrlConnector
-     *                      default transport} will be used.
+     *                      default transport} will be used. The connector is decorated with the
+     *                      {@link CachingConnector client cache} and {@link CoalescingConnector request
+     *                      coalescing} if enabled in the configuration.
      * @param customModules custom HK2 modules to be registered with the client.
      */
     protected JerseyClient(
@@ -216,7 +249,10 @@ public class JerseyClient implements javax.ws.rs.client.Client {
             final List<Module> customModules) {
         this.configuration = configuration;
         this.closedFlag = new AtomicBoolean(false);
-        this.connector = (connector == null) ? new HttpUrlConnector() : connector;
+        final Map<String, Object> properties = configuration.getProperties();
+        this.connector = CoalescingConnector.wrap(
+                CachingConnector.wrap((connector == null) ? new HttpUrlConnector() : connector, properties),
+                properties);
 
         initialize(customModules);
     }
@@ -243,11 +279,61 @@ public class JerseyClient implements javax.ws.rs.client.Client {
 
             services = HK2.get().create(null, modules);
         }
+        registerProcessingExecutors(services);
         this.injector = services.forContract(Injector.class).get();
 
         this.injector.inject(this);
     }
 
+    /**
+     * Register the built-in processing executors provider selected by the
+     * {@link ClientProperties#PROCESSING_MODE} property unless a custom processing
+     * executors provider has been registered in the custom modules.
+     *
+     * @param services client services.
+     */
+    private void registerProcessingExecutors(final Services services) {
+        if (!Providers.getProviders(services, ProcessingExecutorsProvider.class).isEmpty()) {
+            return;
+        }
+
+        final ProcessingExecutorsProvider provider = ProcessingExecutors.createProvider(configuration.getProperties(),
+                ClientProperties.PROCESSING_MODE,
+                ClientProperties.PROCESSING_POOL_SIZE,
+                ClientProperties.PROCESSING_QUEUE_SIZE,
+                "jersey-client-processing-%d");
+        if (provider != null) {
+            final DynamicBinderFactory binderFactory = services.bindDynamically();
+            new ProcessingExecutorsModule(provider).configure(binderFactory);
+            binderFactory.commit();
+            this.processingExecutors = provider;
+        }
+    }
+
+    /**
+     * Get the processing providers for the configuration of an invocation.
+     * <p/>
+     * The processing providers are created only once per immutable configuration state
+     * and cached in the configuration, so that the provider lookup and the message body
+     * reader and writer ordering is not repeated for every invocation.
+     *
+     * @param cfg invocation configuration.
+     * @param refs request-scoped references.
+     * @return processing providers for the configuration.
+     */
+    private ProcessingProviders getProcessingProviders(final JerseyConfiguration cfg, final References refs) {
+        ProcessingProviders processingProviders = cfg.getProcessingProviders();
+        if (processingProviders == null || processingProviders.client != this) {
+            // the configuration state may be shared by multiple clients - the cached providers are client-specific
+            final ServiceProviders providers = refs.serviceProvidersBuilder
+                    .setProviderClasses(cfg.getProviderClasses()).setProviderInstances(cfg.getProviderInstances())
+                    .build();
+            processingProviders = new ProcessingProviders(this, providers);
+            cfg.setProcessingProviders(processingProviders);
+        }
+        return processingProviders;
+    }
+
     /**
      * Submit a configured invocation for processing.
      *
@@ -266,23 +352,22 @@ public class JerseyClient implements javax.ws.rs.client.Client {
                         References refs = injector.inject(References.class);
 
                         final JerseyConfiguration cfg = invocation.configuration();
-                        final ServiceProviders providers = refs.serviceProvidersBuilder
-                                .setProviderClasses(cfg.getProviderClasses()).setProviderInstances(cfg.getProviderInstances())
-                                .build();
-                        final ExceptionMapperFactory mappers = new ExceptionMapperFactory(providers);
-                        final MessageBodyWorkers workers = new MessageBodyFactory(providers);
-                        final ContextResolvers resolvers = new ContextResolverFactory(providers);
+                        final ProcessingProviders processingProviders = getProcessingProviders(cfg, refs);
 
                         refs.configuration.set(cfg);
-                        refs.serviceProviders.set(providers);
-                        refs.exceptionMappers.set(mappers);
-                        refs.messageBodyWorkers.set(workers);
-                        refs.contextResolvers.set(resolvers);
+                        refs.serviceProviders.set(processingProviders.serviceProviders);
+                        refs.exceptionMappers.set(processingProviders.exceptionMappers);
+                        refs.messageBodyWorkers.set(processingProviders.messageBodyWorkers);
+                        refs.contextResolvers.set(processingProviders.contextResolvers);
 
                         final Request request = injector.inject(invocation.request());
-                        Map<String, Object> properties = new HashMap<String, Object>(configuration().getProperties());
-                        properties.putAll(request.getProperties());
-                        request.getProperties().putAll(properties);
+                        // client properties do not override the request-specific properties
+                        final Map<String, Object> requestProperties = request.getProperties();
+                        for (Map.Entry<String, Object> property : configuration().getProperties().entrySet()) {
+                            if (!requestProperties.containsKey(property.getKey())) {
+                                requestProperties.put(property.getKey(), property.getValue());
+                            }
+                        }
 
                         return invoker.apply(request, new InvocationCallback() {
 
@@ -332,7 +417,9 @@ public class JerseyClient implements javax.ws.rs.client.Client {
     }
 
     private void release() {
-        // TODO release resources
+        ProcessingExecutors.shutdown(processingExecutors);
+        processingExecutors = null;
+        // TODO release other resources
     }
 
     /**
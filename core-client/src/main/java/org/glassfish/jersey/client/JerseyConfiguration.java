@@ -107,6 +107,11 @@ public class JerseyConfiguration implements javax.ws.rs.client.Configuration, Fe
         private final Set<Object> providerInstances;
         private final BiMap<Class<? extends Feature>, Feature> features;
         private final Set<Feature> featuresSetView;
+        /**
+         * Processing providers created for this configuration state. Reset whenever
+         * the set of registered providers or features of this state is modified.
+         */
+        private transient volatile JerseyClient.ProcessingProviders processingProviders;
 
         /**
          * Default configuration state constructor with {@link StateChangeStrategy "identity"}
@@ -204,6 +209,7 @@ public class JerseyConfiguration implements javax.ws.rs.client.Configuration, Fe
         public State register(final Class<?> providerClass) {
             final State state = strategy.onChange(this);
             state.providerClasses.add(providerClass);
+            state.processingProviders = null;
             return state;
         }
 
@@ -211,6 +217,7 @@ public class JerseyConfiguration implements javax.ws.rs.client.Configuration, Fe
         public State register(final Object provider) {
             final State state = strategy.onChange(this);
             state.providerInstances.add(provider);
+            state.processingProviders = null;
             return state;
         }
 
@@ -224,6 +231,7 @@ public class JerseyConfiguration implements javax.ws.rs.client.Configuration, Fe
             final State state = strategy.onChange(this);
             state.features.put(featureClass, feature);
             feature.onEnable(state);
+            state.processingProviders = null;
 
             return state;
         }
@@ -237,6 +245,7 @@ public class JerseyConfiguration implements javax.ws.rs.client.Configuration, Fe
             final State state = strategy.onChange(this);
             final Feature feature = state.features.remove(featureClass);
             feature.onDisable(state);
+            state.processingProviders = null;
 
             return state;
         }
@@ -341,6 +350,28 @@ public class JerseyConfiguration implements javax.ws.rs.client.Configuration, Fe
         return new JerseyConfiguration(state);
     }
 
+    /**
+     * Get the processing providers cached for the current configuration state.
+     *
+     * @return cached processing providers or {@code null} if the providers have not been
+     *     created yet or the registered providers have changed since.
+     */
+    JerseyClient.ProcessingProviders getProcessingProviders() {
+        return state.processingProviders;
+    }
+
+    /**
+     * Cache the processing providers created for the current configuration state.
+     * <p/>
+     * The cached providers are shared by all snapshots of the configuration until
+     * the provider registrations of the configuration or the snapshot are modified.
+     *
+     * @param processingProviders processing providers to be cached.
+     */
+    void setProcessingProviders(final JerseyClient.ProcessingProviders processingProviders) {
+        state.processingProviders = processingProviders;
+    }
+
     @Override
     public Map<String, Object> getProperties() {
         return state.getProperties();
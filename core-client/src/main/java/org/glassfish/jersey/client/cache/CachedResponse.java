@@ -0,0 +1,152 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable response stored in a {@link CacheStore}.
+ */
+public final class CachedResponse {
+
+    private final int status;
+    private final Map<String, List<String>> headers;
+    private final byte[] entity;
+    private final Map<String, String> varyingHeaders;
+    private final long requestTime;
+    private final long responseTime;
+
+    /**
+     * Create new cached response.
+     *
+     * @param status         response status code.
+     * @param headers        response headers.
+     * @param entity         response entity bytes.
+     * @param varyingHeaders values of the request headers listed in the {@code Vary} response header.
+     * @param requestTime    time the request has been sent (in milliseconds since the epoch).
+     * @param responseTime   time the response has been received (in milliseconds since the epoch).
+     */
+    public CachedResponse(final int status,
+                          final Map<String, List<String>> headers,
+                          final byte[] entity,
+                          final Map<String, String> varyingHeaders,
+                          final long requestTime,
+                          final long responseTime) {
+        this.status = status;
+        this.headers = Collections.unmodifiableMap(new LinkedHashMap<String, List<String>>(headers));
+        this.entity = entity;
+        this.varyingHeaders = Collections.unmodifiableMap(new LinkedHashMap<String, String>(varyingHeaders));
+        this.requestTime = requestTime;
+        this.responseTime = responseTime;
+    }
+
+    /**
+     * Get the response status code.
+     *
+     * @return response status code.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Get the response headers.
+     *
+     * @return unmodifiable map of the response headers.
+     */
+    public Map<String, List<String>> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the first value of the response header.
+     *
+     * @param name header name (case insensitive).
+     * @return first header value or {@code null} if the header is not present.
+     */
+    public String getHeader(final String name) {
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getKey().equalsIgnoreCase(name) && !header.getValue().isEmpty()) {
+                return header.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the response entity bytes. The returned array MUST NOT be modified.
+     *
+     * @return response entity bytes.
+     */
+    public byte[] getEntity() {
+        return entity;
+    }
+
+    /**
+     * Get the values of the request headers the response varies on.
+     *
+     * @return unmodifiable map of the request header names and values; a {@code null}
+     *         value means the header was not present in the request.
+     */
+    public Map<String, String> getVaryingHeaders() {
+        return varyingHeaders;
+    }
+
+    /**
+     * Get the time the request has been sent.
+     *
+     * @return request time in milliseconds since the epoch.
+     */
+    public long getRequestTime() {
+        return requestTime;
+    }
+
+    /**
+     * Get the time the response has been received.
+     *
+     * @return response time in milliseconds since the epoch.
+     */
+    public long getResponseTime() {
+        return responseTime;
+    }
+}
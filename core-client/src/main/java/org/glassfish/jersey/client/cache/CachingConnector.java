@@ -0,0 +1,483 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.ProcessingException;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.internal.CacheControlProvider;
+import org.glassfish.jersey.message.internal.HttpHeaderReader;
+import org.glassfish.jersey.message.internal.Requests;
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+
+/**
+ * Client transport connector decorator implementing a private HTTP cache
+ * (RFC 2616, section 13).
+ * <p/>
+ * Cacheable {@code GET} responses are buffered and stored in a {@link CacheStore};
+ * fresh stored responses are returned without contacting the server. Stale responses
+ * with a validator are revalidated using the {@code If-None-Match} and
+ * {@code If-Modified-Since} request headers and refreshed if the server responds
+ * with {@code 304 Not Modified}. The {@code Cache-Control} directives of both
+ * the requests and the responses as well as the {@code Vary} response header
+ * are honored. Successful unsafe requests invalidate the stored response of the
+ * request URI.
+ * <p/>
+ * A single response variant is stored for each request URI; a request that
+ * does not match the {@code Vary} headers of the stored response replaces it.
+ *
+ * @see ClientProperties#CACHE_SIZE
+ * @see ClientProperties#CACHE_DIRECTORY
+ * @see ClientProperties#CACHE_STORE
+ */
+public final class CachingConnector implements Inflector<Request, Response> {
+
+    private static final Logger LOGGER = Logger.getLogger(CachingConnector.class.getName());
+    private static final CacheControlProvider CACHE_CONTROL_PROVIDER = new CacheControlProvider();
+    private static final long MAX_HEURISTIC_LIFETIME = TimeUnit.DAYS.toMillis(1);
+    /**
+     * Status codes of the responses that may be cached (RFC 2616, section 13.4).
+     */
+    private static final List<Integer> CACHEABLE_STATUSES = Arrays.asList(200, 203, 300, 301, 410);
+    /**
+     * Headers that are not stored with the cached response or updated by a revalidation.
+     */
+    private static final List<String> EXCLUDED_HEADERS = Arrays.asList(
+            HttpHeaders.CONTENT_LENGTH, "Connection", "Keep-Alive", "Transfer-Encoding", "Age");
+    //
+    private final Inflector<Request, Response> connector;
+    private final CacheStore store;
+    private final int maxEntrySize;
+
+    /**
+     * Decorate the connector with the client cache configured by the {@link ClientProperties#CACHE_STORE},
+     * {@link ClientProperties#CACHE_SIZE} and {@link ClientProperties#CACHE_DIRECTORY} properties.
+     *
+     * @param connector  client transport connector.
+     * @param properties client configuration properties.
+     * @return caching connector or the original connector if the client cache is not enabled.
+     */
+    public static Inflector<Request, Response> wrap(final Inflector<Request, Response> connector,
+                                                    final Map<String, ?> properties) {
+        final Object customStore = properties.get(ClientProperties.CACHE_STORE);
+        if (customStore != null) {
+            if (!(customStore instanceof CacheStore)) {
+                throw new IllegalArgumentException(
+                        LocalizationMessages.CACHE_STORE_INVALID(customStore, CacheStore.class.getName()));
+            }
+            return new CachingConnector(connector, (CacheStore) customStore);
+        }
+
+        final long size = PropertiesHelper.getValue(properties, ClientProperties.CACHE_SIZE, 0L);
+        if (size <= 0) {
+            return connector;
+        }
+
+        final Object directory = properties.get(ClientProperties.CACHE_DIRECTORY);
+        final CacheStore store = (directory == null) ? new InMemoryCacheStore(size)
+                : new DiskCacheStore((directory instanceof File) ? (File) directory : new File(directory.toString()), size);
+        return new CachingConnector(connector, store, (int) Math.min(Integer.MAX_VALUE, Math.max(1, size / 4)));
+    }
+
+    /**
+     * Create new caching connector.
+     *
+     * @param connector client transport connector.
+     * @param store     cache store.
+     */
+    public CachingConnector(final Inflector<Request, Response> connector, final CacheStore store) {
+        this(connector, store, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create new caching connector.
+     *
+     * @param connector    client transport connector.
+     * @param store        cache store.
+     * @param maxEntrySize maximum size of a cached response entity in bytes; larger
+     *                     responses are not cached.
+     */
+    public CachingConnector(final Inflector<Request, Response> connector, final CacheStore store, final int maxEntrySize) {
+        this.connector = connector;
+        this.store = store;
+        this.maxEntrySize = maxEntrySize;
+    }
+
+    @Override
+    public Response apply(final Request request) {
+        final String key = request.getUri().toString();
+
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            final Response response = connector.apply(request);
+            if (!HttpMethod.HEAD.equals(request.getMethod()) && !HttpMethod.OPTIONS.equals(request.getMethod())
+                    && response.getStatus() < 400) {
+                store.remove(key);
+            }
+            return response;
+        }
+
+        final CacheControl requestCacheControl = readCacheControl(request.getHeaders().getHeader(HttpHeaders.CACHE_CONTROL));
+        if (requestCacheControl != null && requestCacheControl.isNoStore()) {
+            return connector.apply(request);
+        }
+
+        CachedResponse cached = store.get(key);
+        if (cached != null && !matchesVary(cached, request)) {
+            cached = null;
+        }
+
+        final boolean noCache = (requestCacheControl != null && requestCacheControl.isNoCache())
+                || "no-cache".equalsIgnoreCase(request.getHeaders().getHeader("Pragma"));
+        if (cached != null && !noCache) {
+            final long age = getCurrentAge(cached, System.currentTimeMillis());
+            if (isFresh(cached, age, requestCacheControl)) {
+                return toResponse(cached, request, age);
+            }
+        }
+
+        if (requestCacheControl != null && requestCacheControl.getCacheExtension().containsKey("only-if-cached")) {
+            return Responses.from(Response.Status.GATEWAY_TIMEOUT, request).build();
+        }
+
+        final Request outgoing = (cached == null) ? request : addValidators(cached, request);
+        final long requestTime = System.currentTimeMillis();
+        final Response response = connector.apply(outgoing);
+        final long responseTime = System.currentTimeMillis();
+
+        if (outgoing != request && response.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode()) {
+            response.close();
+            final CachedResponse refreshed = refresh(cached, response, requestTime, responseTime);
+            store.put(key, refreshed);
+            return toResponse(refreshed, request, getCurrentAge(refreshed, System.currentTimeMillis()));
+        }
+
+        return store(key, request, response, requestTime, responseTime);
+    }
+
+    /**
+     * Store the response if it is cacheable.
+     *
+     * @return response to be returned to the client.
+     */
+    private Response store(final String key,
+                           final Request request,
+                           final Response response,
+                           final long requestTime,
+                           final long responseTime) {
+        if (!CACHEABLE_STATUSES.contains(response.getStatus())) {
+            return response;
+        }
+
+        final CacheControl cacheControl = readCacheControl(response.getHeaders().getHeader(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && cacheControl.isNoStore()) {
+            store.remove(key);
+            return response;
+        }
+
+        final List<String> vary = readVary(response.getHeaders().asMap().get(HttpHeaders.VARY));
+        if (vary == null || (!hasExplicitLifetime(cacheControl, response) && !hasValidators(response))) {
+            return response;
+        }
+
+        final byte[] entity;
+        try {
+            final InputStream in = response.hasEntity() ? response.readEntity(InputStream.class) : null;
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            if (in != null && !readFully(in, buffer)) {
+                // too large to be cached - return the already read part followed by the rest of the stream
+                final Response.ResponseBuilder builder = Responses.from(response.getStatus(), request,
+                        new SequenceInputStream(new ByteArrayInputStream(buffer.toByteArray()), in));
+                Responses.fillHeaders(builder, response.getHeaders().asMap());
+                return builder.build();
+            }
+            entity = buffer.toByteArray();
+        } catch (IOException ex) {
+            throw new ProcessingException(ex);
+        }
+
+        final Map<String, String> varyingHeaders = new LinkedHashMap<String, String>();
+        for (String header : vary) {
+            varyingHeaders.put(header, request.getHeaders().getHeader(header));
+        }
+
+        final CachedResponse cached = new CachedResponse(response.getStatus(), filterHeaders(response.getHeaders().asMap()),
+                entity, varyingHeaders, requestTime, responseTime);
+        store.put(key, cached);
+        return toResponse(cached, request, -1);
+    }
+
+    private boolean readFully(final InputStream in, final ByteArrayOutputStream out) throws IOException {
+        final byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+            if (out.size() > maxEntrySize) {
+                return false;
+            }
+        }
+        in.close();
+        return true;
+    }
+
+    private static Request addValidators(final CachedResponse cached, final Request request) {
+        if (request.getHeaders().getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeaders().getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            // conditional request issued by the application
+            return request;
+        }
+
+        final String eTag = cached.getHeader(HttpHeaders.ETAG);
+        final String lastModified = cached.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (eTag == null && lastModified == null) {
+            return request;
+        }
+
+        Request.RequestBuilder builder = Requests.from(request);
+        if (eTag != null) {
+            builder = builder.header(HttpHeaders.IF_NONE_MATCH, eTag);
+        }
+        if (lastModified != null) {
+            builder = builder.header(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Update the stored response with the headers of a {@code 304 Not Modified} response
+     * (RFC 2616, section 10.3.5).
+     */
+    private static CachedResponse refresh(final CachedResponse cached,
+                                          final Response notModified,
+                                          final long requestTime,
+                                          final long responseTime) {
+        final Map<String, List<String>> headers = new LinkedHashMap<String, List<String>>(cached.getHeaders());
+        for (Map.Entry<String, List<String>> header : filterHeaders(notModified.getHeaders().asMap()).entrySet()) {
+            for (String name : new ArrayList<String>(headers.keySet())) {
+                if (name.equalsIgnoreCase(header.getKey())) {
+                    headers.remove(name);
+                }
+            }
+            headers.put(header.getKey(), header.getValue());
+        }
+        return new CachedResponse(cached.getStatus(), headers, cached.getEntity(), cached.getVaryingHeaders(),
+                requestTime, responseTime);
+    }
+
+    private static Response toResponse(final CachedResponse cached, final Request request, final long age) {
+        final Response.ResponseBuilder builder = Responses.from(cached.getStatus(), request,
+                new ByteArrayInputStream(cached.getEntity()));
+        Responses.fillHeaders(builder, cached.getHeaders());
+        if (age >= 0) {
+            builder.header("Age", TimeUnit.MILLISECONDS.toSeconds(age));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Compute the current age of the stored response in milliseconds (RFC 2616, section 13.2.3).
+     */
+    private static long getCurrentAge(final CachedResponse cached, final long now) {
+        final long date = readDate(cached.getHeader(HttpHeaders.DATE), cached.getResponseTime());
+        final long apparentAge = Math.max(0, cached.getResponseTime() - date);
+
+        long ageValue = 0;
+        final String age = cached.getHeader("Age");
+        if (age != null) {
+            try {
+                ageValue = TimeUnit.SECONDS.toMillis(Long.parseLong(age.trim()));
+            } catch (NumberFormatException ex) {
+                LOGGER.log(Level.FINE, "Invalid Age header value: " + age, ex);
+            }
+        }
+
+        final long correctedInitialAge = Math.max(apparentAge,
+                ageValue + (cached.getResponseTime() - cached.getRequestTime()));
+        return correctedInitialAge + Math.max(0, now - cached.getResponseTime());
+    }
+
+    /**
+     * Compute the freshness lifetime of the stored response in milliseconds (RFC 2616, section 13.2.4).
+     */
+    private static long getFreshnessLifetime(final CachedResponse cached) {
+        final CacheControl cacheControl = readCacheControl(cached.getHeader(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && cacheControl.getMaxAge() >= 0) {
+            return TimeUnit.SECONDS.toMillis(cacheControl.getMaxAge());
+        }
+
+        final long date = readDate(cached.getHeader(HttpHeaders.DATE), cached.getResponseTime());
+        final String expires = cached.getHeader("Expires");
+        if (expires != null) {
+            // invalid Expires header means the response is already expired (RFC 2616, section 14.21)
+            return readDate(expires, date) - date;
+        }
+
+        final String lastModified = cached.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModified != null) {
+            // heuristic expiration (RFC 2616, section 13.2.4)
+            return Math.min(MAX_HEURISTIC_LIFETIME, Math.max(0, (date - readDate(lastModified, date)) / 10));
+        }
+        return 0;
+    }
+
+    private static boolean isFresh(final CachedResponse cached, final long age, final CacheControl requestCacheControl) {
+        final CacheControl cacheControl = readCacheControl(cached.getHeader(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && cacheControl.isNoCache()) {
+            return false;
+        }
+        if (requestCacheControl != null && requestCacheControl.getMaxAge() >= 0
+                && age > TimeUnit.SECONDS.toMillis(requestCacheControl.getMaxAge())) {
+            return false;
+        }
+        return getFreshnessLifetime(cached) > age;
+    }
+
+    private static boolean hasExplicitLifetime(final CacheControl cacheControl, final Response response) {
+        return (cacheControl != null && cacheControl.getMaxAge() >= 0)
+                || response.getHeaders().getHeader("Expires") != null;
+    }
+
+    private static boolean hasValidators(final Response response) {
+        return response.getHeaders().getHeader(HttpHeaders.ETAG) != null
+                || response.getHeaders().getHeader(HttpHeaders.LAST_MODIFIED) != null;
+    }
+
+    private static boolean matchesVary(final CachedResponse cached, final Request request) {
+        for (Map.Entry<String, String> vary : cached.getVaryingHeaders().entrySet()) {
+            final String value = request.getHeaders().getHeader(vary.getKey());
+            if ((value == null) ? vary.getValue() != null : !value.equals(vary.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<String, List<String>> filterHeaders(final Map<String, List<String>> headers) {
+        final Map<String, List<String>> filtered = new LinkedHashMap<String, List<String>>();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!isExcluded(header.getKey())) {
+                filtered.put(header.getKey(), new ArrayList<String>(header.getValue()));
+            }
+        }
+        return filtered;
+    }
+
+    private static boolean isExcluded(final String header) {
+        for (String excluded : EXCLUDED_HEADERS) {
+            if (excluded.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the request header names listed in the {@code Vary} header.
+     *
+     * @return header names or {@code null} if the response must not be cached.
+     */
+    private static List<String> readVary(final List<String> values) {
+        final List<String> vary = new ArrayList<String>();
+        if (values == null) {
+            return vary;
+        }
+
+        for (String value : values) {
+            for (String header : value.split(",")) {
+                final String name = header.trim();
+                if ("*".equals(name)) {
+                    return null;
+                } else if (name.length() > 0) {
+                    vary.add(name);
+                }
+            }
+        }
+        return vary;
+    }
+
+    private static CacheControl readCacheControl(final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return CACHE_CONTROL_PROVIDER.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.log(Level.FINE, "Invalid Cache-Control header value: " + value, ex);
+            return null;
+        }
+    }
+
+    private static long readDate(final String value, final long defaultValue) {
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final Date date = HttpHeaderReader.readDate(value);
+            return date.getTime();
+        } catch (ParseException ex) {
+            LOGGER.log(Level.FINE, "Invalid date header value: " + value, ex);
+            return defaultValue;
+        }
+    }
+}
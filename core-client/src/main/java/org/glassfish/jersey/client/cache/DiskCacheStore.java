@@ -0,0 +1,289 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.client.internal.LocalizationMessages;
+
+/**
+ * Disk-backed {@link CacheStore cache store}. Each response is stored in a separate
+ * file in the cache directory; the total size of the stored files is limited and
+ * the least recently used responses are evicted once the limit is exceeded.
+ * <p/>
+ * The responses stored in the directory by a previous instance of the store
+ * are reused.
+ */
+public final class DiskCacheStore implements CacheStore {
+
+    private static final Logger LOGGER = Logger.getLogger(DiskCacheStore.class.getName());
+    private static final int MAGIC = 0x4a434331; // "JCC1"
+    private static final String SUFFIX = ".cache";
+    //
+    private final File directory;
+    private final long maxSize;
+    /**
+     * Access-ordered index of the stored files and their sizes, guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Long> files = new LinkedHashMap<String, Long>(64, 0.75f, true);
+    private long size;
+
+    /**
+     * Create new disk-backed cache store.
+     *
+     * @param directory cache directory. The directory is created if it does not exist.
+     * @param maxSize   maximum total size of the stored files in bytes.
+     * @throws IllegalArgumentException in case the directory does not exist and cannot be created.
+     */
+    public DiskCacheStore(final File directory, final long maxSize) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException(LocalizationMessages.CACHE_DIRECTORY_NOT_WRITABLE(directory));
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+
+        final File[] existing = directory.listFiles();
+        if (existing != null) {
+            Arrays.sort(existing, new Comparator<File>() {
+
+                @Override
+                public int compare(final File f1, final File f2) {
+                    final long m1 = f1.lastModified();
+                    final long m2 = f2.lastModified();
+                    return (m1 < m2) ? -1 : ((m1 == m2) ? 0 : 1);
+                }
+            });
+            for (File file : existing) {
+                if (file.isFile() && file.getName().endsWith(SUFFIX)) {
+                    files.put(file.getName(), file.length());
+                    size += file.length();
+                }
+            }
+            evict();
+        }
+    }
+
+    @Override
+    public CachedResponse get(final String key) {
+        final String name = fileName(key);
+        synchronized (this) {
+            if (files.get(name) == null) {
+                return null;
+            }
+        }
+
+        final File file = new File(directory, name);
+        try {
+            // null in case of a hash collision, i.e. the file holds a different key
+            return read(file, key);
+        } catch (IOException ex) {
+            LOGGER.log(Level.FINE, LocalizationMessages.CACHE_ENTRY_READ_FAILED(file), ex);
+            remove(key);
+            return null;
+        }
+    }
+
+    @Override
+    public void put(final String key, final CachedResponse response) {
+        final String name = fileName(key);
+        final File file = new File(directory, name);
+        try {
+            final File temp = File.createTempFile("entry", ".tmp", directory);
+            try {
+                write(temp, key, response);
+                synchronized (this) {
+                    if (!temp.renameTo(file)) {
+                        // rename does not replace the existing file on some platforms
+                        file.delete();
+                        if (!temp.renameTo(file)) {
+                            throw new IOException(LocalizationMessages.CACHE_ENTRY_WRITE_FAILED(file));
+                        }
+                    }
+
+                    final Long previous = files.put(name, file.length());
+                    size += file.length() - ((previous == null) ? 0 : previous);
+                    evict();
+                }
+            } finally {
+                temp.delete();
+            }
+        } catch (IOException ex) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.CACHE_ENTRY_WRITE_FAILED(file), ex);
+        }
+    }
+
+    @Override
+    public synchronized void remove(final String key) {
+        final String name = fileName(key);
+        final Long removed = files.remove(name);
+        if (removed != null) {
+            size -= removed;
+            new File(directory, name).delete();
+        }
+    }
+
+    /**
+     * Get the total size of the stored files.
+     *
+     * @return size of the stored files in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> iterator = files.entrySet().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            final Map.Entry<String, Long> eldest = iterator.next();
+            size -= eldest.getValue();
+            iterator.remove();
+            new File(directory, eldest.getKey()).delete();
+        }
+    }
+
+    private static CachedResponse read(final File file, final String key) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(LocalizationMessages.CACHE_ENTRY_READ_FAILED(file));
+            }
+            if (!key.equals(in.readUTF())) {
+                return null;
+            }
+
+            final int status = in.readInt();
+            final long requestTime = in.readLong();
+            final long responseTime = in.readLong();
+
+            final Map<String, String> vary = new LinkedHashMap<String, String>();
+            for (int i = in.readInt(); i > 0; i--) {
+                final String name = in.readUTF();
+                vary.put(name, in.readBoolean() ? in.readUTF() : null);
+            }
+
+            final Map<String, List<String>> headers = new LinkedHashMap<String, List<String>>();
+            for (int i = in.readInt(); i > 0; i--) {
+                final String name = in.readUTF();
+                final int count = in.readInt();
+                final List<String> values = new ArrayList<String>(count);
+                for (int j = 0; j < count; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, values);
+            }
+
+            final byte[] entity = new byte[in.readInt()];
+            in.readFully(entity);
+
+            return new CachedResponse(status, headers, entity, vary, requestTime, responseTime);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static void write(final File file, final String key, final CachedResponse response) throws IOException {
+        final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        try {
+            out.writeInt(MAGIC);
+            out.writeUTF(key);
+            out.writeInt(response.getStatus());
+            out.writeLong(response.getRequestTime());
+            out.writeLong(response.getResponseTime());
+
+            out.writeInt(response.getVaryingHeaders().size());
+            for (Map.Entry<String, String> vary : response.getVaryingHeaders().entrySet()) {
+                out.writeUTF(vary.getKey());
+                out.writeBoolean(vary.getValue() != null);
+                if (vary.getValue() != null) {
+                    out.writeUTF(vary.getValue());
+                }
+            }
+
+            out.writeInt(response.getHeaders().size());
+            for (Map.Entry<String, List<String>> header : response.getHeaders().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeInt(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+
+            out.writeInt(response.getEntity().length);
+            out.write(response.getEntity());
+        } finally {
+            out.close();
+        }
+    }
+
+    private static String fileName(final String key) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes("UTF-8"));
+            final StringBuilder name = new StringBuilder(digest.length * 2 + SUFFIX.length());
+            for (byte b : digest) {
+                name.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+            }
+            return name.append(SUFFIX).toString();
+        } catch (NoSuchAlgorithmException ex) {
+            // SHA-1 is required to be supported by every Java platform
+            throw new IllegalStateException(ex);
+        } catch (IOException ex) {
+            // UTF-8 is required to be supported by every Java platform
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * In-memory {@link CacheStore cache store} limiting the total size of the stored
+ * entities. Once the limit is exceeded, the least recently used responses are evicted.
+ */
+public final class InMemoryCacheStore implements CacheStore {
+
+    private final long maxSize;
+    private final LinkedHashMap<String, CachedResponse> responses =
+            new LinkedHashMap<String, CachedResponse>(64, 0.75f, true);
+    private long size;
+
+    /**
+     * Create new in-memory cache store.
+     *
+     * @param maxSize maximum total size of the stored entities in bytes.
+     */
+    public InMemoryCacheStore(final long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized CachedResponse get(final String key) {
+        return responses.get(key);
+    }
+
+    @Override
+    public synchronized void put(final String key, final CachedResponse response) {
+        remove(key);
+        if (response.getEntity().length > maxSize) {
+            return;
+        }
+
+        responses.put(key, response);
+        size += response.getEntity().length;
+
+        final Iterator<CachedResponse> iterator = responses.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().getEntity().length;
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public synchronized void remove(final String key) {
+        final CachedResponse removed = responses.remove(key);
+        if (removed != null) {
+            size -= removed.getEntity().length;
+        }
+    }
+
+    /**
+     * Get the total size of the stored entities.
+     *
+     * @return size of the stored entities in bytes.
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.ext.FilterContext;
+import javax.ws.rs.ext.RequestFilter;
+
+import org.glassfish.jersey.client.ClientProperties;
+
+/**
+ * Client-side filter that advertises the content codings accepted by the client
+ * in the {@code Accept-Encoding} request header and, if the
+ * {@link ClientProperties#USE_ENCODING} property is set, marks the request entity
+ * to be encoded using the configured content coding.
+ * <p/>
+ * The actual encoding and decoding of the entities is performed by the
+ * {@link org.glassfish.jersey.spi.ContentEncoder content encoders} (e.g.
+ * {@link org.glassfish.jersey.message.GZipEncoder}) that need to be registered
+ * together with this filter.
+ */
+public final class EncodingFilter implements RequestFilter {
+
+    private final String acceptEncoding;
+
+    /**
+     * Create a filter accepting the {@code gzip} and {@code deflate} content codings.
+     */
+    public EncodingFilter() {
+        this("gzip", "deflate");
+    }
+
+    /**
+     * Create a filter accepting the given content codings.
+     *
+     * @param acceptedEncodings content codings accepted by the client in the order of preference.
+     */
+    public EncodingFilter(final String... acceptedEncodings) {
+        this.acceptEncoding = join(Arrays.asList(acceptedEncodings));
+    }
+
+    @Override
+    public void preFilter(final FilterContext context) throws IOException {
+        final Request request = context.getRequest();
+        Request.RequestBuilder builder = null;
+
+        if (!acceptEncoding.isEmpty() && request.getHeaders().getHeader(HttpHeaders.ACCEPT_ENCODING) == null) {
+            builder = context.getRequestBuilder().header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+
+        final Object useEncoding = request.getProperties().get(ClientProperties.USE_ENCODING);
+        if (useEncoding != null && request.hasEntity()
+                && request.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING) == null) {
+            builder = (builder == null ? context.getRequestBuilder() : builder)
+                    .header(HttpHeaders.CONTENT_ENCODING, useEncoding.toString());
+        }
+
+        if (builder != null) {
+            context.setRequest(builder.build());
+        }
+    }
+
+    private static String join(final List<String> encodings) {
+        final List<String> nonEmpty = new ArrayList<String>(encodings.size());
+        for (String encoding : encodings) {
+            if (encoding != null && encoding.trim().length() > 0) {
+                nonEmpty.add(encoding.trim());
+            }
+        }
+        if (nonEmpty.isEmpty()) {
+            return "";
+        }
+        final StringBuilder sb = new StringBuilder(nonEmpty.get(0));
+        for (String encoding : nonEmpty.subList(1, nonEmpty.size())) {
+            sb.append(", ").append(encoding);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link CoalescingConnector} tests.
+ */
+public class CoalescingConnectorTest {
+
+    private static class BlockingTransport implements Inflector<Request, Response> {
+
+        private final AtomicInteger requests = new AtomicInteger();
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public Response apply(final Request request) {
+            final int count = requests.incrementAndGet();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return Responses.from(200, request, new ByteArrayInputStream(("value-" + count).getBytes()))
+                    .header("Content-Type", "text/plain").build();
+        }
+    }
+
+    @Test
+    public void testConcurrentRequestsCoalesced() throws Exception {
+        final BlockingTransport transport = new BlockingTransport();
+        final CoalescingConnector connector = new CoalescingConnector(transport);
+        final Target target = new JerseyClient.Builder().transport(connector).build().target("http://localhost/resource");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> results = new ArrayList<Future<String>>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(new Callable<String>() {
+
+                    @Override
+                    public String call() throws Exception {
+                        return target.request().get().readEntity(String.class);
+                    }
+                }));
+            }
+
+            // let all the requests reach the connector
+            Thread.sleep(500);
+            assertEquals(1, connector.getInFlightCount());
+            transport.release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("value-1", result.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, transport.requests.get());
+            assertEquals(0, connector.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testDifferentRequestsNotCoalesced() {
+        final BlockingTransport transport = new BlockingTransport();
+        transport.release.countDown();
+        final Target target = new JerseyClient.Builder().transport(new CoalescingConnector(transport)).build()
+                .target("http://localhost/resource");
+
+        target.request().get().readEntity(String.class);
+        target.request().header("X-Test", "1").get().readEntity(String.class);
+        target.request().post(Entity.text("data"));
+        assertEquals(3, transport.requests.get());
+    }
+
+    @Test
+    public void testLargeResponseNotShared() throws Exception {
+        final BlockingTransport transport = new BlockingTransport();
+        transport.release.countDown();
+        final Target target = new JerseyClient.Builder()
+                .transport(new CoalescingConnector(transport, CoalescingConnector.DEFAULT_KEY, 2))
+                .build().target("http://localhost/resource");
+
+        assertTrue(target.request().get().readEntity(String.class).startsWith("value-"));
+    }
+}
@@ -42,10 +42,14 @@ package org.glassfish.jersey.client;
 import java.io.IOException;
 
 import javax.ws.rs.client.Target;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.ClientFactory;
 import javax.ws.rs.ext.FilterContext;
 import javax.ws.rs.ext.RequestFilter;
 
+import org.glassfish.jersey.process.Inflector;
+
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -53,6 +57,9 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -138,4 +145,35 @@ public class JerseyClientTest {
         });
         assertEquals(1, target.configuration().getProviderInstances().size());
     }
+
+    @Test
+    public void testProcessingProvidersReused() {
+        final JerseyClient jerseyClient = new JerseyClient.Builder().transport(new Inflector<Request, Response>() {
+
+            @Override
+            public Response apply(Request request) {
+                return Response.ok().build();
+            }
+        }).build();
+
+        final Target target = jerseyClient.target("http://jersey.java.net/examples");
+        target.request().get();
+        final JerseyClient.ProcessingProviders providers = jerseyClient.configuration().getProcessingProviders();
+        assertNotNull(providers);
+
+        // invocations share the configuration state of the client until the state is modified
+        target.request().get();
+        assertSame(providers, jerseyClient.configuration().getProcessingProviders());
+
+        target.configuration().register(new RequestFilter() {
+
+            @Override
+            public void preFilter(FilterContext context) throws IOException {
+            }
+        });
+        assertNull(target.configuration().getProcessingProviders());
+        target.request().get();
+        assertNotSame(providers, target.configuration().getProcessingProviders());
+        assertSame(providers, jerseyClient.configuration().getProcessingProviders());
+    }
 }
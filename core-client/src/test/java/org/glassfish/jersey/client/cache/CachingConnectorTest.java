@@ -0,0 +1,179 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.cache;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.Target;
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Client cache tests.
+ */
+public class CachingConnectorTest {
+
+    /**
+     * Transport returning a new entity for every request; supports conditional requests.
+     */
+    private static class CountingTransport implements Inflector<Request, Response> {
+
+        private final AtomicInteger requests = new AtomicInteger();
+        private final String cacheControl;
+        private volatile String lastIfNoneMatch;
+
+        private CountingTransport(final String cacheControl) {
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public Response apply(final Request request) {
+            final int count = requests.incrementAndGet();
+            lastIfNoneMatch = request.getHeaders().getHeader(HttpHeaders.IF_NONE_MATCH);
+            if ("\"v1\"".equals(lastIfNoneMatch)) {
+                return Responses.from(304, request)
+                        .header(HttpHeaders.ETAG, "\"v1\"")
+                        .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                        .build();
+            }
+            return Responses.from(200, request, new ByteArrayInputStream(("value-" + count).getBytes()))
+                    .header(HttpHeaders.CONTENT_TYPE, "text/plain")
+                    .header(HttpHeaders.ETAG, "\"v1\"")
+                    .header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                    .build();
+        }
+    }
+
+    private static Target target(final CountingTransport transport) {
+        final JerseyClient client = new JerseyClient.Builder()
+                .transport(new CachingConnector(transport, new InMemoryCacheStore(1024 * 1024)))
+                .build();
+        return client.target("http://localhost/resource");
+    }
+
+    @Test
+    public void testFreshResponseServedFromCache() {
+        final CountingTransport transport = new CountingTransport("max-age=60");
+        final Target target = target(transport);
+
+        assertEquals("value-1", target.request().get().readEntity(String.class));
+        assertEquals("value-1", target.request().get().readEntity(String.class));
+        assertEquals(1, transport.requests.get());
+    }
+
+    @Test
+    public void testStaleResponseRevalidated() {
+        final CountingTransport transport = new CountingTransport("max-age=0");
+        final Target target = target(transport);
+
+        assertEquals("value-1", target.request().get().readEntity(String.class));
+        assertNull(transport.lastIfNoneMatch);
+
+        final Response response = target.request().get();
+        assertEquals(200, response.getStatus());
+        assertEquals("value-1", response.readEntity(String.class));
+        assertEquals("\"v1\"", transport.lastIfNoneMatch);
+        assertEquals(2, transport.requests.get());
+    }
+
+    @Test
+    public void testNoStoreNotCached() {
+        final CountingTransport transport = new CountingTransport("no-store");
+        final Target target = target(transport);
+
+        assertEquals("value-1", target.request().get().readEntity(String.class));
+        assertEquals("value-2", target.request().get().readEntity(String.class));
+    }
+
+    @Test
+    public void testUnsafeRequestInvalidatesCache() {
+        final CountingTransport transport = new CountingTransport("max-age=60");
+        final Target target = target(transport);
+
+        target.request().get().readEntity(String.class);
+        target.request().post(Entity.text("data"));
+
+        assertEquals("value-3", target.request().get().readEntity(String.class));
+    }
+
+    @Test
+    public void testDiskCacheStore() throws IOException {
+        final File directory = File.createTempFile("jersey-client-cache", "");
+        directory.delete();
+
+        final Map<String, List<String>> headers =
+                Collections.singletonMap(HttpHeaders.ETAG, Collections.singletonList("\"v1\""));
+        final Map<String, String> vary = Collections.singletonMap(HttpHeaders.ACCEPT, null);
+        new DiskCacheStore(directory, 1024).put("http://localhost/a",
+                new CachedResponse(200, headers, "value".getBytes(), vary, 1L, 2L));
+
+        // the entries are reused by a new store instance
+        final DiskCacheStore store = new DiskCacheStore(directory, 1024);
+        final CachedResponse cached = store.get("http://localhost/a");
+        assertEquals(200, cached.getStatus());
+        assertEquals("\"v1\"", cached.getHeader(HttpHeaders.ETAG));
+        assertArrayEquals("value".getBytes(), cached.getEntity());
+        assertEquals(vary, cached.getVaryingHeaders());
+        assertEquals(2L, cached.getResponseTime());
+        assertNull(store.get("http://localhost/b"));
+
+        store.remove("http://localhost/a");
+        assertNull(store.get("http://localhost/a"));
+        assertEquals(0, store.getSize());
+        directory.delete();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.client.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.JerseyClientFactory;
+import org.glassfish.jersey.client.RequestWriter;
+import org.glassfish.jersey.client.Target;
+import org.glassfish.jersey.internal.ProcessingException;
+import org.glassfish.jersey.internal.util.CommittingOutputStream;
+import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Client-side content coding tests.
+ */
+public class EncodingFilterTest {
+
+    private static final String LARGE;
+
+    static {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("entity-").append(i).append(' ');
+        }
+        LARGE = sb.toString();
+    }
+
+    /**
+     * Transport serializing the request entity like a real connector and responding with
+     * a {@code gzip} encoded echo of the decoded request entity.
+     */
+    private static class EchoTransport extends RequestWriter implements Inflector<Request, Response> {
+
+        private volatile String acceptEncoding;
+        private volatile String contentEncoding;
+
+        @Override
+        public Response apply(final Request request) {
+            acceptEncoding = request.getHeaders().getHeader(HttpHeaders.ACCEPT_ENCODING);
+            contentEncoding = null;
+
+            final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+            try {
+                writeRequestEntity(request, new RequestEntityWriterListener() {
+
+                    @Override
+                    public void onRequestEntitySize(long size) {
+                    }
+
+                    @Override
+                    public OutputStream onGetOutputStream() throws IOException {
+                        return new CommittingOutputStream(entity) {
+
+                            @Override
+                            protected void commit() throws IOException {
+                                // headers are sent once the first entity byte is written
+                                contentEncoding = request.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING);
+                            }
+                        };
+                    }
+                });
+
+                final String received = "gzip".equals(contentEncoding)
+                        ? read(new GZIPInputStream(new ByteArrayInputStream(entity.toByteArray())))
+                        : entity.toString();
+                return Responses.from(200, request, new ByteArrayInputStream(gzip("echo:" + received)))
+                        .header(HttpHeaders.CONTENT_TYPE, "text/plain")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .build();
+            } catch (IOException ex) {
+                throw new ProcessingException(ex);
+            }
+        }
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        return out.toString();
+    }
+
+    private static byte[] gzip(final String data) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(data.getBytes());
+        gzip.close();
+        return out.toByteArray();
+    }
+
+    private EchoTransport transport;
+    private JerseyClient client;
+
+    @Before
+    public void setUp() {
+        transport = new EchoTransport();
+        client = JerseyClientFactory.clientBuilder().transport(transport).build();
+        client.configuration().register(new EncodingFilter()).register(new GZipEncoder());
+    }
+
+    private Target target() {
+        return client.target("http://localhost/echo");
+    }
+
+    @Test
+    public void testAcceptEncoding() {
+        final Response response = target().request().get();
+
+        assertEquals("gzip, deflate", transport.acceptEncoding);
+        assertEquals("echo:", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testUseEncodingRoundTrip() {
+        client.configuration().setProperty(ClientProperties.USE_ENCODING, "gzip");
+        final Response response = target().request().post(Entity.text(LARGE));
+
+        assertEquals("gzip", transport.contentEncoding);
+        // the gzip encoded response entity is decoded by the encoder
+        assertEquals("echo:" + LARGE, response.readEntity(String.class));
+    }
+
+    @Test
+    public void testSmallEntityNotEncoded() {
+        client.configuration().setProperty(ClientProperties.USE_ENCODING, "gzip");
+        final Response response = target().request().post(Entity.text("small"));
+
+        assertNull(transport.contentEncoding);
+        assertEquals("echo:small", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testEncodingNotUsedByDefault() {
+        final Response response = target().request().post(Entity.text(LARGE));
+
+        assertNull(transport.contentEncoding);
+        assertEquals("echo:" + LARGE, response.readEntity(String.class));
+    }
+}
@@ -48,6 +48,12 @@ import java.io.OutputStream;
  *
  * Concrete implementations of the class typically override the commit operation
  * to perform any initialization on the adapted output stream.
+ * <p />
+ * If {@link #enableBuffering(byte[]) buffering} is enabled, the written bytes are
+ * collected in the supplied buffer and the commit is deferred until the buffer
+ * overflows or the written entity is {@link #finish() finished}. In the latter case
+ * the whole entity has been buffered and its {@link #getBufferedContentLength() length}
+ * is known at the time of the commit.
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
@@ -62,6 +68,15 @@ public abstract class CommittingOutputStream extends OutputStream {
      * Determines whether the stream was already committed or not.
      */
     private boolean isCommitted = false;
+    /**
+     * Buffer collecting the written bytes before the commit, {@code null} if buffering is disabled.
+     */
+    private byte[] buffer;
+    private int bufferCount;
+    /**
+     * Length of the entity known at the commit time, {@code -1} if not known.
+     */
+    private long bufferedContentLength = -1;
 
     /**
      * Construct a new committing output stream using a deferred initialization
@@ -106,17 +121,51 @@ public abstract class CommittingOutputStream extends OutputStream {
         return isCommitted;
     }
 
+    /**
+     * Enable buffering of the written bytes in the supplied buffer. The buffer is used until
+     * the stream is committed; afterwards the buffer is not referenced by the stream anymore and
+     * may be reused.
+     * <p />
+     * Note that while the written bytes are being buffered, the {@link #flush()} invocations
+     * are ignored; the {@link #finish()} method has to be called once the whole entity is written.
+     *
+     * @param buffer buffer to collect the written bytes in or {@code null} to disable the buffering
+     *               and discard the bytes buffered so far.
+     * @throws IllegalStateException if the stream has already been committed.
+     */
+    public void enableBuffering(byte[] buffer) {
+        if (isCommitted) {
+            throw new IllegalStateException();
+        }
+        this.buffer = buffer;
+        this.bufferCount = 0;
+    }
+
+    /**
+     * Get the length of the entity known at the commit time. The length is known in case the
+     * whole entity has been {@link #enableBuffering(byte[]) buffered} before the stream was
+     * {@link #finish() finished}. The method is intended to be used in the {@link #commit()}
+     * implementations.
+     *
+     * @return length of the buffered entity or {@code -1} if not known.
+     */
+    protected long getBufferedContentLength() {
+        return bufferedContentLength;
+    }
+
     @Override
     public void write(byte b[]) throws IOException {
-        if (b.length > 0) {
-            commitWrite();
-            adaptedOutput.write(b);
-        }
+        write(b, 0, b.length);
     }
 
     @Override
     public void write(byte b[], int off, int len) throws IOException {
         if (len > 0) {
+            if (buffer != null && bufferCount + len <= buffer.length) {
+                System.arraycopy(b, off, buffer, bufferCount, len);
+                bufferCount += len;
+                return;
+            }
             commitWrite();
             adaptedOutput.write(b, off, len);
         }
@@ -124,22 +173,48 @@ public abstract class CommittingOutputStream extends OutputStream {
 
     @Override
     public void write(int b) throws IOException {
+        if (buffer != null && bufferCount < buffer.length) {
+            buffer[bufferCount++] = (byte) b;
+            return;
+        }
         commitWrite();
         adaptedOutput.write(b);
     }
 
     @Override
     public void flush() throws IOException {
+        if (buffer != null) {
+            // defer the commit until the buffer overflows or the entity is finished
+            return;
+        }
         commitWrite();
         adaptedOutput.flush();
     }
 
     @Override
     public void close() throws IOException {
-        commitWrite();
+        finish();
         adaptedOutput.close();
     }
 
+    /**
+     * Finish writing of the entity. If the stream has not been committed yet, it is committed
+     * (with the {@link #getBufferedContentLength() entity length} known if buffering is enabled),
+     * the buffered bytes are written to the adapted output stream and the adapted stream is flushed.
+     * Finishing an already committed stream has no effect.
+     *
+     * @throws IOException in case the commit or the write operation fails.
+     */
+    public void finish() throws IOException {
+        if (!isCommitted) {
+            if (buffer != null) {
+                bufferedContentLength = bufferCount;
+            }
+            commitWrite();
+            adaptedOutput.flush();
+        }
+    }
+
     private void commitWrite() throws IOException {
         if (!isCommitted) {
             isCommitted = true;
@@ -149,6 +224,15 @@ public abstract class CommittingOutputStream extends OutputStream {
             if (adaptedOutput == null) {
                 adaptedOutput = getOutputStream();
             }
+
+            if (buffer != null) {
+                final byte[] buffered = buffer;
+                buffer = null;
+                if (bufferCount > 0) {
+                    // a single write of all the bytes buffered so far
+                    adaptedOutput.write(buffered, 0, bufferCount);
+                }
+            }
         }
     }
 
@@ -0,0 +1,147 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.internal.util;
+
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Helper class for reading typed values of configuration properties.
+ */
+public final class PropertiesHelper {
+
+    private static final Logger LOGGER = Logger.getLogger(PropertiesHelper.class.getName());
+
+    private PropertiesHelper() {
+        // prevents instantiation
+    }
+
+    /**
+     * Get an integer value of a configuration property.
+     * <p>
+     * The property value may be an instance of {@link Number} or {@link String}.
+     * </p>
+     *
+     * @param properties   configuration properties.
+     * @param name         property name.
+     * @param defaultValue value returned if the property is not set or its value cannot be converted.
+     * @return integer value of the property or the default value.
+     */
+    public static int getValue(final Map<String, ?> properties, final String name, final int defaultValue) {
+        final Object value = properties.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Invalid value \"{0}\" of property {1}, using default value {2}.",
+                    new Object[]{value, name, defaultValue});
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a long value of a configuration property.
+     * <p>
+     * The property value may be an instance of {@link Number} or {@link String}.
+     * </p>
+     *
+     * @param properties   configuration properties.
+     * @param name         property name.
+     * @param defaultValue value returned if the property is not set or its value cannot be converted.
+     * @return long value of the property or the default value.
+     */
+    public static long getValue(final Map<String, ?> properties, final String name, final long defaultValue) {
+        final Object value = properties.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(value.toString().trim());
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.WARNING, "Invalid value \"{0}\" of property {1}, using default value {2}.",
+                    new Object[]{value, name, defaultValue});
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a boolean value of a configuration property.
+     * <p>
+     * The property value may be an instance of {@link Boolean} or {@link String}.
+     * </p>
+     *
+     * @param properties   configuration properties.
+     * @param name         property name.
+     * @param defaultValue value returned if the property is not set.
+     * @return boolean value of the property or the default value.
+     */
+    public static boolean getValue(final Map<String, ?> properties, final String name, final boolean defaultValue) {
+        final Object value = properties.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        return Boolean.parseBoolean(value.toString().trim());
+    }
+
+    /**
+     * Get a string value of a configuration property.
+     *
+     * @param properties   configuration properties.
+     * @param name         property name.
+     * @param defaultValue value returned if the property is not set.
+     * @return string value of the property or the default value.
+     */
+    public static String getValue(final Map<String, ?> properties, final String name, final String defaultValue) {
+        final Object value = properties.get(name);
+        return value == null ? defaultValue : value.toString();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message;
+
+import java.io.Closeable;
+import java.util.Iterator;
+
+/**
+ * An iterator backed by a resource that needs to be released once the iteration
+ * is finished, such as a database cursor or an entity input stream.
+ * <p>
+ * The JAXB collection providers accept closeable iterators (as well as any other
+ * {@link Iterator} or {@link Iterable}) as entities of the collection media types.
+ * The elements are marshalled one by one directly to the entity output stream and
+ * the iterator is closed once the entity has been written. On the reading side,
+ * a resource method parameter (or a client response entity) of type
+ * {@code CloseableIterator<T>} or {@code Iterator<T>} receives an iterator that
+ * unmarshals the collection elements lazily from the entity input stream, which
+ * is closed together with the iterator:
+ * </p>
+ * <pre>
+ * &#64;POST
+ * &#64;Consumes("application/xml")
+ * public void importCustomers(CloseableIterator&lt;Customer&gt; customers) throws IOException {
+ *     try {
+ *         while (customers.hasNext()) {
+ *             store(customers.next());
+ *         }
+ *     } finally {
+ *         customers.close();
+ *     }
+ * }
+ * </pre>
+ *
+ * @param <T> element type.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, Closeable {
+}
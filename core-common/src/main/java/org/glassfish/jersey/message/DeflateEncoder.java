@@ -0,0 +1,85 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+
+import javax.ws.rs.BindingPriority;
+import javax.ws.rs.ext.Provider;
+
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.message.internal.ZLibInputStream;
+import org.glassfish.jersey.message.internal.ZLibOutputStream;
+import org.glassfish.jersey.spi.ContentEncoder;
+
+/**
+ * Deflate {@link ContentEncoder content encoder} supporting the {@code deflate}
+ * content coding.
+ * <p />
+ * Outbound entities are encoded in the zlib format as mandated by the HTTP specification.
+ * Both the zlib and the raw deflate format are accepted for inbound entities, since some
+ * implementations send raw deflate data. The entities are compressed and decompressed
+ * in a streaming fashion using pooled {@link java.util.zip.Deflater deflaters} and
+ * {@link java.util.zip.Inflater inflaters}.
+ */
+@Provider
+@BindingPriority(ContentEncoder.ENTITY_CODER_PRIORITY)
+public class DeflateEncoder extends ContentEncoder {
+
+    /**
+     * Create new deflate encoder.
+     */
+    public DeflateEncoder() {
+        super("deflate");
+    }
+
+    @Override
+    public InputStream decode(final String contentEncoding, final InputStream encodedStream) throws IOException {
+        return ZLibInputStream.deflate(encodedStream, getMaxDecodingRatio(), ReaderWriter.BUFFER_SIZE);
+    }
+
+    @Override
+    public OutputStream encode(final String contentEncoding, final OutputStream entityStream) throws IOException {
+        return new ZLibOutputStream(entityStream, false, Deflater.DEFAULT_COMPRESSION, ReaderWriter.BUFFER_SIZE);
+    }
+}
@@ -79,6 +79,21 @@ public final class MessageProperties {
      * The name of the configuration property is <code>{@value}</code>.
      */
     public static final String XML_FORMAT_OUTPUT = "jersey.config.xml.formatOutput";
+    /**
+     * Maximum number of idle pre-configured XML parsers (SAX parsers, DOM document builders
+     * and StAX input factories) of each kind retained for reuse by the built-in XML
+     * entity providers. Parsers returned to a full pool are discarded. The property
+     * value is expected to be a non-negative integer, zero disables the parser reuse.
+     * <p />
+     * The default value is <code>{@value #XML_PARSER_POOL_DEFAULT_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String XML_PARSER_POOL_SIZE = "jersey.config.xml.parserPool.size";
+    /**
+     * The default maximum number ({@value}) of idle pooled XML parsers of each kind.
+     */
+    public static final int XML_PARSER_POOL_DEFAULT_SIZE = 32;
     /**
      * Value of the property indicates the buffer size to be used for I/O operations
      * on byte and character streams. The property value is expected to be a positive
@@ -95,6 +110,38 @@ public final class MessageProperties {
      */
     public static final int IO_DEFAULT_BUFFER_SIZE = 8192;
 
+    /**
+     * Minimum size of a message entity in bytes to be compressed by a
+     * {@link org.glassfish.jersey.spi.ContentEncoder content encoder}. Smaller entities
+     * are sent without any content coding. The property value is expected to be
+     * a non-negative integer.
+     * <p />
+     * The default value is <code>{@value #ENCODING_DEFAULT_MIN_SIZE}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String ENCODING_MIN_SIZE = "jersey.config.encoding.minSize";
+    /**
+     * The default minimum size ({@value}) of a message entity to be compressed.
+     */
+    public static final int ENCODING_DEFAULT_MIN_SIZE = 1024;
+    /**
+     * Maximum allowed ratio between the size of a decompressed and a compressed
+     * message entity decoded by a {@link org.glassfish.jersey.spi.ContentEncoder content
+     * encoder}. Reading of an entity exceeding the ratio fails with a
+     * {@link javax.ws.rs.WebApplicationException} carrying the {@code 413} status.
+     * Zero or negative value disables the limit.
+     * <p />
+     * The default value is <code>{@value #DECODING_DEFAULT_MAX_RATIO}</code>.
+     * <p />
+     * The name of the configuration property is <code>{@value}</code>.
+     */
+    public static final String DECODING_MAX_RATIO = "jersey.config.encoding.maxDecompressionRatio";
+    /**
+     * The default maximum decompression ratio ({@value}).
+     */
+    public static final int DECODING_DEFAULT_MAX_RATIO = 100;
+
     private MessageProperties() {
         // prevents instantiation
     }
@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.message.internal;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -53,7 +54,9 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.NoSuchElementException;
 import java.util.Stack;
 import java.util.TreeSet;
 import java.util.logging.Level;
@@ -75,6 +78,8 @@ import javax.xml.bind.annotation.XmlType;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
+import org.glassfish.jersey.message.CloseableIterator;
+
 /**
  * Base class for implementing JAXB collection readers and writers.
  *
@@ -95,6 +100,14 @@ import javax.xml.stream.XMLStreamReader;
  * <code>T</code> must be a JAXB type annotated with
  * {@link XmlRootElement}.
  * <p>
+ * In addition, any {@link Iterator Iterator&lt;T&gt;} or {@link Iterable Iterable&lt;T&gt;}
+ * is writeable. The elements are marshalled one by one directly to the entity stream
+ * and the entity is {@link Closeable#close() closed} once written if it implements
+ * {@link Closeable} (see {@link CloseableIterator}). Entities may also be read as
+ * {@link Iterator Iterator&lt;T&gt;} or {@link CloseableIterator CloseableIterator&lt;T&gt;},
+ * in which case the elements are unmarshalled lazily from the entity stream as the
+ * iteration proceeds.
+ * <p>
  * Implementing classes may extend this class to provide specific marshalling
  * and unmarshalling behaviour.
  * <p>
@@ -149,7 +162,7 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
 
     @Override
     public boolean isReadable(Class<?> type, Type genericType, Annotation annotations[], MediaType mediaType) {
-        if (verifyCollectionSubclass(type)) {
+        if (verifyCollectionSubclass(type) || isIteratorType(type)) {
             return verifyGenericType(genericType) && isSupported(mediaType);
         } else if (type.isArray()) {
             return verifyArrayType(type) && isSupported(mediaType);
@@ -160,7 +173,7 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
 
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation annotations[], MediaType mediaType) {
-        if (Collection.class.isAssignableFrom(type)) {
+        if (Iterable.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type)) {
             return verifyGenericType(genericType) && isSupported(mediaType);
         } else if (type.isArray()) {
             return verifyArrayType(type) && isSupported(mediaType);
@@ -169,6 +182,10 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
         }
     }
 
+    private static boolean isIteratorType(Class<?> type) {
+        return type == Iterator.class || type == CloseableIterator.class;
+    }
+
     public static boolean verifyCollectionSubclass(Class<?> type) {
         try {
             if (Collection.class.isAssignableFrom(type)) {
@@ -255,10 +272,15 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders,
             OutputStream entityStream) throws IOException {
+        Iterator<?> elements = null;
         try {
-            final Collection c = (type.isArray())
-                    ? Arrays.asList((Object[]) t)
-                    : (Collection) t;
+            if (type.isArray()) {
+                elements = Arrays.asList((Object[]) t).iterator();
+            } else if (t instanceof Iterator) {
+                elements = (Iterator<?>) t;
+            } else {
+                elements = ((Iterable<?>) t).iterator();
+            }
             final Class elementType = getElementClass(type, genericType);
             final Charset charset = getCharset(mediaType);
             final String charsetName = charset.name();
@@ -269,17 +291,27 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
                 m.setProperty(Marshaller.JAXB_ENCODING, charsetName);
             }
             setHeader(m, annotations);
-            writeList(elementType, c, mediaType, charset, m, entityStream);
+            writeList(elementType, elements, mediaType, charset, m, entityStream);
         } catch (JAXBException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            if (t instanceof Closeable) {
+                ((Closeable) t).close();
+            } else if (elements instanceof Closeable) {
+                ((Closeable) elements).close();
+            }
         }
     }
 
     /**
      * Write a collection of JAXB objects as child elements of the root element.
+     * <p>
+     * Implementations are expected to marshal the elements one by one as they are
+     * retrieved from the iterator, without buffering the whole collection.
+     * </p>
      *
      * @param elementType the element type in the collection.
-     * @param t the collecton to marshall
+     * @param t the iterator over the collection elements to marshall
      * @param mediaType the media type
      * @param c the charset
      * @param m the marshaller
@@ -287,7 +319,7 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
      * @throws javax.xml.bind.JAXBException
      * @throws IOException
      */
-    public abstract void writeList(Class<?> elementType, Collection<?> t,
+    public abstract void writeList(Class<?> elementType, Iterator<?> t,
                                    MediaType mediaType, Charset c,
                                    Marshaller m, OutputStream entityStream)
             throws JAXBException, IOException;
@@ -305,7 +337,11 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
             final Class<?> elementType = getElementClass(type, genericType);
             final Unmarshaller u = getUnmarshaller(elementType, mediaType);
             final XMLStreamReader r = getXMLStreamReader(elementType, mediaType, u, entityStream);
-            boolean jaxbElement = false;
+            final ElementIterator elements = new ElementIterator(elementType, u, r, entityStream);
+
+            if (isIteratorType(type)) {
+                return elements;
+            }
 
             Collection<Object> l = null;
             if (type.isArray()) {
@@ -329,46 +365,119 @@ public abstract class AbstractCollectionJaxbProvider extends AbstractJaxbProvide
                 }
             }
 
+            while (elements.hasNext()) {
+                l.add(elements.nextElement());
+            }
+
+            return (type.isArray())
+                    ? createArray(l, elements.isJaxbElement() ? JAXBElement.class : elementType)
+                    : l;
+        } catch (UnmarshalException ex) {
+            throw new WebApplicationException(ex, Status.BAD_REQUEST);
+        } catch (XMLStreamException ex) {
+            throw new WebApplicationException(ex, Status.BAD_REQUEST);
+        } catch (JAXBException ex) {
+            throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Iterator unmarshalling the child elements of the collection root element one by one
+     * from the underlying XML stream reader.
+     */
+    private static final class ElementIterator implements CloseableIterator<Object> {
+
+        private final Class<?> elementType;
+        private final Unmarshaller unmarshaller;
+        private final XMLStreamReader reader;
+        private final InputStream entityStream;
+        private final boolean jaxbElement;
+        private int event;
+
+        ElementIterator(Class<?> elementType, Unmarshaller unmarshaller, XMLStreamReader reader, InputStream entityStream)
+                throws XMLStreamException {
+            this.elementType = elementType;
+            this.unmarshaller = unmarshaller;
+            this.reader = reader;
+            this.entityStream = entityStream;
+            this.jaxbElement = !elementType.isAnnotationPresent(XmlRootElement.class)
+                    && !elementType.isAnnotationPresent(XmlType.class);
+
             // Move to root element
-            int event = r.next();
+            event = reader.next();
             while (event != XMLStreamReader.START_ELEMENT) {
-                event = r.next();
+                event = reader.next();
             }
 
             // Move to first child (if any)
-            event = r.next();
+            event = reader.next();
             while (event != XMLStreamReader.START_ELEMENT
                     && event != XMLStreamReader.END_DOCUMENT) {
-                event = r.next();
+                event = reader.next();
             }
+        }
 
-            while (event != XMLStreamReader.END_DOCUMENT) {
-                if (elementType.isAnnotationPresent(XmlRootElement.class)) {
-                    l.add(u.unmarshal(r));
-                } else if (elementType.isAnnotationPresent(XmlType.class)) {
-                    l.add(u.unmarshal(r, elementType).getValue());
-                } else {
-                    l.add(u.unmarshal(r, elementType));
-                    jaxbElement = true;
-                }
+        boolean isJaxbElement() {
+            return jaxbElement;
+        }
 
-                // Move to next peer (if any)
-                event = r.getEventType();
-                while (event != XMLStreamReader.START_ELEMENT
-                        && event != XMLStreamReader.END_DOCUMENT) {
-                    event = r.next();
-                }
+        Object nextElement() throws JAXBException, XMLStreamException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
 
-            return (type.isArray())
-                    ? createArray(l, jaxbElement ? JAXBElement.class : elementType)
-                    : l;
-        } catch (UnmarshalException ex) {
-            throw new WebApplicationException(ex, Status.BAD_REQUEST);
-        } catch (XMLStreamException ex) {
-            throw new WebApplicationException(ex, Status.BAD_REQUEST);
-        } catch (JAXBException ex) {
-            throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+            final Object element;
+            if (elementType.isAnnotationPresent(XmlRootElement.class)) {
+                element = unmarshaller.unmarshal(reader);
+            } else if (elementType.isAnnotationPresent(XmlType.class)) {
+                element = unmarshaller.unmarshal(reader, elementType).getValue();
+            } else {
+                element = unmarshaller.unmarshal(reader, elementType);
+            }
+
+            // Move to next peer (if any)
+            event = reader.getEventType();
+            while (event != XMLStreamReader.START_ELEMENT
+                    && event != XMLStreamReader.END_DOCUMENT) {
+                event = reader.next();
+            }
+
+            return element;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return event != XMLStreamReader.END_DOCUMENT;
+        }
+
+        @Override
+        public Object next() {
+            try {
+                return nextElement();
+            } catch (UnmarshalException ex) {
+                throw new WebApplicationException(ex, Status.BAD_REQUEST);
+            } catch (XMLStreamException ex) {
+                throw new WebApplicationException(ex, Status.BAD_REQUEST);
+            } catch (JAXBException ex) {
+                throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() throws IOException {
+            event = XMLStreamReader.END_DOCUMENT;
+            try {
+                reader.close();
+            } catch (XMLStreamException ex) {
+                Logger.getLogger(AbstractCollectionJaxbProvider.class.getName()).log(Level.FINE, null, ex);
+            } finally {
+                entityStream.close();
+            }
         }
     }
 
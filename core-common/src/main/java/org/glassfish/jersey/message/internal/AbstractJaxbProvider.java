@@ -56,6 +56,7 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Marshaller;
 import javax.xml.bind.PropertyException;
 import javax.xml.bind.Unmarshaller;
+import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.sax.SAXSource;
 
@@ -261,6 +262,25 @@ public abstract class AbstractJaxbProvider<T> extends AbstractMessageReaderWrite
         }
     }
 
+    /**
+     * Get a SAX source reading the entity stream using the supplied SAX parser.
+     *
+     * @param parser SAX parser.
+     * @param entityStream entity stream.
+     * @return SAX source.
+     * @throws JAXBException in case the parser XML reader cannot be obtained.
+     */
+    protected static SAXSource getSAXSource(SAXParser parser,
+            InputStream entityStream) throws JAXBException {
+        try {
+            return new SAXSource(
+                    parser.getXMLReader(),
+                    new InputSource(entityStream));
+        } catch (Exception ex) {
+            throw new JAXBException("Error creating SAXSource", ex);
+        }
+    }
+
     protected boolean isFormattedOutput() {
         return formattedOutput.get();
     }
@@ -198,6 +198,12 @@ abstract class AbstractMutableMessage<M extends AbstractMutableMessage> {
         return (M) this;
     }
 
+    @SuppressWarnings("unchecked")
+    public M headerSource(HeaderSource source) {
+        this.headers.source(source);
+        return (M) this;
+    }
+
     @SuppressWarnings("unchecked")
     public M replaceAll(MultivaluedMap<String, String> headers) {
         this.headers.replaceAll(headers);
@@ -61,6 +61,11 @@ public final class CacheControlProvider implements HeaderDelegateProvider<CacheC
 
     private static final Pattern WHITESPACE = Pattern.compile("\\s");
     private static final Pattern COMMA_SEPARATED_LIST = Pattern.compile("[\\s]*,[\\s]*");
+    /**
+     * Cached parsed values. {@link CacheControl} is mutable, hence cached instances
+     * are never handed out directly; a copy is returned instead.
+     */
+    private static final HeaderValueCache<CacheControl> CACHE = new HeaderValueCache<CacheControl>(32);
 
     @Override
     public boolean supports(Class<?> type) {
@@ -164,6 +169,20 @@ public final class CacheControlProvider implements HeaderDelegateProvider<CacheC
         if (header == null) {
             throw new IllegalArgumentException("Cache control is null");
         }
+
+        CacheControl cacheControl = CACHE.get(header);
+        if (cacheControl == null) {
+            cacheControl = parseSimple(header);
+            if (cacheControl == null) {
+                cacheControl = parse(header);
+            }
+            CACHE.put(header, copy(cacheControl));
+            return cacheControl;
+        }
+        return copy(cacheControl);
+    }
+
+    private CacheControl parse(String header) {
         try {
             HttpHeaderReader reader = HttpHeaderReader.newInstance(header);
             CacheControl cacheControl = new CacheControl();
@@ -181,6 +200,117 @@ public final class CacheControlProvider implements HeaderDelegateProvider<CacheC
         }
     }
 
+    /**
+     * Single-pass parser of the common cache control header form, i.e. a comma-separated
+     * list of directives with optional token values, that produces the same result as the
+     * generic {@link HttpHeaderReader} based parser.
+     *
+     * @param header cache control header value.
+     * @return parsed cache control or {@code null} if the header uses a construct not
+     *         supported by this parser (e.g. quoted strings) or is malformed; the generic
+     *         parser is used to process or reject such a header.
+     */
+    private static CacheControl parseSimple(String header) {
+        if (header.indexOf('"') >= 0) {
+            return null;
+        }
+
+        final int length = header.length();
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setNoTransform(false); // defaults to true
+
+        int i = GrammarUtil.skipWhiteSpace(header, 0);
+        while (i < length) {
+            int start = i;
+            i = GrammarUtil.skipToken(header, start);
+            if (i == start) {
+                return null;
+            }
+            final String directiveName = header.substring(start, i);
+
+            String value = null;
+            if (i < length && header.charAt(i) == '=') {
+                start = i + 1;
+                i = GrammarUtil.skipToken(header, start);
+                if (i == start) {
+                    return null;
+                }
+                value = header.substring(start, i);
+            }
+
+            if (!setSimpleDirective(cacheControl, directiveName, value)) {
+                return null;
+            }
+
+            i = GrammarUtil.skipWhiteSpace(header, i);
+            if (i < length) {
+                if (header.charAt(i) != ',') {
+                    return null;
+                }
+                i = GrammarUtil.skipWhiteSpace(header, i + 1);
+            }
+        }
+        return cacheControl;
+    }
+
+    private static boolean setSimpleDirective(CacheControl cacheControl, String directiveName, String value) {
+        if (directiveName.equalsIgnoreCase("max-age") || directiveName.equalsIgnoreCase("s-maxage")) {
+            if (value == null) {
+                return false;
+            }
+            final int seconds;
+            try {
+                seconds = Integer.parseInt(value);
+            } catch (NumberFormatException nfe) {
+                return false;
+            }
+            if (directiveName.equalsIgnoreCase("max-age")) {
+                cacheControl.setMaxAge(seconds);
+            } else {
+                cacheControl.setSMaxAge(seconds);
+            }
+            return true;
+        }
+
+        if (directiveName.equalsIgnoreCase("private")) {
+            // field names must be a quoted string
+            cacheControl.setPrivate(true);
+        } else if (directiveName.equalsIgnoreCase("public")) {
+            cacheControl.getCacheExtension().put(directiveName, null);
+        } else if (directiveName.equalsIgnoreCase("no-cache")) {
+            // field names must be a quoted string
+            cacheControl.setNoCache(true);
+        } else if (directiveName.equalsIgnoreCase("no-store")) {
+            cacheControl.setNoStore(true);
+        } else if (directiveName.equalsIgnoreCase("no-transform")) {
+            cacheControl.setNoTransform(true);
+        } else if (directiveName.equalsIgnoreCase("must-revalidate")) {
+            cacheControl.setMustRevalidate(true);
+        } else if (directiveName.equalsIgnoreCase("proxy-revalidate")) {
+            cacheControl.setProxyRevalidate(true);
+        } else {
+            cacheControl.getCacheExtension().put(directiveName, value);
+            return true;
+        }
+        return value == null;
+    }
+
+    private static CacheControl copy(CacheControl source) {
+        final CacheControl cacheControl = new CacheControl();
+        cacheControl.setPrivate(source.isPrivate());
+        cacheControl.getPrivateFields().addAll(source.getPrivateFields());
+        cacheControl.setNoCache(source.isNoCache());
+        cacheControl.getNoCacheFields().addAll(source.getNoCacheFields());
+        cacheControl.setNoStore(source.isNoStore());
+        cacheControl.setNoTransform(source.isNoTransform());
+        cacheControl.setMustRevalidate(source.isMustRevalidate());
+        cacheControl.setProxyRevalidate(source.isProxyRevalidate());
+        cacheControl.setMaxAge(source.getMaxAge());
+        cacheControl.setSMaxAge(source.getSMaxAge());
+        cacheControl.getCacheExtension().putAll(source.getCacheExtension());
+        return cacheControl;
+    }
+
     private void appendWithSeparator(StringBuilder b, String field) {
         if (b.length() > 0) {
             b.append(", ");
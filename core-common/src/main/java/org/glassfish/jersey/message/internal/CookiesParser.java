@@ -39,6 +39,7 @@
  */
 package org.glassfish.jersey.message.internal;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import javax.ws.rs.core.Cookie;
@@ -52,6 +53,101 @@ import javax.ws.rs.core.NewCookie;
  */
 /* package */ class CookiesParser {
 
+    private static final HeaderValueCache<Map<String, Cookie>> CACHE = new HeaderValueCache<Map<String, Cookie>>(64);
+
+    /**
+     * Single-pass iterator over the {@code name=value} crumbs of a cookie header.
+     * <p>
+     * Crumbs are separated by {@code ';'} or {@code ','}, trailing empty crumbs
+     * are ignored, names and values are trimmed and a value enclosed in double
+     * quotes is unquoted. This matches the results of splitting the header with
+     * the {@code "[;,]"} regular expression and each crumb at the first {@code '='},
+     * without the regular expression and intermediate array overhead.
+     * </p>
+     */
+    private static final class Crumbs {
+
+        private final String header;
+        private final int end;
+        private int position;
+        /**
+         * Name of the current crumb.
+         */
+        String name;
+        /**
+         * Value of the current crumb.
+         */
+        String value;
+
+        Crumbs(String header) {
+            this.header = header;
+
+            int e = header.length();
+            while (e > 0 && isSeparator(header.charAt(e - 1))) {
+                e--;
+            }
+            this.end = e;
+            // an empty header still contains a single empty crumb
+            this.position = (e == 0 && header.length() > 0) ? 1 : 0;
+        }
+
+        boolean next() {
+            if (position > end) {
+                return false;
+            }
+
+            final int start = position;
+            int equals = -1;
+            int separator = start;
+            for (; separator < end; separator++) {
+                final char c = header.charAt(separator);
+                if (isSeparator(c)) {
+                    break;
+                } else if (c == '=' && equals < 0) {
+                    equals = separator;
+                }
+            }
+            position = separator + 1;
+
+            if (equals >= 0) {
+                name = trimmed(start, equals);
+                value = unquoted(equals + 1, separator);
+            } else {
+                name = trimmed(start, separator);
+                value = "";
+            }
+            return true;
+        }
+
+        private String trimmed(int start, int end) {
+            while (start < end && header.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && header.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return header.substring(start, end);
+        }
+
+        private String unquoted(int start, int end) {
+            while (start < end && header.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && header.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (end - start > 1 && header.charAt(start) == '"' && header.charAt(end - 1) == '"') {
+                start++;
+                end--;
+            }
+            return header.substring(start, end);
+        }
+
+        private static boolean isSeparator(char c) {
+            return c == ';' || c == ',';
+        }
+    }
+
     private static class MutableCookie {
 
         String name;
@@ -71,17 +167,22 @@ import javax.ws.rs.core.NewCookie;
     }
 
     public static Map<String, Cookie> parseCookies(String header) {
-        String bites[] = header.split("[;,]");
+        Map<String, Cookie> cookies = CACHE.get(header);
+        if (cookies == null) {
+            cookies = Collections.unmodifiableMap(parse(header));
+            CACHE.put(header, cookies);
+        }
+        return new LinkedHashMap<String, Cookie>(cookies);
+    }
+
+    private static Map<String, Cookie> parse(String header) {
+        Crumbs crumbs = new Crumbs(header);
         Map<String, Cookie> cookies = new LinkedHashMap<String, Cookie>();
         int version = 0;
         MutableCookie cookie = null;
-        for (String bite : bites) {
-            String crumbs[] = bite.split("=", 2);
-            String name = crumbs.length > 0 ? crumbs[0].trim() : "";
-            String value = crumbs.length > 1 ? crumbs[1].trim() : "";
-            if (value.startsWith("\"") && value.endsWith("\"") && value.length() > 1) {
-                value = value.substring(1, value.length() - 1);
-            }
+        while (crumbs.next()) {
+            String name = crumbs.name;
+            String value = crumbs.value;
             if (!name.startsWith("$")) {
                 if (cookie != null) {
                     cookies.put(cookie.name, cookie.getImmutableCookie());
@@ -104,7 +205,11 @@ import javax.ws.rs.core.NewCookie;
     }
 
     public static Cookie parseCookie(String header) {
-        Map<String, Cookie> cookies = parseCookies(header);
+        Map<String, Cookie> cookies = CACHE.get(header);
+        if (cookies == null) {
+            cookies = Collections.unmodifiableMap(parse(header));
+            CACHE.put(header, cookies);
+        }
         return cookies.entrySet().iterator().next().getValue();
     }
 
@@ -130,16 +235,12 @@ import javax.ws.rs.core.NewCookie;
     }
 
     public static NewCookie parseNewCookie(String header) {
-        String bites[] = header.split("[;,]");
+        Crumbs crumbs = new Crumbs(header);
 
         MutableNewCookie cookie = null;
-        for (String bite : bites) {
-            String crumbs[] = bite.split("=", 2);
-            String name = crumbs.length > 0 ? crumbs[0].trim() : "";
-            String value = crumbs.length > 1 ? crumbs[1].trim() : "";
-            if (value.startsWith("\"") && value.endsWith("\"") && value.length() > 1) {
-                value = value.substring(1, value.length() - 1);
-            }
+        while (crumbs.next()) {
+            String name = crumbs.name;
+            String value = crumbs.value;
 
             if (cookie == null) {
                 cookie = new MutableNewCookie(name, value);
@@ -58,7 +58,7 @@ public class DateProvider implements HeaderDelegateProvider<Date> {
 
     @Override
     public String toString(Date header) {
-        return HttpDateFormat.getPreferedDateFormat().format(header);
+        return HttpDateFormat.formatDate(header);
     }
 
     @Override
@@ -52,7 +52,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response.Status;
 
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -77,7 +77,7 @@ import org.xml.sax.SAXException;
 public final class DocumentProvider extends AbstractMessageReaderWriterProvider<Document> {
 
     @Inject
-    private Factory<DocumentBuilderFactory> dbf;
+    private Factory<XmlParserPool> parserPool;
     @Inject
     private Factory<TransformerFactory> tf;
 
@@ -94,12 +94,17 @@ public final class DocumentProvider extends AbstractMessageReaderWriterProvider<
             MediaType mediaType,
             MultivaluedMap<String, String> httpHeaders,
             InputStream entityStream) throws IOException {
+        final XmlParserPool pool = parserPool.get();
+        DocumentBuilder builder = null;
         try {
-            return dbf.get().newDocumentBuilder().parse(entityStream);
+            builder = pool.borrowDocumentBuilder();
+            return builder.parse(entityStream);
         } catch (SAXException ex) {
             throw new WebApplicationException(ex, Status.BAD_REQUEST);
         } catch (ParserConfigurationException ex) {
             throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+        } finally {
+            pool.returnDocumentBuilder(builder);
         }
     }
 
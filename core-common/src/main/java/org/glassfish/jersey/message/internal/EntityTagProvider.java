@@ -54,6 +54,8 @@ import org.glassfish.jersey.message.internal.HttpHeaderReader.Event;
  */
 public class EntityTagProvider implements HeaderDelegateProvider<EntityTag> {
 
+    private static final HeaderValueCache<EntityTag> CACHE = new HeaderValueCache<EntityTag>(64);
+
     @Override
     public boolean supports(Class<?> type) {
         return type == EntityTag.class;
@@ -75,6 +77,25 @@ public class EntityTagProvider implements HeaderDelegateProvider<EntityTag> {
             throw new IllegalArgumentException("Entity tag is null");
         }
 
+        EntityTag entityTag = CACHE.get(header);
+        if (entityTag == null) {
+            entityTag = parse(header);
+            CACHE.put(header, entityTag);
+        }
+        return entityTag;
+    }
+
+    private static EntityTag parse(String header) {
+        // Fast path for strong and weak tags that do not need un-escaping
+        final boolean weak = header.startsWith("W/");
+        final int start = weak ? 2 : 0;
+        if (start < header.length() && header.charAt(start) == '"') {
+            final int end = GrammarUtil.findQuotedStringEnd(header, start + 1);
+            if (end >= 0) {
+                return new EntityTag(header.substring(start + 1, end), weak);
+            }
+        }
+
         try {
             HttpHeaderReader reader = HttpHeaderReader.newInstance(header);
             Event e = reader.next(false);
@@ -195,6 +195,69 @@ final class GrammarUtil {
         return false;
     }
 
+    /**
+     * Get the position of the first non-white space character in string s
+     * at or after the given start position.
+     *
+     * @param s string to scan.
+     * @param start start position in the string.
+     * @return position of the first non-white space character or length of
+     *         the string if there is none.
+     */
+    public static int skipWhiteSpace(final String s, int start) {
+        final int length = s.length();
+        while (start < length && isWhiteSpace(s.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Get the position of the first non-token character in string s
+     * at or after the given start position.
+     *
+     * @param s string to scan.
+     * @param start start position in the string.
+     * @return position of the first non-token character or length of
+     *         the string if there is none. Returns {@code start} if there is no
+     *         token at the start position.
+     */
+    public static int skipToken(final String s, int start) {
+        final int length = s.length();
+        while (start < length && isToken(s.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    /**
+     * Get the position of the closing quote of a quoted string whose content
+     * starts at the given position in string s.
+     * <p>
+     * Only quoted strings that can be used verbatim are supported: if the content
+     * contains an escape character or a carriage return (which would have to be
+     * {@link #filterToken(String, int, int) filtered}), or if the quoted string
+     * is not terminated, {@code -1} is returned.
+     * </p>
+     *
+     * @param s string to scan.
+     * @param start position of the first character following the opening quote.
+     * @return position of the closing quote or {@code -1} if the quoted string
+     *         is not terminated or needs filtering.
+     */
+    public static int findQuotedStringEnd(final String s, int start) {
+        final int length = s.length();
+        for (; start < length; start++) {
+            final char c = s.charAt(start);
+            if (c == '"') {
+                return start;
+            } else if (c == '\\' || c == '\r') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Filter a substring of a string by removing any new-line characters and
      * un-escaping escaped characters.
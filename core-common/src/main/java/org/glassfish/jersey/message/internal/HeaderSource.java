@@ -0,0 +1,76 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.List;
+
+/**
+ * Read-only source of inbound message headers backed by the native header
+ * structures of an underlying I/O container.
+ * <p />
+ * A header source lets a container expose the request headers to Jersey without
+ * copying each header value into the request builder: the headers are read through
+ * on demand and copied into the mutable message headers only once the headers are
+ * modified or the whole header map is requested.
+ * <p />
+ * Header name lookups must be case-insensitive. Implementations are not required
+ * to be thread-safe.
+ *
+ * @see Requests#setHeaderSource(javax.ws.rs.core.Request.RequestBuilder, HeaderSource)
+ */
+public interface HeaderSource {
+
+    /**
+     * Get the names of all headers available in the source.
+     *
+     * @return names of the available headers.
+     */
+    public Iterable<String> getHeaderNames();
+
+    /**
+     * Get the values of a header.
+     * <p />
+     * The returned list must not be modified by the caller.
+     *
+     * @param name case-insensitive header name.
+     * @return header values or {@code null} if the header is not present.
+     */
+    public List<String> getHeaderValues(String name);
+}
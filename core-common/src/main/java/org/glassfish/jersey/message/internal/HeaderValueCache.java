@@ -0,0 +1,122 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+/**
+ * Small fixed-size cache of parsed header values keyed by the raw header string.
+ * <p>
+ * The cache is direct-mapped: each header string maps to exactly one slot and
+ * a colliding entry simply replaces the previous one. No locking is used; entries
+ * are immutable and published through a single reference write, so a concurrent
+ * reader either sees a complete entry or misses and parses the header again.
+ * Cached values MUST therefore be immutable (or treated as such by the caller).
+ * </p>
+ * <p>
+ * Header values longer than {@value #MAX_KEY_LENGTH} characters are never cached,
+ * which keeps the memory retained by the cache bounded and prevents one-off values
+ * such as session cookies from evicting frequently repeated ones.
+ * </p>
+ *
+ * @param <T> parsed header value type.
+ */
+final class HeaderValueCache<T> {
+
+    /**
+     * Maximum length of a header value that is cached.
+     */
+    static final int MAX_KEY_LENGTH = 128;
+
+    private static final class Entry<T> {
+
+        final String key;
+        final T value;
+
+        Entry(final String key, final T value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final Entry<T>[] entries;
+    private final int mask;
+
+    /**
+     * Create new header value cache.
+     *
+     * @param size number of cache slots; rounded up to the nearest power of two.
+     */
+    @SuppressWarnings("unchecked")
+    HeaderValueCache(final int size) {
+        final int capacity = (size <= 1) ? 1 : Integer.highestOneBit(size - 1) << 1;
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Get the cached value parsed from the header string.
+     *
+     * @param header raw header value.
+     * @return cached parsed value or {@code null} if not cached.
+     */
+    T get(final String header) {
+        if (header.length() > MAX_KEY_LENGTH) {
+            return null;
+        }
+        final Entry<T> entry = entries[index(header)];
+        return (entry != null && header.equals(entry.key)) ? entry.value : null;
+    }
+
+    /**
+     * Cache the value parsed from the header string.
+     *
+     * @param header raw header value.
+     * @param value parsed (immutable) header value.
+     */
+    void put(final String header, final T value) {
+        if (header.length() <= MAX_KEY_LENGTH) {
+            entries[index(header)] = new Entry<T>(header, value);
+        }
+    }
+
+    private int index(final String header) {
+        final int h = header.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
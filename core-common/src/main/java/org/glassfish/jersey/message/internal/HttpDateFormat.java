@@ -50,6 +50,10 @@ import java.util.TimeZone;
 
 /**
  * Helper class for HTTP specified date formats.
+ * <p>
+ * Dates are formatted and dates in the preferred RFC 1123 format are parsed without
+ * the use of {@link SimpleDateFormat}; other date formats are parsed by the
+ * {@link #getDateFormats() thread-scoped date formats}.
  *
  * @author Paul Sandoz
  * @author Marek Potociar (marek.potociar at oracle.com)
@@ -78,6 +82,40 @@ public class HttpDateFormat {
         }
     };
 
+    /**
+     * Length of a date formatted according to RFC 1123, e.g. {@code Sun, 06 Nov 1994 08:49:37 GMT}.
+     */
+    private static final int RFC1123_DATE_LENGTH = 29;
+    private static final String[] DAY_NAMES = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+    private static final String[] MONTH_NAMES =
+            {"Jan", "Feb", "Mar", "Apr", "May", "Jun", "Jul", "Aug", "Sep", "Oct", "Nov", "Dec"};
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+    /**
+     * Range of years handled without {@link SimpleDateFormat}. The calendar of {@code SimpleDateFormat}
+     * switches to the Julian calendar before 1582, years before 1600 are therefore left to it.
+     */
+    private static final int MIN_YEAR = 1600;
+    private static final int MAX_YEAR = 9999;
+
+    /**
+     * Immutable pair of a second since the epoch and its formatted value.
+     */
+    private static final class FormattedSecond {
+
+        final long second;
+        final String value;
+
+        FormattedSecond(final long second, final String value) {
+            this.second = second;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The most recently formatted second, typically the current one used in the {@code Date} headers.
+     */
+    private static volatile FormattedSecond lastFormatted = new FormattedSecond(Long.MIN_VALUE, null);
+
     private static List<SimpleDateFormat> createDateFormats() {
         SimpleDateFormat[] formats = new SimpleDateFormat[]{
             new SimpleDateFormat(RFC1123_DATE_FORMAT_PATTERN, Locale.US),
@@ -120,6 +158,35 @@ public class HttpDateFormat {
         return dateFormats.get().get(0);
     }
 
+    /**
+     * Format a date using the preferred HTTP date format (RFC 1123).
+     * <p>
+     * The result is the same as the result of formatting the date using the
+     * {@link #getPreferedDateFormat() preferred date format}. The formatted value of the most
+     * recently formatted second is cached so that the repeated formatting of the current
+     * date does not allocate.
+     *
+     * @param date the date to be formatted.
+     * @return the formatted date.
+     */
+    public static String formatDate(Date date) {
+        final long millis = date.getTime();
+        final long second = floorDiv(millis, 1000);
+
+        final FormattedSecond cached = lastFormatted;
+        if (cached.second == second) {
+            return cached.value;
+        }
+
+        final String value = formatRfc1123(millis);
+        if (value == null) {
+            // out of the range of the fast formatter
+            return getPreferedDateFormat().format(date);
+        }
+        lastFormatted = new FormattedSecond(second, value);
+        return value;
+    }
+
     /**
      * Read a date.
      *
@@ -129,10 +196,19 @@ public class HttpDateFormat {
      * @throws java.text.ParseException
      */
     public static Date readDate(String date) throws ParseException {
+        final long millis = parseRfc1123(date);
+        if (millis != Long.MIN_VALUE) {
+            return new Date(millis);
+        }
+
+        // both RFC 1123 and RFC 1036 formats contain a comma, the ANSI C asctime() format does not
+        final List<SimpleDateFormat> formats = HttpDateFormat.getDateFormats();
+        final int first = (date.indexOf(',') < 0) ? formats.size() - 1 : 0;
+
         ParseException pe = null;
-        for (SimpleDateFormat f : HttpDateFormat.getDateFormats()) {
+        for (int i = first; i < formats.size(); i++) {
             try {
-                return f.parse(date);
+                return formats.get(i).parse(date);
             } catch (ParseException e) {
                 pe = (pe == null) ? e : pe;
             }
@@ -140,4 +216,123 @@ public class HttpDateFormat {
 
         throw pe;
     }
+
+    /**
+     * Format the date in the RFC 1123 format.
+     *
+     * @param millis milliseconds since the epoch.
+     * @return formatted date or {@code null} if the year is out of the supported range.
+     */
+    private static String formatRfc1123(final long millis) {
+        final long days = floorDiv(millis, MILLIS_PER_DAY);
+        final int millisOfDay = (int) (millis - days * MILLIS_PER_DAY);
+
+        // civil date from the days since the epoch (proleptic Gregorian calendar)
+        final long z = days + 719468;
+        final long era = floorDiv(z, 146097);
+        final long dayOfEra = z - era * 146097;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long mp = (5 * dayOfYear + 2) / 153;
+        final int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        final int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            return null;
+        }
+
+        final int secondOfDay = millisOfDay / 1000;
+        final char[] buffer = new char[RFC1123_DATE_LENGTH];
+        DAY_NAMES[(int) (days + 4 - floorDiv(days + 4, 7) * 7)].getChars(0, 3, buffer, 0);
+        buffer[3] = ',';
+        buffer[4] = ' ';
+        putTwoDigits(buffer, 5, day);
+        buffer[7] = ' ';
+        MONTH_NAMES[month - 1].getChars(0, 3, buffer, 8);
+        buffer[11] = ' ';
+        putTwoDigits(buffer, 12, (int) (year / 100));
+        putTwoDigits(buffer, 14, (int) (year % 100));
+        buffer[16] = ' ';
+        putTwoDigits(buffer, 17, secondOfDay / 3600);
+        buffer[19] = ':';
+        putTwoDigits(buffer, 20, secondOfDay / 60 % 60);
+        buffer[22] = ':';
+        putTwoDigits(buffer, 23, secondOfDay % 60);
+        buffer[25] = ' ';
+        buffer[26] = 'G';
+        buffer[27] = 'M';
+        buffer[28] = 'T';
+        return new String(buffer);
+    }
+
+    private static void putTwoDigits(final char[] buffer, final int index, final int value) {
+        buffer[index] = (char) ('0' + value / 10);
+        buffer[index + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * Parse a date in the canonical RFC 1123 format with the {@code GMT} time zone.
+     *
+     * @param date the date as a string.
+     * @return milliseconds since the epoch or {@link Long#MIN_VALUE} if the date is not
+     *         in the canonical RFC 1123 format or the year is out of the supported range.
+     */
+    private static long parseRfc1123(final String date) {
+        if (date.length() != RFC1123_DATE_LENGTH
+                || date.charAt(3) != ',' || date.charAt(4) != ' ' || date.charAt(7) != ' ' || date.charAt(11) != ' '
+                || date.charAt(16) != ' ' || date.charAt(19) != ':' || date.charAt(22) != ':' || date.charAt(25) != ' '
+                || !date.regionMatches(26, "GMT", 0, 3)) {
+            return Long.MIN_VALUE;
+        }
+
+        if (indexOfName(DAY_NAMES, date, 0) < 0) {
+            return Long.MIN_VALUE;
+        }
+        final int month = indexOfName(MONTH_NAMES, date, 8) + 1;
+        final int day = parseDigits(date, 5, 2);
+        final int year = parseDigits(date, 12, 4);
+        final int hours = parseDigits(date, 17, 2);
+        final int minutes = parseDigits(date, 20, 2);
+        final int seconds = parseDigits(date, 23, 2);
+        if (month == 0 || day < 0 || year < MIN_YEAR || hours < 0 || minutes < 0 || seconds < 0) {
+            return Long.MIN_VALUE;
+        }
+
+        // days since the epoch from the civil date (proleptic Gregorian calendar)
+        final long y = (month <= 2) ? year - 1 : year;
+        final long era = floorDiv(y, 400);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        // out-of-range fields roll over the same way as in the lenient SimpleDateFormat
+        final long days = era * 146097 + dayOfEra - 719468 + day - 1;
+
+        return days * MILLIS_PER_DAY + ((hours * 60L + minutes) * 60 + seconds) * 1000;
+    }
+
+    private static int indexOfName(final String[] names, final String date, final int offset) {
+        for (int i = 0; i < names.length; i++) {
+            if (date.regionMatches(true, offset, names[i], 0, 3)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int parseDigits(final String date, final int offset, final int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            final char c = date.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static long floorDiv(final long x, final long y) {
+        final long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
 }
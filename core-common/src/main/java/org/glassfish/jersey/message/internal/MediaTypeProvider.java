@@ -40,6 +40,7 @@
 package org.glassfish.jersey.message.internal;
 
 import java.text.ParseException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.ws.rs.core.MediaType;
@@ -54,6 +55,8 @@ import org.glassfish.jersey.spi.HeaderDelegateProvider;
  */
 public class MediaTypeProvider implements HeaderDelegateProvider<MediaType> {
 
+    private static final HeaderValueCache<MediaType> CACHE = new HeaderValueCache<MediaType>(64);
+
     @Override
     public boolean supports(Class<?> type) {
         return MediaType.class.isAssignableFrom(type);
@@ -76,12 +79,104 @@ public class MediaTypeProvider implements HeaderDelegateProvider<MediaType> {
             throw new IllegalArgumentException("Media type is null");
         }
 
-        try {
-            return valueOf(HttpHeaderReader.newInstance(header));
-        } catch (ParseException ex) {
-            throw new IllegalArgumentException(
-                    "Error parsing media type '" + header + "'", ex);
+        MediaType mediaType = CACHE.get(header);
+        if (mediaType != null) {
+            return mediaType;
+        }
+
+        mediaType = parseSimple(header);
+        if (mediaType == null) {
+            try {
+                mediaType = valueOf(HttpHeaderReader.newInstance(header));
+            } catch (ParseException ex) {
+                throw new IllegalArgumentException(
+                        "Error parsing media type '" + header + "'", ex);
+            }
         }
+
+        CACHE.put(header, mediaType);
+        return mediaType;
+    }
+
+    /**
+     * Single-pass parser of the common {@code type/subtype *(; parameter=value)}
+     * media type form that produces the same result as {@link #valueOf(HttpHeaderReader)}.
+     *
+     * @param header media type header value.
+     * @return parsed media type or {@code null} if the header uses a construct not
+     *         supported by this parser (e.g. escaped quoted strings) or is malformed;
+     *         the generic parser is used to process or reject such a header.
+     */
+    private static MediaType parseSimple(final String header) {
+        final int length = header.length();
+
+        int start = GrammarUtil.skipWhiteSpace(header, 0);
+        int i = GrammarUtil.skipToken(header, start);
+        if (i == start) {
+            return null;
+        }
+        final String type = header.substring(start, i);
+
+        if (i == length || header.charAt(i) != '/') {
+            return null;
+        }
+
+        start = i + 1;
+        i = GrammarUtil.skipToken(header, start);
+        if (i == start) {
+            return null;
+        }
+        final String subType = header.substring(start, i);
+
+        Map<String, String> params = null;
+        while ((i = GrammarUtil.skipWhiteSpace(header, i)) < length) {
+            if (header.charAt(i) != ';') {
+                return null;
+            }
+            // Ignore a ';' with no parameters
+            do {
+                i = GrammarUtil.skipWhiteSpace(header, i + 1);
+            } while (i < length && header.charAt(i) == ';');
+            if (i == length) {
+                break;
+            }
+
+            start = i;
+            i = GrammarUtil.skipToken(header, start);
+            if (i == start) {
+                return null;
+            }
+            final String name = header.substring(start, i);
+
+            if (i == length || header.charAt(i) != '=') {
+                return null;
+            }
+
+            i++;
+            final String value;
+            if (i < length && header.charAt(i) == '"') {
+                start = i + 1;
+                i = GrammarUtil.findQuotedStringEnd(header, start);
+                if (i < 0) {
+                    return null;
+                }
+                value = header.substring(start, i++);
+            } else {
+                start = i;
+                i = GrammarUtil.skipToken(header, start);
+                if (i == start) {
+                    return null;
+                }
+                value = header.substring(start, i);
+            }
+
+            if (params == null) {
+                params = new LinkedHashMap<String, String>();
+            }
+            params.put(name.toLowerCase(), value);
+        }
+
+        return new MediaType(type, subType, params);
     }
 
     public static MediaType valueOf(HttpHeaderReader reader) throws ParseException {
@@ -114,6 +114,7 @@ public class MessagingModules {
             install(new ServiceFinderModule<HeaderDelegateProvider>(HeaderDelegateProvider.class));
 
             // XML factory injection points
+            bind(XmlParserPool.class).to(XmlParserPool.class).in(Singleton.class);
             bind(DocumentBuilderFactory.class).toFactory(DocumentBuilderFactoryInjectionProvider.class).in(PerThread.class);
             bind(SAXParserFactory.class).toFactory(SaxParserFactoryInjectionProvider.class).in(PerThread.class);
             bind(XMLInputFactory.class).toFactory(XmlInputFactoryInjectionProvider.class).in(PerThread.class);
@@ -58,6 +58,11 @@ class MutableHeaders implements Headers, Headers.Builder<MutableHeaders> {
 
     private final AbstractMultivaluedMap<String, String> stringHeaders;
     private final AbstractMultivaluedMap<String, Object> objectHeaders;
+    /**
+     * Native container headers read through until the headers are modified or
+     * the whole header map is requested; {@code null} once copied.
+     */
+    private HeaderSource source;
 
     public MutableHeaders() {
         this.stringHeaders = HeadersFactory.createInbound();
@@ -67,6 +72,7 @@ class MutableHeaders implements Headers, Headers.Builder<MutableHeaders> {
     public MutableHeaders(MutableHeaders that) {
         this();
 
+        this.source = that.source;
         this.stringHeaders.putAll(that.stringHeaders);
         this.objectHeaders.putAll(that.objectHeaders);
     }
@@ -93,60 +99,73 @@ class MutableHeaders implements Headers, Headers.Builder<MutableHeaders> {
 
     @Override
     public MultivaluedMap<String, String> headers() {
+        copySource();
         fetchAll();
         return stringHeaders;
     }
 
     @Override
     public List<String> headerValues(String name) {
+        if (source != null) {
+            // headers have not been modified since the source has been set
+            return readThrough(name);
+        }
         fetch(name);
         return stringHeaders.get(name);
     }
 
     @Override
     public MutableHeaders header(String name, Object value) {
+        copySource();
         objectHeaders.add(name, value);
         return this;
     }
 
     @Override
     public MutableHeaders header(String name, String value) {
+        copySource();
         stringHeaders.add(name, value);
         return this;
     }
 
     @Override
     public MutableHeaders headers(String name, Object... values) {
+        copySource();
         objectHeaders.addAll(name, values);
         return this;
     }
 
     @Override
     public MutableHeaders headers(String name, String... values) {
+        copySource();
         stringHeaders.addAll(name, values);
         return this;
     }
 
     @Override
     public MutableHeaders headers(String name, Iterable<? extends Object> values) {
+        copySource();
         objectHeaders.addAll(name, iterableToList(values));
         return this;
     }
 
     @Override
     public MutableHeaders headers(MultivaluedMap<String, ? extends Object> headers) {
+        copySource();
         objectHeaders.putAll((Map<String, List<Object>>) headers);
         return this;
     }
 
     @Override
     public MutableHeaders headers(Map<String, List<String>> headers) {
+        copySource();
         stringHeaders.putAll(HeadersFactory.createInbound(headers));
         return this;
     }
 
     @Override
     public MutableHeaders remove(String name) {
+        copySource();
         objectHeaders.remove(name);
         stringHeaders.remove(name);
         return this;
@@ -154,6 +173,7 @@ class MutableHeaders implements Headers, Headers.Builder<MutableHeaders> {
 
     @Override
     public MutableHeaders replace(String name, Iterable<? extends Object> values) {
+        copySource();
         stringHeaders.remove(name);
         objectHeaders.put(name, iterableToList(values));
         return this;
@@ -161,6 +181,7 @@ class MutableHeaders implements Headers, Headers.Builder<MutableHeaders> {
 
     @Override
     public MutableHeaders replaceAll(MultivaluedMap<String, String> headers) {
+        source = null;
         objectHeaders.clear();
         stringHeaders.clear();
 
@@ -169,6 +190,55 @@ class MutableHeaders implements Headers, Headers.Builder<MutableHeaders> {
         return this;
     }
 
+    /**
+     * Read the headers through from the given native header source instead of
+     * copying them. Any headers set previously are discarded.
+     *
+     * @param source native header source.
+     * @return updated headers.
+     */
+    public MutableHeaders source(HeaderSource source) {
+        objectHeaders.clear();
+        stringHeaders.clear();
+
+        this.source = source;
+
+        return this;
+    }
+
+    private List<String> readThrough(final String name) {
+        List<String> values = stringHeaders.get(name);
+        if (values == null) {
+            final List<String> sourceValues = source.getHeaderValues(name);
+            if (sourceValues == null || sourceValues.isEmpty()) {
+                return sourceValues;
+            }
+            // keep a mutable copy of the values read so that the returned list is "live"
+            stringHeaders.addAll(name, sourceValues);
+            values = stringHeaders.get(name);
+        }
+        return values;
+    }
+
+    private void copySource() {
+        if (source == null) {
+            return;
+        }
+
+        final HeaderSource headerSource = source;
+        source = null;
+        for (String name : headerSource.getHeaderNames()) {
+            if (stringHeaders.containsKey(name)) {
+                // already read through
+                continue;
+            }
+            final List<String> values = headerSource.getHeaderValues(name);
+            if (values != null) {
+                stringHeaders.addAll(name, values);
+            }
+        }
+    }
+
     private void fetch(final String headerName) {
         if (objectHeaders.isEmpty()) {
             return;
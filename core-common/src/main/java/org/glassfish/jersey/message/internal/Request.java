@@ -76,6 +76,8 @@ interface Request extends Entity, Headers {
 
         public Builder cookie(Cookie cookie);
 
+        public Builder headerSource(HeaderSource source);
+
         @Override
         public Builder clone();
 
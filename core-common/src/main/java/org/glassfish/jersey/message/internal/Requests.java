@@ -206,6 +206,21 @@ public final class Requests {
         JaxrsRequestBuilderView.unwrap(requestBuilder).workers(workers);
     }
 
+    /**
+     * Set the native container {@link HeaderSource header source} the request
+     * headers are read from. Any headers set on the builder previously are discarded.
+     * <p />
+     * Unlike adding each header value to the builder, the header values are read
+     * through lazily and copied only if the request headers are modified.
+     *
+     * @param requestBuilder JAX-RS request builder. It is assumed that the instance is
+     *            represented by an internal Jersey request builder type.
+     * @param source native container request header source.
+     */
+    public static void setHeaderSource(RequestBuilder requestBuilder, HeaderSource source) {
+        JaxrsRequestBuilderView.unwrap(requestBuilder).headerSource(source);
+    }
+
     /**
      * Get the {@link MessageBodyWorkers} from the request.
      *
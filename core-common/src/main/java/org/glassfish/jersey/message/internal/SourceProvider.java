@@ -54,8 +54,9 @@ import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response.Status;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.Source;
 import javax.xml.transform.TransformerException;
@@ -150,10 +151,10 @@ public final class SourceProvider {
     @Consumes({"application/xml", "text/xml", "*/*"})
     public static final class DomSourceReader implements MessageBodyReader<DOMSource> {
 
-        private final Factory<DocumentBuilderFactory> dbf;
+        private final Factory<XmlParserPool> parserPool;
 
-        public DomSourceReader(@Context Factory<DocumentBuilderFactory> dbf) {
-            this.dbf = dbf;
+        public DomSourceReader(@Context Factory<XmlParserPool> parserPool) {
+            this.parserPool = parserPool;
         }
 
         @Override
@@ -169,8 +170,11 @@ public final class SourceProvider {
                 MediaType mediaType,
                 MultivaluedMap<String, String> httpHeaders,
                 InputStream entityStream) throws IOException {
+            final XmlParserPool pool = parserPool.get();
+            DocumentBuilder builder = null;
             try {
-                Document d = dbf.get().newDocumentBuilder().parse(entityStream);
+                builder = pool.borrowDocumentBuilder();
+                Document d = builder.parse(entityStream);
                 return new DOMSource(d);
             } catch (SAXParseException ex) {
                 throw new WebApplicationException(ex, Status.BAD_REQUEST);
@@ -178,6 +182,8 @@ public final class SourceProvider {
                 throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
             } catch (ParserConfigurationException ex) {
                 throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+            } finally {
+                pool.returnDocumentBuilder(builder);
             }
         }
     }
@@ -189,12 +195,12 @@ public final class SourceProvider {
     @Consumes({"application/xml", "text/xml", "*/*"})
     public static final class SourceWriter implements MessageBodyWriter<Source> {
 
-        private final Factory<SAXParserFactory> saxParserFactory;
+        private final Factory<XmlParserPool> parserPool;
         private final Factory<TransformerFactory> transformerFactory;
 
-        public SourceWriter(@Context Factory<SAXParserFactory> spf,
+        public SourceWriter(@Context Factory<XmlParserPool> parserPool,
                 @Context Factory<TransformerFactory> tf) {
-            this.saxParserFactory = spf;
+            this.parserPool = parserPool;
             this.transformerFactory = tf;
         }
 
@@ -212,6 +218,8 @@ public final class SourceProvider {
         public void writeTo(Source source, Class<?> t, Type gt, Annotation[] as, MediaType mediaType,
                 MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
 
+            XmlParserPool pool = null;
+            SAXParser parser = null;
             try {
                 if (source instanceof StreamSource) {
                     StreamSource stream = (StreamSource) source;
@@ -219,7 +227,9 @@ public final class SourceProvider {
                     inputStream.setCharacterStream(inputStream.getCharacterStream());
                     inputStream.setPublicId(stream.getPublicId());
                     inputStream.setSystemId(source.getSystemId());
-                    source = new SAXSource(saxParserFactory.get().newSAXParser().getXMLReader(), inputStream);
+                    pool = parserPool.get();
+                    parser = pool.borrowSaxParser();
+                    source = new SAXSource(parser.getXMLReader(), inputStream);
                 }
 
                 StreamResult sr = new StreamResult(entityStream);
@@ -231,6 +241,10 @@ public final class SourceProvider {
                 throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
             } catch (TransformerException ex) {
                 throw new WebApplicationException(ex, Status.INTERNAL_SERVER_ERROR);
+            } finally {
+                if (pool != null) {
+                    pool.returnSaxParser(parser);
+                }
             }
         }
     }
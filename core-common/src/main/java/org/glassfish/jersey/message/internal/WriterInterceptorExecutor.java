@@ -50,6 +50,7 @@ import java.util.Map;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
@@ -213,8 +214,18 @@ public class WriterInterceptorExecutor extends InterceptorExecutor implements Wr
                         context.getMediaType(), context.getType(), context.getGenericType()));
             }
             if (sizeCallback != null) {
-                long size = writer.getSize(context.getEntity(), context.getType(), context.getGenericType(),
+                // size of an encoded entity is not known in advance
+                final boolean encoded = context.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING);
+                long size = encoded ? -1
+                        : writer.getSize(context.getEntity(), context.getType(), context.getGenericType(),
                         context.getAnnotations(), context.getMediaType());
+                if (size < 0 && !writeEntity && !encoded) {
+                    // the entity is not written (e.g. HEAD request) - count the serialized bytes instead
+                    final CountingOutputStream counter = new CountingOutputStream();
+                    writer.writeTo(context.getEntity(), context.getType(), context.getGenericType(),
+                            context.getAnnotations(), context.getMediaType(), context.getHeaders(), counter);
+                    size = counter.count;
+                }
                 sizeCallback.onRequestEntitySize(size);
             }
 
@@ -225,4 +236,20 @@ public class WriterInterceptorExecutor extends InterceptorExecutor implements Wr
         }
     }
 
+    /**
+     * Output stream discarding the written bytes and counting their number.
+     */
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
 }
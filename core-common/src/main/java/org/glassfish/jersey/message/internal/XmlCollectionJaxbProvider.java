@@ -43,7 +43,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
-import java.util.Collection;
+import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -71,18 +71,18 @@ import org.glassfish.hk2.Factory;
  */
 public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbProvider {
 
-    private final Factory<XMLInputFactory> xif;
+    private final Factory<XmlParserPool> parserPool;
 
-    XmlCollectionJaxbProvider(Factory<XMLInputFactory> xif, Providers ps) {
+    XmlCollectionJaxbProvider(Factory<XmlParserPool> parserPool, Providers ps) {
         super(ps);
 
-        this.xif = xif;
+        this.parserPool = parserPool;
     }
 
-    XmlCollectionJaxbProvider(Factory<XMLInputFactory> xif, Providers ps, MediaType mt) {
+    XmlCollectionJaxbProvider(Factory<XmlParserPool> parserPool, Providers ps, MediaType mt) {
         super(ps, mt);
 
-        this.xif = xif;
+        this.parserPool = parserPool;
     }
 
     /**
@@ -93,8 +93,8 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
     @Consumes("application/xml")
     public static final class App extends XmlCollectionJaxbProvider {
 
-        public App(@Context Factory<XMLInputFactory> xif, @Context Providers ps) {
-            super(xif, ps, MediaType.APPLICATION_XML_TYPE);
+        public App(@Context Factory<XmlParserPool> parserPool, @Context Providers ps) {
+            super(parserPool, ps, MediaType.APPLICATION_XML_TYPE);
         }
     }
 
@@ -106,8 +106,8 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
     @Consumes("text/xml")
     public static final class Text extends XmlCollectionJaxbProvider {
 
-        public Text(@Context Factory<XMLInputFactory> xif, @Context Providers ps) {
-            super(xif, ps, MediaType.TEXT_XML_TYPE);
+        public Text(@Context Factory<XmlParserPool> parserPool, @Context Providers ps) {
+            super(parserPool, ps, MediaType.TEXT_XML_TYPE);
         }
     }
 
@@ -119,8 +119,8 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
     @Consumes("*/*")
     public static final class General extends XmlCollectionJaxbProvider {
 
-        public General(@Context Factory<XMLInputFactory> xif, @Context Providers ps) {
-            super(xif, ps);
+        public General(@Context Factory<XmlParserPool> parserPool, @Context Providers ps) {
+            super(parserPool, ps);
         }
 
         @Override
@@ -135,11 +135,17 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
             Unmarshaller u,
             InputStream entityStream)
             throws XMLStreamException {
-        return xif.get().createXMLStreamReader(entityStream);
+        final XmlParserPool pool = parserPool.get();
+        final XMLInputFactory factory = pool.borrowXmlInputFactory();
+        try {
+            return factory.createXMLStreamReader(entityStream);
+        } finally {
+            pool.returnXmlInputFactory(factory);
+        }
     }
 
     @Override
-    public final void writeList(Class<?> elementType, Collection<?> t,
+    public final void writeList(Class<?> elementType, Iterator<?> t,
             MediaType mediaType, Charset c,
             Marshaller m, OutputStream entityStream)
             throws JAXBException, IOException {
@@ -170,8 +176,8 @@ public abstract class XmlCollectionJaxbProvider extends AbstractCollectionJaxbPr
             entityStream.write(header.getBytes(cName));
         }
         entityStream.write(String.format("<%s>", rootElement).getBytes(cName));
-        for (Object o : t) {
-            m.marshal(o, entityStream);
+        while (t.hasNext()) {
+            m.marshal(t.next(), entityStream);
         }
 
         entityStream.write(String.format("</%s>", rootElement).getBytes(cName));
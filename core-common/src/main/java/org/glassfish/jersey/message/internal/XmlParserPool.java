@@ -0,0 +1,391 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.stream.XMLInputFactory;
+
+import org.glassfish.jersey.FeaturesAndProperties;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.MessageProperties;
+
+import org.glassfish.hk2.Factory;
+
+import org.jvnet.hk2.annotations.Inject;
+
+import org.xml.sax.SAXException;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+/**
+ * Application-wide bounded pool of pre-configured XML parsers shared by the built-in
+ * XML entity providers.
+ * <p>
+ * The pool replaces the per-request creation of {@link SAXParser SAX parsers} and
+ * {@link DocumentBuilder DOM document builders} (and the per-thread creation of
+ * {@link XMLInputFactory StAX input factories}) by reuse of instances created from a
+ * single set of factories configured the same way as the injectable
+ * {@link SaxParserFactoryInjectionProvider SAX parser},
+ * {@link DocumentBuilderFactoryInjectionProvider document builder} and
+ * {@link XmlInputFactoryInjectionProvider XML input} factories, i.e. with the XML
+ * security features enabled unless {@link MessageProperties#XML_SECURITY_DISABLE disabled}.
+ * </p>
+ * <p>
+ * A borrowed parser is owned exclusively by the caller until it is returned. Returned
+ * parsers are {@link SAXParser#reset() reset} and retained for reuse up to the
+ * {@link MessageProperties#XML_PARSER_POOL_SIZE configured} number of idle instances
+ * of each kind; parsers that cannot be reset or do not fit into the pool are discarded.
+ * A parser that is handed out to the application code (and thus never returned) must not
+ * be borrowed from the pool.
+ * </p>
+ */
+public class XmlParserPool {
+
+    private static final Logger LOGGER = Logger.getLogger(XmlParserPool.class.getName());
+
+    /**
+     * Bounded pool of idle instances with usage statistics.
+     *
+     * @param <T> pooled instance type.
+     */
+    public static final class Pool<T> {
+
+        private final String name;
+        private final Supplier<Integer> capacity;
+        private final Queue<T> idle = new ConcurrentLinkedQueue<T>();
+        private final AtomicInteger idleCount = new AtomicInteger();
+        private final AtomicLong borrowed = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong returned = new AtomicLong();
+        private final AtomicLong discarded = new AtomicLong();
+
+        private Pool(String name, Supplier<Integer> capacity) {
+            this.name = name;
+            this.capacity = capacity;
+        }
+
+        private T poll() {
+            borrowed.incrementAndGet();
+            final T instance = idle.poll();
+            if (instance != null) {
+                idleCount.decrementAndGet();
+            }
+            return instance;
+        }
+
+        private <I extends T> I created(I instance) {
+            created.incrementAndGet();
+            return instance;
+        }
+
+        private void offer(T instance) {
+            if (idleCount.incrementAndGet() <= capacity.get()) {
+                idle.offer(instance);
+                returned.incrementAndGet();
+            } else {
+                idleCount.decrementAndGet();
+                discarded.incrementAndGet();
+            }
+        }
+
+        private void discard() {
+            discarded.incrementAndGet();
+        }
+
+        /**
+         * Get the name of the pooled instance kind.
+         *
+         * @return pool name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the maximum number of idle instances retained by the pool.
+         *
+         * @return pool capacity.
+         */
+        public int getCapacity() {
+            return capacity.get();
+        }
+
+        /**
+         * Get the number of idle instances currently available in the pool.
+         *
+         * @return number of idle instances.
+         */
+        public int getIdleCount() {
+            return idleCount.get();
+        }
+
+        /**
+         * Get the total number of instances borrowed from the pool.
+         *
+         * @return number of borrowed instances.
+         */
+        public long getBorrowedCount() {
+            return borrowed.get();
+        }
+
+        /**
+         * Get the total number of instances created because no idle instance was available.
+         *
+         * @return number of created instances.
+         */
+        public long getCreatedCount() {
+            return created.get();
+        }
+
+        /**
+         * Get the total number of instances returned to the pool for reuse.
+         *
+         * @return number of returned instances.
+         */
+        public long getReturnedCount() {
+            return returned.get();
+        }
+
+        /**
+         * Get the total number of returned instances that were discarded because they
+         * could not be reset or the pool was full.
+         *
+         * @return number of discarded instances.
+         */
+        public long getDiscardedCount() {
+            return discarded.get();
+        }
+
+        @Override
+        public String toString() {
+            return name + "[capacity=" + getCapacity() + ", idle=" + getIdleCount()
+                    + ", borrowed=" + getBorrowedCount() + ", created=" + getCreatedCount()
+                    + ", returned=" + getReturnedCount() + ", discarded=" + getDiscardedCount() + "]";
+        }
+    }
+
+    private final Supplier<SAXParserFactory> saxParserFactory;
+    private final Supplier<DocumentBuilderFactory> documentBuilderFactory;
+    private final Supplier<XMLInputFactory> xmlInputFactory;
+
+    private final Pool<SAXParser> saxParsers;
+    private final Pool<DocumentBuilder> documentBuilders;
+    private final Pool<XMLInputFactory> xmlInputFactories;
+
+    /**
+     * Create new XML parser pool.
+     *
+     * @param featuresAndPropertiesFactory features and properties provider.
+     */
+    public XmlParserPool(@Inject final Factory<FeaturesAndProperties> featuresAndPropertiesFactory) {
+        this.saxParserFactory = Suppliers.memoize(new Supplier<SAXParserFactory>() {
+
+            @Override
+            public SAXParserFactory get() {
+                return new SaxParserFactoryInjectionProvider(featuresAndPropertiesFactory).get();
+            }
+        });
+        this.documentBuilderFactory = Suppliers.memoize(new Supplier<DocumentBuilderFactory>() {
+
+            @Override
+            public DocumentBuilderFactory get() {
+                return new DocumentBuilderFactoryInjectionProvider(featuresAndPropertiesFactory).get();
+            }
+        });
+        this.xmlInputFactory = new Supplier<XMLInputFactory>() {
+
+            @Override
+            public XMLInputFactory get() {
+                return new XmlInputFactoryInjectionProvider(featuresAndPropertiesFactory).get();
+            }
+        };
+
+        final Supplier<Integer> capacity = Suppliers.memoize(new Supplier<Integer>() {
+
+            @Override
+            public Integer get() {
+                return Math.max(0, PropertiesHelper.getValue(featuresAndPropertiesFactory.get().getProperties(),
+                        MessageProperties.XML_PARSER_POOL_SIZE, MessageProperties.XML_PARSER_POOL_DEFAULT_SIZE));
+            }
+        });
+        this.saxParsers = new Pool<SAXParser>("SAXParser", capacity);
+        this.documentBuilders = new Pool<DocumentBuilder>("DocumentBuilder", capacity);
+        this.xmlInputFactories = new Pool<XMLInputFactory>("XMLInputFactory", capacity);
+    }
+
+    /**
+     * Borrow a namespace aware SAX parser from the pool.
+     *
+     * @return SAX parser, either reused or newly created.
+     * @throws ParserConfigurationException in case a new parser cannot be created.
+     * @throws SAXException in case a new parser cannot be created.
+     */
+    public SAXParser borrowSaxParser() throws ParserConfigurationException, SAXException {
+        final SAXParser parser = saxParsers.poll();
+        if (parser != null) {
+            return parser;
+        }
+
+        final SAXParserFactory factory = saxParserFactory.get();
+        synchronized (factory) {
+            return saxParsers.created(factory.newSAXParser());
+        }
+    }
+
+    /**
+     * Return a SAX parser previously {@link #borrowSaxParser() borrowed} from the pool.
+     *
+     * @param parser SAX parser to be returned, may be {@code null}.
+     */
+    public void returnSaxParser(SAXParser parser) {
+        if (parser == null) {
+            return;
+        }
+        try {
+            parser.reset();
+        } catch (UnsupportedOperationException ex) {
+            LOGGER.log(Level.FINE, "SAX parser cannot be reset and will not be reused.", ex);
+            saxParsers.discard();
+            return;
+        }
+        saxParsers.offer(parser);
+    }
+
+    /**
+     * Borrow a namespace aware DOM document builder from the pool.
+     *
+     * @return document builder, either reused or newly created.
+     * @throws ParserConfigurationException in case a new document builder cannot be created.
+     */
+    public DocumentBuilder borrowDocumentBuilder() throws ParserConfigurationException {
+        final DocumentBuilder builder = documentBuilders.poll();
+        if (builder != null) {
+            return builder;
+        }
+
+        final DocumentBuilderFactory factory = documentBuilderFactory.get();
+        synchronized (factory) {
+            return documentBuilders.created(factory.newDocumentBuilder());
+        }
+    }
+
+    /**
+     * Return a document builder previously {@link #borrowDocumentBuilder() borrowed} from the pool.
+     *
+     * @param builder document builder to be returned, may be {@code null}.
+     */
+    public void returnDocumentBuilder(DocumentBuilder builder) {
+        if (builder == null) {
+            return;
+        }
+        try {
+            builder.reset();
+        } catch (UnsupportedOperationException ex) {
+            LOGGER.log(Level.FINE, "Document builder cannot be reset and will not be reused.", ex);
+            documentBuilders.discard();
+            return;
+        }
+        documentBuilders.offer(builder);
+    }
+
+    /**
+     * Borrow a StAX input factory from the pool.
+     * <p>
+     * The factory may be used to create any number of XML stream readers while borrowed;
+     * the created readers remain usable after the factory has been returned.
+     * </p>
+     *
+     * @return XML input factory, either reused or newly created.
+     */
+    public XMLInputFactory borrowXmlInputFactory() {
+        final XMLInputFactory factory = xmlInputFactories.poll();
+        return (factory != null) ? factory : xmlInputFactories.created(xmlInputFactory.get());
+    }
+
+    /**
+     * Return a StAX input factory previously {@link #borrowXmlInputFactory() borrowed} from the pool.
+     *
+     * @param factory XML input factory to be returned, may be {@code null}.
+     */
+    public void returnXmlInputFactory(XMLInputFactory factory) {
+        if (factory != null) {
+            xmlInputFactories.offer(factory);
+        }
+    }
+
+    /**
+     * Get the SAX parser pool statistics.
+     *
+     * @return SAX parser pool.
+     */
+    public Pool<SAXParser> getSaxParserPool() {
+        return saxParsers;
+    }
+
+    /**
+     * Get the DOM document builder pool statistics.
+     *
+     * @return document builder pool.
+     */
+    public Pool<DocumentBuilder> getDocumentBuilderPool() {
+        return documentBuilders;
+    }
+
+    /**
+     * Get the StAX input factory pool statistics.
+     *
+     * @return XML input factory pool.
+     */
+    public Pool<XMLInputFactory> getXmlInputFactoryPool() {
+        return xmlInputFactories;
+    }
+}
@@ -51,11 +51,14 @@ import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
-import javax.xml.parsers.SAXParserFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
 import javax.xml.transform.sax.SAXSource;
 
 import org.glassfish.hk2.Factory;
 
+import org.xml.sax.SAXException;
+
 /**
  * Base XML-based message body provider for JAXB {@link XmlRootElement root elements}
  * and {@link XmlType types}.
@@ -65,19 +68,19 @@ import org.glassfish.hk2.Factory;
  */
 public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxbProvider {
 
-    // Delay construction of factory
-    private final Factory<SAXParserFactory> spf;
+    // Delay construction of the parser pool
+    private final Factory<XmlParserPool> parserPool;
 
-    XmlRootElementJaxbProvider(Factory<SAXParserFactory> spf, Providers ps) {
+    XmlRootElementJaxbProvider(Factory<XmlParserPool> parserPool, Providers ps) {
         super(ps);
 
-        this.spf = spf;
+        this.parserPool = parserPool;
     }
 
-    XmlRootElementJaxbProvider(Factory<SAXParserFactory> spf, Providers ps, MediaType mt) {
+    XmlRootElementJaxbProvider(Factory<XmlParserPool> parserPool, Providers ps, MediaType mt) {
         super(ps, mt);
 
-        this.spf = spf;
+        this.parserPool = parserPool;
     }
 
     /**
@@ -89,8 +92,8 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
     @Consumes("application/xml")
     public static final class App extends XmlRootElementJaxbProvider {
 
-        public App(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
-            super(spf, ps, MediaType.APPLICATION_XML_TYPE);
+        public App(@Context Factory<XmlParserPool> parserPool, @Context Providers ps) {
+            super(parserPool, ps, MediaType.APPLICATION_XML_TYPE);
         }
     }
 
@@ -103,8 +106,8 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
     @Consumes("text/xml")
     public static final class Text extends XmlRootElementJaxbProvider {
 
-        public Text(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
-            super(spf, ps, MediaType.TEXT_XML_TYPE);
+        public Text(@Context Factory<XmlParserPool> parserPool, @Context Providers ps) {
+            super(parserPool, ps, MediaType.TEXT_XML_TYPE);
         }
     }
 
@@ -117,8 +120,8 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
     @Consumes("*/*")
     public static final class General extends XmlRootElementJaxbProvider {
 
-        public General(@Context Factory<SAXParserFactory> spf, @Context Providers ps) {
-            super(spf, ps);
+        public General(@Context Factory<XmlParserPool> parserPool, @Context Providers ps) {
+            super(parserPool, ps);
         }
 
         @Override
@@ -131,11 +134,22 @@ public abstract class XmlRootElementJaxbProvider extends AbstractRootElementJaxb
     protected Object readFrom(Class<Object> type, MediaType mediaType,
             Unmarshaller u, InputStream entityStream)
             throws JAXBException {
-        final SAXSource s = getSAXSource(spf.get(), entityStream);
-        if (type.isAnnotationPresent(XmlRootElement.class)) {
-            return u.unmarshal(s);
-        } else {
-            return u.unmarshal(s, type).getValue();
+        final XmlParserPool pool = parserPool.get();
+        SAXParser parser = null;
+        try {
+            parser = pool.borrowSaxParser();
+            final SAXSource s = getSAXSource(parser, entityStream);
+            if (type.isAnnotationPresent(XmlRootElement.class)) {
+                return u.unmarshal(s);
+            } else {
+                return u.unmarshal(s, type).getValue();
+            }
+        } catch (ParserConfigurationException ex) {
+            throw new JAXBException("Error creating SAXSource", ex);
+        } catch (SAXException ex) {
+            throw new JAXBException("Error creating SAXSource", ex);
+        } finally {
+            pool.returnSaxParser(parser);
         }
     }
 }
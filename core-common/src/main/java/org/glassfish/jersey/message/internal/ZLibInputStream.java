@@ -0,0 +1,294 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+
+/**
+ * Streaming decompressing input stream reading either the {@code gzip} (RFC 1952)
+ * or the {@code deflate} (zlib, RFC 1950, or raw deflate) data format using
+ * a {@link ZLibPool pooled} inflater.
+ * <p/>
+ * The stream optionally limits the ratio between the number of decompressed and
+ * compressed bytes to protect the application from "decompression bombs". Once
+ * the limit is exceeded a {@link WebApplicationException} with the
+ * {@link Response.Status#REQUEST_ENTITY_TOO_LARGE 413} status is thrown.
+ * <p/>
+ * The inflater is returned to the pool once the end of the compressed data is
+ * reached or the stream is closed.
+ */
+public final class ZLibInputStream extends InflaterInputStream {
+
+    /**
+     * Number of decompressed bytes that are always accepted regardless of the
+     * decompression ratio limit.
+     */
+    private static final long RATIO_CHECK_THRESHOLD = 64 * 1024;
+    //
+    private static final int GZIP_MAGIC = 0x8b1f;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+    //
+    private final boolean gzip;
+    private final boolean nowrap;
+    private final int maxRatio;
+    private final CRC32 crc;
+    private final byte[] single = new byte[1];
+    private boolean released;
+
+    /**
+     * Create new {@code gzip} decompressing input stream.
+     *
+     * @param in         compressed input stream.
+     * @param maxRatio   maximum allowed ratio between decompressed and compressed data size;
+     *                   zero or negative value disables the limit.
+     * @param bufferSize size of the input buffer.
+     * @return decompressing input stream.
+     * @throws IOException in case the {@code gzip} header cannot be read or is not valid.
+     */
+    public static ZLibInputStream gzip(final InputStream in, final int maxRatio, final int bufferSize) throws IOException {
+        readGzipHeader(in);
+        return new ZLibInputStream(in, true, true, maxRatio, bufferSize);
+    }
+
+    /**
+     * Create new {@code deflate} decompressing input stream. Both the zlib wrapped
+     * and the raw deflate format (sent by some non-conforming implementations)
+     * are accepted.
+     *
+     * @param in         compressed input stream.
+     * @param maxRatio   maximum allowed ratio between decompressed and compressed data size;
+     *                   zero or negative value disables the limit.
+     * @param bufferSize size of the input buffer.
+     * @return decompressing input stream.
+     * @throws IOException in case the stream cannot be read.
+     */
+    public static ZLibInputStream deflate(final InputStream in, final int maxRatio, final int bufferSize)
+            throws IOException {
+        final InputStream markable = in.markSupported() ? in : new BufferedInputStream(in, 2);
+        markable.mark(2);
+        final int cmf = markable.read();
+        final int flg = markable.read();
+        markable.reset();
+
+        // zlib header: compression method 8 & header checksum (RFC 1950, section 2.2)
+        final boolean zlib = cmf != -1 && flg != -1 && (cmf & 0x0f) == 8 && ((cmf << 8) | flg) % 31 == 0;
+        return new ZLibInputStream(markable, false, !zlib, maxRatio, bufferSize);
+    }
+
+    private ZLibInputStream(final InputStream in,
+                            final boolean gzip,
+                            final boolean nowrap,
+                            final int maxRatio,
+                            final int bufferSize) {
+        super(in, ZLibPool.acquireInflater(nowrap), bufferSize);
+        this.gzip = gzip;
+        this.nowrap = nowrap;
+        this.maxRatio = maxRatio;
+        this.crc = gzip ? new CRC32() : null;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (released) {
+            return -1;
+        }
+
+        final int read;
+        try {
+            read = super.read(b, off, len);
+        } catch (ZipException ex) {
+            release();
+            throw ex;
+        }
+
+        if (read > 0) {
+            if (crc != null) {
+                crc.update(b, off, read);
+            }
+            checkRatio();
+        } else if (read == -1 || inf.finished()) {
+            onEnd();
+        }
+        return read;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return (read(single, 0, 1) == -1) ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return released ? 0 : super.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            release();
+        } finally {
+            super.close();
+        }
+    }
+
+    private void checkRatio() {
+        if (maxRatio <= 0) {
+            return;
+        }
+
+        final long written = inf.getBytesWritten();
+        if (written > RATIO_CHECK_THRESHOLD && written > maxRatio * Math.max(1L, inf.getBytesRead())) {
+            release();
+            throw new WebApplicationException(
+                    new DataFormatException(LocalizationMessages.DECOMPRESSION_RATIO_EXCEEDED(maxRatio)),
+                    Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+    }
+
+    private void onEnd() throws IOException {
+        if (released) {
+            return;
+        }
+
+        try {
+            if (gzip && inf.finished()) {
+                readGzipTrailer();
+            }
+        } finally {
+            release();
+        }
+    }
+
+    private void readGzipTrailer() throws IOException {
+        final byte[] trailer = new byte[8];
+        // part of the trailer may have already been read into the inflater input buffer
+        final int remaining = Math.min(inf.getRemaining(), trailer.length);
+        System.arraycopy(buf, len - inf.getRemaining(), trailer, 0, remaining);
+        readFully(in, trailer, remaining, trailer.length - remaining);
+
+        if (readInt(trailer, 0) != (int) crc.getValue() || readInt(trailer, 4) != (int) inf.getBytesWritten()) {
+            throw new ZipException(LocalizationMessages.GZIP_TRAILER_CORRUPTED());
+        }
+    }
+
+    private void release() {
+        if (!released) {
+            released = true;
+            ZLibPool.release(inf, nowrap);
+        }
+    }
+
+    private static void readGzipHeader(final InputStream in) throws IOException {
+        final byte[] header = new byte[10];
+        readFully(in, header, 0, header.length);
+        if (((header[0] & 0xff) | ((header[1] & 0xff) << 8)) != GZIP_MAGIC || header[2] != 8) {
+            throw new ZipException(LocalizationMessages.GZIP_HEADER_INVALID());
+        }
+
+        final int flags = header[3] & 0xff;
+        if ((flags & FEXTRA) != 0) {
+            final byte[] extraLength = new byte[2];
+            readFully(in, extraLength, 0, 2);
+            skipFully(in, (extraLength[0] & 0xff) | ((extraLength[1] & 0xff) << 8));
+        }
+        if ((flags & FNAME) != 0) {
+            skipZeroTerminated(in);
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipZeroTerminated(in);
+        }
+        if ((flags & FHCRC) != 0) {
+            skipFully(in, 2);
+        }
+    }
+
+    private static void skipZeroTerminated(final InputStream in) throws IOException {
+        int b;
+        do {
+            b = in.read();
+            if (b == -1) {
+                throw new EOFException();
+            }
+        } while (b != 0);
+    }
+
+    private static void skipFully(final InputStream in, int count) throws IOException {
+        while (count > 0) {
+            if (in.read() == -1) {
+                throw new EOFException();
+            }
+            count--;
+        }
+    }
+
+    private static void readFully(final InputStream in, final byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            final int read = in.read(b, off, len);
+            if (read == -1) {
+                throw new EOFException();
+            }
+            off += read;
+            len -= read;
+        }
+    }
+
+    private static int readInt(final byte[] buffer, final int offset) {
+        return (buffer[offset] & 0xff)
+                | ((buffer[offset + 1] & 0xff) << 8)
+                | ((buffer[offset + 2] & 0xff) << 16)
+                | ((buffer[offset + 3] & 0xff) << 24);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Compressing output stream producing either the {@code gzip} (RFC 1952) or the
+ * {@code deflate} (zlib, RFC 1950) data format using a {@link ZLibPool pooled}
+ * deflater.
+ * <p/>
+ * The deflater is returned to the pool once the stream is {@link #finish() finished}.
+ * Finishing the stream does not close the underlying output stream.
+ */
+public final class ZLibOutputStream extends DeflaterOutputStream {
+
+    private static final byte[] GZIP_HEADER = new byte[]{
+            (byte) 0x1f, (byte) 0x8b, // magic number
+            Deflater.DEFLATED, // compression method
+            0, // flags
+            0, 0, 0, 0, // modification time
+            0, // extra flags
+            0 // operating system
+    };
+    //
+    private final boolean gzip;
+    private final CRC32 crc;
+    private final byte[] single = new byte[1];
+    private boolean finished;
+
+    /**
+     * Create new compressing output stream.
+     *
+     * @param out        underlying output stream.
+     * @param gzip       if {@code true}, the {@code gzip} format is produced, otherwise the zlib
+     *                   ({@code deflate}) format is produced.
+     * @param level      compression level.
+     * @param bufferSize size of the output buffer.
+     * @throws IOException in case writing of the {@code gzip} header fails.
+     */
+    public ZLibOutputStream(final OutputStream out, final boolean gzip, final int level, final int bufferSize)
+            throws IOException {
+        super(out, ZLibPool.acquireDeflater(level, gzip), bufferSize);
+        this.gzip = gzip;
+        if (gzip) {
+            this.crc = new CRC32();
+            out.write(GZIP_HEADER);
+        } else {
+            this.crc = null;
+        }
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) throws IOException {
+        if (finished) {
+            throw new IOException("Write beyond end of the compressed stream.");
+        }
+        super.write(b, off, len);
+        if (crc != null) {
+            crc.update(b, off, len);
+        }
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        single[0] = (byte) b;
+        write(single, 0, 1);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        try {
+            super.finish();
+            if (gzip) {
+                writeTrailer();
+            }
+        } finally {
+            ZLibPool.release(def, gzip);
+        }
+    }
+
+    private void writeTrailer() throws IOException {
+        final byte[] trailer = new byte[8];
+        writeInt(trailer, 0, (int) crc.getValue());
+        writeInt(trailer, 4, (int) def.getBytesRead());
+        out.write(trailer);
+    }
+
+    private static void writeInt(final byte[] buffer, final int offset, final int value) {
+        // little-endian byte order as mandated by RFC 1952
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >> 8);
+        buffer[offset + 2] = (byte) (value >> 16);
+        buffer[offset + 3] = (byte) (value >> 24);
+    }
+}
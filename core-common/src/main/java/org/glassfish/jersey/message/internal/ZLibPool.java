@@ -0,0 +1,124 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Bounded pool of reusable {@link Deflater} and {@link Inflater} instances.
+ * <p/>
+ * Creating a new deflater or inflater allocates native zlib memory that is only
+ * released when the instance is {@link Deflater#end() ended} or finalized. Reusing
+ * the instances avoids the allocation for every compressed message entity. Instances
+ * released to a full pool are ended immediately.
+ */
+public final class ZLibPool {
+
+    private static final int MAX_POOL_SIZE = Runtime.getRuntime().availableProcessors() * 4;
+    //
+    private static final BlockingQueue<Deflater> WRAPPED_DEFLATERS = new ArrayBlockingQueue<Deflater>(MAX_POOL_SIZE);
+    private static final BlockingQueue<Deflater> RAW_DEFLATERS = new ArrayBlockingQueue<Deflater>(MAX_POOL_SIZE);
+    private static final BlockingQueue<Inflater> WRAPPED_INFLATERS = new ArrayBlockingQueue<Inflater>(MAX_POOL_SIZE);
+    private static final BlockingQueue<Inflater> RAW_INFLATERS = new ArrayBlockingQueue<Inflater>(MAX_POOL_SIZE);
+
+    private ZLibPool() {
+        // prevents instantiation
+    }
+
+    /**
+     * Get a deflater from the pool or create a new one if the pool is empty.
+     *
+     * @param level  compression level.
+     * @param nowrap if {@code true}, the deflater produces raw deflate data without
+     *               the zlib header and checksum fields (as used in the GZIP format).
+     * @return deflater set to the requested compression level.
+     */
+    public static Deflater acquireDeflater(final int level, final boolean nowrap) {
+        final Deflater deflater = (nowrap ? RAW_DEFLATERS : WRAPPED_DEFLATERS).poll();
+        if (deflater == null) {
+            return new Deflater(level, nowrap);
+        }
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    /**
+     * Return a deflater acquired via {@link #acquireDeflater(int, boolean)} to the pool.
+     * The deflater must not be used by the caller after it has been released.
+     *
+     * @param deflater deflater to be released.
+     * @param nowrap   the {@code nowrap} flag the deflater has been acquired with.
+     */
+    public static void release(final Deflater deflater, final boolean nowrap) {
+        deflater.reset();
+        if (!(nowrap ? RAW_DEFLATERS : WRAPPED_DEFLATERS).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Get an inflater from the pool or create a new one if the pool is empty.
+     *
+     * @param nowrap if {@code true}, the inflater expects raw deflate data without
+     *               the zlib header and checksum fields (as used in the GZIP format).
+     * @return inflater.
+     */
+    public static Inflater acquireInflater(final boolean nowrap) {
+        final Inflater inflater = (nowrap ? RAW_INFLATERS : WRAPPED_INFLATERS).poll();
+        return (inflater == null) ? new Inflater(nowrap) : inflater;
+    }
+
+    /**
+     * Return an inflater acquired via {@link #acquireInflater(boolean)} to the pool.
+     * The inflater must not be used by the caller after it has been released.
+     *
+     * @param inflater inflater to be released.
+     * @param nowrap   the {@code nowrap} flag the inflater has been acquired with.
+     */
+    public static void release(final Inflater inflater, final boolean nowrap) {
+        inflater.reset();
+        if (!(nowrap ? RAW_INFLATERS : WRAPPED_INFLATERS).offer(inflater)) {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.process;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.jersey.spi.ProcessingExecutorsProvider;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * {@link ProcessingExecutorsProvider Processing executors provider} backed by a bounded
+ * pool of daemon worker threads with a bounded task queue.
+ * <p/>
+ * Requests are processed on the pool threads; response processing continues on the
+ * thread that produced the response (i.e. the {@link #getRespondingExecutor() responding
+ * executor} is not customized). Once all the workers are busy and the task queue is full,
+ * new requests are rejected and the request processing fails immediately instead of
+ * waiting for a free worker. The number of rejected requests as well as other pool
+ * statistics are exposed via getter methods of the provider.
+ *
+ * @see ProcessingExecutors#bounded(int, int)
+ */
+public class BoundedProcessingExecutorsProvider implements ProcessingExecutorsProvider {
+
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Create new bounded processing executors provider.
+     *
+     * @param poolSize  maximum number of worker threads. Must be positive.
+     * @param queueSize maximum number of requests waiting for a free worker. If zero,
+     *                  requests are never queued; if negative, the queue is unbounded.
+     */
+    public BoundedProcessingExecutorsProvider(final int poolSize, final int queueSize) {
+        this(poolSize, queueSize, "jersey-processing-%d");
+    }
+
+    /**
+     * Create new bounded processing executors provider.
+     *
+     * @param poolSize         maximum number of worker threads. Must be positive.
+     * @param queueSize        maximum number of requests waiting for a free worker. If zero,
+     *                         requests are never queued; if negative, the queue is unbounded.
+     * @param threadNameFormat {@link String#format(String, Object...) format} of the worker
+     *                         thread names, taking the thread sequence number as the only argument.
+     */
+    public BoundedProcessingExecutorsProvider(final int poolSize, final int queueSize, final String threadNameFormat) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be positive: " + poolSize);
+        }
+
+        final BlockingQueue<Runnable> queue;
+        if (queueSize < 0) {
+            queue = new LinkedBlockingQueue<Runnable>();
+        } else if (queueSize == 0) {
+            queue = new SynchronousQueue<Runnable>();
+        } else {
+            queue = new ArrayBlockingQueue<Runnable>(queueSize);
+        }
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, queue,
+                new ThreadFactoryBuilder().setNameFormat(threadNameFormat).setDaemon(true).build(),
+                new RejectedExecutionHandler() {
+
+                    @Override
+                    public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+                        rejectedCount.incrementAndGet();
+                        throw new RejectedExecutionException("Request processing pool exhausted: "
+                                + executor.getActiveCount() + " active workers, "
+                                + executor.getQueue().size() + " queued requests.");
+                    }
+                });
+        // idle workers are released so that an idle application does not hold the whole pool
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public ExecutorService getRequestingExecutor() {
+        return executor;
+    }
+
+    @Override
+    public ExecutorService getRespondingExecutor() {
+        return null;
+    }
+
+    /**
+     * Get the number of requests rejected because the pool and its queue were full.
+     *
+     * @return number of rejected requests.
+     */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Get the approximate number of workers actively processing a request.
+     *
+     * @return number of active workers.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Get the number of requests waiting for a free worker.
+     *
+     * @return number of queued requests.
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Get the approximate number of requests processed by the pool.
+     *
+     * @return number of completed requests.
+     */
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    /**
+     * Get the maximum number of worker threads.
+     *
+     * @return maximum pool size.
+     */
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+}
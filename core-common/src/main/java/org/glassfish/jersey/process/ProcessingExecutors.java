@@ -0,0 +1,298 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.process;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.LocalizationMessages;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.spi.ProcessingExecutorsProvider;
+
+/**
+ * Factory methods for the built-in {@link ProcessingExecutorsProvider processing executors
+ * providers}.
+ * <p/>
+ * The providers can be registered directly using a {@link ProcessingExecutorsModule}
+ * or selected declaratively using the client and server configuration properties
+ * (see {@link #createProvider(Map, String, String, String, String)}). The executors of the
+ * providers created by the factory methods are owned by the caller and have to be
+ * {@link #shutdown(ProcessingExecutorsProvider) shut down} once no longer used.
+ *
+ * @see Mode
+ */
+public final class ProcessingExecutors {
+
+    private static final Logger LOGGER = Logger.getLogger(ProcessingExecutors.class.getName());
+    /**
+     * Factory method of the virtual-thread-per-task executor service or {@code null}
+     * if not supported by the current runtime.
+     */
+    private static final Method VIRTUAL_THREAD_EXECUTOR_FACTORY = getVirtualThreadExecutorFactory();
+
+    /**
+     * Built-in request processing modes.
+     */
+    public static enum Mode {
+
+        /**
+         * Requests are processed on the calling thread, i.e. synchronous resources
+         * are invoked directly on the container I/O thread. This is the default mode.
+         */
+        SAME_THREAD("same-thread"),
+        /**
+         * Each request is processed on a new virtual thread. If virtual threads are not
+         * supported by the runtime, the {@link #BOUNDED bounded} mode is used instead.
+         */
+        VIRTUAL_THREAD("virtual-thread"),
+        /**
+         * Requests are processed on a bounded pool of worker threads with a bounded
+         * queue; requests exceeding the queue limit are rejected.
+         */
+        BOUNDED("bounded");
+
+        private final String value;
+
+        private Mode(final String value) {
+            this.value = value;
+        }
+
+        /**
+         * Get the configuration property value representing the mode.
+         *
+         * @return configuration property value of the mode.
+         */
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * Get the mode for a configuration property value.
+         *
+         * @param value configuration property value; either the {@link #getValue() value}
+         *              or the name of the mode (case insensitive).
+         * @return processing mode.
+         * @throws IllegalArgumentException in case the value does not represent any mode.
+         */
+        public static Mode fromValue(final String value) {
+            final String trimmed = value.trim();
+            for (Mode mode : values()) {
+                if (mode.value.equalsIgnoreCase(trimmed) || mode.name().equalsIgnoreCase(trimmed)) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException(LocalizationMessages.PROCESSING_MODE_UNKNOWN(value));
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * Default maximum number of {@link Mode#BOUNDED bounded} pool workers.
+     */
+    public static final int DEFAULT_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors() * 8);
+    /**
+     * Default maximum number of requests queued in the {@link Mode#BOUNDED bounded} pool.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    private ProcessingExecutors() {
+        // prevents instantiation
+    }
+
+    /**
+     * Get a provider that keeps the request processing on the calling thread.
+     * <p/>
+     * The provider does not supply any custom executor, which lets the runtime
+     * run the request processing inline without any executor hand-off.
+     *
+     * @return same-thread processing executors provider.
+     */
+    public static ProcessingExecutorsProvider sameThread() {
+        return new ProcessingExecutorsProvider() {
+
+            @Override
+            public ExecutorService getRequestingExecutor() {
+                return null;
+            }
+
+            @Override
+            public ExecutorService getRespondingExecutor() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Get a provider that processes each request on a bounded pool of worker threads.
+     *
+     * @param poolSize  maximum number of worker threads.
+     * @param queueSize maximum number of queued requests.
+     * @return bounded processing executors provider.
+     */
+    public static BoundedProcessingExecutorsProvider bounded(final int poolSize, final int queueSize) {
+        return new BoundedProcessingExecutorsProvider(poolSize, queueSize);
+    }
+
+    /**
+     * Check whether the current runtime supports virtual threads.
+     *
+     * @return {@code true} if {@link #virtualThreads()} can be used, {@code false} otherwise.
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * Get a provider that processes each request on a new virtual thread.
+     *
+     * @return virtual-thread-per-request processing executors provider.
+     * @throws UnsupportedOperationException in case virtual threads are not supported
+     *                                       by the current runtime.
+     */
+    public static ProcessingExecutorsProvider virtualThreads() {
+        if (VIRTUAL_THREAD_EXECUTOR_FACTORY == null) {
+            throw new UnsupportedOperationException(LocalizationMessages.VIRTUAL_THREADS_NOT_SUPPORTED());
+        }
+
+        final ExecutorService executor;
+        try {
+            executor = (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke(null);
+        } catch (Exception ex) {
+            throw new UnsupportedOperationException(LocalizationMessages.VIRTUAL_THREADS_NOT_SUPPORTED(), ex);
+        }
+
+        return new ProcessingExecutorsProvider() {
+
+            @Override
+            public ExecutorService getRequestingExecutor() {
+                return executor;
+            }
+
+            @Override
+            public ExecutorService getRespondingExecutor() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Shut down the executors of a processing executors provider, e.g. a built-in provider
+     * {@link #createProvider(Map, String, String, String, String) created} for a client or
+     * an application that is being released. Previously submitted requests are still processed,
+     * new requests are rejected.
+     *
+     * @param provider processing executors provider, may be {@code null}.
+     */
+    public static void shutdown(final ProcessingExecutorsProvider provider) {
+        if (provider == null) {
+            return;
+        }
+
+        final ExecutorService requestingExecutor = provider.getRequestingExecutor();
+        if (requestingExecutor != null) {
+            requestingExecutor.shutdown();
+        }
+        final ExecutorService respondingExecutor = provider.getRespondingExecutor();
+        if (respondingExecutor != null) {
+            respondingExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Create a processing executors provider as configured by the given configuration properties.
+     *
+     * @param properties        configuration properties.
+     * @param modeProperty      name of the property selecting the {@link Mode processing mode}.
+     * @param poolSizeProperty  name of the property setting the maximum {@link Mode#BOUNDED bounded}
+     *                          pool size.
+     * @param queueSizeProperty name of the property setting the maximum {@link Mode#BOUNDED bounded}
+     *                          pool queue size.
+     * @param threadNameFormat  format of the {@link Mode#BOUNDED bounded} pool worker thread names.
+     * @return configured processing executors provider or {@code null} if the processing mode is not
+     *         configured, in which case the default processing executors should be used.
+     */
+    public static ProcessingExecutorsProvider createProvider(final Map<String, ?> properties,
+                                                             final String modeProperty,
+                                                             final String poolSizeProperty,
+                                                             final String queueSizeProperty,
+                                                             final String threadNameFormat) {
+        final Object value = properties.get(modeProperty);
+        if (value == null) {
+            return null;
+        }
+
+        Mode mode = (value instanceof Mode) ? (Mode) value : Mode.fromValue(value.toString());
+        if (mode == Mode.VIRTUAL_THREAD && !isVirtualThreadSupported()) {
+            LOGGER.warning(LocalizationMessages.VIRTUAL_THREADS_FALLBACK(Mode.BOUNDED));
+            mode = Mode.BOUNDED;
+        }
+
+        LOGGER.log(Level.CONFIG, "Using \"{0}\" request processing mode.", mode);
+        switch (mode) {
+            case VIRTUAL_THREAD:
+                return virtualThreads();
+            case BOUNDED:
+                return new BoundedProcessingExecutorsProvider(
+                        PropertiesHelper.getValue(properties, poolSizeProperty, DEFAULT_POOL_SIZE),
+                        PropertiesHelper.getValue(properties, queueSizeProperty, DEFAULT_QUEUE_SIZE),
+                        threadNameFormat);
+            default:
+                return sameThread();
+        }
+    }
+
+    private static Method getVirtualThreadExecutorFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException ex) {
+            return null;
+        } catch (SecurityException ex) {
+            return null;
+        }
+    }
+}
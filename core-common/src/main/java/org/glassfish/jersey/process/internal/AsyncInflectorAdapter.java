@@ -56,7 +56,6 @@ import org.glassfish.jersey.process.Inflector;
 import com.google.common.base.Objects;
 import com.google.common.util.concurrent.AbstractFuture;
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.common.util.concurrent.Monitor;
 
 /**
  * Suspendable, asynchronous {@link Request} to {@link Response} inflector adapter
@@ -78,30 +77,12 @@ class AsyncInflectorAdapter extends AbstractFuture<Response>
      * e.g. as part of some low-level logging.
      */
     private final LazyUid id = new LazyUid();
-    // state variable synced via monitor => doesn't have to be volatile
-    private State executionState = State.RUNNING;
-    private final Monitor executionStateMonitor = new Monitor();
-    private final Monitor.Guard resumableState = new Monitor.Guard(executionStateMonitor) {
-
-        @Override
-        public boolean isSatisfied() {
-            return executionState == State.RUNNING || executionState == State.SUSPENDED;
-        }
-    };
-    private final Monitor.Guard runningState = new Monitor.Guard(executionStateMonitor) {
-
-        @Override
-        public boolean isSatisfied() {
-            return executionState == State.RUNNING;
-        }
-    };
-    private final Monitor.Guard cancellableState = new Monitor.Guard(executionStateMonitor) {
-
-        @Override
-        public boolean isSatisfied() {
-            return executionState == State.RUNNING || executionState == State.SUSPENDED;
-        }
-    };
+    /*
+     * Execution state. All state transitions are performed atomically using
+     * compare-and-set so that no lock is needed on the (common) synchronous
+     * path where the request is never suspended.
+     */
+    private final AtomicReference<State> executionState = new AtomicReference<State>(State.RUNNING);
     //
     private long defaultTimeout = Suspend.NEVER;
     private TimeUnit defaultTimeoutUnit = TimeUnit.MILLISECONDS;
@@ -119,14 +100,9 @@ class AsyncInflectorAdapter extends AbstractFuture<Response>
     public ListenableFuture<Response> apply(Request request) {
         try {
             Response response = wrapped.apply(request);
-            if (executionStateMonitor.enterIf(runningState)) {
+            if (executionState.compareAndSet(State.RUNNING, State.RESUMED)) {
                 // mark as resumed & don't invoke callback.resume() since we are resuming synchronously
-                try {
-                    executionState = State.RESUMED;
-                    set(response);
-                } finally {
-                    executionStateMonitor.leave();
-                }
+                set(response);
             } else if (response != null) {
                 LOGGER.log(Level.FINE, LocalizationMessages.REQUEST_SUSPENDED_RESPONSE_IGNORED(response));
             }
@@ -141,12 +117,7 @@ class AsyncInflectorAdapter extends AbstractFuture<Response>
 
     @Override
     public State state() {
-        executionStateMonitor.enter();
-        try {
-            return executionState;
-        } finally {
-            executionStateMonitor.leave();
-        }
+        return executionState.get();
     }
 
     @Override
@@ -156,31 +127,21 @@ class AsyncInflectorAdapter extends AbstractFuture<Response>
 
     @Override
     public void resume(final Object response) {
-        if (executionStateMonitor.enterIf(resumableState)) {
-            try {
-                executionState = State.RESUMED;
-            } finally {
-                executionStateMonitor.leave();
-            }
+        if (transition(State.RESUMED)) {
             callback.resumed();
             set(toJaxrsResponse(response));
         } else {
-            throw new IllegalStateException(LocalizationMessages.ILLEGAL_INVOCATION_CONTEXT_STATE(executionState, "resume"));
+            throw new IllegalStateException(LocalizationMessages.ILLEGAL_INVOCATION_CONTEXT_STATE(executionState.get(), "resume"));
         }
     }
 
     @Override
     public void resume(final Exception response) {
-        if (executionStateMonitor.enterIf(resumableState)) {
-            try {
-                executionState = State.RESUMED;
-            } finally {
-                executionStateMonitor.leave();
-            }
+        if (transition(State.RESUMED)) {
             callback.resumed();
             setException(response);
         } else {
-            throw new IllegalStateException(LocalizationMessages.ILLEGAL_INVOCATION_CONTEXT_STATE(executionState, "resume"));
+            throw new IllegalStateException(LocalizationMessages.ILLEGAL_INVOCATION_CONTEXT_STATE(executionState.get(), "resume"));
         }
     }
 
@@ -211,35 +172,19 @@ class AsyncInflectorAdapter extends AbstractFuture<Response>
     }
 
     private boolean _suspend(long time, TimeUnit unit, boolean failOnError) throws IllegalStateException {
-        boolean suspendSuccessful = false;
-
-        try {
-            executionStateMonitor.enter();
-            switch (executionState) {
-                case RESUMED:
-                    break;
-                case SUSPENDED:
-                case CANCELLED:
-                    if (failOnError) {
-                        throw new IllegalStateException(
-                                LocalizationMessages.ILLEGAL_INVOCATION_CONTEXT_STATE(executionState, "suspend"));
-                    }
-                    break;
-                case RUNNING:
-                    executionState = State.SUSPENDED;
-                    suspendSuccessful = true;
-            }
-        } finally {
-            executionStateMonitor.leave();
-        }
+        final boolean suspendSuccessful = executionState.compareAndSet(State.RUNNING, State.SUSPENDED);
 
         // we don't want to invoke the callback or log message
-        // as part of the synchronized code
+        // as part of the state transition
         if (suspendSuccessful) {
             callback.suspended(time, unit, this);
         } else {
+            final State state = executionState.get();
+            if (failOnError && state != State.RESUMED) {
+                throw new IllegalStateException(LocalizationMessages.ILLEGAL_INVOCATION_CONTEXT_STATE(state, "suspend"));
+            }
             // already resumed - just log fine message & ignore the call
-            LOGGER.log(Level.FINE, LocalizationMessages.REQUEST_SUSPEND_FAILED(executionState));
+            LOGGER.log(Level.FINE, LocalizationMessages.REQUEST_SUSPEND_FAILED(state));
         }
 
         return suspendSuccessful;
@@ -247,28 +192,37 @@ class AsyncInflectorAdapter extends AbstractFuture<Response>
 
     @Override
     public void cancel() {
-        if (executionStateMonitor.enterIf(cancellableState)) {
-            try {
-                executionState = State.CANCELLED;
-            } finally {
-                executionStateMonitor.leave();
-            }
+        if (transition(State.CANCELLED)) {
             super.cancel(true);
         } else {
             // just log fine message & ignore the call
-            LOGGER.log(Level.FINE, LocalizationMessages.REQUEST_CANCEL_FAILED(executionState));
+            LOGGER.log(Level.FINE, LocalizationMessages.REQUEST_CANCEL_FAILED(executionState.get()));
+        }
+    }
+
+    /**
+     * Atomically move the execution state from {@link State#RUNNING running} or
+     * {@link State#SUSPENDED suspended} state into the target state.
+     *
+     * @param target target execution state.
+     * @return {@code true} if the transition was successful, {@code false} if the
+     *         execution has already been resumed or cancelled.
+     */
+    private boolean transition(final State target) {
+        while (true) {
+            final State current = executionState.get();
+            if (current != State.RUNNING && current != State.SUSPENDED) {
+                return false;
+            }
+            if (executionState.compareAndSet(current, target)) {
+                return true;
+            }
         }
     }
 
     @Override
     public boolean isSuspended() {
-        try {
-            executionStateMonitor.enter();
-
-            return executionState == State.SUSPENDED;
-        } finally {
-            executionStateMonitor.leave();
-        }
+        return executionState.get() == State.SUSPENDED;
     }
 
     @Override
@@ -68,11 +68,18 @@ class ProcessingExecutorsFactory implements ProcessingExecutorsProvider {
     //
     private final ExecutorService requestingExecutor;
     private final ExecutorService respondingExecutor;
+    private final boolean defaultRequestingExecutor;
+    private final boolean defaultRespondingExecutor;
 
     ProcessingExecutorsFactory(@Inject Services services) {
         final Set<ProcessingExecutorsProvider> providers = Providers.getProviders(services, ProcessingExecutorsProvider.class);
-        requestingExecutor = createRequestingExecutor(providers);
-        respondingExecutor = createRespondingExecutor(providers);
+        final ExecutorService customRequestingExecutor = createRequestingExecutor(providers);
+        final ExecutorService customRespondingExecutor = createRespondingExecutor(providers);
+
+        defaultRequestingExecutor = customRequestingExecutor == null;
+        defaultRespondingExecutor = customRespondingExecutor == null;
+        requestingExecutor = defaultRequestingExecutor ? MoreExecutors.sameThreadExecutor() : customRequestingExecutor;
+        respondingExecutor = defaultRespondingExecutor ? MoreExecutors.sameThreadExecutor() : customRespondingExecutor;
     }
 
     private static ExecutorService createRequestingExecutor(final Set<ProcessingExecutorsProvider> providers) {
@@ -86,7 +93,7 @@ class ProcessingExecutorsFactory implements ProcessingExecutorsProvider {
         }
 
         LOGGER.config("Using default requesting executor.");
-        return MoreExecutors.sameThreadExecutor();
+        return null;
     }
 
     private static ExecutorService createRespondingExecutor(final Set<ProcessingExecutorsProvider> providers) {
@@ -100,7 +107,27 @@ class ProcessingExecutorsFactory implements ProcessingExecutorsProvider {
         }
 
         LOGGER.config("Using default responding executor.");
-        return MoreExecutors.sameThreadExecutor();
+        return null;
+    }
+
+    /**
+     * Check whether the requests are processed by the default executor, i.e. directly
+     * on the calling thread.
+     *
+     * @return {@code true} if no custom requesting executor is configured.
+     */
+    boolean isDefaultRequestingExecutor() {
+        return defaultRequestingExecutor;
+    }
+
+    /**
+     * Check whether the responses are processed by the default executor, i.e. directly
+     * on the thread that produced the response.
+     *
+     * @return {@code true} if no custom responding executor is configured.
+     */
+    boolean isDefaultRespondingExecutor() {
+        return defaultRespondingExecutor;
     }
 
     // ProcessingExecutorsProvider
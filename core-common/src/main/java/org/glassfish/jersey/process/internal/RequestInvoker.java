@@ -42,6 +42,8 @@ package org.glassfish.jersey.process.internal;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Request;
@@ -55,8 +57,7 @@ import org.glassfish.jersey.internal.util.collection.Tuples;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.process.internal.RequestScope.Instance;
 
-import org.glassfish.hk2.Services;
-import org.glassfish.hk2.TypeLiteral;
+import org.glassfish.hk2.Factory;
 
 import org.jvnet.hk2.annotations.Inject;
 
@@ -82,7 +83,8 @@ import com.google.common.util.concurrent.SettableFuture;
  * <p/>
  * Request and response processing tasks are handled by a pair of dedicated customizable
  * {@link ExecutorService executors}, one for request and the other one for response
- * processing. By default, the request processing is executed on the caller thread.
+ * processing. By default, the request processing is executed directly on the caller thread,
+ * without any executor hand-off.
  * If the request processing is not {@link InvocationContext#suspend() suspended}
  * in the inflector, the response processing is by default executed synchronously
  * on the caller thread  too. In case the request processing is suspended, the response
@@ -94,6 +96,8 @@ import com.google.common.util.concurrent.SettableFuture;
  */
 public class RequestInvoker implements Inflector<Request, ListenableFuture<Response>> {
 
+    private static final Logger LOGGER = Logger.getLogger(RequestInvoker.class.getName());
+
     private static final InvocationCallback EMPTY_CALLBACK = new InvocationCallback() {
 
         @Override
@@ -129,7 +133,7 @@ public class RequestInvoker implements Inflector<Request, ListenableFuture<Respo
     @Inject
     private ResponseProcessor.Builder responseProcessorBuilder;
     @Inject
-    private Services services;
+    private Factory<Ref<InvocationContext>> invocationContextReferenceFactory;
     //
     @Inject
     private ProcessingExecutorsFactory executorsFactory;
@@ -180,17 +184,33 @@ public class RequestInvoker implements Inflector<Request, ListenableFuture<Respo
             public void run() {
                 final AsyncInflectorAdapter asyncInflector = new AsyncInflectorAdapter(new AcceptingInvoker(), callback);
 
-                Ref<InvocationContext> icRef = services.forContract(new TypeLiteral<Ref<InvocationContext>>() {
-                }).get();
-                icRef.set(asyncInflector);
+                invocationContextReferenceFactory.get().set(asyncInflector);
 
                 ListenableFuture<Response> response = asyncInflector.apply(request);
                 responseProcessor.setRequestScopeInstance(instance);
-                response.addListener(responseProcessor, executorsFactory.getRespondingExecutor());
+                if (response.isDone() && executorsFactory.isDefaultRespondingExecutor()) {
+                    // fast path: the request has not been suspended - process the response directly
+                    responseProcessor.run();
+                } else {
+                    response.addListener(responseProcessor, executorsFactory.getRespondingExecutor());
+                }
             }
         };
 
         try {
+            if (executorsFactory.isDefaultRequestingExecutor()) {
+                // fast path: run the request processing inline, without any executor hand-off
+                try {
+                    requestScope.runInScope(instance, requester);
+                } catch (RuntimeException ex) {
+                    if (!responseProcessor.isDone()) {
+                        throw new ProcessingException(LocalizationMessages.REQUEST_EXECUTION_FAILED(), ex);
+                    }
+                    LOGGER.log(Level.FINE, LocalizationMessages.REQUEST_EXECUTION_FAILED(), ex);
+                }
+                return responseProcessor;
+            }
+
             try {
                 executorsFactory.getRequestingExecutor().submit(new Runnable() {
 
@@ -0,0 +1,309 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.spi;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.FeaturesAndProperties;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.message.MessageProperties;
+
+import org.glassfish.hk2.Factory;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+/**
+ * Standard contract for plugging in content coding (e.g. compression) support.
+ * <p />
+ * A content encoder is a pair of a {@link ReaderInterceptor reader} and
+ * a {@link WriterInterceptor writer} interceptor that decodes an inbound message entity
+ * and encodes an outbound message entity based on the value of the {@code Content-Encoding}
+ * message header. The same content encoder can be registered on both client and server.
+ * <p />
+ * Outbound entities smaller than the {@link MessageProperties#ENCODING_MIN_SIZE configured
+ * minimum size} are sent without any content coding; the {@code Content-Encoding} header
+ * is removed from such messages before the message headers are written.
+ *
+ * @see org.glassfish.jersey.message.GZipEncoder
+ * @see org.glassfish.jersey.message.DeflateEncoder
+ */
+public abstract class ContentEncoder implements ReaderInterceptor, WriterInterceptor {
+
+    /**
+     * Binding priority of the content encoders. Encoders are executed before the
+     * user interceptors so that the encoding is applied closest to the wire.
+     */
+    public static final int ENTITY_CODER_PRIORITY = 100;
+    //
+    private final Set<String> supportedEncodings;
+    private Supplier<Integer> minSize = Suppliers.ofInstance(MessageProperties.ENCODING_DEFAULT_MIN_SIZE);
+    private Supplier<Integer> maxRatio = Suppliers.ofInstance(MessageProperties.DECODING_DEFAULT_MAX_RATIO);
+
+    /**
+     * Initialize the encoder with the content codings it supports.
+     *
+     * @param supportedEncodings content codings supported by the encoder, in the order
+     *                           of preference. The values are case insensitive.
+     */
+    protected ContentEncoder(final String... supportedEncodings) {
+        if (supportedEncodings.length == 0) {
+            throw new IllegalArgumentException();
+        }
+        final Set<String> encodings = new LinkedHashSet<String>(supportedEncodings.length);
+        for (String encoding : supportedEncodings) {
+            encodings.add(encoding.toLowerCase());
+        }
+        this.supportedEncodings = Collections.unmodifiableSet(encodings);
+    }
+
+    /**
+     * Set the configuration the encoder settings are read from.
+     *
+     * @param fp configuration factory.
+     */
+    @Context
+    public void setConfiguration(final Factory<FeaturesAndProperties> fp) {
+        minSize = Suppliers.memoize(new Supplier<Integer>() {
+
+            @Override
+            public Integer get() {
+                return PropertiesHelper.getValue(fp.get().getProperties(),
+                        MessageProperties.ENCODING_MIN_SIZE, MessageProperties.ENCODING_DEFAULT_MIN_SIZE);
+            }
+        });
+        maxRatio = Suppliers.memoize(new Supplier<Integer>() {
+
+            @Override
+            public Integer get() {
+                return PropertiesHelper.getValue(fp.get().getProperties(),
+                        MessageProperties.DECODING_MAX_RATIO, MessageProperties.DECODING_DEFAULT_MAX_RATIO);
+            }
+        });
+    }
+
+    /**
+     * Get the content codings supported by the encoder, in the order of preference.
+     *
+     * @return immutable set of supported content codings (in lower case).
+     */
+    public final Set<String> getSupportedEncodings() {
+        return supportedEncodings;
+    }
+
+    /**
+     * Get the maximum allowed ratio between the size of a decoded and an encoded
+     * entity, as configured by the {@link MessageProperties#DECODING_MAX_RATIO} property.
+     *
+     * @return maximum decompression ratio; zero or negative value means no limit.
+     */
+    protected final int getMaxDecodingRatio() {
+        return maxRatio.get();
+    }
+
+    /**
+     * Wrap the encoded input stream with a decoding input stream.
+     *
+     * @param contentEncoding content coding of the stream, one of the {@link #getSupportedEncodings()
+     *                        supported encodings}.
+     * @param encodedStream   encoded input stream.
+     * @return decoding input stream.
+     * @throws IOException in case of an I/O error.
+     */
+    public abstract InputStream decode(String contentEncoding, InputStream encodedStream) throws IOException;
+
+    /**
+     * Wrap the entity output stream with an encoding output stream. The encoder finishes
+     * the returned stream once the entity is written; streams extending {@link DeflaterOutputStream}
+     * are {@link DeflaterOutputStream#finish() finished}, other streams are closed.
+     *
+     * @param contentEncoding content coding to be used, one of the {@link #getSupportedEncodings()
+     *                        supported encodings}.
+     * @param entityStream    output stream the encoded entity should be written to.
+     * @return encoding output stream.
+     * @throws IOException in case of an I/O error.
+     */
+    public abstract OutputStream encode(String contentEncoding, OutputStream entityStream) throws IOException;
+
+    @Override
+    public final Object aroundReadFrom(final ReaderInterceptorContext context) throws IOException, WebApplicationException {
+        final String contentEncoding = getEncoding(context.getHeaders().get(HttpHeaders.CONTENT_ENCODING));
+        if (contentEncoding == null) {
+            return context.proceed();
+        }
+
+        final InputStream old = context.getInputStream();
+        context.setInputStream(decode(contentEncoding, old));
+        // the entity is decoded for the rest of the interceptor chain
+        context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+        try {
+            return context.proceed();
+        } finally {
+            context.setInputStream(old);
+        }
+    }
+
+    @Override
+    public final void aroundWriteTo(final WriterInterceptorContext context) throws IOException, WebApplicationException {
+        final String contentEncoding = getEncoding(context.getHeaders().get(HttpHeaders.CONTENT_ENCODING));
+        if (contentEncoding == null) {
+            context.proceed();
+            return;
+        }
+
+        final OutputStream old = context.getOutputStream();
+        final EncodingOutputStream encodingStream = new EncodingOutputStream(context, contentEncoding, old, minSize.get());
+        context.setOutputStream(encodingStream);
+        try {
+            context.proceed();
+            encodingStream.finish();
+        } finally {
+            context.setOutputStream(old);
+        }
+    }
+
+    private String getEncoding(final List<?> headerValues) {
+        if (headerValues == null || headerValues.size() != 1) {
+            // no coding or a chain of codings which is not supported
+            return null;
+        }
+
+        final String encoding = headerValues.get(0).toString().trim().toLowerCase();
+        return supportedEncodings.contains(encoding) ? encoding : null;
+    }
+
+    /**
+     * Output stream that buffers the entity until the minimum size for encoding is reached.
+     * If the entity is smaller than the minimum size, it is written without any content
+     * coding and the {@code Content-Encoding} header is removed.
+     */
+    private final class EncodingOutputStream extends OutputStream {
+
+        private final WriterInterceptorContext context;
+        private final String contentEncoding;
+        private final OutputStream entityStream;
+        private final int minSize;
+        private final byte[] single = new byte[1];
+        private ByteArrayOutputStream buffer;
+        private OutputStream encoded;
+        private boolean finished;
+
+        EncodingOutputStream(final WriterInterceptorContext context,
+                             final String contentEncoding,
+                             final OutputStream entityStream,
+                             final int minSize) {
+            this.context = context;
+            this.contentEncoding = contentEncoding;
+            this.entityStream = entityStream;
+            this.minSize = minSize;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            single[0] = (byte) b;
+            write(single, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            if (encoded == null) {
+                if (buffer == null) {
+                    buffer = new ByteArrayOutputStream(Math.min(Math.max(minSize, 32), 8192));
+                }
+                if (buffer.size() + len < minSize) {
+                    buffer.write(b, off, len);
+                    return;
+                }
+                encoded = encode(contentEncoding, entityStream);
+                buffer.writeTo(encoded);
+                buffer = null;
+            }
+            encoded.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            // flushing of a buffered entity is deferred until the coding is decided
+            if (encoded != null) {
+                encoded.flush();
+            }
+        }
+
+        void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+
+            if (encoded == null) {
+                context.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+                if (buffer != null) {
+                    buffer.writeTo(entityStream);
+                }
+            } else if (encoded instanceof DeflaterOutputStream) {
+                ((DeflaterOutputStream) encoded).finish();
+            } else {
+                encoded.close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish();
+            entityStream.close();
+        }
+    }
+}
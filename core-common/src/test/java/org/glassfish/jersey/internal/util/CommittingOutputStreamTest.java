@@ -0,0 +1,132 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.internal.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link CommittingOutputStream} buffering tests.
+ */
+public class CommittingOutputStreamTest {
+
+    private static class RecordingOutputStream extends CommittingOutputStream {
+
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private int writes;
+        private long committedLength = Long.MIN_VALUE;
+
+        @Override
+        protected void commit() throws IOException {
+            committedLength = getBufferedContentLength();
+        }
+
+        @Override
+        protected OutputStream getOutputStream() throws IOException {
+            return new OutputStream() {
+
+                @Override
+                public void write(int b) throws IOException {
+                    writes++;
+                    output.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    writes++;
+                    output.write(b, off, len);
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testBufferedEntityLength() throws Exception {
+        final RecordingOutputStream out = new RecordingOutputStream();
+        out.enableBuffering(new byte[16]);
+
+        out.write('a');
+        out.write("bcd".getBytes());
+        out.flush();
+        assertFalse(out.isCommitted());
+
+        out.finish();
+        assertTrue(out.isCommitted());
+        assertEquals(4, out.committedLength);
+        assertEquals(1, out.writes);
+        assertArrayEquals("abcd".getBytes(), out.output.toByteArray());
+    }
+
+    @Test
+    public void testBufferOverflow() throws Exception {
+        final RecordingOutputStream out = new RecordingOutputStream();
+        out.enableBuffering(new byte[4]);
+
+        out.write("abc".getBytes());
+        assertFalse(out.isCommitted());
+        out.write("defgh".getBytes());
+        assertTrue(out.isCommitted());
+        assertEquals(-1, out.committedLength);
+
+        out.write('i');
+        out.finish();
+        assertArrayEquals("abcdefghi".getBytes(), out.output.toByteArray());
+    }
+
+    @Test
+    public void testBufferingDisabled() throws Exception {
+        final RecordingOutputStream out = new RecordingOutputStream();
+        out.enableBuffering(new byte[16]);
+        out.write("partial".getBytes());
+
+        out.enableBuffering(null);
+        out.flush();
+        assertTrue(out.isCommitted());
+        assertEquals(-1, out.committedLength);
+        assertEquals(0, out.output.size());
+    }
+}
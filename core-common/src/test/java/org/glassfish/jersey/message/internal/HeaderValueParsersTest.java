@@ -0,0 +1,191 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.util.Map;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests of the single-pass, cached header value parsers in {@link MediaTypeProvider},
+ * {@link EntityTagProvider}, {@link CacheControlProvider} and {@link CookiesParser}.
+ */
+public class HeaderValueParsersTest {
+
+    @Test
+    public void testMediaTypeMatchesGenericParser() throws Exception {
+        final String[] headers = {
+                "application/json",
+                " text/plain",
+                "application/json; charset=UTF-8",
+                "application/json;charset=UTF-8 ",
+                "text/html; CHARSET=\"utf-8\"; q=0.5",
+                "text/plain;;  ; charset=x;",
+                "text/plain; title=\"a;b,c\"",
+                "text/plain; title=\"a\\\"b\"",
+                "*/*"
+        };
+        final MediaTypeProvider provider = new MediaTypeProvider();
+        for (String header : headers) {
+            final MediaType expected = MediaTypeProvider.valueOf(HttpHeaderReader.newInstance(header));
+            final MediaType parsed = provider.fromString(header);
+            assertEquals(header, expected, parsed);
+            assertEquals(header, expected.getParameters(), parsed.getParameters());
+            assertSame(header, parsed, provider.fromString(header));
+        }
+    }
+
+    @Test
+    public void testMediaTypeInvalid() {
+        final String[] headers = {"", "text", "text/", "text /plain", "text/plain; charset", "text/plain; charset = x",
+                "text/plain; charset=\"x", "text/plain x"};
+        final MediaTypeProvider provider = new MediaTypeProvider();
+        for (String header : headers) {
+            try {
+                provider.fromString(header);
+                fail(header);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+
+    @Test
+    public void testEntityTag() {
+        final EntityTagProvider provider = new EntityTagProvider();
+
+        assertEquals(new EntityTag("abc"), provider.fromString("\"abc\""));
+        assertEquals(new EntityTag("abc", true), provider.fromString("W/\"abc\""));
+        assertEquals(new EntityTag("a\"b"), provider.fromString("\"a\\\"b\""));
+        assertEquals(new EntityTag(""), provider.fromString("\"\""));
+        assertSame(provider.fromString("W/\"xyz\""), provider.fromString("W/\"xyz\""));
+
+        for (String header : new String[] {"abc", "\"abc", "W/abc", "X/\"abc\""}) {
+            try {
+                provider.fromString(header);
+                fail(header);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+
+    @Test
+    public void testCacheControl() {
+        final CacheControlProvider provider = new CacheControlProvider();
+
+        CacheControl cc = provider.fromString("no-cache, no-store, must-revalidate");
+        assertTrue(cc.isNoCache());
+        assertTrue(cc.isNoStore());
+        assertTrue(cc.isMustRevalidate());
+        assertFalse(cc.isNoTransform());
+
+        cc = provider.fromString("public, MAX-AGE=3600,s-maxage=60 , stale-if-error=10,");
+        assertEquals(3600, cc.getMaxAge());
+        assertEquals(60, cc.getSMaxAge());
+        assertTrue(cc.getCacheExtension().containsKey("public"));
+        assertEquals("10", cc.getCacheExtension().get("stale-if-error"));
+
+        cc = provider.fromString("private=\"a, b\", no-cache=\"c\"");
+        assertTrue(cc.isPrivate());
+        assertEquals(2, cc.getPrivateFields().size());
+        assertEquals("c", cc.getNoCacheFields().get(0));
+
+        for (String header : new String[] {"max-age", "max-age=x", "max-age = 5", "no-store=5", "a, , b"}) {
+            try {
+                provider.fromString(header);
+                fail(header);
+            } catch (IllegalArgumentException expected) {
+                // ok
+            }
+        }
+    }
+
+    @Test
+    public void testCachedCacheControlNotShared() {
+        final CacheControlProvider provider = new CacheControlProvider();
+
+        final CacheControl first = provider.fromString("private=\"x\", max-age=10");
+        first.setMaxAge(20);
+        first.getPrivateFields().add("y");
+
+        final CacheControl second = provider.fromString("private=\"x\", max-age=10");
+        assertNotSame(first, second);
+        assertEquals(10, second.getMaxAge());
+        assertEquals(1, second.getPrivateFields().size());
+    }
+
+    @Test
+    public void testCookies() {
+        Map<String, Cookie> cookies = CookiesParser.parseCookies(
+                "$Version=1; a=\"b\"; $Path=/p; $Domain=d, c = d ;e;;");
+        assertEquals(3, cookies.size());
+        assertEquals(new Cookie("a", "b", "/p", "d", 1), cookies.get("a"));
+        assertEquals(new Cookie("c", "d", null, null, 1), cookies.get("c"));
+        assertEquals(new Cookie("e", "", null, null, 1), cookies.get("e"));
+
+        cookies = CookiesParser.parseCookies("x=1=2");
+        assertEquals("1=2", cookies.get("x").getValue());
+
+        assertEquals(1, CookiesParser.parseCookies("").size());
+        assertTrue(CookiesParser.parseCookies(";,").isEmpty());
+    }
+
+    @Test
+    public void testCachedCookiesNotShared() {
+        final Map<String, Cookie> first = CookiesParser.parseCookies("a=b");
+        first.clear();
+
+        final Map<String, Cookie> second = CookiesParser.parseCookies("a=b");
+        assertEquals(1, second.size());
+        assertSame(second.get("a"), CookiesParser.parseCookie("a=b"));
+    }
+}
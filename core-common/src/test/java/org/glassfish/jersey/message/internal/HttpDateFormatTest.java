@@ -0,0 +1,126 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link HttpDateFormat} tests.
+ */
+public class HttpDateFormatTest {
+
+    private static final long RFC_EXAMPLE = 784111777000L;
+
+    private static Date readWithDateFormats(final String date) throws ParseException {
+        ParseException pe = null;
+        for (SimpleDateFormat format : HttpDateFormat.getDateFormats()) {
+            try {
+                return format.parse(date);
+            } catch (ParseException e) {
+                pe = (pe == null) ? e : pe;
+            }
+        }
+        throw pe;
+    }
+
+    @Test
+    public void testFormatMatchesDateFormat() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            // dates between the years 1600 and 2900
+            final Date date = new Date((long) ((random.nextDouble() * 1.3 - 0.37) * 1000 * 365.25 * 86400000L));
+            final String expected = HttpDateFormat.getPreferedDateFormat().format(date);
+            assertEquals(expected, HttpDateFormat.formatDate(date));
+            assertEquals(readWithDateFormats(expected), HttpDateFormat.readDate(expected));
+        }
+    }
+
+    @Test
+    public void testFormatCachesCurrentSecond() {
+        final long now = System.currentTimeMillis() / 1000 * 1000;
+        final String formatted = HttpDateFormat.formatDate(new Date(now));
+        assertSame(formatted, HttpDateFormat.formatDate(new Date(now + 999)));
+        assertEquals(HttpDateFormat.getPreferedDateFormat().format(new Date(now)), formatted);
+    }
+
+    @Test
+    public void testFormatOutOfFastRange() {
+        final Date date = new Date(-12219292800000L - 86400000L); // day before the Gregorian cutover
+        assertEquals(HttpDateFormat.getPreferedDateFormat().format(date), HttpDateFormat.formatDate(date));
+    }
+
+    @Test
+    public void testReadDateFormats() throws Exception {
+        final String[] dates = {
+                "Sun, 06 Nov 1994 08:49:37 GMT",
+                "sun, 06 nov 1994 08:49:37 GMT",
+                "Sunday, 06-Nov-94 08:49:37 GMT",
+                "Sun Nov  6 08:49:37 1994"
+        };
+        for (String date : dates) {
+            assertEquals(date, RFC_EXAMPLE, HttpDateFormat.readDate(date).getTime());
+        }
+    }
+
+    @Test
+    public void testReadDateLenient() throws Exception {
+        final String[] dates = {
+                "Sun, 31 Feb 1994 25:61:61 GMT",
+                "Sun, 00 Nov 1994 08:49:37 GMT",
+                "Sun, 06 Nov 1994 08:49:37 EST",
+                "Sun, 06 Nov 1994 08:49:37 GMT trailing"
+        };
+        for (String date : dates) {
+            assertEquals(date, readWithDateFormats(date), HttpDateFormat.readDate(date));
+        }
+    }
+
+    @Test(expected = ParseException.class)
+    public void testReadInvalidDate() throws Exception {
+        HttpDateFormat.readDate("Sun, 06 Xyz 1994 08:49:37 GMT");
+    }
+}
@@ -41,6 +41,7 @@ package org.glassfish.jersey.message.internal;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -292,4 +293,74 @@ public class MutableHeadersTest {
         assertEquals("2", multipleHeader);
     }
 
+    private static HeaderSource headerSource(final MultivaluedMap<String, String> headers, final List<String> lookups) {
+        return new HeaderSource() {
+
+            @Override
+            public Iterable<String> getHeaderNames() {
+                return headers.keySet();
+            }
+
+            @Override
+            public List<String> getHeaderValues(String name) {
+                lookups.add(name);
+                return headers.get(name);
+            }
+        };
+    }
+
+    @Test
+    public void testHeaderSourceReadThrough() throws Exception {
+        final MultivaluedMap<String, String> nativeHeaders = new StringKeyIgnoreCaseMultivaluedMap<String>();
+        nativeHeaders.add("Accept", "text/plain");
+        nativeHeaders.add("Accept", "text/html");
+        final List<String> lookups = new LinkedList<String>();
+
+        mutableHeaders.header("stale", "value");
+        mutableHeaders.source(headerSource(nativeHeaders, lookups));
+
+        assertEquals("text/plain,text/html", mutableHeaders.header("accept"));
+        assertNull(mutableHeaders.header("stale"));
+
+        // values read through are kept and "live"
+        lookups.clear();
+        mutableHeaders.headerValues("ACCEPT").add("application/xml");
+        assertEquals("text/plain,text/html,application/xml", mutableHeaders.header("Accept"));
+        assertEquals(0, lookups.size());
+
+        // the native headers are not modified
+        assertEquals(2, nativeHeaders.get("Accept").size());
+    }
+
+    @Test
+    public void testHeaderSourceCopiedOnModification() throws Exception {
+        final MultivaluedMap<String, String> nativeHeaders = new StringKeyIgnoreCaseMultivaluedMap<String>();
+        nativeHeaders.add("Accept", "text/plain");
+        nativeHeaders.add("Host", "localhost");
+        final List<String> lookups = new LinkedList<String>();
+
+        mutableHeaders.source(headerSource(nativeHeaders, lookups));
+        mutableHeaders.header("Accept", "text/html");
+        mutableHeaders.remove("Host");
+
+        assertEquals("text/plain,text/html", mutableHeaders.header("Accept"));
+        assertNull(mutableHeaders.header("Host"));
+        assertEquals(1, mutableHeaders.headers().size());
+        assertEquals(1, nativeHeaders.get("Accept").size());
+    }
+
+    @Test
+    public void testHeaderSourceHeaders() throws Exception {
+        final MultivaluedMap<String, String> nativeHeaders = new StringKeyIgnoreCaseMultivaluedMap<String>();
+        nativeHeaders.add("Accept", "text/plain");
+        nativeHeaders.add("Host", "localhost");
+
+        mutableHeaders.source(headerSource(nativeHeaders, new LinkedList<String>()));
+        mutableHeaders.headerValues("Accept").add("text/html");
+
+        final MultivaluedMap<String, String> headers = mutableHeaders.headers();
+        assertEquals(2, headers.size());
+        assertEquals(Arrays.asList("text/plain", "text/html"), headers.get("accept"));
+        assertEquals(Arrays.asList("localhost"), headers.get("host"));
+    }
 }
@@ -0,0 +1,289 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Providers;
+
+import javax.xml.bind.annotation.XmlRootElement;
+
+import org.glassfish.jersey.FeaturesAndProperties;
+import org.glassfish.jersey.message.CloseableIterator;
+
+import org.glassfish.hk2.ComponentException;
+import org.glassfish.hk2.Factory;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests streaming of collection elements by the {@link XmlCollectionJaxbProvider}.
+ */
+public class XmlCollectionJaxbProviderTest {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final Type ITERATOR_TYPE = new GenericType<Iterator<Bean>>() {}.getType();
+    private static final Type CLOSEABLE_ITERATOR_TYPE = new GenericType<CloseableIterator<Bean>>() {}.getType();
+    private static final Type ITERABLE_TYPE = new GenericType<Iterable<Bean>>() {}.getType();
+    private static final Type LIST_TYPE = new GenericType<List<Bean>>() {}.getType();
+    private static final String BEANS = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+            + "<beans><bean><value>a</value></bean><bean><value>b</value></bean><bean><value>c</value></bean></beans>";
+
+    @XmlRootElement
+    public static class Bean {
+
+        public String value;
+
+        public Bean() {
+        }
+
+        public Bean(String value) {
+            this.value = value;
+        }
+    }
+
+    private static class CountingIterator implements CloseableIterator<Bean> {
+
+        private final int size;
+        private int index;
+        private boolean closed;
+
+        CountingIterator(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public Bean next() {
+            return new Bean(String.valueOf(index++));
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    private static class TrackingInputStream extends ByteArrayInputStream {
+
+        private boolean closed;
+
+        TrackingInputStream(byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public void close() throws IOException {
+            closed = true;
+            super.close();
+        }
+    }
+
+    private XmlCollectionJaxbProvider provider;
+
+    @Before
+    public void setUp() {
+        final Factory<FeaturesAndProperties> configuration = new Factory<FeaturesAndProperties>() {
+
+            @Override
+            public FeaturesAndProperties get() throws ComponentException {
+                return new FeaturesAndProperties() {
+
+                    @Override
+                    public Map<String, Object> getProperties() {
+                        return Collections.emptyMap();
+                    }
+
+                    @Override
+                    public Object getProperty(String name) {
+                        return null;
+                    }
+
+                    @Override
+                    public boolean isProperty(String name) {
+                        return false;
+                    }
+                };
+            }
+        };
+        final XmlParserPool parserPool = new XmlParserPool(configuration);
+
+        provider = new XmlCollectionJaxbProvider.App(new Factory<XmlParserPool>() {
+
+            @Override
+            public XmlParserPool get() throws ComponentException {
+                return parserPool;
+            }
+        }, new Providers() {
+
+            @Override
+            public <T> MessageBodyReader<T> getMessageBodyReader(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+                return null;
+            }
+
+            @Override
+            public <T> MessageBodyWriter<T> getMessageBodyWriter(Class<T> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+                return null;
+            }
+
+            @Override
+            public <T extends Throwable> ExceptionMapper<T> getExceptionMapper(Class<T> type) {
+                return null;
+            }
+
+            @Override
+            public <T> ContextResolver<T> getContextResolver(Class<T> contextType, MediaType mediaType) {
+                return null;
+            }
+        });
+        provider.setConfiguration(configuration);
+    }
+
+    @Test
+    public void testIteratorsAndIterablesAreWriteable() {
+        final MediaType xml = MediaType.APPLICATION_XML_TYPE;
+
+        assertTrue(provider.isWriteable(Iterator.class, ITERATOR_TYPE, NO_ANNOTATIONS, xml));
+        assertTrue(provider.isWriteable(CloseableIterator.class, CLOSEABLE_ITERATOR_TYPE, NO_ANNOTATIONS, xml));
+        assertTrue(provider.isWriteable(Iterable.class, ITERABLE_TYPE, NO_ANNOTATIONS, xml));
+        assertFalse(provider.isWriteable(Iterator.class, Iterator.class, NO_ANNOTATIONS, xml));
+    }
+
+    @Test
+    public void testWriteIterable() throws Exception {
+        final Iterable<Bean> beans = Arrays.asList(new Bean("a"), new Bean("b"), new Bean("c"));
+
+        final String xml = write(beans, Iterable.class, ITERABLE_TYPE);
+
+        assertTrue(xml, xml.contains("><bean><value>a</value></bean><bean><value>b</value></bean>"
+                + "<bean><value>c</value></bean></"));
+    }
+
+    @Test
+    public void testWriteCloseableIterator() throws Exception {
+        final CountingIterator beans = new CountingIterator(3);
+        final String xml = write(beans, CloseableIterator.class, CLOSEABLE_ITERATOR_TYPE);
+
+        assertTrue(xml, xml.contains("><bean><value>0</value></bean><bean><value>1</value></bean>"
+                + "<bean><value>2</value></bean></"));
+        assertFalse(beans.hasNext());
+        assertTrue(beans.closed);
+    }
+
+    @Test
+    public void testReadIteratorLazily() throws Exception {
+        assertTrue(provider.isReadable(Iterator.class, ITERATOR_TYPE, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE));
+        assertTrue(provider.isReadable(CloseableIterator.class, CLOSEABLE_ITERATOR_TYPE, NO_ANNOTATIONS,
+                MediaType.APPLICATION_XML_TYPE));
+
+        final TrackingInputStream entityStream = new TrackingInputStream(BEANS.getBytes("UTF-8"));
+        @SuppressWarnings("unchecked")
+        final CloseableIterator<Bean> beans = (CloseableIterator<Bean>) read(CloseableIterator.class,
+                CLOSEABLE_ITERATOR_TYPE, entityStream);
+
+        assertTrue(beans.hasNext());
+        assertEquals("a", beans.next().value);
+        assertEquals("b", beans.next().value);
+        assertEquals("c", beans.next().value);
+        assertFalse(beans.hasNext());
+        assertFalse(entityStream.closed);
+
+        beans.close();
+        assertTrue(entityStream.closed);
+    }
+
+    @Test
+    public void testReadEmptyIterator() throws Exception {
+        final byte[] empty = "<beans/>".getBytes("UTF-8");
+        final Iterator<?> beans = (Iterator<?>) read(Iterator.class, ITERATOR_TYPE, new ByteArrayInputStream(empty));
+
+        assertFalse(beans.hasNext());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testReadList() throws Exception {
+        final List<Bean> beans = (List<Bean>) read(List.class, LIST_TYPE, new ByteArrayInputStream(BEANS.getBytes("UTF-8")));
+
+        assertEquals(3, beans.size());
+        assertEquals("c", beans.get(2).value);
+    }
+
+    private String write(Object entity, Class<?> type, Type genericType) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(entity, type, genericType, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE, null, out);
+        return out.toString("UTF-8");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object read(Class<?> type, Type genericType, ByteArrayInputStream entityStream) throws IOException {
+        return provider.readFrom((Class<Object>) type, genericType, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE, null,
+                entityStream);
+    }
+}
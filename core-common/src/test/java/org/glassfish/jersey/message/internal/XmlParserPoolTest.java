@@ -0,0 +1,185 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayInputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.SAXParser;
+import javax.xml.stream.XMLInputFactory;
+
+import org.glassfish.jersey.FeaturesAndProperties;
+import org.glassfish.jersey.message.MessageProperties;
+
+import org.glassfish.hk2.ComponentException;
+import org.glassfish.hk2.Factory;
+
+import org.xml.sax.InputSource;
+import org.xml.sax.helpers.DefaultHandler;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * {@link XmlParserPool} unit tests.
+ */
+public class XmlParserPoolTest {
+
+    private static XmlParserPool createPool(final Map<String, Object> properties) {
+        return new XmlParserPool(new Factory<FeaturesAndProperties>() {
+
+            @Override
+            public FeaturesAndProperties get() throws ComponentException {
+                return new FeaturesAndProperties() {
+
+                    @Override
+                    public Map<String, Object> getProperties() {
+                        return properties;
+                    }
+
+                    @Override
+                    public Object getProperty(String name) {
+                        return properties.get(name);
+                    }
+
+                    @Override
+                    public boolean isProperty(String name) {
+                        return Boolean.TRUE.equals(properties.get(name))
+                                || "true".equals(properties.get(name));
+                    }
+                };
+            }
+        });
+    }
+
+    private static XmlParserPool createPool(int size) {
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(MessageProperties.XML_PARSER_POOL_SIZE, size);
+        return createPool(properties);
+    }
+
+    @Test
+    public void testSaxParserReuse() throws Exception {
+        final XmlParserPool pool = createPool(new HashMap<String, Object>());
+
+        final SAXParser parser = pool.borrowSaxParser();
+        pool.returnSaxParser(parser);
+        assertSame(parser, pool.borrowSaxParser());
+
+        final XmlParserPool.Pool<SAXParser> statistics = pool.getSaxParserPool();
+        assertEquals(MessageProperties.XML_PARSER_POOL_DEFAULT_SIZE, statistics.getCapacity());
+        assertEquals(2, statistics.getBorrowedCount());
+        assertEquals(1, statistics.getCreatedCount());
+        assertEquals(1, statistics.getReturnedCount());
+        assertEquals(0, statistics.getIdleCount());
+    }
+
+    @Test
+    public void testDocumentBuilderReuse() throws Exception {
+        final XmlParserPool pool = createPool(4);
+
+        final DocumentBuilder builder = pool.borrowDocumentBuilder();
+        builder.parse(new InputSource(new ByteArrayInputStream("<a><b/></a>".getBytes("UTF-8"))));
+        pool.returnDocumentBuilder(builder);
+
+        final DocumentBuilder reused = pool.borrowDocumentBuilder();
+        assertSame(builder, reused);
+        assertEquals("a", reused.parse(new ByteArrayInputStream("<a/>".getBytes("UTF-8")))
+                .getDocumentElement().getNodeName());
+    }
+
+    @Test
+    public void testXmlInputFactoryReuse() throws Exception {
+        final XmlParserPool pool = createPool(4);
+
+        final XMLInputFactory first = pool.borrowXmlInputFactory();
+        final XMLInputFactory second = pool.borrowXmlInputFactory();
+        assertNotSame(first, second);
+
+        pool.returnXmlInputFactory(first);
+        assertSame(first, pool.borrowXmlInputFactory());
+        assertEquals(2, pool.getXmlInputFactoryPool().getCreatedCount());
+    }
+
+    @Test
+    public void testPoolIsBounded() throws Exception {
+        final XmlParserPool pool = createPool(1);
+
+        final SAXParser first = pool.borrowSaxParser();
+        final SAXParser second = pool.borrowSaxParser();
+        pool.returnSaxParser(first);
+        pool.returnSaxParser(second);
+
+        final XmlParserPool.Pool<SAXParser> statistics = pool.getSaxParserPool();
+        assertEquals(1, statistics.getIdleCount());
+        assertEquals(1, statistics.getReturnedCount());
+        assertEquals(1, statistics.getDiscardedCount());
+        assertSame(first, pool.borrowSaxParser());
+    }
+
+    @Test
+    public void testZeroSizeDisablesReuse() throws Exception {
+        final XmlParserPool pool = createPool(0);
+
+        final SAXParser parser = pool.borrowSaxParser();
+        pool.returnSaxParser(parser);
+        assertNotSame(parser, pool.borrowSaxParser());
+        assertEquals(1, pool.getSaxParserPool().getDiscardedCount());
+    }
+
+    @Test
+    public void testPooledSaxParserDoesNotReadExternalDtds() throws Exception {
+        final XmlParserPool pool = createPool(4);
+        final String xml = "<!DOCTYPE x SYSTEM 'file:///no-such-file'> <rootObject/>";
+
+        for (int i = 0; i < 2; i++) {
+            final SAXParser parser = pool.borrowSaxParser();
+            parser.getXMLReader().setContentHandler(new DefaultHandler());
+            parser.getXMLReader().parse(new InputSource(new ByteArrayInputStream(xml.getBytes("us-ascii"))));
+            pool.returnSaxParser(parser);
+        }
+        assertEquals(1, pool.getSaxParserPool().getCreatedCount());
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.message.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link ZLibOutputStream} and {@link ZLibInputStream} tests.
+ */
+public class ZLibStreamsTest {
+
+    private static byte[] data() {
+        final byte[] data = new byte[300000];
+        final Random random = new Random(1);
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(5));
+        }
+        return data;
+    }
+
+    private static byte[] read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[777];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] compress(final byte[] data, final boolean gzip) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ZLibOutputStream zout = new ZLibOutputStream(out, gzip, Deflater.DEFAULT_COMPRESSION, 8192);
+        zout.write(data);
+        zout.finish();
+        // finishing the stream twice must not corrupt the data
+        zout.finish();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testGzipInterop() throws IOException {
+        final byte[] data = data();
+        for (int i = 0; i < 3; i++) {
+            // pooled deflaters and inflaters must be reset properly
+            assertArrayEquals(data, read(new GZIPInputStream(new ByteArrayInputStream(compress(data, true)))));
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final GZIPOutputStream gout = new GZIPOutputStream(out);
+            gout.write(data);
+            gout.close();
+            assertArrayEquals(data, read(ZLibInputStream.gzip(new ByteArrayInputStream(out.toByteArray()), 100, 512)));
+        }
+    }
+
+    @Test
+    public void testDeflateZLibAndRaw() throws IOException {
+        final byte[] data = data();
+        assertArrayEquals(data, read(ZLibInputStream.deflate(new ByteArrayInputStream(compress(data, false)), 100, 8192)));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final DeflaterOutputStream raw = new DeflaterOutputStream(out, new Deflater(Deflater.BEST_COMPRESSION, true));
+        raw.write(data);
+        raw.close();
+        assertArrayEquals(data, read(ZLibInputStream.deflate(new ByteArrayInputStream(out.toByteArray()), 100, 8192)));
+    }
+
+    @Test
+    public void testDecompressionRatioLimit() throws IOException {
+        final byte[] zeros = new byte[10 * 1024 * 1024];
+        final byte[] compressed = compress(zeros, true);
+        try {
+            read(ZLibInputStream.gzip(new ByteArrayInputStream(compressed), 100, 8192));
+            fail("Decompression ratio limit not enforced.");
+        } catch (WebApplicationException ex) {
+            assertEquals(Response.Status.REQUEST_ENTITY_TOO_LARGE.getStatusCode(), ex.getResponse().getStatus());
+        }
+
+        assertEquals(zeros.length, read(ZLibInputStream.gzip(new ByteArrayInputStream(compressed), 0, 8192)).length);
+    }
+
+    @Test(expected = ZipException.class)
+    public void testCorruptedGzipTrailer() throws IOException {
+        final byte[] compressed = compress(data(), true);
+        compressed[compressed.length - 8] ^= 1;
+        read(ZLibInputStream.gzip(new ByteArrayInputStream(compressed), 0, 8192));
+    }
+
+    @Test(expected = ZipException.class)
+    public void testInvalidGzipHeader() throws IOException {
+        ZLibInputStream.gzip(new ByteArrayInputStream(Arrays.copyOf(compress(data(), false), 32)), 0, 8192);
+    }
+}
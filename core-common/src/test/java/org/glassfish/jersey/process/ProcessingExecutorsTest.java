@@ -0,0 +1,188 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.process;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.spi.ProcessingExecutorsProvider;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Built-in processing executors providers tests.
+ */
+public class ProcessingExecutorsTest {
+
+    private static final String MODE = "test.mode";
+    private static final String POOL_SIZE = "test.poolSize";
+    private static final String QUEUE_SIZE = "test.queueSize";
+
+    private static ProcessingExecutorsProvider create(final Map<String, Object> properties) {
+        return ProcessingExecutors.createProvider(properties, MODE, POOL_SIZE, QUEUE_SIZE, "test-processing-%d");
+    }
+
+    @Test
+    public void testModeNotConfigured() {
+        assertNull(create(new HashMap<String, Object>()));
+    }
+
+    @Test
+    public void testModeValues() {
+        assertEquals(ProcessingExecutors.Mode.SAME_THREAD, ProcessingExecutors.Mode.fromValue("same-thread"));
+        assertEquals(ProcessingExecutors.Mode.VIRTUAL_THREAD, ProcessingExecutors.Mode.fromValue(" VIRTUAL_THREAD "));
+        assertEquals(ProcessingExecutors.Mode.BOUNDED, ProcessingExecutors.Mode.fromValue("Bounded"));
+        try {
+            ProcessingExecutors.Mode.fromValue("fork-join");
+            fail("Unknown mode accepted.");
+        } catch (IllegalArgumentException expected) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testSameThread() {
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(MODE, "same-thread");
+
+        // no custom executors => requests are processed inline on the calling thread
+        final ProcessingExecutorsProvider provider = create(properties);
+        assertNotNull(provider);
+        assertNull(provider.getRequestingExecutor());
+        assertNull(provider.getRespondingExecutor());
+    }
+
+    @Test
+    public void testVirtualThreadFallback() {
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(MODE, ProcessingExecutors.Mode.VIRTUAL_THREAD);
+
+        final ProcessingExecutorsProvider provider = create(properties);
+        assertNotNull(provider.getRequestingExecutor());
+        if (!ProcessingExecutors.isVirtualThreadSupported()) {
+            assertTrue(provider instanceof BoundedProcessingExecutorsProvider);
+        }
+    }
+
+    @Test
+    public void testBoundedRejection() throws Exception {
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(MODE, "bounded");
+        properties.put(POOL_SIZE, 1);
+        properties.put(QUEUE_SIZE, "1");
+
+        final BoundedProcessingExecutorsProvider provider = (BoundedProcessingExecutorsProvider) create(properties);
+        assertEquals(1, provider.getPoolSize());
+
+        final ExecutorService executor = provider.getRequestingExecutor();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Runnable blocking = new Runnable() {
+
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        executor.submit(blocking);
+        started.await();
+        executor.submit(blocking);
+        assertEquals(1, provider.getQueuedCount());
+
+        try {
+            executor.submit(blocking);
+            fail("Task accepted by an exhausted pool.");
+        } catch (RejectedExecutionException expected) {
+            // ok
+        } finally {
+            release.countDown();
+        }
+        assertEquals(1, provider.getRejectedCount());
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        final Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(MODE, "bounded");
+
+        final ProcessingExecutorsProvider provider = create(properties);
+        final ExecutorService executor = provider.getRequestingExecutor();
+        executor.submit(new Runnable() {
+
+            @Override
+            public void run() {
+            }
+        });
+
+        ProcessingExecutors.shutdown(provider);
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        try {
+            executor.submit(new Runnable() {
+
+                @Override
+                public void run() {
+                }
+            });
+            fail("Task accepted by a shut down pool.");
+        } catch (RejectedExecutionException expected) {
+            // ok
+        }
+
+        // same-thread provider has no executors to shut down
+        ProcessingExecutors.shutdown(ProcessingExecutors.sameThread());
+        ProcessingExecutors.shutdown(null);
+    }
+}
@@ -56,6 +56,7 @@ import org.glassfish.hk2.Services;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -160,6 +161,26 @@ public class RequestInvokerTest {
         });
     }
 
+    @Test
+    public void testSynchronousFastPath() throws Exception {
+        final Services services = init(new LinearRequestProcessorTest.Module());
+        final RequestInvoker invoker = services.forContract(RequestInvoker.class).get();
+        final RequestScope requestScope = services.forContract(RequestScope.class).get();
+
+        requestScope.runInScope(new Callable<Object>() {
+
+            @Override
+            public Object call() throws Exception {
+                Future<Response> result = invoker.apply(Requests.from("http://examples.jersey.java.net/", "GET").entity("")
+                        .build());
+                // not suspended & default executors => response is processed before the invoker returns
+                assertTrue(result.isDone());
+                assertEquals(123, result.get().readEntity(Integer.class).intValue());
+                return null;
+            }
+        });
+    }
+
     @Test
     public void testHiearchical() throws Exception {
         final Services services = init(new HierarchicalRequestProcessorTest.Module());
@@ -0,0 +1,303 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.internal.util.collection.Pair;
+import org.glassfish.jersey.internal.util.collection.Tuples;
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.process.internal.AbstractChainableAcceptor;
+import org.glassfish.jersey.process.internal.InvocationContext;
+import org.glassfish.jersey.process.internal.LinearAcceptor;
+import org.glassfish.jersey.process.internal.RequestProcessor;
+import org.glassfish.jersey.process.internal.Stages;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceMethodInvoker;
+
+import org.glassfish.hk2.Factory;
+
+import com.google.common.base.Optional;
+
+/**
+ * Linear request accepting stage that limits the number of concurrently invoked
+ * resource methods and sheds the excess load.
+ * <p/>
+ * The stage follows the resource matching and filtering stages. If the matched
+ * inflector invokes a resource method, the stage tries to admit the request by the
+ * {@link AdmissionLimiter concurrency limiter} of the application (or of the resource
+ * method, depending on the configured {@link ServerProperties#ADMISSION_SCOPE scope}).
+ * An admitted request continues to the next stage with the matched inflector replaced
+ * in the accepting context by a wrapper that releases the limiter and reports the
+ * invocation latency once the resource method invocation completes, i.e. once the
+ * inflector returns or, if the invocation has been suspended, once it is resumed,
+ * cancelled or timed out.
+ * A rejected request is immediately responded with {@code 503 Service Unavailable}
+ * and a {@code Retry-After} header.
+ *
+ * @see ServerProperties#ADMISSION_LIMIT
+ */
+class AdmissionControlStage extends AbstractChainableAcceptor implements AdmissionStatistics {
+
+    /**
+     * Scope of a single concurrency limit shared by all resource methods.
+     */
+    static final String APPLICATION_SCOPE = "application";
+    /**
+     * Scope of a separate concurrency limit per resource method.
+     */
+    static final String METHOD_SCOPE = "method";
+    //
+    private final Factory<RequestProcessor.AcceptingContext> acceptingContextFactory;
+    private final Factory<InvocationContext> invocationContextFactory;
+    private final String algorithm;
+    private final int initialLimit;
+    private final int maxLimit;
+    private final long latencyTarget;
+    private final int retryAfter;
+    private final String priorityHeader;
+    /**
+     * Application-wide limiter; {@code null} in the {@link #METHOD_SCOPE method scope}.
+     */
+    private final AdmissionLimiter applicationLimiter;
+    private final ConcurrentMap<ResourceMethod, AdmissionLimiter> methodLimiters =
+            new ConcurrentHashMap<ResourceMethod, AdmissionLimiter>();
+    private final ConcurrentMap<ResourceMethod, AdmissionPriority.Level> methodPriorities =
+            new ConcurrentHashMap<ResourceMethod, AdmissionPriority.Level>();
+
+    /**
+     * Create new admission control stage.
+     *
+     * @param acceptingContextFactory request processing accepting context provider.
+     * @param invocationContextFactory request invocation context provider.
+     * @param scope                   scope of the concurrency limits; {@value #APPLICATION_SCOPE}
+     *                                or {@value #METHOD_SCOPE}.
+     * @param algorithm               concurrency limit algorithm name.
+     * @param initialLimit            initial (or fixed) concurrency limit.
+     * @param maxLimit                maximum concurrency limit of the adaptive algorithms.
+     * @param latencyTarget           latency target of the AIMD algorithm in milliseconds.
+     * @param retryAfter              {@code Retry-After} value of the rejected requests in seconds.
+     * @param priorityHeader          name of the request header defining the request priority class,
+     *                                may be {@code null}.
+     * @throws IllegalArgumentException in case the scope or the algorithm name is not known.
+     */
+    AdmissionControlStage(final Factory<RequestProcessor.AcceptingContext> acceptingContextFactory,
+                          final Factory<InvocationContext> invocationContextFactory,
+                          final String scope,
+                          final String algorithm,
+                          final int initialLimit,
+                          final int maxLimit,
+                          final long latencyTarget,
+                          final int retryAfter,
+                          final String priorityHeader) {
+        this.acceptingContextFactory = acceptingContextFactory;
+        this.invocationContextFactory = invocationContextFactory;
+        this.algorithm = algorithm;
+        this.initialLimit = initialLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTarget = latencyTarget;
+        this.retryAfter = retryAfter;
+        this.priorityHeader = priorityHeader;
+
+        if (APPLICATION_SCOPE.equalsIgnoreCase(scope)) {
+            this.applicationLimiter = createLimiter();
+        } else if (METHOD_SCOPE.equalsIgnoreCase(scope)) {
+            this.applicationLimiter = null;
+        } else {
+            throw new IllegalArgumentException(LocalizationMessages.ADMISSION_SCOPE_UNKNOWN(scope));
+        }
+    }
+
+    private AdmissionLimiter createLimiter() {
+        return AdmissionLimiter.create(algorithm, initialLimit, maxLimit, latencyTarget);
+    }
+
+    @Override
+    public Pair<Request, Optional<LinearAcceptor>> apply(final Request request) {
+        final RequestProcessor.AcceptingContext acceptingContext = acceptingContextFactory.get();
+        final Optional<Inflector<Request, Response>> inflector = acceptingContext.getInflector();
+        if (!inflector.isPresent() || !(inflector.get() instanceof ResourceMethodInvoker)) {
+            // nothing to invoke or a framework-generated response (e.g. OPTIONS)
+            return Tuples.of(request, getDefaultNext());
+        }
+
+        final ResourceMethod method = ((ResourceMethodInvoker) inflector.get()).getResourceMethod();
+        final AdmissionLimiter limiter = getLimiter(method);
+
+        if (!limiter.tryAcquire(getPriority(request, method))) {
+            return Tuples.of(request, Optional.of(Stages.asLinearAcceptor(new Inflector<Request, Response>() {
+
+                @Override
+                public Response apply(final Request data) {
+                    return Responses.from(Response.Status.SERVICE_UNAVAILABLE, data)
+                            .header("Retry-After", retryAfter)
+                            .build();
+                }
+            })));
+        }
+
+        // continue with the admitted inflector so that the subsequent stages (if any) see it
+        final Inflector<Request, Response> admitted = inflector.get();
+        acceptingContext.setInflector(new Inflector<Request, Response>() {
+
+            @Override
+            public Response apply(final Request data) {
+                final long start = System.nanoTime();
+                Response response = null;
+                try {
+                    response = admitted.apply(data);
+                    return response;
+                } finally {
+                    // a suspended request holds the permit until its response is available
+                    InvocationCompletion.notifyOnCompletion(invocationContextFactory.get(), response,
+                            new InvocationCompletion.Callback() {
+
+                                @Override
+                                public void completed(final Response ignored) {
+                                    limiter.release(System.nanoTime() - start);
+                                }
+                            });
+                }
+            }
+        });
+        return Tuples.of(request, getDefaultNext());
+    }
+
+    private AdmissionLimiter getLimiter(final ResourceMethod method) {
+        if (applicationLimiter != null) {
+            return applicationLimiter;
+        }
+
+        AdmissionLimiter limiter = methodLimiters.get(method);
+        if (limiter == null) {
+            final AdmissionLimiter newLimiter = createLimiter();
+            limiter = methodLimiters.putIfAbsent(method, newLimiter);
+            if (limiter == null) {
+                limiter = newLimiter;
+            }
+        }
+        return limiter;
+    }
+
+    private AdmissionPriority.Level getPriority(final Request request, final ResourceMethod method) {
+        if (priorityHeader != null) {
+            final String value = request.getHeaders().getHeader(priorityHeader);
+            if (value != null) {
+                try {
+                    return AdmissionPriority.Level.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+                } catch (IllegalArgumentException ignored) {
+                    // fall back to the resource method priority
+                }
+            }
+        }
+
+        AdmissionPriority.Level priority = methodPriorities.get(method);
+        if (priority == null) {
+            priority = AdmissionPriority.Level.NORMAL;
+
+            final Method handlingMethod = method.getInvocable().getHandlingMethod();
+            AdmissionPriority annotation = handlingMethod.getAnnotation(AdmissionPriority.class);
+            if (annotation == null) {
+                annotation = method.getInvocable().getHandler().getHandlerClass().getAnnotation(AdmissionPriority.class);
+            }
+            if (annotation != null) {
+                priority = annotation.value();
+            }
+            methodPriorities.put(method, priority);
+        }
+        return priority;
+    }
+
+    @Override
+    public int getLimit() {
+        if (applicationLimiter != null) {
+            return applicationLimiter.getLimit();
+        }
+        int limit = 0;
+        for (AdmissionLimiter limiter : methodLimiters.values()) {
+            limit += limiter.getLimit();
+        }
+        return limit;
+    }
+
+    @Override
+    public int getConcurrency() {
+        if (applicationLimiter != null) {
+            return applicationLimiter.getConcurrency();
+        }
+        int concurrency = 0;
+        for (AdmissionLimiter limiter : methodLimiters.values()) {
+            concurrency += limiter.getConcurrency();
+        }
+        return concurrency;
+    }
+
+    @Override
+    public long getAdmittedCount() {
+        if (applicationLimiter != null) {
+            return applicationLimiter.getAdmittedCount();
+        }
+        long count = 0;
+        for (AdmissionLimiter limiter : methodLimiters.values()) {
+            count += limiter.getAdmittedCount();
+        }
+        return count;
+    }
+
+    @Override
+    public long getRejectedCount() {
+        if (applicationLimiter != null) {
+            return applicationLimiter.getRejectedCount();
+        }
+        long count = 0;
+        for (AdmissionLimiter limiter : methodLimiters.values()) {
+            count += limiter.getRejectedCount();
+        }
+        return count;
+    }
+}
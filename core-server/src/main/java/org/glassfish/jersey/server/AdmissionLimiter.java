@@ -0,0 +1,258 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+/**
+ * Concurrency limiter used by the {@link AdmissionControlStage admission control stage}.
+ * <p/>
+ * The limiter admits a request if the number of the requests in flight is lower than
+ * the portion of the current concurrency limit available to the request
+ * {@link AdmissionPriority.Level priority class}. Completed requests report their latency
+ * back to the limiter which may use it to adapt the concurrency limit.
+ *
+ * @see ServerProperties#ADMISSION_ALGORITHM
+ */
+abstract class AdmissionLimiter implements AdmissionStatistics {
+
+    /**
+     * Fixed concurrency limit algorithm name.
+     */
+    static final String FIXED = "fixed";
+    /**
+     * Additive-increase/multiplicative-decrease adaptive algorithm name.
+     */
+    static final String AIMD = "aimd";
+    /**
+     * Latency gradient adaptive algorithm name.
+     */
+    static final String GRADIENT = "gradient";
+
+    /**
+     * Create new concurrency limiter.
+     *
+     * @param algorithm     name of the limit algorithm; one of {@value #FIXED}, {@value #AIMD}
+     *                      or {@value #GRADIENT}.
+     * @param initialLimit  initial (or fixed) concurrency limit.
+     * @param maxLimit      maximum concurrency limit of the adaptive algorithms.
+     * @param latencyTarget latency target of the {@value #AIMD} algorithm in milliseconds.
+     * @return new concurrency limiter.
+     * @throws IllegalArgumentException in case the algorithm name is not known.
+     */
+    static AdmissionLimiter create(final String algorithm,
+                                   final int initialLimit,
+                                   final int maxLimit,
+                                   final long latencyTarget) {
+        if (FIXED.equalsIgnoreCase(algorithm)) {
+            return new Fixed(initialLimit);
+        } else if (AIMD.equalsIgnoreCase(algorithm)) {
+            return new Aimd(initialLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(latencyTarget));
+        } else if (GRADIENT.equalsIgnoreCase(algorithm)) {
+            return new Gradient(initialLimit, maxLimit);
+        }
+        throw new IllegalArgumentException(LocalizationMessages.ADMISSION_ALGORITHM_UNKNOWN(algorithm));
+    }
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong admitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    /**
+     * Current concurrency limit.
+     */
+    protected volatile int limit;
+
+    private AdmissionLimiter(final int initialLimit) {
+        this.limit = Math.max(1, initialLimit);
+    }
+
+    /**
+     * Try to admit a request of the given priority class.
+     *
+     * @param priority request priority class.
+     * @return {@code true} if the request has been admitted and the limiter has to be
+     *         {@link #release(long) released} once the request is processed, {@code false}
+     *         if the request has to be rejected.
+     */
+    boolean tryAcquire(final AdmissionPriority.Level priority) {
+        final int available = Math.max(1, (int) (limit * priority.getShare()));
+        for (;;) {
+            final int current = inFlight.get();
+            if (current >= available) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                admitted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Release the limiter after an admitted request has been processed.
+     *
+     * @param latency request processing latency in nanoseconds.
+     */
+    void release(final long latency) {
+        final int current = inFlight.getAndDecrement();
+        onSample(latency, current);
+    }
+
+    /**
+     * Update the concurrency limit based on the latency of a processed request.
+     *
+     * @param latency  request processing latency in nanoseconds.
+     * @param inFlight number of requests in flight including the processed one.
+     */
+    protected abstract void onSample(long latency, int inFlight);
+
+    @Override
+    public int getLimit() {
+        return limit;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return inFlight.get();
+    }
+
+    @Override
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Limiter with a fixed concurrency limit.
+     */
+    private static final class Fixed extends AdmissionLimiter {
+
+        Fixed(final int limit) {
+            super(limit);
+        }
+
+        @Override
+        protected void onSample(final long latency, final int inFlight) {
+            // fixed limit
+        }
+    }
+
+    /**
+     * Additive-increase/multiplicative-decrease limiter. The limit is decreased by 10%
+     * whenever a request exceeds the latency target and increased by one when a request
+     * meeting the target completes while at least a half of the limit is in use.
+     */
+    private static final class Aimd extends AdmissionLimiter {
+
+        private static final double BACKOFF_RATIO = 0.9;
+        private final int maxLimit;
+        private final long latencyTarget;
+
+        Aimd(final int initialLimit, final int maxLimit, final long latencyTarget) {
+            super(initialLimit);
+            this.maxLimit = Math.max(limit, maxLimit);
+            this.latencyTarget = latencyTarget;
+        }
+
+        @Override
+        protected synchronized void onSample(final long latency, final int inFlight) {
+            if (latency > latencyTarget) {
+                limit = Math.max(1, (int) (limit * BACKOFF_RATIO));
+            } else if (inFlight * 2 >= limit) {
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Latency gradient limiter. The limiter tracks the minimal ("no-load") latency and
+     * a smoothed recent latency; their ratio (the gradient, bounded to {@code [0.5, 1]})
+     * scales the limit down as the queueing delay grows, while a headroom of
+     * {@code sqrt(limit)} lets the limit grow when the latency stays flat. The minimal
+     * latency is slowly decayed towards the recent latency so that the limiter adapts
+     * to permanent changes of the service time.
+     */
+    private static final class Gradient extends AdmissionLimiter {
+
+        private static final double SMOOTHING = 0.2;
+        private static final double MIN_LATENCY_DECAY = 0.001;
+        private final int maxLimit;
+        private double estimatedLimit;
+        private double minLatency = Double.NaN;
+        private double recentLatency = Double.NaN;
+
+        Gradient(final int initialLimit, final int maxLimit) {
+            super(initialLimit);
+            this.maxLimit = Math.max(limit, maxLimit);
+            this.estimatedLimit = limit;
+        }
+
+        @Override
+        protected synchronized void onSample(final long latency, final int inFlight) {
+            final double sample = Math.max(1, latency);
+            if (Double.isNaN(minLatency)) {
+                minLatency = sample;
+                recentLatency = sample;
+                return;
+            }
+            recentLatency += (sample - recentLatency) * SMOOTHING;
+            minLatency = Math.min(sample, minLatency + (recentLatency - minLatency) * MIN_LATENCY_DECAY);
+
+            // do not grow the limit if the current one is not being used
+            if (inFlight * 2 < estimatedLimit && recentLatency <= minLatency * 2) {
+                return;
+            }
+
+            final double gradient = Math.max(0.5, Math.min(1.0, minLatency / recentLatency));
+            final double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = Math.max(1, Math.min(maxLimit, estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+            limit = (int) estimatedLimit;
+        }
+    }
+}
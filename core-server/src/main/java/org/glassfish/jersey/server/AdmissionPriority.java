@@ -0,0 +1,104 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines the admission priority class of the requests handled by the annotated
+ * resource method or by all resource methods of the annotated resource class.
+ * <p/>
+ * The priority class is taken into account only if the admission control is enabled
+ * by the {@link ServerProperties#ADMISSION_LIMIT} property. While the application is
+ * under load, the requests of the {@link Level#LOW low} priority class are rejected
+ * first, whereas the requests of the {@link Level#HIGH high} priority class are admitted
+ * as long as the whole concurrency limit is not exhausted. Requests to resource methods
+ * without the annotation are of the {@link Level#NORMAL normal} priority class. The priority
+ * class may be overridden per request using the {@link ServerProperties#ADMISSION_PRIORITY_HEADER
+ * priority request header}.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface AdmissionPriority {
+
+    /**
+     * Admission priority class.
+     */
+    public static enum Level {
+
+        /**
+         * Requests admitted only while less than a half of the concurrency limit is in use.
+         */
+        LOW(0.5),
+        /**
+         * Requests admitted while less than 90% of the concurrency limit is in use.
+         */
+        NORMAL(0.9),
+        /**
+         * Requests admitted as long as the concurrency limit is not exhausted.
+         */
+        HIGH(1.0);
+        //
+        private final double share;
+
+        private Level(final double share) {
+            this.share = share;
+        }
+
+        /**
+         * Get the portion of the concurrency limit available to the requests of the priority class.
+         *
+         * @return concurrency limit portion in the range {@code (0, 1]}.
+         */
+        public double getShare() {
+            return share;
+        }
+    }
+
+    /**
+     * Admission priority class of the annotated resource methods.
+     */
+    Level value();
+}
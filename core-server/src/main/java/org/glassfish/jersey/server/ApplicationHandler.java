@@ -42,20 +42,30 @@ package org.glassfish.jersey.server;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
+import java.lang.management.ManagementFactory;
 import java.lang.reflect.Type;
 import java.security.Principal;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.ws.rs.HttpMethod;
-import javax.ws.rs.Path;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.GenericType;
@@ -64,6 +74,7 @@ import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.glassfish.jersey.FeaturesAndProperties;
 import org.glassfish.jersey.internal.ContextResolverFactory;
@@ -72,7 +83,10 @@ import org.glassfish.jersey.internal.MappableException;
 import org.glassfish.jersey.internal.ProcessingException;
 import org.glassfish.jersey.internal.ServiceProviders;
 import org.glassfish.jersey.internal.inject.AbstractModule;
+import org.glassfish.jersey.internal.inject.Providers;
+import org.glassfish.jersey.internal.inject.ReferencingFactory;
 import org.glassfish.jersey.internal.util.CommittingOutputStream;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
 import org.glassfish.jersey.internal.util.collection.Ref;
 import org.glassfish.jersey.message.MessageBodyWorkers;
 import org.glassfish.jersey.message.internal.HeaderValueException;
@@ -80,6 +94,8 @@ import org.glassfish.jersey.message.internal.MessageBodyFactory;
 import org.glassfish.jersey.message.internal.Requests;
 import org.glassfish.jersey.message.internal.Responses;
 import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.process.ProcessingExecutors;
+import org.glassfish.jersey.process.ProcessingExecutorsModule;
 import org.glassfish.jersey.process.internal.FilteringAcceptor;
 import org.glassfish.jersey.process.internal.InflectorNotFoundException;
 import org.glassfish.jersey.process.internal.InvocationCallback;
@@ -87,7 +103,9 @@ import org.glassfish.jersey.process.internal.InvocationContext;
 import org.glassfish.jersey.process.internal.LinearAcceptor;
 import org.glassfish.jersey.process.internal.MessageBodyWorkersInitializer;
 import org.glassfish.jersey.process.internal.RequestInvoker;
+import org.glassfish.jersey.process.internal.RequestProcessor;
 import org.glassfish.jersey.process.internal.RequestScope;
+import org.glassfish.jersey.process.internal.ResponseProcessor;
 import org.glassfish.jersey.process.internal.Stage;
 import org.glassfish.jersey.process.internal.Stages;
 import org.glassfish.jersey.process.internal.TreeAcceptor;
@@ -100,12 +118,16 @@ import org.glassfish.jersey.server.model.ModelValidationException;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceModelIssue;
 import org.glassfish.jersey.server.model.ResourceModelValidator;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.server.monitoring.RequestStatistics;
 import org.glassfish.jersey.server.spi.ContainerRequestContext;
 import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.server.spi.RequestScopedInitializer;
 import org.glassfish.jersey.spi.CloseableService;
 import org.glassfish.jersey.spi.ContextResolvers;
 import org.glassfish.jersey.spi.ExceptionMappers;
+import org.glassfish.jersey.spi.ProcessingExecutorsProvider;
 
 import org.glassfish.hk2.ComponentException;
 import org.glassfish.hk2.DynamicBinderFactory;
@@ -113,6 +135,7 @@ import org.glassfish.hk2.Factory;
 import org.glassfish.hk2.HK2;
 import org.glassfish.hk2.Module;
 import org.glassfish.hk2.Services;
+import org.glassfish.hk2.TypeLiteral;
 import org.glassfish.hk2.inject.Injector;
 import org.glassfish.hk2.scopes.Singleton;
 
@@ -122,6 +145,7 @@ import com.google.common.base.Predicate;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 /**
  * Jersey server-side application handler.
@@ -139,6 +163,10 @@ import com.google.common.collect.Sets;
 public final class ApplicationHandler implements Inflector<Request, Future<Response>> {
 
     private static final Logger LOGGER = Logger.getLogger(ApplicationHandler.class.getName());
+    /**
+     * Sequence of the ids distinguishing the request statistics MBeans.
+     */
+    private static final AtomicInteger STATISTICS_IDS = new AtomicInteger();
     /**
      * Default dummy security context.
      */
@@ -225,6 +253,9 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
                     .in(Singleton.class);
             bind(LinearAcceptor.class).annotatedWith(Stage.Root.class).toFactory(new RootStageAcceptorProvider())
                     .in(Singleton.class);
+
+            bind(new TypeLiteral<Ref<RequestEventNotifier>>() {})
+                    .toFactory(ReferencingFactory.<RequestEventNotifier>referenceFactory()).in(RequestScope.class);
         }
     }
 
@@ -238,6 +269,8 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
     private Factory<Ref<SecurityContext>> securityContextRefFactory;
     @Inject
     private Factory<CloseableService> closeableServiceFactory;
+    @Inject
+    private Factory<Ref<RequestEventNotifier>> requestEventNotifierRefFactory;
     //
     private Services services;
     /**
@@ -250,6 +283,35 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
      * Invoked in a single linear stage as part of the main linear accepting chain.
      */
     private TreeAcceptor rootResourceMatchingAcceptor;
+    private AdmissionStatistics admissionStatistics;
+    private ResponseCacheStatistics responseCacheStatistics;
+    /**
+     * Application request event listener; {@code null} if no listener is registered.
+     */
+    private RequestEventListener requestEventListener;
+    private RequestStatistics requestStatistics;
+    /**
+     * Built-in processing executors provider created for the application, {@code null} if the
+     * default or a custom processing executors provider is used.
+     */
+    private ProcessingExecutorsProvider processingExecutors;
+    /**
+     * {@code Retry-After} value of the requests rejected by the processing executor.
+     */
+    private int processingRetryAfter;
+    /**
+     * Object name of the registered request statistics MBean, {@code null} if not registered.
+     */
+    private volatile ObjectName requestStatisticsName;
+    /**
+     * Size of the outbound entity buffers, see {@link ServerProperties#OUTBOUND_CONTENT_LENGTH_BUFFER}.
+     */
+    private int outboundBufferSize;
+    /**
+     * Outbound entity buffers reused by the threads writing the responses. A buffer is removed from
+     * the thread-local storage while being used.
+     */
+    private final ThreadLocal<byte[]> outboundBuffers = new ThreadLocal<byte[]>();
     private final ResourceConfig configuration;
     private References refs;
 
@@ -319,22 +381,66 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
 
         configuration.lock();
 
+        registerProcessingExecutors();
+
+        final Map<String, Long> phaseTimes = Maps.newLinkedHashMap();
+        long phaseStart = System.nanoTime();
+
         final List<ResourceModelIssue> resourceModelIssues = Lists.newLinkedList();
 
-        final Map<String, Resource.Builder> pathToResourceBuilderMap = Maps.newHashMap();
-        final List<Resource.Builder> resourcesBuilders = new LinkedList<Resource.Builder>();
+        final List<Class<?>> rootResourceClasses = Lists.newArrayList();
         for (Class<?> c : configuration.getClasses()) {
-            Path path = Resource.getPath(c);
-            if (path != null) { // root resource
-                try {
-                    final Resource.Builder builder = Resource.builder(c, resourceModelIssues);
-                    resourcesBuilders.add(builder);
-                    pathToResourceBuilderMap.put(path.value(), builder);
-                } catch (IllegalArgumentException ex) {
-                    LOGGER.warning(ex.getMessage());
-                }
+            if (Resource.getPath(c) != null) { // root resource
+                rootResourceClasses.add(c);
+            }
+        }
+
+        final ExecutorService modelExecutor = createModelExecutor(
+                rootResourceClasses.size() + configuration.getResources().size());
+        try {
+            final Map<String, Resource.Builder> pathToResourceBuilderMap = Maps.newHashMap();
+            final List<Resource.Builder> resourcesBuilders =
+                    introspect(modelExecutor, rootResourceClasses, resourceModelIssues, pathToResourceBuilderMap);
+            phaseStart = recordPhase(phaseTimes, "introspection", phaseStart);
+
+            initialize(modelExecutor, resourcesBuilders, pathToResourceBuilderMap, resourceModelIssues,
+                    phaseTimes, phaseStart);
+        } finally {
+            if (modelExecutor != null) {
+                modelExecutor.shutdown();
             }
         }
+    }
+
+    /**
+     * Registers the built-in processing executors provider selected by the {@link ServerProperties#PROCESSING_MODE}
+     * property. Custom processing executors providers registered by the application take precedence.
+     */
+    private void registerProcessingExecutors() {
+        if (!Providers.getProviders(services, ProcessingExecutorsProvider.class).isEmpty()) {
+            return;
+        }
+
+        final ProcessingExecutorsProvider provider = ProcessingExecutors.createProvider(configuration.getProperties(),
+                ServerProperties.PROCESSING_MODE,
+                ServerProperties.PROCESSING_POOL_SIZE,
+                ServerProperties.PROCESSING_QUEUE_SIZE,
+                "jersey-server-processing-%d");
+        if (provider != null) {
+            registerAdditionalModules(Collections.<Module>singleton(new ProcessingExecutorsModule(provider)));
+            this.processingExecutors = provider;
+            this.processingRetryAfter = PropertiesHelper.getValue(configuration.getProperties(),
+                    ServerProperties.PROCESSING_RETRY_AFTER, 1);
+        }
+    }
+
+    private void initialize(final ExecutorService modelExecutor,
+                            final List<Resource.Builder> resourcesBuilders,
+                            final Map<String, Resource.Builder> pathToResourceBuilderMap,
+                            final List<ResourceModelIssue> resourceModelIssues,
+                            final Map<String, Long> phaseTimes,
+                            long phaseStart) {
+        this.requestStatistics = createRequestStatistics(resourcesBuilders);
 
         for (Resource programmaticResource : configuration.getResources()) {
             Resource.Builder builder = pathToResourceBuilderMap.get(programmaticResource.getPath());
@@ -348,6 +454,11 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         final Injector injector = services.forContract(Injector.class).get();
         this.refs = injector.inject(References.class);
 
+        final ResponseCachingStage responseCachingStage = createResponseCachingStage();
+        final Set<Object> providerInstances = (responseCachingStage == null) ? configuration.getSingletons()
+                : Sets.union(configuration.getSingletons(),
+                Collections.<Object>singleton(responseCachingStage.getWriterInterceptor()));
+
         final ServiceProviders providers = services.forContract(ServiceProviders.Builder.class).get()
                 .setProviderClasses(Sets.filter(configuration.getClasses(), new Predicate<Class<?>>() {
 
@@ -360,15 +471,19 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
                         return acceptable;
                     }
                 }))
-                .setProviderInstances(configuration.getSingletons()).build();
+                .setProviderInstances(providerInstances).build();
         this.refs.providers.set(providers);
 
         final MessageBodyFactory workers = new MessageBodyFactory(providers);
         this.refs.workers.set(workers);
         this.refs.mappers.set(new ExceptionMapperFactory(providers));
         this.refs.resolvers.set(new ContextResolverFactory(providers));
+        this.requestEventListener = createRequestEventListener(providers);
+
+        phaseStart = recordPhase(phaseTimes, "providers", phaseStart);
 
-        List<Resource> resources = buildAndValidate(resourcesBuilders, resourceModelIssues, workers);
+        List<Resource> resources = buildAndValidate(modelExecutor, resourcesBuilders, resourceModelIssues, workers);
+        phaseStart = recordPhase(phaseTimes, "validation", phaseStart);
 
         final RuntimeModelBuilder runtimeModelBuilder =
                 services.byType(RuntimeModelBuilder.class).get();
@@ -378,20 +493,299 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         }
 
         this.rootResourceMatchingAcceptor = runtimeModelBuilder.buildModel();
+        phaseStart = recordPhase(phaseTimes, "routing", phaseStart);
 
         // Create a linear accepting chain
         final PreMatchRequestFilteringStage preMatchRequestFilteringStage = injector.inject(PreMatchRequestFilteringStage.class);
         final ResourceMatchingStage resourceMatchingStage = injector.inject(ResourceMatchingStage.class);
         final FilteringAcceptor resourceFilteringStage = injector.inject(FilteringAcceptor.class);
         final InflectorExtractingStage inflectorExtractingStage = injector.inject(InflectorExtractingStage.class);
-        this.rootStageAcceptor = Stages
+        final AdmissionControlStage admissionControlStage = createAdmissionControlStage();
+        final RequestEventStage requestEventStage = (requestEventListener == null) ? null : new RequestEventStage(
+                Providers.asFactory(services.forContract(new TypeLiteral<Ref<RequestEventNotifier>>() {}).getProvider()),
+                Providers.asFactory(services.forContract(RequestProcessor.AcceptingContext.class).getProvider()),
+                Providers.asFactory(services.forContract(InvocationContext.class).getProvider()));
+        final LinearAcceptor.Builder chainBuilder = Stages
                 .acceptingChain(injector.inject(MessageBodyWorkersInitializer.class))
-                .to(preMatchRequestFilteringStage)
-                .to(resourceMatchingStage)
-                .to(resourceFilteringStage)
-                .build(inflectorExtractingStage);
+                .to(preMatchRequestFilteringStage);
+        if (requestEventStage != null) {
+            chainBuilder.to(requestEventStage.matchingStart());
+        }
+        chainBuilder.to(resourceMatchingStage);
+        if (requestEventStage != null) {
+            chainBuilder.to(requestEventStage.matched());
+        }
+        chainBuilder.to(resourceFilteringStage);
+        if (responseCachingStage != null) {
+            // cached responses are served only after the request filters have been applied
+            chainBuilder.to(responseCachingStage);
+            this.responseCacheStatistics = responseCachingStage.getStatistics();
+        }
+        if (admissionControlStage != null) {
+            chainBuilder.to(admissionControlStage);
+            this.admissionStatistics = admissionControlStage;
+        }
+        if (requestEventStage != null) {
+            chainBuilder.to(requestEventStage.dispatch());
+        }
+        this.rootStageAcceptor = chainBuilder.build(inflectorExtractingStage);
+        this.outboundBufferSize = PropertiesHelper.getValue(configuration.getProperties(),
+                ServerProperties.OUTBOUND_CONTENT_LENGTH_BUFFER, 8192);
 
         injector.inject(this);
+        recordPhase(phaseTimes, "processing chain", phaseStart);
+
+        if (requestStatistics != null) {
+            // registered only once the initialization succeeded, so that a failed one does not leak the MBean
+            registerRequestStatistics(requestStatistics);
+        }
+
+        if (LOGGER.isLoggable(Level.CONFIG)) {
+            LOGGER.config(LocalizationMessages.INITIALIZATION_PHASE_TIMES(resources.size(), phaseTimes));
+        }
+    }
+
+    /**
+     * Create the response caching stage if the response cache is enabled by the
+     * {@link ServerProperties#RESPONSE_CACHE_SIZE} property.
+     *
+     * @return response caching stage or {@code null} if the response cache is disabled.
+     */
+    private ResponseCachingStage createResponseCachingStage() {
+        final Map<String, Object> properties = configuration.getProperties();
+        final long cacheSize = PropertiesHelper.getValue(properties, ServerProperties.RESPONSE_CACHE_SIZE, 0L);
+        if (cacheSize <= 0) {
+            return null;
+        }
+
+        final ResponseCache cache = new ResponseCache(cacheSize,
+                PropertiesHelper.getValue(properties, ServerProperties.RESPONSE_CACHE_OFF_HEAP, false));
+        return new ResponseCachingStage(cache,
+                PropertiesHelper.getValue(properties, ServerProperties.RESPONSE_CACHE_DEFAULT_TTL, 0),
+                Providers.asFactory(services.forContract(ResponseProcessor.RespondingContext.class).getProvider()));
+    }
+
+    /**
+     * Create the admission control stage if the admission control is enabled by the
+     * {@link ServerProperties#ADMISSION_LIMIT} property.
+     *
+     * @return admission control stage or {@code null} if the admission control is disabled.
+     */
+    private AdmissionControlStage createAdmissionControlStage() {
+        final Map<String, Object> properties = configuration.getProperties();
+        final int limit = PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_LIMIT, 0);
+        if (limit <= 0) {
+            return null;
+        }
+
+        return new AdmissionControlStage(
+                Providers.asFactory(services.forContract(RequestProcessor.AcceptingContext.class).getProvider()),
+                Providers.asFactory(services.forContract(InvocationContext.class).getProvider()),
+                PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_SCOPE,
+                        AdmissionControlStage.APPLICATION_SCOPE),
+                PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_ALGORITHM, AdmissionLimiter.FIXED),
+                limit,
+                PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_MAX_LIMIT, limit * 4),
+                PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_LATENCY_TARGET, 1000L),
+                PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_RETRY_AFTER, 1),
+                PropertiesHelper.getValue(properties, ServerProperties.ADMISSION_PRIORITY_HEADER, (String) null));
+    }
+
+    /**
+     * Create the request statistics if enabled by the {@link ServerProperties#MONITORING_STATISTICS_ENABLED}
+     * property and, if {@link ServerProperties#MONITORING_STATISTICS_PATH configured}, add the statistics
+     * resource to the application resources. The statistics JMX MBean is registered only after the application
+     * has been successfully initialized, see {@link #registerRequestStatistics(RequestStatistics)}.
+     *
+     * @param resourceBuilders application resource builders.
+     * @return request statistics or {@code null} if the statistics are not enabled.
+     */
+    private RequestStatistics createRequestStatistics(final List<Resource.Builder> resourceBuilders) {
+        final Map<String, Object> properties = configuration.getProperties();
+        if (!PropertiesHelper.getValue(properties, ServerProperties.MONITORING_STATISTICS_ENABLED, false)) {
+            return null;
+        }
+
+        final RequestStatistics statistics = new RequestStatistics();
+
+        final String path = PropertiesHelper.getValue(properties, ServerProperties.MONITORING_STATISTICS_PATH, (String) null);
+        if (path != null) {
+            final Resource.Builder resourceBuilder = Resource.builder(path);
+            resourceBuilder.addMethod(HttpMethod.GET).produces(MediaType.TEXT_PLAIN_TYPE)
+                    .handledBy(new Inflector<Request, String>() {
+
+                        @Override
+                        public String apply(final Request request) {
+                            return statistics.getReport();
+                        }
+                    });
+            resourceBuilders.add(resourceBuilder);
+        }
+
+        return statistics;
+    }
+
+    /**
+     * Register the request statistics JMX MBean. The MBean is unregistered in {@link #destroy()}.
+     *
+     * @param statistics request statistics to be registered.
+     */
+    private void registerRequestStatistics(final RequestStatistics statistics) {
+        final Application application = configuration.getApplication();
+        final String name = (application == null ? configuration : application).getClass().getName();
+        try {
+            // the id distinguishes the applications of the same class (e.g. plain resource configs)
+            final ObjectName objectName = new ObjectName("org.glassfish.jersey:type=RequestStatistics,name="
+                    + ObjectName.quote(name) + ",id=" + STATISTICS_IDS.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, objectName);
+            this.requestStatisticsName = objectName;
+        } catch (JMException ex) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.REQUEST_STATISTICS_MBEAN_NOT_REGISTERED(name), ex);
+        }
+    }
+
+    /**
+     * Create the application request event listener that notifies the built-in
+     * {@link RequestStatistics request statistics} (if enabled) and all the registered
+     * {@link RequestEventListener request event listener} providers.
+     *
+     * @param providers application service providers.
+     * @return request event listener or {@code null} if there is no listener.
+     */
+    private RequestEventListener createRequestEventListener(final ServiceProviders providers) {
+        final List<RequestEventListener> listeners = Lists.newArrayList(providers.getAll(RequestEventListener.class));
+        if (requestStatistics != null) {
+            listeners.add(requestStatistics);
+        }
+
+        if (listeners.isEmpty()) {
+            return null;
+        } else if (listeners.size() == 1) {
+            return listeners.get(0);
+        }
+        return new RequestEventListener() {
+
+            @Override
+            public void onEvent(final RequestEvent event) {
+                for (RequestEventListener listener : listeners) {
+                    listener.onEvent(event);
+                }
+            }
+        };
+    }
+
+    private static long recordPhase(final Map<String, Long> phaseTimes, final String phase, final long phaseStart) {
+        final long now = System.nanoTime();
+        phaseTimes.put(phase, TimeUnit.NANOSECONDS.toMillis(now - phaseStart));
+        return now;
+    }
+
+    /**
+     * Create an executor used to introspect and validate the resource models in parallel.
+     *
+     * @param taskCount number of resource models to be processed.
+     * @return new executor or {@code null} if the resource models should be processed in the
+     *         initializing thread.
+     */
+    private ExecutorService createModelExecutor(final int taskCount) {
+        final int parallelism = PropertiesHelper.getValue(configuration.getProperties(),
+                ServerProperties.RESOURCE_MODEL_PARALLELISM, Runtime.getRuntime().availableProcessors());
+        if (parallelism <= 1 || taskCount <= 1) {
+            return null;
+        }
+
+        return Executors.newFixedThreadPool(Math.min(parallelism, taskCount), new ThreadFactoryBuilder()
+                .setNameFormat("jersey-resource-model-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Invoke the tasks using the executor (or in the current thread if the executor is
+     * {@code null}) and return the task results in the order of the submitted tasks.
+     */
+    private static <T> List<T> invokeAll(final ExecutorService executor, final List<Callable<T>> tasks) {
+        final List<T> results = new ArrayList<T>(tasks.size());
+        try {
+            if (executor == null) {
+                for (Callable<T> task : tasks) {
+                    results.add(task.call());
+                }
+            } else {
+                for (Future<T> future : executor.invokeAll(tasks)) {
+                    results.add(future.get());
+                }
+            }
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ProcessingException(cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ProcessingException(ex);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new ProcessingException(ex);
+        }
+        return results;
+    }
+
+    /**
+     * Introspect the root resource classes. Issues found during the introspection are
+     * merged into the supplied issue list in the order of the resource classes.
+     */
+    private List<Resource.Builder> introspect(final ExecutorService executor,
+                                              final List<Class<?>> resourceClasses,
+                                              final List<ResourceModelIssue> modelIssues,
+                                              final Map<String, Resource.Builder> pathToResourceBuilderMap) {
+        final List<Callable<ModelResult<Resource.Builder>>> tasks =
+                new ArrayList<Callable<ModelResult<Resource.Builder>>>(resourceClasses.size());
+        for (final Class<?> c : resourceClasses) {
+            tasks.add(new Callable<ModelResult<Resource.Builder>>() {
+
+                @Override
+                public ModelResult<Resource.Builder> call() {
+                    final List<ResourceModelIssue> issues = Lists.newLinkedList();
+                    try {
+                        return new ModelResult<Resource.Builder>(Resource.builder(c, issues), issues);
+                    } catch (IllegalArgumentException ex) {
+                        LOGGER.warning(ex.getMessage());
+                        return new ModelResult<Resource.Builder>(null, issues);
+                    }
+                }
+            });
+        }
+
+        final List<Resource.Builder> builders = new LinkedList<Resource.Builder>();
+        final List<ModelResult<Resource.Builder>> results = invokeAll(executor, tasks);
+        for (int i = 0; i < results.size(); i++) {
+            final ModelResult<Resource.Builder> result = results.get(i);
+            modelIssues.addAll(result.issues);
+            if (result.value != null) {
+                builders.add(result.value);
+                pathToResourceBuilderMap.put(Resource.getPath(resourceClasses.get(i)).value(), result.value);
+            }
+        }
+        return builders;
+    }
+
+    /**
+     * Result of a resource model task together with the model issues found by the task.
+     */
+    private static final class ModelResult<T> {
+
+        private final T value;
+        private final List<ResourceModelIssue> issues;
+
+        private ModelResult(final T value, final List<ResourceModelIssue> issues) {
+            this.value = value;
+            this.issues = issues;
+        }
     }
 
     private Application createApplication(Class<? extends Application> applicationClass) {
@@ -420,27 +814,48 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         dynamicBinderFactory.commit();
     }
 
-    private List<Resource> buildAndValidate(List<Resource.Builder> resources, List<ResourceModelIssue> modelIssues, MessageBodyWorkers workers) {
-        final List<Resource> result = new ArrayList<Resource>(resources.size());
-
-        ResourceModelValidator validator = new BasicValidator(modelIssues, workers);
+    private List<Resource> buildAndValidate(final ExecutorService executor,
+                                            final List<Resource.Builder> resources,
+                                            final List<ResourceModelIssue> modelIssues,
+                                            final MessageBodyWorkers workers) {
+        final List<Callable<ModelResult<Resource>>> tasks = new ArrayList<Callable<ModelResult<Resource>>>(resources.size());
+        for (final Resource.Builder rb : resources) {
+            tasks.add(new Callable<ModelResult<Resource>>() {
+
+                @Override
+                public ModelResult<Resource> call() {
+                    final Resource r = rb.build();
+                    final ResourceModelValidator validator =
+                            new BasicValidator(new LinkedList<ResourceModelIssue>(), workers);
+                    validator.validate(r);
+                    return new ModelResult<Resource>(r, validator.getIssueList());
+                }
+            });
+        }
 
-        for (Resource.Builder rb : resources) {
-            final Resource r = rb.build();
-            result.add(r);
-            validator.validate(r);
+        // merge resources and validation issues in the original order to keep the model deterministic
+        final List<Resource> result = new ArrayList<Resource>(resources.size());
+        for (ModelResult<Resource> resourceResult : invokeAll(executor, tasks)) {
+            result.add(resourceResult.value);
+            modelIssues.addAll(resourceResult.issues);
         }
-        processIssues(validator);
+        processIssues(modelIssues);
 
         return result;
     }
 
-    private void processIssues(ResourceModelValidator validator) {
+    private void processIssues(final List<ResourceModelIssue> issueList) {
+        boolean fatalIssuesFound = false;
+        for (ResourceModelIssue issue : issueList) {
+            if (issue.isFatal()) {
+                fatalIssuesFound = true;
+                break;
+            }
+        }
 
-        final List<ResourceModelIssue> issueList = validator.getIssueList();
         if (!issueList.isEmpty()) {
-            final String allIssueMessages = allIssueLogMessages(validator.getIssueList());
-            if (validator.fatalIssuesFound()) {
+            final String allIssueMessages = allIssueLogMessages(issueList);
+            if (fatalIssuesFound) {
                 LOGGER.severe(
                         LocalizationMessages.ERRORS_AND_WARNINGS_DETECTED_WITH_RESOURCE_CLASSES(allIssueMessages));
             } else {
@@ -449,7 +864,7 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
             }
         }
 
-        if (validator.fatalIssuesFound()) {
+        if (fatalIssuesFound) {
             throw new ModelValidationException(issueList);
         }
     }
@@ -477,6 +892,7 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
      */
     @Override
     public Future<Response> apply(final Request request) {
+        final RequestEventNotifier notifier = createRequestEventNotifier(request);
 
         final ContainerResponseWriter containerResponseWriter = new ContainerResponseWriter() {
             @Override
@@ -514,15 +930,15 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
 
             @Override
             protected Response handleResponse(Response response) {
-                ApplicationHandler.this.writeResponse(containerResponseWriter, request, response);
+                ApplicationHandler.this.writeResponse(containerResponseWriter, request, response, notifier);
                 return (request.getMethod().equals(HttpMethod.HEAD) ? stripEntity(response) : response);
             }
 
             @Override
             protected Response handleFailure(Throwable exception) {
-                final Response response = ApplicationHandler.handleFailure(exception);
+                final Response response = ApplicationHandler.this.handleFailure(exception);
                 ApplicationHandler.this.writeResponse(containerResponseWriter, request,
-                        response);
+                        response, notifier);
                 return response;
             }
 
@@ -530,12 +946,12 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
             protected Response handleTimeout(InvocationContext context) {
                 final Response response = ApplicationHandler.prepareTimeoutResponse(context);
                 ApplicationHandler.this.writeResponse(containerResponseWriter, request,
-                        response);
+                        response, notifier);
                 return response;
             }
         };
 
-        apply(request, callback, DEFAULT_SECURITY_CONTEXT, null);
+        apply(request, callback, DEFAULT_SECURITY_CONTEXT, null, notifier);
 
         return callback;
     }
@@ -570,29 +986,30 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
      */
     public void apply(final ContainerRequestContext containerContext) {
         checkContainerRequestContext(containerContext);
+        final RequestEventNotifier notifier = createRequestEventNotifier(containerContext.getRequest());
 
         final ContainerResponseWriterCallback callback = new ContainerResponseWriterCallback(containerContext.getRequest(),
                 containerContext.getResponseWriter()) {
 
             @Override
             protected void writeResponse(Response response) {
-                ApplicationHandler.this.writeResponse(containerContext.getResponseWriter(), request, response);
+                ApplicationHandler.this.writeResponse(containerContext.getResponseWriter(), request, response, notifier);
             }
 
             @Override
             protected void writeResponse(Throwable exception) {
                 ApplicationHandler.this.writeResponse(containerContext.getResponseWriter(), request,
-                        ApplicationHandler.handleFailure(exception));
+                        ApplicationHandler.this.handleFailure(exception), notifier);
             }
 
             @Override
             protected void writeTimeoutResponse(InvocationContext context) {
                 ApplicationHandler.this.writeResponse(containerContext.getResponseWriter(), request,
-                        ApplicationHandler.prepareTimeoutResponse(context));
+                        ApplicationHandler.prepareTimeoutResponse(context), notifier);
             }
         };
         apply(containerContext.getRequest(), callback, containerContext.getSecurityContext(),
-                containerContext.getRequestScopedInitializer());
+                containerContext.getRequestScopedInitializer(), notifier);
 
         callback.suspendWriterIfRunning();
     }
@@ -615,9 +1032,10 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
      *                                transformation is done, suspended, resumed etc. Must not be {@code null}.
      * @param securityContext         custom security context.
      * @param requestScopeInitializer custom request-scoped initializer.
+     * @param notifier                request event notifier, {@code null} if there is no request event listener.
      */
     private void apply(final Request request, final InvocationCallback callback, final SecurityContext securityContext,
-                       final RequestScopedInitializer requestScopeInitializer) {
+                       final RequestScopedInitializer requestScopeInitializer, final RequestEventNotifier notifier) {
         requestScope.runInScope(new Runnable() {
 
             @Override
@@ -625,6 +1043,9 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
                 try {
                     // TODO move to initialization stage
                     initRequestScopeInjections(securityContext, requestScopeInitializer);
+                    if (notifier != null) {
+                        requestEventNotifierRefFactory.get().set(notifier);
+                    }
 
                     invoker.apply(request, callback);
                 } finally {
@@ -634,6 +1055,16 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         });
     }
 
+    /**
+     * Create the request event notifier of a request.
+     *
+     * @param request processed request.
+     * @return request event notifier or {@code null} if there is no request event listener.
+     */
+    private RequestEventNotifier createRequestEventNotifier(final Request request) {
+        return (requestEventListener == null) ? null : new RequestEventNotifier(requestEventListener, request);
+    }
+
     private void initRequestScopeInjections(SecurityContext securityContext, RequestScopedInitializer requestScopeInitializer) {
         final Ref<SecurityContext> secReference = securityContextRefFactory.get();
         secReference.set(securityContext);
@@ -648,15 +1079,24 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         if (response == null) {
             response = Response.serverError().entity("Request processing has timed out.").type(MediaType.TEXT_PLAIN).build();
         }
+        // complete the timed out invocation so that a late resume is ignored and the stages
+        // waiting for the invocation end (e.g. admission control) are notified
+        context.cancel();
         return response;
     }
 
-    private static Response handleFailure(Throwable failure) {
+    private Response handleFailure(Throwable failure) {
         Response.StatusType statusCode = Response.Status.INTERNAL_SERVER_ERROR;
         String message = failure.getMessage();
 
         if (failure instanceof ProcessingException) {
-            if (failure instanceof HeaderValueException) {
+            if (failure.getCause() instanceof RejectedExecutionException) {
+                // the processing executor is exhausted or shut down - let the client retry later
+                LOGGER.log(Level.FINE, message, failure);
+                return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                        .header("Retry-After", processingRetryAfter)
+                        .build();
+            } else if (failure instanceof HeaderValueException) {
                 statusCode = Response.Status.BAD_REQUEST;
                 // keep exception message
             } else if (failure instanceof InflectorNotFoundException) {
@@ -692,8 +1132,14 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         }
     }
 
-    private void writeResponse(final ContainerResponseWriter writer, final Request request, Response response) {
+    private void writeResponse(final ContainerResponseWriter writer, final Request request, Response response,
+                               final RequestEventNotifier notifier) {
+        if (notifier != null) {
+            notifier.notify(RequestEvent.Type.RESPONSE_READY, request, response);
+        }
+
         CommittingOutputStream committingOutput = null;
+        byte[] outboundBuffer = null;
         final MessageBodySizeCallback messageBodySizeCallback = new MessageBodySizeCallback();
 
         try {
@@ -736,7 +1182,9 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
 
                     @Override
                     protected void commit() throws IOException {
-                        output = writer.writeResponseStatusAndHeaders(messageBodySizeCallback.getSize(), outResponse);
+                        final long size = messageBodySizeCallback.getSize();
+                        output = writer.writeResponseStatusAndHeaders(
+                                (size < 0) ? getBufferedContentLength() : size, outResponse);
                     }
 
                     @Override
@@ -745,9 +1193,21 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
                     }
                 };
 
+                final boolean writeEntity = !request.getMethod().equals(HttpMethod.HEAD);
+                // streamed entities flush their output and must not be held back by the buffer
+                if (writeEntity && outboundBufferSize > 0
+                        && !(entity instanceof ChunkedResponse) && !(entity instanceof StreamingOutput)) {
+                    outboundBuffer = acquireOutboundBuffer();
+                    committingOutput.enableBuffering(outboundBuffer);
+                }
+
                 workers.writeTo(entity, GenericType.of(entity.getClass(), entityType), outputAnnotations, outputMediaType,
                         response.getMetadata(), response.getProperties(), committingOutput, messageBodySizeCallback,
-                        true, !request.getMethod().equals(HttpMethod.HEAD));
+                        true, writeEntity);
+                committingOutput.finish();
+                if (notifier != null) {
+                    notifier.notify(RequestEvent.Type.ENTITY_WRITTEN, request, response);
+                }
             } else {
                 writer.writeResponseStatusAndHeaders(0, response);
             }
@@ -757,7 +1217,28 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         } finally {
             commitOutputStream(committingOutput);
             writer.commit();
+            if (outboundBuffer != null) {
+                outboundBuffers.set(outboundBuffer);
+            }
+            if (notifier != null) {
+                notifier.notify(RequestEvent.Type.FINISHED, request, response);
+            }
+        }
+    }
+
+    /**
+     * Get an outbound entity buffer for the current thread. The buffer has to be returned
+     * to the thread-local storage once the response is written.
+     *
+     * @return outbound entity buffer.
+     */
+    private byte[] acquireOutboundBuffer() {
+        final byte[] buffer = outboundBuffers.get();
+        if (buffer == null || buffer.length != outboundBufferSize) {
+            return new byte[outboundBufferSize];
         }
+        outboundBuffers.remove();
+        return buffer;
     }
 
     /**
@@ -772,7 +1253,9 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
 
         if (!committingOutput.isCommitted()) {
             try {
-                // Commit the OutputStream.
+                // The entity has not been completely written - discard the (partial) buffered entity
+                // and commit the OutputStream.
+                committingOutput.enableBuffering(null);
                 committingOutput.flush();
             } catch (Exception ioe) {
                 // Do nothing - we are already handling an exception.
@@ -798,6 +1281,66 @@ public final class ApplicationHandler implements Inflector<Request, Future<Respo
         return refs.providers.get();
     }
 
+    /**
+     * Get the run-time statistics of the admission control.
+     *
+     * @return admission control statistics or {@code null} if the admission control
+     *         is not enabled by the {@link ServerProperties#ADMISSION_LIMIT} property.
+     */
+    public AdmissionStatistics getAdmissionStatistics() {
+        return admissionStatistics;
+    }
+
+    /**
+     * Get the run-time statistics of the response cache.
+     *
+     * @return response cache statistics or {@code null} if the response cache is not
+     *         enabled by the {@link ServerProperties#RESPONSE_CACHE_SIZE} property.
+     */
+    public ResponseCacheStatistics getResponseCacheStatistics() {
+        return responseCacheStatistics;
+    }
+
+    /**
+     * Get the request processing statistics.
+     *
+     * @return request statistics or {@code null} if the statistics are not enabled by the
+     *         {@link ServerProperties#MONITORING_STATISTICS_ENABLED} property.
+     */
+    public RequestStatistics getRequestStatistics() {
+        return requestStatistics;
+    }
+
+    /**
+     * Release the resources held by the application handler, i.e. shut down the built-in
+     * {@link ServerProperties#PROCESSING_MODE processing executors} and unregister the MBean of the
+     * {@link #getRequestStatistics() request statistics}. The method is invoked by the containers
+     * once the application is undeployed or replaced by a reloaded one. Invoking the method more
+     * than once has no effect.
+     */
+    public void destroy() {
+        final ProcessingExecutorsProvider executors = processingExecutors;
+        if (executors != null) {
+            processingExecutors = null;
+            ProcessingExecutors.shutdown(executors);
+        }
+
+        final ObjectName objectName = requestStatisticsName;
+        if (objectName == null) {
+            return;
+        }
+        requestStatisticsName = null;
+
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+        } catch (JMException ex) {
+            LOGGER.log(Level.WARNING, LocalizationMessages.REQUEST_STATISTICS_MBEAN_NOT_UNREGISTERED(objectName), ex);
+        }
+    }
+
     /**
      * Get the application configuration.
      *
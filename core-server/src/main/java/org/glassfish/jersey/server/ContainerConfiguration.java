@@ -0,0 +1,452 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.glassfish.jersey.server.monitoring.WorkerPool;
+
+/**
+ * Immutable network and threading configuration of an HTTP server created by one
+ * of the Jersey container server factories.
+ * <p/>
+ * The configuration bounds the {@link WorkerPool worker pool} processing the requests
+ * and tunes the connection handling of the server, e.g.:
+ * <pre>
+ * ContainerConfiguration configuration = ContainerConfiguration.builder()
+ *         .workerThreads(64)
+ *         .workerQueueCapacity(256)
+ *         .backlog(1024)
+ *         .keepAliveMaxRequests(100)
+ *         .build();
+ * HttpServer server = GrizzlyHttpServerFactory.createHttpServer(uri, resourceConfig, configuration);
+ * </pre>
+ * Not every server supports every setting. Settings a server does not support are ignored
+ * by its factory, see the documentation of the particular factory. Settings that have not
+ * been set explicitly keep the server defaults unless a Jersey default is documented.
+ */
+public final class ContainerConfiguration {
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerConfiguration.class.getName());
+
+    /**
+     * Default maximum number of worker threads, i.e. four times the number of available
+     * processors, but at least {@code 16}.
+     */
+    public static final int DEFAULT_WORKER_THREADS = Math.max(16, 4 * Runtime.getRuntime().availableProcessors());
+    /**
+     * Default maximum number of requests waiting for a free worker thread.
+     */
+    public static final int DEFAULT_WORKER_QUEUE_CAPACITY = 1024;
+    /**
+     * Default time in seconds after which an idle worker thread is released.
+     */
+    public static final int DEFAULT_WORKER_IDLE_TIMEOUT = 60;
+
+    private static final ContainerConfiguration DEFAULT = builder().build();
+
+    private final int workerThreads;
+    private final int workerQueueCapacity;
+    private final int workerIdleTimeout;
+    private final Integer selectorThreads;
+    private final Integer backlog;
+    private final Boolean tcpNoDelay;
+    private final Integer readBufferSize;
+    private final Integer writeBufferSize;
+    private final Integer keepAliveMaxRequests;
+    private final Integer keepAliveIdleTimeout;
+    private final boolean jmxEnabled;
+
+    private ContainerConfiguration(final Builder builder) {
+        this.workerThreads = builder.workerThreads;
+        this.workerQueueCapacity = builder.workerQueueCapacity;
+        this.workerIdleTimeout = builder.workerIdleTimeout;
+        this.selectorThreads = builder.selectorThreads;
+        this.backlog = builder.backlog;
+        this.tcpNoDelay = builder.tcpNoDelay;
+        this.readBufferSize = builder.readBufferSize;
+        this.writeBufferSize = builder.writeBufferSize;
+        this.keepAliveMaxRequests = builder.keepAliveMaxRequests;
+        this.keepAliveIdleTimeout = builder.keepAliveIdleTimeout;
+        this.jmxEnabled = builder.jmxEnabled;
+    }
+
+    /**
+     * Get the default container configuration.
+     *
+     * @return default container configuration.
+     */
+    public static ContainerConfiguration getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Create a new container configuration builder.
+     *
+     * @return new container configuration builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Get the maximum number of worker threads.
+     *
+     * @return maximum number of worker threads.
+     */
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    /**
+     * Get the maximum number of requests waiting for a free worker thread.
+     *
+     * @return worker queue capacity, {@code 0} if requests are never queued or a negative
+     *         value if the queue is unbounded.
+     */
+    public int getWorkerQueueCapacity() {
+        return workerQueueCapacity;
+    }
+
+    /**
+     * Get the time after which an idle worker thread is released.
+     *
+     * @return worker thread idle timeout in seconds.
+     */
+    public int getWorkerIdleTimeout() {
+        return workerIdleTimeout;
+    }
+
+    /**
+     * Get the number of selector (acceptor) threads.
+     *
+     * @return number of selector threads or {@code null} to keep the server default.
+     */
+    public Integer getSelectorThreads() {
+        return selectorThreads;
+    }
+
+    /**
+     * Get the maximum number of pending connections in the server socket backlog.
+     *
+     * @return server socket backlog or {@code null} to keep the server default.
+     */
+    public Integer getBacklog() {
+        return backlog;
+    }
+
+    /**
+     * Get the {@code TCP_NODELAY} option of the accepted connections.
+     *
+     * @return {@code TCP_NODELAY} option value or {@code null} to keep the server default.
+     */
+    public Boolean getTcpNoDelay() {
+        return tcpNoDelay;
+    }
+
+    /**
+     * Get the socket receive buffer size of the accepted connections.
+     *
+     * @return receive buffer size in bytes or {@code null} to keep the server default.
+     */
+    public Integer getReadBufferSize() {
+        return readBufferSize;
+    }
+
+    /**
+     * Get the socket send buffer size of the accepted connections.
+     *
+     * @return send buffer size in bytes or {@code null} to keep the server default.
+     */
+    public Integer getWriteBufferSize() {
+        return writeBufferSize;
+    }
+
+    /**
+     * Get the maximum number of requests served over a single keep-alive connection.
+     *
+     * @return maximum number of requests per connection, a negative value for an unlimited
+     *         number of requests or {@code null} to keep the server default.
+     */
+    public Integer getKeepAliveMaxRequests() {
+        return keepAliveMaxRequests;
+    }
+
+    /**
+     * Get the time after which an idle keep-alive connection is closed.
+     *
+     * @return keep-alive idle timeout in seconds or {@code null} to keep the server default.
+     */
+    public Integer getKeepAliveIdleTimeout() {
+        return keepAliveIdleTimeout;
+    }
+
+    /**
+     * Check whether the worker pool statistics are registered as a JMX MBean.
+     *
+     * @return {@code true} if the worker pool MBean is registered.
+     */
+    public boolean isJmxEnabled() {
+        return jmxEnabled;
+    }
+
+    /**
+     * Create a new worker pool as configured, processing the requests on the submitting
+     * thread once saturated. If {@link #isJmxEnabled() enabled}, the pool statistics are
+     * {@link WorkerPool#registerMBean() registered} in the platform MBean server under the
+     * {@code org.glassfish.jersey:type=WorkerPool,name=<name>,id=<sequence number>} object name.
+     * The container must {@link WorkerPool#shutdown() shut down} the pool once it is stopped.
+     *
+     * @param name worker pool name, also used as the worker thread name prefix.
+     * @return new worker pool.
+     */
+    public WorkerPool createWorkerPool(final String name) {
+        return createWorkerPool(name, WorkerPool.SaturationPolicy.CALLER_RUNS);
+    }
+
+    /**
+     * Create a new worker pool as configured and, if {@link #isJmxEnabled() enabled},
+     * register its statistics in the platform MBean server under the
+     * {@code org.glassfish.jersey:type=WorkerPool,name=<name>,id=<sequence number>} object name.
+     * The container must {@link WorkerPool#shutdown() shut down} the pool once it is stopped.
+     *
+     * @param name             worker pool name, also used as the worker thread name prefix.
+     * @param saturationPolicy policy applied to the requests submitted to the saturated pool.
+     * @return new worker pool.
+     */
+    public WorkerPool createWorkerPool(final String name, final WorkerPool.SaturationPolicy saturationPolicy) {
+        final WorkerPool pool = new WorkerPool(name, workerThreads, workerQueueCapacity,
+                workerIdleTimeout, TimeUnit.SECONDS, saturationPolicy);
+
+        if (jmxEnabled) {
+            try {
+                pool.registerMBean();
+            } catch (JMException ex) {
+                LOGGER.log(Level.WARNING, LocalizationMessages.WORKER_POOL_MBEAN_NOT_REGISTERED(name), ex);
+            }
+        }
+
+        return pool;
+    }
+
+    /**
+     * {@link ContainerConfiguration} builder.
+     */
+    public static final class Builder {
+
+        private int workerThreads = DEFAULT_WORKER_THREADS;
+        private int workerQueueCapacity = DEFAULT_WORKER_QUEUE_CAPACITY;
+        private int workerIdleTimeout = DEFAULT_WORKER_IDLE_TIMEOUT;
+        private Integer selectorThreads;
+        private Integer backlog;
+        private Boolean tcpNoDelay;
+        private Integer readBufferSize;
+        private Integer writeBufferSize;
+        private Integer keepAliveMaxRequests;
+        private Integer keepAliveIdleTimeout;
+        private boolean jmxEnabled = true;
+
+        private Builder() {
+        }
+
+        /**
+         * Set the maximum number of worker threads.
+         * <p/>
+         * The default value is {@link #DEFAULT_WORKER_THREADS}.
+         *
+         * @param workerThreads maximum number of worker threads. Must be positive.
+         * @return updated builder.
+         */
+        public Builder workerThreads(final int workerThreads) {
+            if (workerThreads <= 0) {
+                throw new IllegalArgumentException("Number of worker threads must be positive: " + workerThreads);
+            }
+            this.workerThreads = workerThreads;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of requests waiting for a free worker thread.
+         * <p/>
+         * The default value is <code>{@value #DEFAULT_WORKER_QUEUE_CAPACITY}</code>.
+         *
+         * @param workerQueueCapacity worker queue capacity. If zero, requests are never queued;
+         *                            if negative, the queue is unbounded.
+         * @return updated builder.
+         */
+        public Builder workerQueueCapacity(final int workerQueueCapacity) {
+            this.workerQueueCapacity = workerQueueCapacity;
+            return this;
+        }
+
+        /**
+         * Set the time after which an idle worker thread is released.
+         * <p/>
+         * The default value is <code>{@value #DEFAULT_WORKER_IDLE_TIMEOUT}</code> seconds.
+         *
+         * @param workerIdleTimeout worker thread idle timeout in seconds. Must be positive.
+         * @return updated builder.
+         */
+        public Builder workerIdleTimeout(final int workerIdleTimeout) {
+            if (workerIdleTimeout <= 0) {
+                throw new IllegalArgumentException("Worker idle timeout must be positive: " + workerIdleTimeout);
+            }
+            this.workerIdleTimeout = workerIdleTimeout;
+            return this;
+        }
+
+        /**
+         * Set the number of selector (acceptor) threads.
+         *
+         * @param selectorThreads number of selector threads. Must be positive.
+         * @return updated builder.
+         */
+        public Builder selectorThreads(final int selectorThreads) {
+            if (selectorThreads <= 0) {
+                throw new IllegalArgumentException("Number of selector threads must be positive: " + selectorThreads);
+            }
+            this.selectorThreads = selectorThreads;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of pending connections in the server socket backlog.
+         *
+         * @param backlog server socket backlog. Must be positive.
+         * @return updated builder.
+         */
+        public Builder backlog(final int backlog) {
+            if (backlog <= 0) {
+                throw new IllegalArgumentException("Backlog must be positive: " + backlog);
+            }
+            this.backlog = backlog;
+            return this;
+        }
+
+        /**
+         * Set the {@code TCP_NODELAY} option of the accepted connections.
+         *
+         * @param tcpNoDelay {@code TCP_NODELAY} option value.
+         * @return updated builder.
+         */
+        public Builder tcpNoDelay(final boolean tcpNoDelay) {
+            this.tcpNoDelay = tcpNoDelay;
+            return this;
+        }
+
+        /**
+         * Set the socket receive buffer size of the accepted connections.
+         *
+         * @param readBufferSize receive buffer size in bytes. Must be positive.
+         * @return updated builder.
+         */
+        public Builder readBufferSize(final int readBufferSize) {
+            if (readBufferSize <= 0) {
+                throw new IllegalArgumentException("Buffer size must be positive: " + readBufferSize);
+            }
+            this.readBufferSize = readBufferSize;
+            return this;
+        }
+
+        /**
+         * Set the socket send buffer size of the accepted connections.
+         *
+         * @param writeBufferSize send buffer size in bytes. Must be positive.
+         * @return updated builder.
+         */
+        public Builder writeBufferSize(final int writeBufferSize) {
+            if (writeBufferSize <= 0) {
+                throw new IllegalArgumentException("Buffer size must be positive: " + writeBufferSize);
+            }
+            this.writeBufferSize = writeBufferSize;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of requests served over a single keep-alive connection.
+         *
+         * @param keepAliveMaxRequests maximum number of requests per connection, a negative value
+         *                             for an unlimited number of requests.
+         * @return updated builder.
+         */
+        public Builder keepAliveMaxRequests(final int keepAliveMaxRequests) {
+            this.keepAliveMaxRequests = keepAliveMaxRequests;
+            return this;
+        }
+
+        /**
+         * Set the time after which an idle keep-alive connection is closed.
+         *
+         * @param keepAliveIdleTimeout keep-alive idle timeout in seconds.
+         * @return updated builder.
+         */
+        public Builder keepAliveIdleTimeout(final int keepAliveIdleTimeout) {
+            this.keepAliveIdleTimeout = keepAliveIdleTimeout;
+            return this;
+        }
+
+        /**
+         * Set whether the worker pool statistics should be registered as a JMX MBean.
+         * <p/>
+         * The default value is {@code true}.
+         *
+         * @param jmxEnabled {@code true} to register the worker pool MBean.
+         * @return updated builder.
+         */
+        public Builder jmxEnabled(final boolean jmxEnabled) {
+            this.jmxEnabled = jmxEnabled;
+            return this;
+        }
+
+        /**
+         * Build the container configuration.
+         *
+         * @return new immutable container configuration.
+         */
+        public ContainerConfiguration build() {
+            return new ContainerConfiguration(this);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.process.internal.InvocationContext;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+/**
+ * Utility that defers the processing of the end of a resource method invocation
+ * until the response of a {@link InvocationContext#suspend() suspended} invocation
+ * is available.
+ * <p/>
+ * Stages wrapping the matched inflector (e.g. to release a concurrency permit or to
+ * measure the invocation latency) cannot rely on the inflector return for suspended
+ * invocations, since the response is produced later by the resuming thread.
+ */
+final class InvocationCompletion {
+
+    /**
+     * Callback notified about the end of a resource method invocation.
+     */
+    static interface Callback {
+
+        /**
+         * Invoked once the resource method invocation has finished.
+         *
+         * @param response invocation response or {@code null} if the invocation failed,
+         *                 was cancelled or timed out.
+         */
+        void completed(Response response);
+    }
+
+    /**
+     * Notify the callback about the end of the resource method invocation of the current request.
+     * <p/>
+     * Unless the invocation context has been suspended, the callback is notified immediately
+     * with the response returned by the inflector. Otherwise the callback is notified once the
+     * invocation is resumed or cancelled (which includes the suspend timeout expiration).
+     *
+     * @param context  invocation context of the current request.
+     * @param returned response returned by the inflector, may be {@code null}.
+     * @param callback callback to be notified.
+     */
+    static void notifyOnCompletion(final InvocationContext context, final Response returned, final Callback callback) {
+        final Future<Response> inflectedResponse = context.getInflectedResponse();
+        if (context.state() != InvocationContext.State.SUSPENDED || !(inflectedResponse instanceof ListenableFuture)) {
+            callback.completed(returned);
+            return;
+        }
+
+        ((ListenableFuture<Response>) inflectedResponse).addListener(new Runnable() {
+
+            @Override
+            public void run() {
+                Response response = null;
+                try {
+                    response = Uninterruptibles.getUninterruptibly(inflectedResponse);
+                } catch (ExecutionException failed) {
+                    // the invocation finished with an exception
+                } catch (CancellationException cancelled) {
+                    // the invocation has been cancelled or timed out
+                }
+                callback.completed(response);
+            }
+        }, MoreExecutors.sameThreadExecutor());
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private InvocationCompletion() {
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+/**
+ * Produces the {@link RequestEvent request processing events} of a single request
+ * and notifies the application {@link RequestEventListener request event listener}.
+ * <p/>
+ * A notifier is created only if there is a request event listener registered in the
+ * application; the request processing does not produce any events otherwise.
+ */
+final class RequestEventNotifier {
+
+    private final RequestEventListener listener;
+    private volatile RequestEvent lastEvent;
+    private volatile ResourceMethod resourceMethod;
+
+    /**
+     * Create new request event notifier and notify the {@link RequestEvent.Type#START
+     * request processing start}.
+     *
+     * @param listener request event listener.
+     * @param request  processed request.
+     */
+    RequestEventNotifier(final RequestEventListener listener, final Request request) {
+        this.listener = listener;
+        notify(RequestEvent.Type.START, request, null);
+    }
+
+    /**
+     * Notify the listener about the resource method the request has been matched to.
+     *
+     * @param request        processed request.
+     * @param resourceMethod matched resource method, may be {@code null}.
+     */
+    void matched(final Request request, final ResourceMethod resourceMethod) {
+        this.resourceMethod = resourceMethod;
+        notify(RequestEvent.Type.MATCHED, request, null);
+    }
+
+    /**
+     * Notify the listener about a request processing event.
+     *
+     * @param type     event type.
+     * @param request  processed request.
+     * @param response processed response, may be {@code null}.
+     */
+    void notify(final RequestEvent.Type type, final Request request, final Response response) {
+        final RequestEvent event = new RequestEvent(type, System.nanoTime(), request, response, resourceMethod, lastEvent);
+        lastEvent = event;
+        listener.onEvent(event);
+    }
+}
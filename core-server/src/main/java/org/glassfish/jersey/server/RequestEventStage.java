@@ -0,0 +1,182 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.internal.util.collection.Pair;
+import org.glassfish.jersey.internal.util.collection.Ref;
+import org.glassfish.jersey.internal.util.collection.Tuples;
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.process.internal.AbstractChainableAcceptor;
+import org.glassfish.jersey.process.internal.InvocationContext;
+import org.glassfish.jersey.process.internal.LinearAcceptor;
+import org.glassfish.jersey.process.internal.RequestProcessor;
+import org.glassfish.jersey.server.model.ResourceMethodInvoker;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+
+import org.glassfish.hk2.Factory;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+
+/**
+ * Request accepting stages that produce the {@link RequestEvent request processing events}
+ * of the accepting chain.
+ * <p/>
+ * The stages are added to the accepting chain only if there is a request event listener
+ * registered in the application:
+ * <ul>
+ * <li>the {@link #matchingStart() matching start stage} follows the pre-matching request
+ * filtering stage,</li>
+ * <li>the {@link #matched() matched stage} follows the resource matching stage and</li>
+ * <li>the {@link #dispatch() dispatch stage} precedes the inflector extracting stage and
+ * wraps the matched inflector so that the end of the resource method invocation is
+ * reported. The end of a suspended invocation is reported once the invocation is resumed,
+ * cancelled or timed out.</li>
+ * </ul>
+ */
+final class RequestEventStage {
+
+    private final Factory<Ref<RequestEventNotifier>> notifierReferenceFactory;
+    private final Factory<RequestProcessor.AcceptingContext> acceptingContextFactory;
+    private final Factory<InvocationContext> invocationContextFactory;
+
+    /**
+     * Create new request event stages.
+     *
+     * @param notifierReferenceFactory request-scoped request event notifier reference provider.
+     * @param acceptingContextFactory  request processing accepting context provider.
+     * @param invocationContextFactory request invocation context provider.
+     */
+    RequestEventStage(final Factory<Ref<RequestEventNotifier>> notifierReferenceFactory,
+                      final Factory<RequestProcessor.AcceptingContext> acceptingContextFactory,
+                      final Factory<InvocationContext> invocationContextFactory) {
+        this.notifierReferenceFactory = notifierReferenceFactory;
+        this.acceptingContextFactory = acceptingContextFactory;
+        this.invocationContextFactory = invocationContextFactory;
+    }
+
+    /**
+     * Get the stage that reports the {@link RequestEvent.Type#MATCHING_START resource matching start}.
+     *
+     * @return matching start stage.
+     */
+    Function<Request, Request> matchingStart() {
+        return new Function<Request, Request>() {
+
+            @Override
+            public Request apply(final Request request) {
+                final RequestEventNotifier notifier = notifierReferenceFactory.get().get();
+                if (notifier != null) {
+                    notifier.notify(RequestEvent.Type.MATCHING_START, request, null);
+                }
+                return request;
+            }
+        };
+    }
+
+    /**
+     * Get the stage that reports the {@link RequestEvent.Type#MATCHED matched resource method}.
+     *
+     * @return matched stage.
+     */
+    Function<Request, Request> matched() {
+        return new Function<Request, Request>() {
+
+            @Override
+            public Request apply(final Request request) {
+                final RequestEventNotifier notifier = notifierReferenceFactory.get().get();
+                if (notifier != null) {
+                    final Optional<Inflector<Request, Response>> inflector = acceptingContextFactory.get().getInflector();
+                    if (inflector.isPresent() && inflector.get() instanceof ResourceMethodInvoker) {
+                        notifier.matched(request, ((ResourceMethodInvoker) inflector.get()).getResourceMethod());
+                    } else {
+                        notifier.matched(request, null);
+                    }
+                }
+                return request;
+            }
+        };
+    }
+
+    /**
+     * Get the stage that wraps the matched inflector to report the
+     * {@link RequestEvent.Type#DISPATCHED resource method invocation end}.
+     *
+     * @return dispatch stage.
+     */
+    AbstractChainableAcceptor dispatch() {
+        return new AbstractChainableAcceptor() {
+
+            @Override
+            public Pair<Request, Optional<LinearAcceptor>> apply(final Request request) {
+                final RequestEventNotifier notifier = notifierReferenceFactory.get().get();
+                final RequestProcessor.AcceptingContext acceptingContext = acceptingContextFactory.get();
+                final Optional<Inflector<Request, Response>> inflector = acceptingContext.getInflector();
+                if (notifier != null && inflector.isPresent()) {
+                    final Inflector<Request, Response> dispatched = inflector.get();
+                    acceptingContext.setInflector(new Inflector<Request, Response>() {
+
+                        @Override
+                        public Response apply(final Request data) {
+                            Response response = null;
+                            try {
+                                response = dispatched.apply(data);
+                                return response;
+                            } finally {
+                                InvocationCompletion.notifyOnCompletion(invocationContextFactory.get(), response,
+                                        new InvocationCompletion.Callback() {
+
+                                            @Override
+                                            public void completed(final Response completed) {
+                                                notifier.notify(RequestEvent.Type.DISPATCHED, data, completed);
+                                            }
+                                        });
+                            }
+                        }
+                    });
+                }
+                return Tuples.of(request, getDefaultNext());
+            }
+        };
+    }
+}
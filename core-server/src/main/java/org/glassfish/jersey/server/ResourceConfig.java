@@ -57,6 +57,7 @@ import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.internal.scanning.AnnotationAcceptingListener;
 import org.glassfish.jersey.server.internal.scanning.FilesScanner;
 import org.glassfish.jersey.server.internal.scanning.PackageNamesScanner;
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
 import org.glassfish.jersey.server.model.Resource;
 import static org.glassfish.jersey.server.ServerProperties.COMMON_DELIMITERS;
 
@@ -399,8 +400,14 @@ public class ResourceConfig extends Application implements FeaturesAndProperties
             rfs.add(new FilesScanner(classPathElements));
         }
 
+        final boolean useIndex = !isProperty(ServerProperties.RESOURCE_INDEX_DISABLED);
+
         AnnotationAcceptingListener afl = AnnotationAcceptingListener.newJaxrsResourceAndProviderListener(classLoader);
         for (ResourceFinder resourceFinder : rfs) {
+            if (useIndex && resourceFinder instanceof PackageNamesScanner && addIndexedClasses((PackageNamesScanner) resourceFinder, result)) {
+                continue;
+            }
+
             while (resourceFinder.hasNext()) {
                 final String next = resourceFinder.next();
                 if (afl.accept(next)) {
@@ -419,6 +426,35 @@ public class ResourceConfig extends Application implements FeaturesAndProperties
         return result;
     }
 
+    /**
+     * Add classes listed in the build-time resource index instead of scanning the packages.
+     *
+     * @param scanner package scanner whose packages should be looked up in the index.
+     * @param result  set the indexed classes are added to.
+     * @return {@code true} if all the scanned packages are covered by the index and the classes
+     *         were added, {@code false} if the packages have to be scanned.
+     */
+    private boolean addIndexedClasses(final PackageNamesScanner scanner, final Set<Class<?>> result) {
+        final Set<String> classNames = ResourceIndex.getIndexedClassNames(scanner.getClassLoader(), scanner.getPackages());
+        if (classNames == null) {
+            return false;
+        }
+
+        final Set<Class<?>> indexed = Sets.newLinkedHashSet();
+        for (String className : classNames) {
+            try {
+                indexed.add(ReflectionHelper.classForNameWithException(className, classLoader));
+            } catch (ClassNotFoundException e) {
+                // stale index - fall back to scanning
+                LOGGER.log(Level.CONFIG, LocalizationMessages.RESOURCE_INDEX_STALE(className));
+                return false;
+            }
+        }
+
+        result.addAll(indexed);
+        return true;
+    }
+
     private String[] parsePropertyValue(String propertyName) {
         String[] classNames = null;
         final Object o = properties.get(propertyName);
@@ -0,0 +1,176 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+import org.glassfish.jersey.server.internal.scanning.ResourceIndex;
+
+/**
+ * Annotation processor that generates a build-time index of JAX-RS root resource and provider
+ * classes.
+ * <p>
+ * The processor collects all classes annotated with {@link javax.ws.rs.Path @Path} or
+ * {@link javax.ws.rs.ext.Provider @Provider} that would be accepted by the package scanning
+ * and writes their names into the {@value ResourceIndex#RESOURCE_NAME} resource of the class output.
+ * When the index is present in every class-path element contributing to the packages configured via
+ * {@link ResourceConfig#packages(String...)} or {@link ServerProperties#PROVIDER_PACKAGES}, the
+ * classes are loaded directly from the index and the class files are not scanned at application startup.
+ * </p>
+ * <p>
+ * The processor is not registered as a service and has to be enabled explicitly, e.g. using the
+ * {@code -processor} option of {@code javac} or the {@code annotationProcessors} configuration of the
+ * Maven compiler plugin.
+ * </p>
+ *
+ * @see ServerProperties#RESOURCE_INDEX_DISABLED
+ */
+@SupportedAnnotationTypes({"javax.ws.rs.Path", "javax.ws.rs.ext.Provider"})
+public class ResourceIndexProcessor extends AbstractProcessor {
+
+    private final Set<String> indexedClassNames = new TreeSet<String>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            if (!indexedClassNames.isEmpty()) {
+                writeIndex();
+            }
+            return false;
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (isIndexable(element)) {
+                    indexedClassNames.add(
+                            processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString());
+                }
+            }
+        }
+
+        // do not claim the annotations, other processors may be interested too
+        return false;
+    }
+
+    /**
+     * Check the element is a type that would be accepted by the class-path scanning, i.e. a public
+     * top-level or a public static member type.
+     */
+    private static boolean isIndexable(final Element element) {
+        if (!(element instanceof TypeElement) || element.getKind() == ElementKind.ANNOTATION_TYPE) {
+            return false;
+        }
+
+        final TypeElement type = (TypeElement) element;
+        if (!type.getModifiers().contains(Modifier.PUBLIC)) {
+            return false;
+        }
+
+        final NestingKind nesting = type.getNestingKind();
+        return nesting == NestingKind.TOP_LEVEL
+                || (nesting == NestingKind.MEMBER && type.getModifiers().contains(Modifier.STATIC));
+    }
+
+    private void writeIndex() {
+        final Filer filer = processingEnv.getFiler();
+
+        // keep entries of classes that were not recompiled in an incremental build
+        try {
+            final FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", ResourceIndex.RESOURCE_NAME);
+            final InputStream in = existing.openInputStream();
+            try {
+                for (String className : ResourceIndex.read(in)) {
+                    if (processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                        indexedClassNames.add(className);
+                    }
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            // no previous index or not readable - ignore
+        } catch (IllegalArgumentException e) {
+            // resource location not supported by the filer - ignore
+        }
+
+        try {
+            final FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", ResourceIndex.RESOURCE_NAME);
+            final Writer writer = new OutputStreamWriter(index.openOutputStream(), "UTF-8");
+            try {
+                writer.write("# JAX-RS root resource and provider classes generated by ");
+                writer.write(ResourceIndexProcessor.class.getName());
+                writer.write('\n');
+                for (String className : indexedClassNames) {
+                    writer.write(className);
+                    writer.write('\n');
+                }
+            } finally {
+                writer.close();
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write " + ResourceIndex.RESOURCE_NAME + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,438 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+
+/**
+ * Bounded in-memory store of serialized responses used by the {@link ResponseCachingStage}.
+ * <p/>
+ * Entries are keyed by the request URI, the content negotiation request headers
+ * ({@code Accept}, {@code Accept-Encoding} and {@code Accept-Language}) and the values of
+ * the request headers listed in the {@code Vary} header of the cached response. The total
+ * size of the cached entities is limited; once exceeded, the least recently used entries
+ * are evicted.
+ *
+ * @see ServerProperties#RESPONSE_CACHE_SIZE
+ */
+final class ResponseCache implements ResponseCacheStatistics {
+
+    /**
+     * Request headers Jersey negotiates the response representation on. The headers are
+     * part of every cache key, even if not listed in the {@code Vary} response header.
+     */
+    private static final List<String> NEGOTIATED_HEADERS = Arrays.asList(
+            HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING, HttpHeaders.ACCEPT_LANGUAGE);
+    //
+    private final long maxSize;
+    private final boolean offHeap;
+    /**
+     * Access-ordered map of cache entries guarded by {@code this}.
+     */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true);
+    /**
+     * Names of the request headers the cached representations of a URI vary on, guarded by {@code this}.
+     * A URI is removed once its last cached representation is removed, so the map is bounded by
+     * the number of cache entries.
+     */
+    private final Map<String, UriVariants> variantsByUri = new HashMap<String, UriVariants>();
+    private long size;
+    //
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Create new response cache.
+     *
+     * @param maxSize maximum total size of the cached entities in bytes.
+     * @param offHeap if {@code true}, the cached entities are stored in direct byte buffers.
+     */
+    ResponseCache(final long maxSize, final boolean offHeap) {
+        this.maxSize = maxSize;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Get the maximum size of a single cached entity.
+     *
+     * @return maximum entity size in bytes.
+     */
+    long getMaxEntrySize() {
+        // a single entry must not flush the whole cache
+        return Math.max(1, maxSize / 4);
+    }
+
+    /**
+     * Get a fresh cached entry for the request.
+     *
+     * @param uri     request URI.
+     * @param request request.
+     * @return fresh cached entry or {@code null} if there is none.
+     */
+    Entry get(final String uri, final Request request) {
+        Entry entry = null;
+        synchronized (this) {
+            final UriVariants variants = variantsByUri.get(uri);
+            if (variants != null) {
+                final String key = key(uri, variants.vary, request);
+                final Entry cached = entries.get(key);
+                if (cached != null && !cached.isFresh()) {
+                    remove(key);
+                } else {
+                    entry = cached;
+                }
+            }
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Store a response in the cache.
+     *
+     * @param uri   request URI.
+     * @param vary  names of the request headers the response varies on.
+     * @param key   cache key of the request the response has been produced for, see
+     *              {@link #key(String, List, Request)}.
+     * @param entry cache entry.
+     */
+    void put(final String uri, final List<String> vary, final String key, final Entry entry) {
+        if (entry.size() > getMaxEntrySize()) {
+            return;
+        }
+
+        synchronized (this) {
+            // removing a replaced entry may remove the URI variants as well
+            remove(key);
+
+            UriVariants variants = variantsByUri.get(uri);
+            if (variants != null && !variants.vary.equals(vary)) {
+                // representations cached with a different Vary header would not be reachable anymore
+                invalidate(uri);
+                variants = null;
+            }
+            if (variants == null) {
+                variants = new UriVariants(vary);
+                variantsByUri.put(uri, variants);
+            }
+
+            entries.put(key, entry);
+            variants.count++;
+            size += entry.size();
+
+            final Iterator<Entry> iterator = entries.values().iterator();
+            while (size > maxSize && iterator.hasNext()) {
+                final Entry evicted = iterator.next();
+                iterator.remove();
+                removed(evicted);
+            }
+        }
+    }
+
+    /**
+     * Remove all cached representations of the URI.
+     *
+     * @param uri request URI.
+     */
+    synchronized void invalidate(final String uri) {
+        if (!variantsByUri.containsKey(uri)) {
+            return;
+        }
+
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            final Entry cached = iterator.next();
+            if (cached.uri.equals(uri)) {
+                iterator.remove();
+                removed(cached);
+            }
+        }
+        variantsByUri.remove(uri);
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    @Override
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Create a new cache entry.
+     *
+     * @param uri          request URI.
+     * @param status       response status code.
+     * @param headers      response headers.
+     * @param entity       serialized response entity.
+     * @param eTag         response entity tag, may be {@code null}.
+     * @param lastModified response last modification date, may be {@code null}.
+     * @param ttl          time to live in seconds.
+     * @return new cache entry.
+     */
+    Entry createEntry(final String uri,
+                      final int status,
+                      final Map<String, List<String>> headers,
+                      final byte[] entity,
+                      final EntityTag eTag,
+                      final Date lastModified,
+                      final long ttl) {
+        final ByteBuffer buffer;
+        if (offHeap) {
+            buffer = ByteBuffer.allocateDirect(entity.length);
+            buffer.put(entity);
+            buffer.flip();
+        } else {
+            buffer = ByteBuffer.wrap(entity);
+        }
+        return new Entry(uri, status, headers, buffer, eTag, lastModified, ttl);
+    }
+
+    private void remove(final String key) {
+        final Entry removed = entries.remove(key);
+        if (removed != null) {
+            removed(removed);
+        }
+    }
+
+    /**
+     * Update the bookkeeping once an entry has been removed from the entry map.
+     */
+    private void removed(final Entry entry) {
+        size -= entry.size();
+
+        final UriVariants variants = variantsByUri.get(entry.uri);
+        if (variants != null && --variants.count <= 0) {
+            variantsByUri.remove(entry.uri);
+        }
+    }
+
+    /**
+     * Get the cache key of the request, consisting of the request URI and the values of the
+     * negotiated request headers and of the request headers listed in the {@code Vary} header.
+     *
+     * @param uri     request URI.
+     * @param vary    names of the request headers the response varies on.
+     * @param request request.
+     * @return cache key.
+     */
+    static String key(final String uri, final List<String> vary, final Request request) {
+        final StringBuilder key = new StringBuilder(uri);
+        for (String header : NEGOTIATED_HEADERS) {
+            appendHeader(key, header, request);
+        }
+        for (String header : vary) {
+            if (!isNegotiated(header)) {
+                appendHeader(key, header, request);
+            }
+        }
+        return key.toString();
+    }
+
+    private static void appendHeader(final StringBuilder key, final String header, final Request request) {
+        final String value = request.getHeaders().getHeader(header);
+        key.append('\n').append(header.toLowerCase(Locale.ENGLISH)).append(':');
+        if (value != null) {
+            key.append(value);
+        }
+    }
+
+    private static boolean isNegotiated(final String header) {
+        for (String negotiated : NEGOTIATED_HEADERS) {
+            if (negotiated.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cached representations of a URI.
+     */
+    private static final class UriVariants {
+
+        private final List<String> vary;
+        private int count;
+
+        private UriVariants(final List<String> vary) {
+            this.vary = vary;
+        }
+    }
+
+    /**
+     * Cached response.
+     */
+    static final class Entry {
+
+        private final String uri;
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final ByteBuffer entity;
+        private final EntityTag eTag;
+        private final Date lastModified;
+        private final long created;
+        private final long expires;
+
+        private Entry(final String uri,
+                      final int status,
+                      final Map<String, List<String>> headers,
+                      final ByteBuffer entity,
+                      final EntityTag eTag,
+                      final Date lastModified,
+                      final long ttl) {
+            this.uri = uri;
+            this.status = status;
+            this.headers = Collections.unmodifiableMap(headers);
+            this.entity = entity;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.created = System.nanoTime();
+            this.expires = created + TimeUnit.SECONDS.toNanos(ttl);
+        }
+
+        int getStatus() {
+            return status;
+        }
+
+        Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        EntityTag getEntityTag() {
+            return eTag;
+        }
+
+        Date getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Get the time the entry has been cached for.
+         *
+         * @return age of the entry in seconds.
+         */
+        long getAge() {
+            return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - created);
+        }
+
+        boolean isFresh() {
+            return System.nanoTime() - expires < 0;
+        }
+
+        int size() {
+            return entity.capacity();
+        }
+
+        /**
+         * Get the cached entity. Heap entities are returned as a byte array (so that the
+         * {@code Content-Length} is known upfront), off-heap entities as an input stream.
+         *
+         * @return cached entity.
+         */
+        Object getEntity() {
+            return entity.hasArray() ? entity.array() : new ByteBufferInputStream(entity.duplicate());
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            final int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
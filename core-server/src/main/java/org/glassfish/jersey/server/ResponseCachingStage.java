@@ -0,0 +1,549 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.BindingPriority;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.internal.util.collection.Pair;
+import org.glassfish.jersey.internal.util.collection.Tuples;
+import org.glassfish.jersey.message.internal.CacheControlProvider;
+import org.glassfish.jersey.message.internal.HeadersFactory;
+import org.glassfish.jersey.message.internal.HttpHeaderReader;
+import org.glassfish.jersey.message.internal.MatchingEntityTag;
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.process.internal.AbstractChainableAcceptor;
+import org.glassfish.jersey.process.internal.LinearAcceptor;
+import org.glassfish.jersey.process.internal.ResponseProcessor;
+import org.glassfish.jersey.process.internal.Stages;
+import org.glassfish.jersey.spi.ContentEncoder;
+
+import org.glassfish.hk2.Factory;
+
+import com.google.common.base.Function;
+import com.google.common.base.Optional;
+
+/**
+ * Linear request accepting stage that serves cacheable {@code GET} and {@code HEAD}
+ * requests from the {@link ResponseCache response cache} without invoking the resource
+ * method and the entity serialization.
+ * <p/>
+ * The stage is placed after the post-matching request filtering stage, so that the request
+ * filters (e.g. authentication and authorization filters) are executed and the response
+ * filters are applied also to the responses served from the cache. Requests carrying
+ * credentials ({@code Authorization} or {@code Cookie} headers) are neither served from nor
+ * stored in the cache; responses setting cookies or marked as {@code private} are not cached.
+ * The cached response headers are the headers set by the resource method, the headers added
+ * by the response filters are not stored.
+ * <p/>
+ * On a cache miss the stage registers a response transformation that decides whether
+ * the response may be cached; the serialized entity of a cacheable response is then
+ * captured by the {@link #getWriterInterceptor() writer interceptor} and stored in the cache.
+ * Fresh cached responses are validated against the {@code If-None-Match} and
+ * {@code If-Modified-Since} request headers and a {@code 304 Not Modified} response
+ * is returned if the client representation is up to date. Successful unsafe requests
+ * invalidate the cached representations of the request URI.
+ *
+ * @see ServerProperties#RESPONSE_CACHE_SIZE
+ */
+class ResponseCachingStage extends AbstractChainableAcceptor {
+
+    private static final Logger LOGGER = Logger.getLogger(ResponseCachingStage.class.getName());
+    /**
+     * Response property holding the pending cache entry of the response being written.
+     */
+    private static final String PENDING_ENTRY_PROPERTY = ResponseCachingStage.class.getName() + ".pendingEntry";
+    private static final CacheControlProvider CACHE_CONTROL_PROVIDER = new CacheControlProvider();
+    /**
+     * Headers that are not stored with the cached response.
+     */
+    private static final List<String> EXCLUDED_HEADERS = Arrays.asList(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.DATE, "Age", "Connection", "Transfer-Encoding");
+    //
+    private final ResponseCache cache;
+    private final long defaultTtl;
+    private final Factory<ResponseProcessor.RespondingContext> respondingContextFactory;
+    private final WriterInterceptor writerInterceptor = new CapturingWriterInterceptor();
+
+    /**
+     * Create new response caching stage.
+     *
+     * @param cache                    response cache.
+     * @param defaultTtl               time to live in seconds of responses without expiration information.
+     * @param respondingContextFactory factory providing request-scoped responding contexts.
+     */
+    ResponseCachingStage(final ResponseCache cache,
+                         final long defaultTtl,
+                         final Factory<ResponseProcessor.RespondingContext> respondingContextFactory) {
+        this.cache = cache;
+        this.defaultTtl = defaultTtl;
+        this.respondingContextFactory = respondingContextFactory;
+    }
+
+    /**
+     * Get the response cache statistics.
+     *
+     * @return response cache statistics.
+     */
+    ResponseCacheStatistics getStatistics() {
+        return cache;
+    }
+
+    /**
+     * Get the writer interceptor capturing the serialized entities of the cacheable responses.
+     * The interceptor has to be registered as an application provider.
+     *
+     * @return capturing writer interceptor.
+     */
+    WriterInterceptor getWriterInterceptor() {
+        return writerInterceptor;
+    }
+
+    @Override
+    public Pair<Request, Optional<LinearAcceptor>> apply(final Request request) {
+        final String method = request.getMethod();
+        final String uri = request.getUri().toString();
+
+        if (!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) {
+            respondingContextFactory.get().push(new Function<Response, Response>() {
+
+                @Override
+                public Response apply(final Response response) {
+                    if (response.getStatus() < 400) {
+                        cache.invalidate(uri);
+                    }
+                    return response;
+                }
+            });
+            return Tuples.of(request, getDefaultNext());
+        }
+
+        // shared caches must not reuse responses to authorized requests (RFC 2616, section 14.8);
+        // cookies typically identify a user session the same way
+        if (request.getHeaders().getHeader(HttpHeaders.AUTHORIZATION) != null
+                || request.getHeaders().getHeader(HttpHeaders.COOKIE) != null) {
+            return Tuples.of(request, getDefaultNext());
+        }
+
+        final CacheControl requestCacheControl = readCacheControl(request.getHeaders().getHeader(HttpHeaders.CACHE_CONTROL));
+        final boolean noCache = (requestCacheControl != null
+                && (requestCacheControl.isNoCache() || requestCacheControl.getMaxAge() == 0))
+                || "no-cache".equalsIgnoreCase(request.getHeaders().getHeader("Pragma"));
+
+        if (!noCache) {
+            final ResponseCache.Entry entry = cache.get(uri, request);
+            if (entry != null) {
+                final Response response = toResponse(entry, request);
+                return Tuples.of(request, Optional.of(Stages.asLinearAcceptor(new Inflector<Request, Response>() {
+
+                    @Override
+                    public Response apply(final Request data) {
+                        return response;
+                    }
+                })));
+            }
+        }
+
+        if (HttpMethod.GET.equals(method) && (requestCacheControl == null || !requestCacheControl.isNoStore())) {
+            respondingContextFactory.get().push(new Function<Response, Response>() {
+
+                @Override
+                public Response apply(final Response response) {
+                    return prepareEntry(uri, request, response);
+                }
+            });
+        }
+        return Tuples.of(request, getDefaultNext());
+    }
+
+    /**
+     * Mark a cacheable response to be stored in the cache once its entity is serialized.
+     */
+    private Response prepareEntry(final String uri, final Request request, final Response response) {
+        if (response.getStatus() != Response.Status.OK.getStatusCode() || !response.hasEntity()) {
+            return response;
+        }
+
+        final MultivaluedMap<String, String> headers = response.getHeaders().asMap();
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return response;
+        }
+
+        final CacheControl cacheControl = readCacheControl(response.getHeaders().getHeader(HttpHeaders.CACHE_CONTROL));
+        if (cacheControl != null && (cacheControl.isNoStore() || cacheControl.isNoCache() || cacheControl.isPrivate())) {
+            return response;
+        }
+
+        final List<String> vary = readVary(headers.get(HttpHeaders.VARY));
+        if (vary == null) {
+            return response;
+        }
+
+        final long ttl = getTtl(cacheControl, response);
+        if (ttl <= 0) {
+            return response;
+        }
+
+        // snapshot of the resource method response headers, before the response filters are applied
+        final Map<String, List<String>> cachedHeaders = new LinkedHashMap<String, List<String>>();
+        for (Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (!isExcluded(header.getKey())) {
+                cachedHeaders.put(header.getKey(), new ArrayList<String>(header.getValue()));
+            }
+        }
+
+        // the key is computed now, so that the pending entry does not hold the whole request
+        response.getProperties().put(PENDING_ENTRY_PROPERTY, new PendingEntry(uri, vary,
+                ResponseCache.key(uri, vary, request), ttl,
+                response.getStatus(), cachedHeaders, response.getHeaders().getEntityTag(),
+                response.getHeaders().getLastModified()));
+        return response;
+    }
+
+    private long getTtl(final CacheControl cacheControl, final Response response) {
+        if (cacheControl != null) {
+            if (cacheControl.getSMaxAge() >= 0) {
+                return cacheControl.getSMaxAge();
+            } else if (cacheControl.getMaxAge() >= 0) {
+                return cacheControl.getMaxAge();
+            }
+        }
+
+        final String expires = response.getHeaders().getHeader("Expires");
+        if (expires != null) {
+            try {
+                final Date date = response.getHeaders().getDate();
+                final long now = (date != null) ? date.getTime() : System.currentTimeMillis();
+                return (HttpHeaderReader.readDate(expires).getTime() - now) / 1000;
+            } catch (ParseException ex) {
+                // invalid Expires header means the response is already expired (RFC 2616, section 14.21)
+                return 0;
+            }
+        }
+        return defaultTtl;
+    }
+
+    private static Response toResponse(final ResponseCache.Entry entry, final Request request) {
+        if (isNotModified(entry, request)) {
+            final Response.ResponseBuilder builder = Responses.notModified(request);
+            for (String header : new String[] {HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, "Expires",
+                    HttpHeaders.VARY, HttpHeaders.CONTENT_LOCATION}) {
+                final List<String> values = entry.getHeaders().get(header);
+                if (values != null) {
+                    for (String value : values) {
+                        builder.header(header, value);
+                    }
+                }
+            }
+            return builder.build();
+        }
+
+        final Response.ResponseBuilder builder = Response.status(entry.getStatus());
+        Responses.fillHeaders(builder, entry.getHeaders());
+        return builder.header("Age", entry.getAge()).entity(entry.getEntity()).build();
+    }
+
+    private static boolean isNotModified(final ResponseCache.Entry entry, final Request request) {
+        final String ifNoneMatch = request.getHeaders().getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            final EntityTag eTag = entry.getEntityTag();
+            if (eTag == null) {
+                return false;
+            }
+            try {
+                final Set<MatchingEntityTag> tags = HttpHeaderReader.readMatchingEntityTag(ifNoneMatch);
+                if (tags == MatchingEntityTag.ANY_MATCH) {
+                    return true;
+                }
+                // weak comparison function (RFC 2616, section 13.3.3)
+                for (MatchingEntityTag tag : tags) {
+                    if (tag.getValue().equals(eTag.getValue())) {
+                        return true;
+                    }
+                }
+            } catch (ParseException ex) {
+                LOGGER.log(Level.FINE, "Invalid If-None-Match header value: " + ifNoneMatch, ex);
+            }
+            // If-Modified-Since is ignored if If-None-Match is present
+            return false;
+        }
+
+        final String ifModifiedSince = request.getHeaders().getHeader(HttpHeaders.IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null && entry.getLastModified() != null) {
+            try {
+                final long since = HttpHeaderReader.readDate(ifModifiedSince).getTime();
+                // HTTP dates have a precision of seconds
+                return entry.getLastModified().getTime() / 1000 <= since / 1000;
+            } catch (ParseException ex) {
+                LOGGER.log(Level.FINE, "Invalid If-Modified-Since header value: " + ifModifiedSince, ex);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isExcluded(final String header) {
+        for (String excluded : EXCLUDED_HEADERS) {
+            if (excluded.equalsIgnoreCase(header)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check whether the final response headers (including the headers added by the response
+     * filters) still allow the response to be stored in a shared cache.
+     */
+    private static boolean isStorable(final MultivaluedMap<String, Object> headers) {
+        for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+            if (HttpHeaders.SET_COOKIE.equalsIgnoreCase(header.getKey())) {
+                return false;
+            }
+            if (HttpHeaders.CACHE_CONTROL.equalsIgnoreCase(header.getKey())) {
+                for (Object value : header.getValue()) {
+                    final CacheControl cacheControl = (value instanceof CacheControl)
+                            ? (CacheControl) value : readCacheControl(HeadersFactory.toString(value, null));
+                    if (cacheControl != null
+                            && (cacheControl.isNoStore() || cacheControl.isNoCache() || cacheControl.isPrivate())) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private static CacheControl readCacheControl(final String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return CACHE_CONTROL_PROVIDER.fromString(value);
+        } catch (IllegalArgumentException ex) {
+            LOGGER.log(Level.FINE, "Invalid Cache-Control header value: " + value, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Read the request header names listed in the {@code Vary} header.
+     *
+     * @return header names or {@code null} if the response must not be cached.
+     */
+    private static List<String> readVary(final List<String> values) {
+        if (values == null) {
+            return Collections.emptyList();
+        }
+
+        final List<String> vary = new ArrayList<String>();
+        for (String value : values) {
+            for (String header : value.split(",")) {
+                final String name = header.trim();
+                if ("*".equals(name)) {
+                    return null;
+                } else if (name.length() > 0) {
+                    vary.add(name);
+                }
+            }
+        }
+        return vary;
+    }
+
+    /**
+     * Response that is going to be stored in the cache once its entity is serialized.
+     */
+    private static final class PendingEntry {
+
+        private final String uri;
+        private final List<String> vary;
+        private final String key;
+        private final long ttl;
+        private final int status;
+        private final Map<String, List<String>> headers;
+        private final EntityTag eTag;
+        private final Date lastModified;
+
+        private PendingEntry(final String uri,
+                             final List<String> vary,
+                             final String key,
+                             final long ttl,
+                             final int status,
+                             final Map<String, List<String>> headers,
+                             final EntityTag eTag,
+                             final Date lastModified) {
+            this.uri = uri;
+            this.vary = vary;
+            this.key = key;
+            this.ttl = ttl;
+            this.status = status;
+            this.headers = headers;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * Writer interceptor capturing the serialized entity of a cacheable response. The interceptor
+     * is executed after the content encoders so that the entity is cached in the identity encoding.
+     */
+    @BindingPriority(ContentEncoder.ENTITY_CODER_PRIORITY + 100)
+    private final class CapturingWriterInterceptor implements WriterInterceptor {
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+            final Object pending = context.getProperties().remove(PENDING_ENTRY_PROPERTY);
+            if (!(pending instanceof PendingEntry)) {
+                context.proceed();
+                return;
+            }
+
+            final CapturingOutputStream capture = new CapturingOutputStream(context.getOutputStream(),
+                    cache.getMaxEntrySize());
+            context.setOutputStream(capture);
+            try {
+                context.proceed();
+            } finally {
+                context.setOutputStream(capture.out);
+            }
+
+            final byte[] entity = capture.getCaptured();
+            if (entity == null || !isStorable(context.getHeaders())) {
+                return;
+            }
+
+            final PendingEntry entry = (PendingEntry) pending;
+            final Map<String, List<String>> headers = entry.headers;
+            if (!containsHeader(headers, HttpHeaders.CONTENT_TYPE) && context.getMediaType() != null) {
+                // negotiated media type is set after the resource method returns
+                headers.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList(context.getMediaType().toString()));
+            }
+
+            cache.put(entry.uri, entry.vary, entry.key, cache.createEntry(entry.uri, entry.status, headers, entity,
+                    entry.eTag, entry.lastModified, entry.ttl));
+        }
+
+        private boolean containsHeader(final Map<String, List<String>> headers, final String name) {
+            for (String header : headers.keySet()) {
+                if (header.equalsIgnoreCase(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Output stream copying the written bytes up to the given limit.
+     */
+    private static final class CapturingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private final long limit;
+        private ByteArrayOutputStream captured = new ByteArrayOutputStream();
+
+        private CapturingOutputStream(final OutputStream out, final long limit) {
+            this.out = out;
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            if (captured != null) {
+                captured.write(b);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            if (captured != null) {
+                captured.write(b, off, len);
+                checkLimit();
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+        private void checkLimit() {
+            if (captured.size() > limit) {
+                // too large to be cached
+                captured = null;
+            }
+        }
+
+        private byte[] getCaptured() {
+            return captured == null ? null : captured.toByteArray();
+        }
+    }
+}
@@ -118,6 +118,390 @@ public final class ServerProperties {
     // TODO implement generic support
     public static final String PROVIDER_CLASSNAMES = "jersey.config.server.provider.classnames";
 
+    /**
+     * If set to {@code true}, the build-time resource index generated by the
+     * {@link org.glassfish.jersey.server.ResourceIndexProcessor} is ignored and the configured
+     * {@link #PROVIDER_PACKAGES packages} are always scanned for root resources and providers.
+     * <p>
+     * The property value MUST be an instance of {@link Boolean} or {@link String} ("true"/"false").
+     * </p>
+     * <p>
+     * The default value is {@code false}, i.e. the index is used whenever it is available in all
+     * class-path elements that contribute to the scanned packages.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String RESOURCE_INDEX_DISABLED = "jersey.config.server.provider.index.disabled";
+
+    /**
+     * Defines the maximum number of threads used to introspect and validate resource models
+     * during the application initialization. The models are processed in the initializing thread
+     * if the value is {@code 1} or less. Regardless of the number of threads, the resulting model
+     * and the reported model issues are always merged in the order of the registered resources.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is the number of processors available to the Java virtual machine.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String RESOURCE_MODEL_PARALLELISM = "jersey.config.server.resource.model.parallelism";
+
+    /**
+     * Defines the maximum time in milliseconds a {@link org.glassfish.jersey.server.spi.Container#reload()
+     * container reload} waits for the requests that are still being processed by the replaced application.
+     * New requests are dispatched to the reloaded application immediately.
+     * <p>
+     * The property value MUST be an instance of {@link Long} or {@link String} that can be
+     * parsed as a long.
+     * </p>
+     * <p>
+     * The default value is {@code 10000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String RELOAD_DRAIN_TIMEOUT = "jersey.config.server.reload.drainTimeout";
+
+    /**
+     * Selects the built-in request processing mode, i.e. the executor used to run the request
+     * processing and invoke the resource methods. Supported values are {@code same-thread}
+     * (requests are processed on the container I/O thread), {@code virtual-thread} (each request
+     * is processed on a new virtual thread; if not supported by the runtime, the {@code bounded}
+     * mode is used instead) and {@code bounded} (requests are processed on a bounded worker pool
+     * configured by {@link #PROCESSING_POOL_SIZE} and {@link #PROCESSING_QUEUE_SIZE}).
+     * See {@link org.glassfish.jersey.process.ProcessingExecutors.Mode} for details.
+     * <p>
+     * Requests rejected by the executor are responded with {@code 503 Service Unavailable}
+     * (see {@link #PROCESSING_RETRY_AFTER}). The executor is shut down once the application is
+     * {@link ApplicationHandler#destroy() destroyed}, e.g. when it is replaced by a reloaded one.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@link String} or
+     * {@link org.glassfish.jersey.process.ProcessingExecutors.Mode}.
+     * </p>
+     * <p>
+     * A default value is not set, i.e. the requests are processed on the container I/O thread
+     * unless a custom {@link org.glassfish.jersey.spi.ProcessingExecutorsProvider} is registered.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String PROCESSING_MODE = "jersey.config.server.processing.mode";
+
+    /**
+     * Defines the maximum number of worker threads of the {@code bounded} {@link #PROCESSING_MODE
+     * request processing mode}.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is {@link org.glassfish.jersey.process.ProcessingExecutors#DEFAULT_POOL_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String PROCESSING_POOL_SIZE = "jersey.config.server.processing.poolSize";
+
+    /**
+     * Defines the maximum number of requests waiting for a free worker thread in the {@code bounded}
+     * {@link #PROCESSING_MODE request processing mode}. Requests exceeding the limit are rejected.
+     * A negative value means an unbounded queue.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is {@link org.glassfish.jersey.process.ProcessingExecutors#DEFAULT_QUEUE_SIZE}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String PROCESSING_QUEUE_SIZE = "jersey.config.server.processing.queueSize";
+
+    /**
+     * Defines the value in seconds of the {@code Retry-After} header of the {@code 503 Service Unavailable}
+     * responses to the requests rejected by the request processing executor, e.g. by the exhausted pool
+     * of the {@code bounded} {@link #PROCESSING_MODE request processing mode}.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is {@code 1}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String PROCESSING_RETRY_AFTER = "jersey.config.server.processing.retryAfter";
+
+    /**
+     * Enables the server-side response cache and defines its maximum size in bytes. The cache
+     * stores the serialized entities and headers of cacheable {@code GET} responses and serves
+     * subsequent matching requests (including conditional requests resulting in {@code 304 Not Modified})
+     * without invoking the resource method. The responses are cached for the time specified by the
+     * {@code s-maxage} or {@code max-age} {@code Cache-Control} directives or the {@code Expires}
+     * header; if none is present, the {@link #RESPONSE_CACHE_DEFAULT_TTL default time to live} is used.
+     * Once the size limit is reached, the least recently used responses are evicted.
+     * <p>
+     * The cache is looked up after the request has been matched to a resource method and the request
+     * filters have been applied, i.e. the request matching and the request and response filters run also
+     * for the requests served from the cache; only the resource method invocation and the entity
+     * serialization are saved. Requests with {@code Authorization} or {@code Cookie} headers bypass the cache and responses
+     * setting cookies or marked as {@code private}, {@code no-cache} or {@code no-store} are not cached.
+     * The cache statistics are available from {@link ApplicationHandler#getResponseCacheStatistics()}.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@link Long} or {@link String} that can be
+     * parsed as a long.
+     * </p>
+     * <p>
+     * The default value is {@code 0}, i.e. the response cache is disabled.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String RESPONSE_CACHE_SIZE = "jersey.config.server.responseCache.size";
+
+    /**
+     * Defines the time to live in seconds of the cached responses that do not specify any
+     * expiration information. The property is used only if the response cache is enabled by the
+     * {@link #RESPONSE_CACHE_SIZE} property.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is {@code 0}, i.e. only responses with explicit expiration information are cached.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String RESPONSE_CACHE_DEFAULT_TTL = "jersey.config.server.responseCache.defaultTtl";
+
+    /**
+     * If set to {@code true}, the entities of the cached responses are stored in direct (off-heap)
+     * byte buffers. The property is used only if the response cache is enabled by the
+     * {@link #RESPONSE_CACHE_SIZE} property.
+     * <p>
+     * The property value MUST be an instance of {@link Boolean} or {@link String} that can be
+     * parsed as a boolean.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String RESPONSE_CACHE_OFF_HEAP = "jersey.config.server.responseCache.offHeap";
+
+    /**
+     * Enables the server-side admission control and defines the initial (or fixed) limit of
+     * concurrently invoked resource methods. Requests exceeding the limit are not processed and
+     * are immediately responded with {@code 503 Service Unavailable} and a {@code Retry-After} header
+     * (see {@link #ADMISSION_RETRY_AFTER}). The requests are admitted according to their
+     * {@link AdmissionPriority priority class}; the current limit, concurrency and the number of
+     * rejected requests are available via {@link ApplicationHandler#getAdmissionStatistics()}.
+     * A suspended (asynchronous) request is counted until its response is available or the
+     * request times out.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is {@code 0}, i.e. the admission control is disabled.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String ADMISSION_LIMIT = "jersey.config.server.admission.limit";
+
+    /**
+     * Defines the scope of the {@link #ADMISSION_LIMIT concurrency limit}. Supported values are
+     * {@code application} (a single limit shared by all resource methods) and {@code method}
+     * (a separate limit for each resource method).
+     * <p>
+     * The property value MUST be an instance of {@link String}.
+     * </p>
+     * <p>
+     * The default value is {@code application}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String ADMISSION_SCOPE = "jersey.config.server.admission.scope";
+
+    /**
+     * Defines the algorithm adjusting the {@link #ADMISSION_LIMIT concurrency limit}. Supported values are:
+     * <ul>
+     * <li>{@code fixed} &ndash; the limit does not change,</li>
+     * <li>{@code aimd} &ndash; the limit is increased by one while the resource method invocations
+     * meet the {@link #ADMISSION_LATENCY_TARGET latency target} and decreased by 10% whenever
+     * an invocation exceeds the target,</li>
+     * <li>{@code gradient} &ndash; the limit follows the ratio of the minimal and the recently
+     * observed invocation latency, i.e. it is reduced as the requests start queueing.</li>
+     * </ul>
+     * <p>
+     * The property value MUST be an instance of {@link String}.
+     * </p>
+     * <p>
+     * The default value is {@code fixed}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String ADMISSION_ALGORITHM = "jersey.config.server.admission.algorithm";
+
+    /**
+     * Defines the maximum concurrency limit the adaptive {@link #ADMISSION_ALGORITHM admission
+     * algorithms} may reach.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is four times the {@link #ADMISSION_LIMIT initial limit}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String ADMISSION_MAX_LIMIT = "jersey.config.server.admission.maxLimit";
+
+    /**
+     * Defines the resource method invocation latency target in milliseconds used by the
+     * {@code aimd} {@link #ADMISSION_ALGORITHM admission algorithm}.
+     * <p>
+     * The property value MUST be an instance of {@link Long} or {@link String} that can be
+     * parsed as a long.
+     * </p>
+     * <p>
+     * The default value is {@code 1000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String ADMISSION_LATENCY_TARGET = "jersey.config.server.admission.latencyTarget";
+
+    /**
+     * Defines the value in seconds of the {@code Retry-After} header of the responses to the
+     * requests rejected by the admission control.
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer.
+     * </p>
+     * <p>
+     * The default value is {@code 1}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String ADMISSION_RETRY_AFTER = "jersey.config.server.admission.retryAfter";
+
+    /**
+     * Defines the name of the request header that overrides the {@link AdmissionPriority admission
+     * priority class} of the request. The header value is one of {@code high}, {@code normal} or
+     * {@code low} (case insensitive); other values are ignored. Since the header is controlled by
+     * the client, it should be set only by a trusted intermediary.
+     * <p>
+     * The property value MUST be an instance of {@link String}.
+     * </p>
+     * <p>
+     * There is no default value, i.e. the priority class is defined solely by the
+     * {@link AdmissionPriority} annotations.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String ADMISSION_PRIORITY_HEADER = "jersey.config.server.admission.priorityHeader";
+
+    /**
+     * Defines the size in bytes of the buffer used to buffer the serialized response entities.
+     * If the whole entity fits into the buffer, the response is sent with the {@code Content-Length}
+     * header set and the entity is written to the container in a single write operation; larger
+     * entities are streamed to the container once the buffer overflows. The buffers are reused
+     * by the threads writing the responses. The entities of responses to {@code HEAD} requests,
+     * the {@link ChunkedResponse chunked responses} and the {@link javax.ws.rs.core.StreamingOutput
+     * streaming outputs} are never buffered, so that the bytes are sent to the client as soon as
+     * the entity flushes them.
+     * <p>
+     * Note that {@code flush()} invocations on the output stream are ignored while the entity is being
+     * buffered. Applications with custom {@link javax.ws.rs.ext.MessageBodyWriter message body writers}
+     * that rely on flushing partial output should disable the buffering.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@link Integer} or {@link String} that can be
+     * parsed as an integer. A value lower than or equal to {@code 0} disables the buffering.
+     * </p>
+     * <p>
+     * The default value is {@code 8192}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String OUTBOUND_CONTENT_LENGTH_BUFFER = "jersey.config.server.contentLength.buffer";
+
+    /**
+     * Enables the built-in {@link org.glassfish.jersey.server.monitoring.RequestStatistics request
+     * statistics} that keep the latency histograms of the request processing stages and resource
+     * methods. The statistics are available from the {@link ApplicationHandler#getRequestStatistics()
+     * application handler} and are registered in the platform MBean server under the
+     * {@code org.glassfish.jersey:type=RequestStatistics,name=<application class name>,id=<sequence number>}
+     * object name once the application has been successfully initialized. The MBean is unregistered
+     * once the application is undeployed or reloaded, see {@link ApplicationHandler#destroy()}.
+     * Resource method histograms are named after the HTTP method and the full signature of the
+     * Java method, e.g. {@code method:GET com.example.Resource#get(java.lang.String)}.
+     * <p>
+     * The property value MUST be an instance of {@link Boolean} or {@link String} that can be
+     * parsed as a boolean.
+     * </p>
+     * <p>
+     * The default value is {@code false}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String MONITORING_STATISTICS_ENABLED = "jersey.config.server.monitoring.statistics.enabled";
+
+    /**
+     * Defines the path of a resource that returns a plain text report of the
+     * {@link #MONITORING_STATISTICS_ENABLED request statistics} in response to a {@code GET}
+     * request. The resource is only available if the request statistics are enabled.
+     * <p>
+     * The property value MUST be an instance of {@link String}.
+     * </p>
+     * <p>
+     * There is no default value, i.e. the statistics resource is not available.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String MONITORING_STATISTICS_PATH = "jersey.config.server.monitoring.statistics.path";
+
     /**
      * Defines mapping of URI extensions to media types.
      * The property is used by {@link org.glassfish.jersey.server.filter.UriConnegFilter}. See it's javadoc for more
@@ -159,6 +543,34 @@ public final class ServerProperties {
      */
     public static final String LANGUAGE_MAPPINGS = "jersey.config.server.languageMappings";
 
+    /**
+     * Defines the timeout in milliseconds of the requests suspended while waiting for the
+     * {@link java.util.concurrent.Future future} returned by a resource method that does not
+     * declare its own suspend timeout via the {@link javax.ws.rs.Suspend} annotation. Once the
+     * timeout expires, the request is responded with the timeout response and the future is
+     * {@link java.util.concurrent.Future#cancel(boolean) cancelled} (without interrupting it);
+     * a late completion of the future is ignored.
+     * <p>
+     * Futures implementing Guava's {@link com.google.common.util.concurrent.ListenableFuture} are
+     * waited for without blocking any thread. A plain {@code Future} provides no completion
+     * notification, so a thread from an unbounded pool is blocked waiting for each pending plain
+     * future until it completes or is cancelled. Resource methods serving many concurrent requests
+     * should therefore return listenable futures, or plain futures that honour the cancellation.
+     * </p>
+     * <p>
+     * The property value MUST be an instance of {@link Long} or {@link String} that can be
+     * parsed as a long. A value lower than or equal to {@code 0} disables the timeout, i.e. the
+     * request waits for the future indefinitely.
+     * </p>
+     * <p>
+     * The default value is {@code 60000}.
+     * </p>
+     * <p>
+     * The name of the configuration property is <code>{@value}</code>.
+     * </p>
+     */
+    public static final String FUTURE_RESPONSE_TIMEOUT = "jersey.config.server.futureResponse.timeout";
+
     private ServerProperties() {
         // prevents instantiation
     }
@@ -0,0 +1,282 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.FilterContext;
+import javax.ws.rs.ext.ResponseFilter;
+
+import org.glassfish.jersey.internal.ServiceProviders;
+import org.glassfish.jersey.message.DeflateEncoder;
+import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.message.internal.AcceptableToken;
+import org.glassfish.jersey.message.internal.HttpHeaderReader;
+import org.glassfish.jersey.process.internal.PriorityComparator;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.spi.ContentEncoder;
+
+import org.glassfish.hk2.Factory;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+
+/**
+ * Response filter that negotiates the content coding of the response entity with
+ * the client based on the {@code Accept-Encoding} request header and the
+ * {@link ContentEncoder content encoders} registered in the application.
+ * <p/>
+ * The filter selects the most acceptable content coding supported by the registered
+ * encoders and sets the {@code Content-Encoding} response header accordingly; the entity
+ * is then encoded by the respective content encoder. The {@code Vary: Accept-Encoding}
+ * header is added to all negotiated responses. Responses that already define
+ * the {@code Content-Encoding} header as well as responses with an entity of an already
+ * compressed media type (e.g. images, audio, video or archives) are left intact.
+ * <p/>
+ * Use {@link #enableFor(ResourceConfig, Class[])} to register the filter together
+ * with the content encoders.
+ */
+public final class EncodingFilter implements ResponseFilter {
+
+    private static final Logger LOGGER = Logger.getLogger(EncodingFilter.class.getName());
+    private static final String IDENTITY = "identity";
+    private static final Set<String> COMPRESSED_MEDIA_TYPES = new HashSet<String>(Arrays.asList(
+            "application/zip",
+            "application/gzip",
+            "application/x-gzip",
+            "application/x-compress",
+            "application/x-bzip2",
+            "application/x-7z-compressed",
+            "application/x-rar-compressed"
+    ));
+    //
+    private final Supplier<List<String>> supportedEncodings;
+    @Context
+    private HttpHeaders headers;
+
+    /**
+     * Registers this filter and the given content encoders into the passed {@link ResourceConfig}
+     * instance. If no content encoders are given, the {@link GZipEncoder} and {@link DeflateEncoder}
+     * are registered.
+     *
+     * @param rc       resource config instance where the filter should be registered.
+     * @param encoders content encoders to be registered.
+     */
+    public static void enableFor(final ResourceConfig rc, final Class<? extends ContentEncoder>... encoders) {
+        rc.addClasses(EncodingFilter.class);
+        if (encoders.length == 0) {
+            rc.addClasses(GZipEncoder.class, DeflateEncoder.class);
+        } else {
+            rc.addClasses(encoders);
+        }
+    }
+
+    /**
+     * Create a filter negotiating the content codings supported by the content encoders
+     * registered in the application. The content encoders are looked up in the application
+     * service providers once the first response is filtered; codings of the encoders with
+     * a lower {@link javax.ws.rs.BindingPriority binding priority} are preferred.
+     * This constructor will be called by the Jersey runtime when the filter
+     * class is returned from {@link javax.ws.rs.core.Application#getClasses()}.
+     * The service providers will get auto-injected.
+     *
+     * @param providers application service providers factory.
+     */
+    public EncodingFilter(@Context final Factory<ServiceProviders> providers) {
+        this.supportedEncodings = Suppliers.memoize(new Supplier<List<String>>() {
+
+            @Override
+            public List<String> get() {
+                return getSupportedEncodings(providers.get());
+            }
+        });
+    }
+
+    /**
+     * Create a filter negotiating the given content codings.
+     *
+     * @param supportedEncodings supported content codings in the order of preference.
+     */
+    public EncodingFilter(final String... supportedEncodings) {
+        this(Arrays.asList(supportedEncodings));
+    }
+
+    private EncodingFilter(final List<String> supportedEncodings) {
+        final List<String> encodings = new ArrayList<String>(supportedEncodings.size());
+        for (String encoding : supportedEncodings) {
+            encodings.add(encoding.toLowerCase());
+        }
+        this.supportedEncodings = Suppliers.ofInstance(Collections.unmodifiableList(encodings));
+    }
+
+    private static List<String> getSupportedEncodings(final ServiceProviders providers) {
+        final Set<String> encodings = new LinkedHashSet<String>();
+        for (ContentEncoder encoder : providers.getAll(ContentEncoder.class,
+                new PriorityComparator<ContentEncoder>(PriorityComparator.Order.ASCENDING))) {
+            encodings.addAll(encoder.getSupportedEncodings());
+        }
+        return Collections.unmodifiableList(new ArrayList<String>(encodings));
+    }
+
+    @Override
+    public void postFilter(final FilterContext context) throws IOException {
+        final Response response = context.getResponse();
+        if (!response.hasEntity() || supportedEncodings.get().isEmpty()) {
+            return;
+        }
+
+        final MultivaluedMap<String, Object> responseHeaders = response.getMetadata();
+        if (responseHeaders.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return;
+        }
+        final MediaType mediaType = response.getHeaders().getMediaType();
+        if (mediaType != null && isCompressed(mediaType)) {
+            return;
+        }
+
+        final String encoding = selectEncoding(headers.getRequestHeader(HttpHeaders.ACCEPT_ENCODING));
+        Response.ResponseBuilder builder = context.getResponseBuilder();
+        if (!containsToken(responseHeaders.get(HttpHeaders.VARY), HttpHeaders.ACCEPT_ENCODING)) {
+            builder = builder.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        if (encoding != null) {
+            builder = builder.header(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        context.setResponse(builder.build());
+    }
+
+    /**
+     * Select the most acceptable supported content coding.
+     *
+     * @param acceptEncoding values of the {@code Accept-Encoding} request header.
+     * @return selected content coding or {@code null} if the entity should not be encoded.
+     */
+    String selectEncoding(final List<String> acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+
+        final List<AcceptableToken> tokens = new ArrayList<AcceptableToken>();
+        try {
+            for (String value : acceptEncoding) {
+                tokens.addAll(HttpHeaderReader.readAcceptToken(value));
+            }
+        } catch (ParseException ex) {
+            LOGGER.log(Level.FINE, "Invalid Accept-Encoding header value: " + acceptEncoding, ex);
+            return null;
+        }
+
+        // codings explicitly refused by the client (q=0)
+        final Set<String> refused = new HashSet<String>();
+        for (AcceptableToken token : tokens) {
+            if (token.getQuality() == 0) {
+                refused.add(token.getToken().toLowerCase());
+            }
+        }
+
+        final List<String> supportedEncodings = this.supportedEncodings.get();
+        String selected = null;
+        int selectedQuality = 0;
+        for (AcceptableToken token : tokens) {
+            final int quality = token.getQuality();
+            if (quality <= selectedQuality) {
+                continue;
+            }
+
+            final String coding = token.getToken().toLowerCase();
+            if ("*".equals(coding)) {
+                for (String supported : supportedEncodings) {
+                    if (!refused.contains(supported)) {
+                        selected = supported;
+                        selectedQuality = quality;
+                        break;
+                    }
+                }
+            } else if (IDENTITY.equals(coding)) {
+                selected = null;
+                selectedQuality = quality;
+            } else if (supportedEncodings.contains(coding)) {
+                selected = coding;
+                selectedQuality = quality;
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isCompressed(final MediaType mediaType) {
+        final String type = mediaType.getType().toLowerCase();
+        if ("image".equals(type)) {
+            // vector images are text based
+            return !mediaType.getSubtype().toLowerCase().startsWith("svg");
+        }
+        return "audio".equals(type) || "video".equals(type)
+                || COMPRESSED_MEDIA_TYPES.contains(type + '/' + mediaType.getSubtype().toLowerCase());
+    }
+
+    private static boolean containsToken(final List<Object> values, final String token) {
+        if (values == null) {
+            return false;
+        }
+        for (Object value : values) {
+            for (String element : value.toString().split(",")) {
+                final String trimmed = element.trim();
+                if (trimmed.equals("*") || trimmed.equalsIgnoreCase(token)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Logger;
+
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+/**
+ * Atomically replaceable reference to the {@link ApplicationHandler application handler}
+ * hosted by a {@link org.glassfish.jersey.server.spi.Container container}.
+ * <p>
+ * Containers {@link #acquire() acquire} a {@link Lease lease} on the current handler for every
+ * request they dispatch and {@link Lease#release() release} it once the handler returns. When the
+ * application is {@link #reload(ResourceConfig) reloaded}, the new handler is fully initialized
+ * (including the resource model, routing tree and providers) before it is published, so requests
+ * keep being served by the previous handler until the new one is ready. Once published, the
+ * previous handler does not receive any new requests and the reload waits until the requests
+ * already dispatched to it are drained (or the {@link ServerProperties#RELOAD_DRAIN_TIMEOUT drain
+ * timeout} expires). The drained handler is {@link ApplicationHandler#destroy() destroyed}.
+ * </p>
+ */
+public final class ApplicationHandlerReference {
+
+    private static final Logger LOGGER = Logger.getLogger(ApplicationHandlerReference.class.getName());
+
+    /**
+     * Default time in milliseconds to wait for the in-flight requests of a replaced handler.
+     */
+    public static final long DEFAULT_DRAIN_TIMEOUT = 10000;
+
+    /**
+     * A lease on an application handler acquired for a single request dispatch.
+     */
+    public static final class Lease {
+
+        private final ApplicationHandler handler;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile boolean retired;
+
+        private Lease(final ApplicationHandler handler) {
+            this.handler = handler;
+        }
+
+        /**
+         * Get the leased application handler.
+         *
+         * @return leased application handler.
+         */
+        public ApplicationHandler getHandler() {
+            return handler;
+        }
+
+        /**
+         * Release the lease. Must be called exactly once for every {@link #acquire() acquired} lease.
+         */
+        public void release() {
+            if (inFlight.decrementAndGet() == 0 && retired) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+
+        private synchronized boolean awaitDrained(final long timeoutMillis) throws InterruptedException {
+            retired = true;
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            long remaining = timeoutMillis;
+            while (inFlight.get() > 0) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                wait(remaining);
+                remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            }
+            return true;
+        }
+    }
+
+    private final AtomicReference<Lease> current;
+
+    /**
+     * Create a new reference to the application handler.
+     *
+     * @param handler initial application handler.
+     */
+    public ApplicationHandlerReference(final ApplicationHandler handler) {
+        this.current = new AtomicReference<Lease>(new Lease(handler));
+    }
+
+    /**
+     * Get the current application handler.
+     *
+     * @return current application handler.
+     */
+    public ApplicationHandler get() {
+        return current.get().handler;
+    }
+
+    /**
+     * Acquire a lease on the current application handler.
+     *
+     * @return lease on the current application handler.
+     */
+    public Lease acquire() {
+        while (true) {
+            final Lease lease = current.get();
+            lease.inFlight.incrementAndGet();
+            if (current.get() == lease) {
+                return lease;
+            }
+            // handler has been replaced in the meantime, dispatch to the new one
+            lease.release();
+        }
+    }
+
+    /**
+     * {@link ApplicationHandler#destroy() Destroy} the current application handler once the
+     * container is shut down.
+     */
+    public void destroy() {
+        current.get().handler.destroy();
+    }
+
+    /**
+     * Create a new application handler for the configuration and replace the current handler with it.
+     *
+     * @param configuration configuration of the new application handler.
+     * @return new application handler.
+     */
+    public ApplicationHandler reload(final ResourceConfig configuration) {
+        final long start = System.nanoTime();
+        final ApplicationHandler handler = new ApplicationHandler(configuration);
+        swap(handler, start);
+        return handler;
+    }
+
+    /**
+     * Replace the current handler with an already initialized application handler.
+     *
+     * @param handler new application handler.
+     */
+    public void swap(final ApplicationHandler handler) {
+        swap(handler, System.nanoTime());
+    }
+
+    /**
+     * Replace the current handler with an already initialized application handler.
+     *
+     * @param handler new application handler.
+     * @param start   {@link System#nanoTime() time} the initialization of the new handler started,
+     *                used to report the reload latency.
+     */
+    public void swap(final ApplicationHandler handler, final long start) {
+        final long published = System.nanoTime();
+        final Lease previous = current.getAndSet(new Lease(handler));
+
+        final long drainTimeout = PropertiesHelper.getValue(handler.getConfiguration().getProperties(),
+                ServerProperties.RELOAD_DRAIN_TIMEOUT, DEFAULT_DRAIN_TIMEOUT);
+        boolean drained;
+        try {
+            drained = previous.awaitDrained(drainTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            drained = false;
+        }
+
+        previous.handler.destroy();
+
+        final long end = System.nanoTime();
+        if (!drained) {
+            LOGGER.warning(LocalizationMessages.RELOAD_DRAIN_TIMEOUT(previous.inFlight.get(), drainTimeout));
+        }
+        LOGGER.info(LocalizationMessages.RELOAD_COMPLETED(
+                TimeUnit.NANOSECONDS.toMillis(end - start),
+                TimeUnit.NANOSECONDS.toMillis(published - start),
+                TimeUnit.NANOSECONDS.toMillis(end - published)));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache of application base URIs computed by a {@link org.glassfish.jersey.server.spi.Container container}.
+ * <p>
+ * The base URI of a request only depends on the request scheme, the requested host (the
+ * {@code Host} header or the server name and port) and the application context path, which
+ * take a handful of distinct values in practice. The cache saves parsing and validating
+ * the same base URI for every request.
+ * </p>
+ * <p>
+ * As the requested host is controlled by the client, the cache is bounded: once the
+ * {@link #DEFAULT_CAPACITY capacity} is exceeded the cached URIs are discarded.
+ * </p>
+ */
+public final class BaseUriCache {
+
+    /**
+     * Default maximum number of cached base URIs.
+     */
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private final ConcurrentMap<String, URI> cache = new ConcurrentHashMap<String, URI>();
+    private final int capacity;
+
+    /**
+     * Create new base URI cache with the {@link #DEFAULT_CAPACITY default capacity}.
+     */
+    public BaseUriCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create new base URI cache.
+     *
+     * @param capacity maximum number of cached base URIs.
+     */
+    public BaseUriCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Base URI cache capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Get the base URI for a request addressed to the given authority (typically
+     * the value of the {@code Host} request header).
+     *
+     * @param scheme request scheme.
+     * @param authority requested authority, i.e. host with an optional port.
+     * @param basePath base path ending with a {@code '/'}.
+     * @return base URI.
+     * @throws IllegalArgumentException in case the base URI is not a valid URI.
+     */
+    public URI get(final String scheme, final String authority, final String basePath) {
+        final String uri = scheme + "://" + authority + basePath;
+
+        URI baseUri = cache.get(uri);
+        if (baseUri == null) {
+            try {
+                baseUri = new URI(uri);
+            } catch (final URISyntaxException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+            put(uri, baseUri);
+        }
+        return baseUri;
+    }
+
+    /**
+     * Get the base URI for a request addressed to the given server host and port.
+     *
+     * @param scheme request scheme.
+     * @param host server host name.
+     * @param port server port.
+     * @param basePath decoded base path ending with a {@code '/'}.
+     * @return base URI.
+     * @throws IllegalArgumentException in case the base URI is not a valid URI.
+     */
+    public URI get(final String scheme, final String host, final int port, final String basePath) {
+        // the leading space keeps the keys apart from the keys of the authority based URIs
+        final String key = " " + scheme + ' ' + host + ' ' + port + ' ' + basePath;
+
+        URI baseUri = cache.get(key);
+        if (baseUri == null) {
+            try {
+                baseUri = new URI(scheme, null, host, port, basePath, null, null);
+            } catch (final URISyntaxException ex) {
+                throw new IllegalArgumentException(ex);
+            }
+            put(key, baseUri);
+        }
+        return baseUri;
+    }
+
+    private void put(final String key, final URI baseUri) {
+        if (cache.size() >= capacity) {
+            cache.clear();
+        }
+        cache.put(key, baseUri);
+    }
+
+    /**
+     * Get the number of currently cached base URIs.
+     *
+     * @return number of cached base URIs.
+     */
+    public int size() {
+        return cache.size();
+    }
+}
@@ -60,7 +60,6 @@ import javax.ws.rs.core.Response.Status;
 
 import org.glassfish.jersey.internal.util.collection.Pair;
 import org.glassfish.jersey.message.MessageBodyWorkers;
-import org.glassfish.jersey.message.internal.Requests;
 import org.glassfish.jersey.message.internal.Responses;
 import org.glassfish.jersey.process.Inflector;
 import org.glassfish.jersey.process.internal.ResponseProcessor;
@@ -282,6 +281,11 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
 
     private final Map<String, List<ConsumesProducesAcceptor>> consumesProducesAcceptors;
     private final TreeAcceptor acceptor;
+    /**
+     * Value of the {@code Allow} header of the {@code 405 Method Not Allowed} responses,
+     * computed once for all the requests routed to this acceptor.
+     */
+    private final String allowHeader;
 
     private MethodSelectingAcceptor(
             Services services,
@@ -311,6 +315,16 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
         if (!consumesProducesAcceptors.containsKey(HttpMethod.OPTIONS)) {
             addOptionsSupport();
         }
+        final Set<String> allowedMethods = new HashSet<String>(consumesProducesAcceptors.keySet());
+        if (allowedMethods.contains(HttpMethod.GET)) {
+            allowedMethods.add(HttpMethod.HEAD);
+        }
+        this.allowHeader = toAllowHeader(allowedMethods);
+    }
+
+    private static String toAllowHeader(final Set<String> allowedMethods) {
+        final String allowedList = allowedMethods.toString();
+        return allowedList.substring(1, allowedList.length() - 1);
     }
 
     private TreeAcceptor createInternalAcceptor() {
@@ -318,7 +332,7 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
 
             @Override
             public Pair<Request, Iterator<TreeAcceptor>> apply(Request request) {
-                return Stages.singletonTreeContinuation(request, getMethodAcceptor(request));
+                return Stages.singletonTreeContinuation(request, getMethodAcceptor(request, request.getMethod()));
             }
         };
     }
@@ -389,11 +403,19 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
         }
     }
 
-    private TreeAcceptor getMethodAcceptor(final Request request) {
-        List<ConsumesProducesAcceptor> acceptors = consumesProducesAcceptors.get(request.getMethod());
+    /**
+     * Select the method acceptor for the request.
+     *
+     * @param request request to be processed.
+     * @param httpMethod HTTP method of the resource methods to select from; differs from the request method
+     *                   for {@code HEAD} requests processed by {@code GET} resource methods.
+     * @return selected method acceptor.
+     */
+    private TreeAcceptor getMethodAcceptor(final Request request, final String httpMethod) {
+        List<ConsumesProducesAcceptor> acceptors = consumesProducesAcceptors.get(httpMethod);
         if (acceptors == null) {
             throw new WebApplicationException(
-                    Response.status(Status.METHOD_NOT_ALLOWED).allow(consumesProducesAcceptors.keySet()).build());
+                    Response.status(Status.METHOD_NOT_ALLOWED).header(HttpHeaders.ALLOW, allowHeader).build());
         }
         List<ConsumesProducesAcceptor> satisfyingAcceptors = new LinkedList<ConsumesProducesAcceptor>();
         for (ConsumesProducesAcceptor cpi : acceptors) {
@@ -489,10 +511,11 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
         final Set<String> allowedMethods = new HashSet<String>(consumesProducesAcceptors.keySet());
         allowedMethods.add(HttpMethod.HEAD);
         allowedMethods.add(HttpMethod.OPTIONS);
+        final String allowedList = toAllowHeader(allowedMethods);
 
         List<ConsumesProducesAcceptor> optionsAcceptors = new LinkedList<ConsumesProducesAcceptor>();
-        optionsAcceptors.add(createPlainTextOptionsInflector(allowedMethods));
-        optionsAcceptors.add(createGenericOptionsInflector(allowedMethods));
+        optionsAcceptors.add(createPlainTextOptionsInflector(allowedList));
+        optionsAcceptors.add(createGenericOptionsInflector(allowedList));
         consumesProducesAcceptors.put(HttpMethod.OPTIONS, optionsAcceptors);
     }
 
@@ -501,20 +524,16 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
 
             @Override
             public Pair<Request, Iterator<TreeAcceptor>> apply(final Request request) {
-                if (HttpMethod.HEAD.equals(request.getMethod())) {
-                    final Request getRequest = Requests.from(request).method(HttpMethod.GET).build();
-                    return Stages.singletonTreeContinuation(getRequest, getMethodAcceptor(getRequest));
-                } else {
-                    return Stages.singletonTreeContinuation(request, getMethodAcceptor(request));
-                }
+                final String httpMethod = request.getMethod();
+                // HEAD requests are served by the GET methods; the request itself is not copied
+                // so that the entity-writing code can still recognize the HEAD request
+                return Stages.singletonTreeContinuation(request,
+                        getMethodAcceptor(request, HttpMethod.HEAD.equals(httpMethod) ? HttpMethod.GET : httpMethod));
             }
         };
     }
 
-    private ConsumesProducesAcceptor createPlainTextOptionsInflector(final Set<String> allowedMethods) {
-
-        final String allowedList = allowedMethods.toString();
-        final String optionsBody = allowedList.substring(1, allowedList.length() - 1);
+    private ConsumesProducesAcceptor createPlainTextOptionsInflector(final String allowedList) {
 
         return new ConsumesProducesAcceptor(
                 new CombinedClientServerMediaType.EffectiveMediaType(MediaType.WILDCARD_TYPE, false),
@@ -523,14 +542,14 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
 
                     @Override
                     public Response apply(Request data) {
-                        return Response.ok(optionsBody, MediaType.TEXT_PLAIN_TYPE)
-                                .allow(allowedMethods)
+                        return Response.ok(allowedList, MediaType.TEXT_PLAIN_TYPE)
+                                .header(HttpHeaders.ALLOW, allowedList)
                                 .build();
                     }
                 })));
     }
 
-    private ConsumesProducesAcceptor createGenericOptionsInflector(final Set<String> allowedMethods) {
+    private ConsumesProducesAcceptor createGenericOptionsInflector(final String allowedList) {
 
         return new ConsumesProducesAcceptor(
                 new CombinedClientServerMediaType.EffectiveMediaType(MediaType.WILDCARD_TYPE, false),
@@ -540,7 +559,7 @@ final class MethodSelectingAcceptor implements TreeAcceptor {
                     @Override
                     public Response apply(Request data) {
                         return Response.ok()
-                                .allow(allowedMethods)
+                                .header(HttpHeaders.ALLOW, allowedList)
                                 .header(HttpHeaders.CONTENT_LENGTH, "0")
                                 .type(data.getHeaders().getAcceptableMediaTypes().get(0))
                                 .build();
@@ -123,6 +123,24 @@ public class PackageNamesScanner implements ResourceFinder {
         init();
     }
 
+    /**
+     * Get the names of the scanned packages.
+     *
+     * @return names of the scanned packages.
+     */
+    public String[] getPackages() {
+        return packages.clone();
+    }
+
+    /**
+     * Get the class loader used to look up the scanned packages.
+     *
+     * @return class loader used for scanning.
+     */
+    public ClassLoader getClassLoader() {
+        return classloader;
+    }
+
     private void add(final UriSchemeResourceFinderFactory uriSchemeResourceFinderFactory) {
         for (final String s : uriSchemeResourceFinderFactory.getSchemes()) {
             finderFactories.put(s.toLowerCase(), uriSchemeResourceFinderFactory);
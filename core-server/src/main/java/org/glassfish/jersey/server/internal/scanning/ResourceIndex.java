@@ -0,0 +1,207 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reader of the build-time resource index.
+ * <p>
+ * The index is a plain UTF-8 text resource located at {@value #RESOURCE_NAME} in the root of
+ * a class-path element (a directory or a jar file). Each non-empty line that does not start with
+ * {@code '#'} contains a binary name of a public JAX-RS root resource or provider class compiled
+ * into the same class-path element. The index is produced at compile time by the
+ * {@link org.glassfish.jersey.server.ResourceIndexProcessor} annotation processor.
+ * </p>
+ * <p>
+ * An index is used in place of package scanning only if <em>every</em> class-path element that
+ * contributes to the scanned packages contains an index. Otherwise the packages have to be scanned
+ * in order not to miss any classes.
+ * </p>
+ */
+public final class ResourceIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(ResourceIndex.class.getName());
+
+    /**
+     * Location of the resource index in a class-path element.
+     */
+    public static final String RESOURCE_NAME = "META-INF/jersey/resource.idx";
+
+    private ResourceIndex() {
+        // prevents instantiation
+    }
+
+    /**
+     * Get names of all indexed classes that reside in any of the given packages or their
+     * sub-packages.
+     *
+     * @param classLoader class loader used to look up the package and index resources.
+     * @param packages    names of the packages (scanned recursively).
+     * @return set of indexed class names or {@code null} if any of the class-path elements
+     *         contributing to the packages does not contain a resource index.
+     */
+    public static Set<String> getIndexedClassNames(final ClassLoader classLoader, final String[] packages) {
+        final Map<String, Set<String>> rootIndexes = new HashMap<String, Set<String>>();
+        final Set<String> result = new LinkedHashSet<String>();
+
+        for (String packageName : packages) {
+            if (packageName.length() == 0) {
+                // default package covers the whole class-path; index cannot be verified
+                return null;
+            }
+
+            final String packagePath = packageName.replace('.', '/');
+            try {
+                final Enumeration<URL> urls = classLoader.getResources(packagePath);
+                while (urls.hasMoreElements()) {
+                    final String root = getRoot(urls.nextElement(), packagePath);
+                    if (root == null) {
+                        return null;
+                    }
+
+                    Set<String> index = rootIndexes.get(root);
+                    if (index == null) {
+                        index = readIndex(root);
+                        if (index == null) {
+                            return null;
+                        }
+                        rootIndexes.put(root, index);
+                    }
+
+                    final String prefix = packageName + '.';
+                    for (String className : index) {
+                        if (className.startsWith(prefix)) {
+                            result.add(className);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Unable to look up resources of package " + packageName, e);
+                return null;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Get the class-path element root URL of a package resource URL.
+     *
+     * @param packageUrl  URL of the package resource.
+     * @param packagePath package name with '.' replaced by '/'.
+     * @return class-path element root URL or {@code null} if it cannot be determined.
+     */
+    private static String getRoot(final URL packageUrl, final String packagePath) {
+        String url = packageUrl.toExternalForm();
+        if (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        if (!url.endsWith(packagePath)) {
+            return null;
+        }
+        return url.substring(0, url.length() - packagePath.length());
+    }
+
+    /**
+     * Read index entries from the given class-path element root.
+     *
+     * @param root class-path element root URL.
+     * @return set of class names listed in the index or {@code null} if the root does not
+     *         contain an index.
+     */
+    static Set<String> readIndex(final String root) {
+        final InputStream in;
+        try {
+            in = new URL(root + RESOURCE_NAME).openStream();
+        } catch (MalformedURLException e) {
+            return null;
+        } catch (IOException e) {
+            // no index in this class-path element
+            return null;
+        }
+
+        try {
+            return read(in);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Unable to read resource index from " + root + RESOURCE_NAME, e);
+            return null;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * Read index entries from an input stream.
+     *
+     * @param in input stream containing a resource index.
+     * @return set of class names listed in the index.
+     * @throws IOException in case of an I/O error.
+     */
+    public static Set<String> read(final InputStream in) throws IOException {
+        final Set<String> classNames = new LinkedHashSet<String>();
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.length() > 0 && line.charAt(0) != '#') {
+                classNames.add(line);
+            }
+        }
+        return Collections.unmodifiableSet(classNames);
+    }
+}
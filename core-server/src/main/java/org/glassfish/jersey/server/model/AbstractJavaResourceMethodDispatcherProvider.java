@@ -42,12 +42,25 @@ package org.glassfish.jersey.server.model;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Type;
 import java.util.List;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.Suspend;
 import javax.ws.rs.core.GenericEntity;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
+import org.glassfish.jersey.internal.MappableException;
 import org.glassfish.jersey.internal.ProcessingException;
+import org.glassfish.jersey.internal.util.PropertiesHelper;
+import org.glassfish.jersey.process.internal.InvocationContext;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
 import org.glassfish.jersey.server.spi.internal.ParameterValueHelper;
 import org.glassfish.jersey.server.spi.internal.ResourceMethodDispatcher;
 
@@ -56,6 +69,11 @@ import org.glassfish.hk2.Services;
 
 import org.jvnet.hk2.annotations.Inject;
 
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
+
 /**
  * An abstract implementation of {@link ResourceMethodDispatcher.Provider} that
  * creates instances of {@link ResourceMethodDispatcher}.
@@ -69,8 +87,16 @@ import org.jvnet.hk2.annotations.Inject;
  */
 abstract class AbstractJavaResourceMethodDispatcherProvider implements ResourceMethodDispatcher.Provider {
 
+    private static final Logger LOGGER = Logger.getLogger(AbstractJavaResourceMethodDispatcherProvider.class.getName());
+    /**
+     * Default {@link ServerProperties#FUTURE_RESPONSE_TIMEOUT future response timeout} in milliseconds.
+     */
+    private static final long DEFAULT_FUTURE_RESPONSE_TIMEOUT = 60000;
+
     @Inject
     private Services services;
+    @Inject
+    private Factory<InvocationContext> invocationContextFactory;
 
     @Override
     public ResourceMethodDispatcher create(Invocable resourceMethod, InvocationHandler invocationHandler) {
@@ -94,7 +120,10 @@ abstract class AbstractJavaResourceMethodDispatcherProvider implements ResourceM
         }
 
         final Class<?> returnType = resourceMethod.getHandlingMethod().getReturnType();
-        if (Response.class.isAssignableFrom(returnType)) {
+        if (Future.class.isAssignableFrom(returnType)) {
+            return new FutureOutInvoker(resourceMethod, invocationHandler, valueProviders, invocationContextFactory,
+                    resourceMethod.getHandlingMethod().isAnnotationPresent(Suspend.class), getFutureResponseTimeout());
+        } else if (Response.class.isAssignableFrom(returnType)) {
             return new ResponseOutInvoker(resourceMethod, invocationHandler, valueProviders);
 // TODO should we support JResponse?
 //        } else if (JResponse.class.isAssignableFrom(returnType)) {
@@ -229,4 +258,138 @@ abstract class AbstractJavaResourceMethodDispatcherProvider implements ResourceM
             }
         }
     }
+
+    private long getFutureResponseTimeout() {
+        final ResourceConfig configuration = services.forContract(ResourceConfig.class).get();
+        final long timeout = (configuration == null) ? DEFAULT_FUTURE_RESPONSE_TIMEOUT : PropertiesHelper.getValue(
+                configuration.getProperties(), ServerProperties.FUTURE_RESPONSE_TIMEOUT, DEFAULT_FUTURE_RESPONSE_TIMEOUT);
+        // non-positive suspend timeout means no timeout
+        return Math.max(timeout, 0);
+    }
+
+    /**
+     * Invoker of resource methods returning a {@link Future future} of the response
+     * (or of the response entity).
+     * <p>
+     * If the returned future is not completed yet, the request processing is suspended
+     * (using the suspend timeout of the resource method if declared, the
+     * {@link ServerProperties#FUTURE_RESPONSE_TIMEOUT configured default timeout} otherwise)
+     * and the request is resumed once the future completes, so that no thread is blocked
+     * waiting for the result. {@link ListenableFuture Listenable futures} are listened to directly, plain
+     * futures are adapted by waiting for their completion in a shared pool thread.
+     * </p>
+     */
+    private static final class FutureOutInvoker extends AbstractMethodParamInvoker {
+
+        private final Factory<InvocationContext> invocationContextFactory;
+        private final boolean suspendDeclared;
+        private final long defaultTimeout;
+
+        public FutureOutInvoker(
+                Invocable resourceMethod,
+                InvocationHandler handler,
+                List<Factory<?>> valueProviders,
+                Factory<InvocationContext> invocationContextFactory,
+                boolean suspendDeclared,
+                long defaultTimeout) {
+            super(resourceMethod, handler, valueProviders);
+            this.invocationContextFactory = invocationContextFactory;
+            this.suspendDeclared = suspendDeclared;
+            this.defaultTimeout = defaultTimeout;
+        }
+
+        @Override
+        protected Response doDispatch(Object resource, Request request) throws ProcessingException {
+            final Future<?> future = (Future<?>) invoke(resource, getParamValues());
+            if (future == null) {
+                return Response.noContent().build();
+            }
+            if (future.isDone()) {
+                return getResponse(future);
+            }
+
+            final InvocationContext invocationContext = invocationContextFactory.get();
+            if (!suspendDeclared) {
+                // never pin the request to a future that may never complete
+                invocationContext.setSuspendTimeout(defaultTimeout, TimeUnit.MILLISECONDS);
+            }
+            if (!invocationContext.trySuspend()) {
+                // already resumed or cancelled
+                return null;
+            }
+
+            // plain futures park a pooled thread until done (see ServerProperties.FUTURE_RESPONSE_TIMEOUT)
+            final ListenableFuture<?> listenableFuture = (future instanceof ListenableFuture)
+                    ? (ListenableFuture<?>) future : JdkFutureAdapters.listenInPoolThread(future);
+            listenableFuture.addListener(new Runnable() {
+
+                @Override
+                public void run() {
+                    resume(invocationContext, future);
+                }
+            }, MoreExecutors.sameThreadExecutor());
+
+            final Future<Response> inflectedResponse = invocationContext.getInflectedResponse();
+            if (inflectedResponse instanceof ListenableFuture) {
+                ((ListenableFuture<Response>) inflectedResponse).addListener(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        if (inflectedResponse.isCancelled()) {
+                            // timed out or cancelled: complete the future so that its listener,
+                            // holding the invocation context, is released
+                            future.cancel(false);
+                        }
+                    }
+                }, MoreExecutors.sameThreadExecutor());
+            }
+
+            // response is provided by resuming the invocation context
+            return null;
+        }
+
+        private void resume(final InvocationContext invocationContext, final Future<?> future) {
+            if (invocationContext.state() == InvocationContext.State.CANCELLED) {
+                // the invocation has timed out or has been cancelled, the result is not needed anymore
+                return;
+            }
+            try {
+                Response response;
+                try {
+                    response = getResponse(future);
+                } catch (ProcessingException ex) {
+                    invocationContext.resume(ex);
+                    return;
+                }
+                invocationContext.resume(response);
+            } catch (IllegalStateException ex) {
+                // e.g. the suspend timeout has expired in the meantime
+                LOGGER.log(Level.FINE, LocalizationMessages.RESOURCE_METHOD_FUTURE_RESULT_IGNORED(this), ex);
+            }
+        }
+
+        private static Response getResponse(final Future<?> future) throws ProcessingException {
+            final Object result;
+            try {
+                result = Uninterruptibles.getUninterruptibly(future);
+            } catch (ExecutionException ex) {
+                final Throwable cause = ex.getCause();
+                if (cause instanceof ProcessingException) {
+                    throw (ProcessingException) cause;
+                }
+                // exception cause potentially mappable
+                throw new MappableException(cause);
+            } catch (CancellationException ex) {
+                throw new ProcessingException("Resource method result future has been cancelled.", ex);
+            }
+
+            if (result instanceof Response) {
+                return (Response) result;
+            } else if (result != null) {
+                return Response.ok().entity(result).build();
+            } else {
+                return Response.noContent().build();
+            }
+        }
+    }
 }
@@ -39,6 +39,12 @@
  */
 package org.glassfish.jersey.server.model;
 
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.Future;
+
+import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 
@@ -97,6 +103,7 @@ public class ResourceMethodInvoker implements Inflector<Request, Response> {
     private final Factory<InvocationContext> invocationContextFactory;
     private final ResourceMethod method;
     private final ResourceMethodDispatcher dispatcher;
+    private final Type responseMethodType;
 
     private ResourceMethodInvoker(
             Factory<RouterModule.RoutingContext> routingContextFactory,
@@ -110,6 +117,40 @@ public class ResourceMethodInvoker implements Inflector<Request, Response> {
         this.method = method;
         final Invocable invocable = method.getInvocable();
         this.dispatcher = dispatcherProvider.create(invocable, invocationHandlerProvider.create(invocable));
+        this.responseMethodType = getResponseMethodType(invocable);
+    }
+
+    /**
+     * Get the Java type of the response entity returned by the resource method. For
+     * methods returning a {@link Future future} the type of the future value is used.
+     *
+     * @param invocable invocable resource method.
+     * @return Java type of the response entity or {@code null} if the type of the future
+     *         value cannot be determined.
+     */
+    private static Type getResponseMethodType(Invocable invocable) {
+        final GenericType<?> responseType = invocable.getResponseType();
+        if (!Future.class.isAssignableFrom(responseType.getRawType())) {
+            return responseType.getType();
+        }
+
+        if (responseType.getType() instanceof ParameterizedType) {
+            final Type valueType = ((ParameterizedType) responseType.getType()).getActualTypeArguments()[0];
+            if (valueType instanceof Class || valueType instanceof ParameterizedType
+                    || valueType instanceof GenericArrayType) {
+                return valueType;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the model of the resource method invoked by this invoker.
+     *
+     * @return invoked resource method model.
+     */
+    public ResourceMethod getResourceMethod() {
+        return method;
     }
 
     @Override
@@ -125,7 +166,9 @@ public class ResourceMethodInvoker implements Inflector<Request, Response> {
 
         final Invocable invocable = method.getInvocable();
         final RoutingContext routingCtx = routingContextFactory.get();
-        routingCtx.setResponseMethodType(invocable.getResponseType().getType());
+        if (responseMethodType != null) {
+            routingCtx.setResponseMethodType(responseMethodType);
+        }
         routingCtx.setResponseMethodAnnotations(invocable.getHandlingMethod().getDeclaredAnnotations());
 
         if (method.isSuspendDeclared()) {
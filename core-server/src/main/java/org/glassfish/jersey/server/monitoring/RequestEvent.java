@@ -0,0 +1,201 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+/**
+ * Request processing event.
+ * <p/>
+ * The events of a single request are produced in the order of the {@link Type event types}
+ * (some events may be skipped, e.g. the request may not be matched to any resource method)
+ * and each event is linked to the {@link #getPreviousEvent() previous event} of the same
+ * request. The event times are provided by {@link System#nanoTime()}, hence the time
+ * spent in any processing stage is computed as a difference of two event times.
+ */
+public final class RequestEvent {
+
+    /**
+     * Request processing event type.
+     */
+    public static enum Type {
+
+        /**
+         * Request processing has started.
+         */
+        START,
+        /**
+         * Pre-matching request filters have been executed and the resource matching starts.
+         */
+        MATCHING_START,
+        /**
+         * Request has been matched to a {@link RequestEvent#getResourceMethod() resource method}.
+         */
+        MATCHED,
+        /**
+         * Matched resource method has been invoked and returned, possibly by throwing
+         * an exception.
+         */
+        DISPATCHED,
+        /**
+         * Response has been processed by the response processing stages and is going
+         * to be written.
+         */
+        RESPONSE_READY,
+        /**
+         * Response entity has been written.
+         */
+        ENTITY_WRITTEN,
+        /**
+         * Request processing has finished and the response has been committed.
+         */
+        FINISHED
+    }
+
+    private final Type type;
+    private final long time;
+    private final long startTime;
+    private final Request request;
+    private final Response response;
+    private final ResourceMethod resourceMethod;
+    private final RequestEvent previousEvent;
+
+    /**
+     * Create new request processing event.
+     *
+     * @param type           event type.
+     * @param time           event time as provided by {@link System#nanoTime()}.
+     * @param request        processed request.
+     * @param response       processed response, may be {@code null}.
+     * @param resourceMethod matched resource method, may be {@code null}.
+     * @param previousEvent  previous event of the same request or {@code null} if this
+     *                       is the first event of the request.
+     */
+    public RequestEvent(final Type type,
+                        final long time,
+                        final Request request,
+                        final Response response,
+                        final ResourceMethod resourceMethod,
+                        final RequestEvent previousEvent) {
+        this.type = type;
+        this.time = time;
+        this.startTime = (previousEvent == null) ? time : previousEvent.startTime;
+        this.request = request;
+        this.response = response;
+        this.resourceMethod = resourceMethod;
+        this.previousEvent = previousEvent;
+    }
+
+    /**
+     * Get the event type.
+     *
+     * @return event type.
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Get the event time as provided by {@link System#nanoTime()}.
+     *
+     * @return event time in nanoseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+    /**
+     * Get the time of the first event of the request as provided by {@link System#nanoTime()}.
+     *
+     * @return request processing start time in nanoseconds.
+     */
+    public long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Get the processed request.
+     *
+     * @return processed request.
+     */
+    public Request getRequest() {
+        return request;
+    }
+
+    /**
+     * Get the processed response.
+     *
+     * @return processed response or {@code null} if no response is available yet.
+     */
+    public Response getResponse() {
+        return response;
+    }
+
+    /**
+     * Get the resource method the request has been matched to.
+     *
+     * @return matched resource method or {@code null} if the request has not been
+     *         (yet) matched to a resource method.
+     */
+    public ResourceMethod getResourceMethod() {
+        return resourceMethod;
+    }
+
+    /**
+     * Get the previous event of the same request.
+     *
+     * @return previous event or {@code null} if this is the first event of the request.
+     */
+    public RequestEvent getPreviousEvent() {
+        return previousEvent;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestEvent{" +
+                "type=" + type +
+                ", time=" + time +
+                ", startTime=" + startTime +
+                ", resourceMethod=" + resourceMethod + '}';
+    }
+}
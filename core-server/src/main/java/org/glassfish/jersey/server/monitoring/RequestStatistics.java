@@ -0,0 +1,336 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+/**
+ * Request event listener that keeps {@link LatencyHistogram latency histograms} of the
+ * whole request processing, of every request processing {@link Stage stage} and of
+ * every matched resource method.
+ * <p/>
+ * The statistics are enabled by the
+ * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_ENABLED} property
+ * and are available from the {@link org.glassfish.jersey.server.ApplicationHandler#getRequestStatistics()
+ * application handler}, as a JMX MBean and optionally via a
+ * {@link org.glassfish.jersey.server.ServerProperties#MONITORING_STATISTICS_PATH resource}.
+ * An instance may also be registered as an application provider directly.
+ */
+public final class RequestStatistics implements RequestEventListener, RequestStatisticsMBean {
+
+    /**
+     * Request processing stage. The time spent in a stage is the time between the
+     * {@link #getStartEvent() start} and {@link #getEndEvent() end} events of the stage.
+     */
+    public static enum Stage {
+
+        /**
+         * Pre-matching request filtering.
+         */
+        PRE_MATCHING(RequestEvent.Type.START, RequestEvent.Type.MATCHING_START),
+        /**
+         * Resource and resource method matching.
+         */
+        MATCHING(RequestEvent.Type.MATCHING_START, RequestEvent.Type.MATCHED),
+        /**
+         * Request filtering and resource method invocation.
+         */
+        DISPATCH(RequestEvent.Type.MATCHED, RequestEvent.Type.DISPATCHED),
+        /**
+         * Response processing (response filtering and exception mapping).
+         */
+        RESPONSE_PROCESSING(RequestEvent.Type.DISPATCHED, RequestEvent.Type.RESPONSE_READY),
+        /**
+         * Response entity writing.
+         */
+        ENTITY_WRITING(RequestEvent.Type.RESPONSE_READY, RequestEvent.Type.ENTITY_WRITTEN);
+
+        private final RequestEvent.Type startEvent;
+        private final RequestEvent.Type endEvent;
+
+        private Stage(final RequestEvent.Type startEvent, final RequestEvent.Type endEvent) {
+            this.startEvent = startEvent;
+            this.endEvent = endEvent;
+        }
+
+        /**
+         * Get the type of the event that starts the stage.
+         *
+         * @return stage start event type.
+         */
+        public RequestEvent.Type getStartEvent() {
+            return startEvent;
+        }
+
+        /**
+         * Get the type of the event that ends the stage.
+         *
+         * @return stage end event type.
+         */
+        public RequestEvent.Type getEndEvent() {
+            return endEvent;
+        }
+    }
+
+    /**
+     * Name of the whole request processing latency histogram.
+     */
+    public static final String REQUEST_HISTOGRAM = "request";
+    private static final String STAGE_HISTOGRAM_PREFIX = "stage:";
+    private static final String METHOD_HISTOGRAM_PREFIX = "method:";
+
+    private static final Stage[] STAGES_BY_END_EVENT = new Stage[RequestEvent.Type.values().length];
+
+    static {
+        for (Stage stage : Stage.values()) {
+            STAGES_BY_END_EVENT[stage.endEvent.ordinal()] = stage;
+        }
+    }
+
+    private final LatencyHistogram requests = new LatencyHistogram();
+    private final Map<Stage, LatencyHistogram> stages = new EnumMap<Stage, LatencyHistogram>(Stage.class);
+    private final ConcurrentMap<ResourceMethod, LatencyHistogram> methods =
+            new ConcurrentHashMap<ResourceMethod, LatencyHistogram>();
+    /**
+     * Resource method histograms by their unique names.
+     */
+    private final ConcurrentMap<String, LatencyHistogram> methodsByName =
+            new ConcurrentHashMap<String, LatencyHistogram>();
+
+    /**
+     * Create new request statistics.
+     */
+    public RequestStatistics() {
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public void onEvent(final RequestEvent event) {
+        final RequestEvent.Type type = event.getType();
+        if (type == RequestEvent.Type.FINISHED) {
+            final long duration = event.getTime() - event.getStartTime();
+            requests.record(duration, TimeUnit.NANOSECONDS);
+
+            final ResourceMethod resourceMethod = event.getResourceMethod();
+            if (resourceMethod != null) {
+                getResourceMethodHistogram(resourceMethod).record(duration, TimeUnit.NANOSECONDS);
+            }
+            return;
+        }
+
+        final Stage stage = STAGES_BY_END_EVENT[type.ordinal()];
+        final RequestEvent previous = event.getPreviousEvent();
+        if (stage != null && previous != null && previous.getType() == stage.startEvent) {
+            stages.get(stage).record(event.getTime() - previous.getTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private LatencyHistogram getResourceMethodHistogram(final ResourceMethod resourceMethod) {
+        LatencyHistogram histogram = methods.get(resourceMethod);
+        if (histogram == null) {
+            final LatencyHistogram created = new LatencyHistogram();
+            histogram = methods.putIfAbsent(resourceMethod, created);
+            if (histogram == null) {
+                histogram = created;
+                // distinct resource methods may share the name (e.g. inflectors of the same class)
+                final String name = METHOD_HISTOGRAM_PREFIX + getName(resourceMethod);
+                String uniqueName = name;
+                for (int i = 2; methodsByName.putIfAbsent(uniqueName, created) != null; i++) {
+                    uniqueName = name + " (" + i + ")";
+                }
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Get the latency histogram of the whole request processing.
+     *
+     * @return request processing latency histogram.
+     */
+    public LatencyHistogram getRequestHistogram() {
+        return requests;
+    }
+
+    /**
+     * Get the latency histogram of a request processing stage.
+     *
+     * @param stage request processing stage.
+     * @return stage latency histogram.
+     */
+    public LatencyHistogram getStageHistogram(final Stage stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * Get the request processing latency histograms of the resource methods matched so far.
+     *
+     * @return resource method latency histograms.
+     */
+    public Map<ResourceMethod, LatencyHistogram> getResourceMethodHistograms() {
+        return Collections.unmodifiableMap(methods);
+    }
+
+    private Map<String, LatencyHistogram> getHistograms() {
+        final Map<String, LatencyHistogram> histograms = new LinkedHashMap<String, LatencyHistogram>();
+        histograms.put(REQUEST_HISTOGRAM, requests);
+        for (Map.Entry<Stage, LatencyHistogram> e : stages.entrySet()) {
+            histograms.put(STAGE_HISTOGRAM_PREFIX + e.getKey().name(), e.getValue());
+        }
+
+        final List<String> names = new ArrayList<String>(methodsByName.keySet());
+        Collections.sort(names);
+        for (String name : names) {
+            final LatencyHistogram histogram = methodsByName.get(name);
+            if (histogram != null) {
+                histograms.put(name, histogram);
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Get the name of a resource method histogram consisting of the HTTP method and the full
+     * signature of the handling Java method, e.g. {@code GET com.example.Resource#get(java.lang.String)}.
+     */
+    private static String getName(final ResourceMethod resourceMethod) {
+        final StringBuilder name = new StringBuilder(resourceMethod.getHttpMethod());
+        final Method method = resourceMethod.getInvocable().getHandlingMethod();
+        if (method != null) {
+            name.append(' ')
+                    .append(resourceMethod.getInvocable().getHandler().getHandlerClass().getName())
+                    .append('#')
+                    .append(method.getName())
+                    .append('(');
+            final Class<?>[] parameterTypes = method.getParameterTypes();
+            for (int i = 0; i < parameterTypes.length; i++) {
+                if (i > 0) {
+                    name.append(',');
+                }
+                name.append(parameterTypes[i].getName());
+            }
+            name.append(')');
+        }
+        return name.toString();
+    }
+
+    @Override
+    public String[] getHistogramNames() {
+        return getHistograms().keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getCount(final String histogram) {
+        final LatencyHistogram h = getHistograms().get(histogram);
+        return (h == null) ? 0 : h.getCount();
+    }
+
+    @Override
+    public double getMean(final String histogram) {
+        final LatencyHistogram h = getHistograms().get(histogram);
+        return (h == null) ? 0 : h.getMean(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getMax(final String histogram) {
+        final LatencyHistogram h = getHistograms().get(histogram);
+        return (h == null) ? 0 : toMillis(h.getMax(TimeUnit.MICROSECONDS));
+    }
+
+    @Override
+    public double getPercentile(final String histogram, final double percentile) {
+        final LatencyHistogram h = getHistograms().get(histogram);
+        return (h == null) ? 0 : toMillis(h.getPercentile(percentile, TimeUnit.MICROSECONDS));
+    }
+
+    private static double toMillis(final long micros) {
+        return micros / 1000d;
+    }
+
+    @Override
+    public String getReport() {
+        final StringBuilder report = new StringBuilder(
+                "histogram\tcount\tmean[ms]\tp50[ms]\tp90[ms]\tp99[ms]\tmax[ms]\n");
+        for (Map.Entry<String, LatencyHistogram> e : getHistograms().entrySet()) {
+            final LatencyHistogram h = e.getValue();
+            report.append(e.getKey()).append('\t').append(h.getCount());
+            appendMillis(report, h.getMean(TimeUnit.MILLISECONDS));
+            appendMillis(report, toMillis(h.getPercentile(50, TimeUnit.MICROSECONDS)));
+            appendMillis(report, toMillis(h.getPercentile(90, TimeUnit.MICROSECONDS)));
+            appendMillis(report, toMillis(h.getPercentile(99, TimeUnit.MICROSECONDS)));
+            appendMillis(report, toMillis(h.getMax(TimeUnit.MICROSECONDS)));
+            report.append('\n');
+        }
+        return report.toString();
+    }
+
+    private static void appendMillis(final StringBuilder report, final double millis) {
+        report.append('\t').append(String.format(Locale.ROOT, "%.3f", millis));
+    }
+
+    @Override
+    public void reset() {
+        requests.reset();
+        for (LatencyHistogram h : stages.values()) {
+            h.reset();
+        }
+        methods.clear();
+        methodsByName.clear();
+    }
+
+    @Override
+    public String toString() {
+        return getReport();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * JMX management interface of the {@link RequestStatistics request statistics}.
+ * <p/>
+ * The latency histograms are identified by their {@link #getHistogramNames() names}. All
+ * the latencies are reported in milliseconds.
+ */
+public interface RequestStatisticsMBean {
+
+    /**
+     * Get the names of the available latency histograms.
+     *
+     * @return latency histogram names.
+     */
+    public String[] getHistogramNames();
+
+    /**
+     * Get the number of latencies recorded by the histogram.
+     *
+     * @param histogram histogram name.
+     * @return number of recorded latencies or {@code 0} if there is no such histogram.
+     */
+    public long getCount(String histogram);
+
+    /**
+     * Get the mean latency recorded by the histogram.
+     *
+     * @param histogram histogram name.
+     * @return mean latency in milliseconds or {@code 0} if there is no such histogram.
+     */
+    public double getMean(String histogram);
+
+    /**
+     * Get the maximum latency recorded by the histogram.
+     *
+     * @param histogram histogram name.
+     * @return maximum latency in milliseconds or {@code 0} if there is no such histogram.
+     */
+    public double getMax(String histogram);
+
+    /**
+     * Get the latency at the given percentile of the latencies recorded by the histogram.
+     *
+     * @param histogram  histogram name.
+     * @param percentile requested percentile in the range {@code [0, 100]}.
+     * @return latency at the percentile in milliseconds or {@code 0} if there is no such
+     *         histogram.
+     */
+    public double getPercentile(String histogram, double percentile);
+
+    /**
+     * Get a plain text report of all the latency histograms.
+     *
+     * @return latency histograms report.
+     */
+    public String getReport();
+
+    /**
+     * Reset all the latency histograms.
+     */
+    public void reset();
+}
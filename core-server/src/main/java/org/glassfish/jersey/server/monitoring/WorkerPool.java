@@ -0,0 +1,339 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Bounded, instrumented pool of container worker threads processing the accepted
+ * requests.
+ * <p/>
+ * Worker threads are started on demand up to the configured maximum and released once
+ * they have been idle for the configured keep-alive time. Requests that arrive while
+ * all the workers are busy wait in a bounded queue. Once the queue is full as well, the
+ * pool is saturated and the request is handled according to the pool's {@link SaturationPolicy
+ * saturation policy} instead of creating more threads or queueing requests indefinitely.
+ * <p/>
+ * The pool statistics are available via the {@link WorkerPoolMBean} methods. The time
+ * the requests wait in the queue is kept in a {@link LatencyHistogram latency histogram}.
+ */
+public final class WorkerPool implements WorkerPoolMBean {
+
+    private static final Logger LOGGER = Logger.getLogger(WorkerPool.class.getName());
+    private static final AtomicInteger MBEAN_IDS = new AtomicInteger();
+
+    /**
+     * Policy applied to the requests submitted to a saturated worker pool.
+     */
+    public static enum SaturationPolicy {
+
+        /**
+         * The request is processed directly on the submitting container thread, which stops
+         * the container from accepting further requests until the request is processed. Suitable
+         * for containers that hand the requests off from a dedicated dispatcher thread only.
+         */
+        CALLER_RUNS,
+        /**
+         * The request is rejected with a {@link RejectedExecutionException}. Suitable for
+         * containers that hand the requests off from non-blocking I/O threads, which must never
+         * process (or wait for) a request themselves.
+         */
+        REJECT
+    }
+
+    private final String name;
+    private final int queueCapacity;
+    private final SaturationPolicy saturationPolicy;
+    private final InstrumentedExecutor executor;
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+    private final AtomicLong saturatedCount = new AtomicLong();
+    private volatile ObjectName objectName;
+
+    /**
+     * Create new worker pool processing the requests on the submitting thread once saturated.
+     *
+     * @param name          worker pool name, also used as the worker thread name prefix.
+     * @param maxThreads    maximum number of worker threads. Must be positive.
+     * @param queueCapacity maximum number of requests waiting for a free worker. If zero,
+     *                      requests are never queued; if negative, the queue is unbounded.
+     * @param keepAlive     time after which an idle worker thread is released.
+     * @param unit          keep-alive time unit.
+     */
+    public WorkerPool(final String name, final int maxThreads, final int queueCapacity,
+                      final long keepAlive, final TimeUnit unit) {
+        this(name, maxThreads, queueCapacity, keepAlive, unit, SaturationPolicy.CALLER_RUNS);
+    }
+
+    /**
+     * Create new worker pool.
+     *
+     * @param name          worker pool name, also used as the worker thread name prefix.
+     * @param maxThreads    maximum number of worker threads. Must be positive.
+     * @param queueCapacity maximum number of requests waiting for a free worker. If zero,
+     *                      requests are never queued; if negative, the queue is unbounded.
+     * @param keepAlive     time after which an idle worker thread is released.
+     * @param unit          keep-alive time unit.
+     * @param saturationPolicy policy applied to the requests submitted to the saturated pool.
+     */
+    public WorkerPool(final String name, final int maxThreads, final int queueCapacity,
+                      final long keepAlive, final TimeUnit unit, final SaturationPolicy saturationPolicy) {
+        if (maxThreads <= 0) {
+            throw new IllegalArgumentException("Maximum number of worker threads must be positive: " + maxThreads);
+        }
+
+        final BlockingQueue<Runnable> queue;
+        if (queueCapacity < 0) {
+            queue = new LinkedBlockingQueue<Runnable>();
+        } else if (queueCapacity == 0) {
+            queue = new SynchronousQueue<Runnable>();
+        } else {
+            queue = new ArrayBlockingQueue<Runnable>(queueCapacity);
+        }
+
+        this.name = name;
+        this.queueCapacity = queueCapacity < 0 ? -1 : queueCapacity;
+        this.saturationPolicy = saturationPolicy;
+        this.executor = new InstrumentedExecutor(maxThreads, keepAlive, unit, queue);
+        // idle workers are released so that an idle container does not hold the whole pool
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the executor service executing the tasks on the worker threads.
+     *
+     * @return worker pool executor service.
+     */
+    public ExecutorService getExecutorService() {
+        return executor;
+    }
+
+    /**
+     * Get the histogram of the time the requests waited in the queue for a free
+     * worker thread.
+     *
+     * @return queue wait time histogram.
+     */
+    public LatencyHistogram getQueueWaitHistogram() {
+        return queueWait;
+    }
+
+    /**
+     * Get the policy applied to the requests submitted to the saturated pool.
+     *
+     * @return worker pool saturation policy.
+     */
+    public SaturationPolicy getSaturationPolicy() {
+        return saturationPolicy;
+    }
+
+    /**
+     * Register the pool statistics in the platform MBean server under the
+     * {@code org.glassfish.jersey:type=WorkerPool,name=<name>,id=<sequence number>} object name.
+     * The id distinguishes the pools of the same name (e.g. of servers listening on the same port
+     * of different hosts). The MBean is unregistered once the pool is {@link #shutdown() shut down}.
+     *
+     * @throws JMException in case the MBean could not be registered.
+     */
+    public void registerMBean() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName mbeanName = new ObjectName("org.glassfish.jersey:type=WorkerPool,name="
+                + ObjectName.quote(name) + ",id=" + MBEAN_IDS.incrementAndGet());
+        server.registerMBean(this, mbeanName);
+        objectName = mbeanName;
+    }
+
+    /**
+     * Shut down the worker pool and unregister its MBean, if {@link #registerMBean() registered}.
+     * Requests already accepted by the pool are still processed.
+     */
+    public void shutdown() {
+        executor.shutdown();
+
+        final ObjectName mbeanName = objectName;
+        if (mbeanName != null) {
+            objectName = null;
+            try {
+                final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (server.isRegistered(mbeanName)) {
+                    server.unregisterMBean(mbeanName);
+                }
+            } catch (JMException ex) {
+                LOGGER.log(Level.WARNING, LocalizationMessages.WORKER_POOL_MBEAN_NOT_UNREGISTERED(name), ex);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int getMaximumPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    @Override
+    public int getPoolSize() {
+        return executor.getPoolSize();
+    }
+
+    @Override
+    public int getLargestPoolSize() {
+        return executor.getLargestPoolSize();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    @Override
+    public long getCompletedCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    @Override
+    public long getSaturatedCount() {
+        return saturatedCount.get();
+    }
+
+    @Override
+    public double getQueueWaitMean() {
+        return queueWait.getMean(TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public double getQueueWaitPercentile(final double percentile) {
+        return queueWait.getPercentile(percentile, TimeUnit.MICROSECONDS) / 1000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d/%d workers (%d active), %d/%d queued, %d completed, %d saturated",
+                name, getPoolSize(), getMaximumPoolSize(), getActiveCount(), getQueuedCount(), queueCapacity,
+                getCompletedCount(), getSaturatedCount());
+    }
+
+    /**
+     * Task decorator recording the time the task has been submitted at.
+     */
+    private static final class QueuedTask implements Runnable {
+
+        private final Runnable task;
+        private final long submitted = System.nanoTime();
+
+        QueuedTask(final Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+    }
+
+    private final class InstrumentedExecutor extends ThreadPoolExecutor {
+
+        InstrumentedExecutor(final int maxThreads, final long keepAlive, final TimeUnit unit,
+                             final BlockingQueue<Runnable> queue) {
+            super(maxThreads, maxThreads, keepAlive, unit, queue,
+                    new ThreadFactoryBuilder().setNameFormat(name + "-%d").build(),
+                    new RejectedExecutionHandler() {
+
+                        @Override
+                        public void rejectedExecution(final Runnable task, final ThreadPoolExecutor executor) {
+                            if (executor.isShutdown()) {
+                                throw new RejectedExecutionException("Worker pool " + name + " has been shut down.");
+                            }
+                            saturatedCount.incrementAndGet();
+                            if (saturationPolicy == SaturationPolicy.REJECT) {
+                                throw new RejectedExecutionException("Worker pool " + name + " is saturated.");
+                            }
+                            // back-pressure: process on the container thread instead of piling up requests
+                            task.run();
+                        }
+                    });
+        }
+
+        @Override
+        public void execute(final Runnable command) {
+            super.execute(new QueuedTask(command));
+        }
+
+        @Override
+        protected void beforeExecute(final Thread thread, final Runnable task) {
+            if (task instanceof QueuedTask) {
+                queueWait.record(System.nanoTime() - ((QueuedTask) task).submitted, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
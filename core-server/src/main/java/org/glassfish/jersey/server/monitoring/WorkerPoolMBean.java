@@ -0,0 +1,128 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+/**
+ * JMX management interface of a container {@link WorkerPool worker pool}.
+ * <p/>
+ * All the queue wait times are reported in milliseconds.
+ */
+public interface WorkerPoolMBean {
+
+    /**
+     * Get the name of the worker pool.
+     *
+     * @return worker pool name.
+     */
+    public String getName();
+
+    /**
+     * Get the maximum number of worker threads.
+     *
+     * @return maximum number of worker threads.
+     */
+    public int getMaximumPoolSize();
+
+    /**
+     * Get the current number of worker threads.
+     *
+     * @return current number of worker threads.
+     */
+    public int getPoolSize();
+
+    /**
+     * Get the largest number of worker threads that have ever simultaneously been in the pool.
+     *
+     * @return largest number of worker threads.
+     */
+    public int getLargestPoolSize();
+
+    /**
+     * Get the approximate number of worker threads actively processing a request.
+     *
+     * @return number of active worker threads.
+     */
+    public int getActiveCount();
+
+    /**
+     * Get the number of requests waiting for a free worker thread.
+     *
+     * @return number of queued requests.
+     */
+    public int getQueuedCount();
+
+    /**
+     * Get the maximum number of requests waiting for a free worker thread.
+     *
+     * @return queue capacity or {@code -1} if the queue is unbounded.
+     */
+    public int getQueueCapacity();
+
+    /**
+     * Get the approximate number of requests processed by the worker threads.
+     *
+     * @return number of completed requests.
+     */
+    public long getCompletedCount();
+
+    /**
+     * Get the number of requests that could not be handed over to the worker pool because
+     * all the worker threads were busy and the queue was full. Such requests are processed
+     * directly on the container thread that accepted them.
+     *
+     * @return number of requests submitted to the saturated pool.
+     */
+    public long getSaturatedCount();
+
+    /**
+     * Get the mean time the requests waited in the queue for a free worker thread.
+     *
+     * @return mean queue wait time in milliseconds.
+     */
+    public double getQueueWaitMean();
+
+    /**
+     * Get the queue wait time at the given percentile of the queue wait times.
+     *
+     * @param percentile requested percentile in the range {@code [0, 100]}.
+     * @return queue wait time at the percentile in milliseconds.
+     */
+    public double getQueueWaitPercentile(double percentile);
+}
@@ -0,0 +1,247 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.Requests;
+
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Server-side admission control tests.
+ */
+public class AdmissionControlTest {
+
+    private static volatile CountDownLatch release;
+    private static volatile SettableFuture<String> pending;
+
+    @Path("slow")
+    public static class SlowResource {
+
+        @GET
+        public String get() throws InterruptedException {
+            release.await(10, TimeUnit.SECONDS);
+            return "slow";
+        }
+    }
+
+    @Path("fast")
+    @AdmissionPriority(AdmissionPriority.Level.HIGH)
+    public static class FastResource {
+
+        @GET
+        public String get() {
+            return "fast";
+        }
+    }
+
+    @Path("async")
+    public static class AsyncResource {
+
+        @GET
+        public Future<String> get() {
+            return pending;
+        }
+    }
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        release = new CountDownLatch(1);
+        pending = SettableFuture.create();
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private ApplicationHandler createApplication(final int limit, final String scope) {
+        final ResourceConfig resourceConfig = new ResourceConfig(SlowResource.class, FastResource.class,
+                AsyncResource.class);
+        resourceConfig.setProperty(ServerProperties.ADMISSION_LIMIT, limit);
+        resourceConfig.setProperty(ServerProperties.ADMISSION_SCOPE, scope);
+        resourceConfig.setProperty(ServerProperties.ADMISSION_RETRY_AFTER, 5);
+        return new ApplicationHandler(resourceConfig);
+    }
+
+    private Future<Response> getInBackground(final ApplicationHandler app, final String path) {
+        return executor.submit(new Callable<Response>() {
+
+            @Override
+            public Response call() throws Exception {
+                return app.apply(Requests.from("/", path, "GET").build()).get();
+            }
+        });
+    }
+
+    private static void awaitConcurrency(final AdmissionStatistics statistics, final int concurrency)
+            throws InterruptedException {
+        for (int i = 0; i < 500 && statistics.getConcurrency() < concurrency; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(concurrency, statistics.getConcurrency());
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        assertNull(new ApplicationHandler(new ResourceConfig(FastResource.class)).getAdmissionStatistics());
+    }
+
+    @Test
+    public void testRequestsOverLimitRejected() throws Exception {
+        final ApplicationHandler app = createApplication(1, "application");
+        final AdmissionStatistics statistics = app.getAdmissionStatistics();
+
+        final Future<Response> slow = getInBackground(app, "/slow");
+        awaitConcurrency(statistics, 1);
+
+        final Response rejected = app.apply(Requests.from("/", "/fast", "GET").build()).get();
+        assertEquals(503, rejected.getStatus());
+        assertEquals("5", rejected.getHeaders().getHeader("Retry-After"));
+        assertEquals(1, statistics.getRejectedCount());
+
+        release.countDown();
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(0, statistics.getConcurrency());
+
+        assertEquals(200, app.apply(Requests.from("/", "/fast", "GET").build()).get().getStatus());
+        assertEquals(2, statistics.getAdmittedCount());
+    }
+
+    @Test
+    public void testSuspendedRequestHoldsPermit() throws Exception {
+        final ApplicationHandler app = createApplication(1, "application");
+        final AdmissionStatistics statistics = app.getAdmissionStatistics();
+
+        final Future<Response> async = app.apply(Requests.from("/", "/async", "GET").build());
+        assertFalse(async.isDone());
+        assertEquals(1, statistics.getConcurrency());
+
+        assertEquals(503, app.apply(Requests.from("/", "/fast", "GET").build()).get().getStatus());
+
+        pending.set("async");
+        assertEquals(200, async.get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(0, statistics.getConcurrency());
+        assertEquals(200, app.apply(Requests.from("/", "/fast", "GET").build()).get().getStatus());
+    }
+
+    @Test
+    public void testMethodScope() throws Exception {
+        final ApplicationHandler app = createApplication(1, "method");
+        final AdmissionStatistics statistics = app.getAdmissionStatistics();
+
+        final Future<Response> slow = getInBackground(app, "/slow");
+        awaitConcurrency(statistics, 1);
+
+        assertEquals(200, app.apply(Requests.from("/", "/fast", "GET").build()).get().getStatus());
+        assertEquals(0, statistics.getRejectedCount());
+
+        release.countDown();
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    public void testPriorityShares() {
+        final AdmissionLimiter limiter = AdmissionLimiter.create(AdmissionLimiter.FIXED, 10, 10, 0);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.Level.LOW));
+        }
+        assertFalse(limiter.tryAcquire(AdmissionPriority.Level.LOW));
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.Level.NORMAL));
+        }
+        assertFalse(limiter.tryAcquire(AdmissionPriority.Level.NORMAL));
+        assertTrue(limiter.tryAcquire(AdmissionPriority.Level.HIGH));
+        assertFalse(limiter.tryAcquire(AdmissionPriority.Level.HIGH));
+        assertEquals(10, limiter.getConcurrency());
+        assertEquals(3, limiter.getRejectedCount());
+    }
+
+    @Test
+    public void testAimdLimit() {
+        final AdmissionLimiter limiter = AdmissionLimiter.create(AdmissionLimiter.AIMD, 10, 20, 100);
+
+        assertTrue(limiter.tryAcquire(AdmissionPriority.Level.HIGH));
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(9, limiter.getLimit());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionPriority.Level.HIGH));
+        }
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    public void testGradientLimitDecreasesWithLatency() {
+        final AdmissionLimiter limiter = AdmissionLimiter.create(AdmissionLimiter.GRADIENT, 100, 200, 0);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(AdmissionPriority.Level.HIGH);
+        }
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire(AdmissionPriority.Level.HIGH);
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        assertTrue(limiter.getLimit() < 100);
+    }
+}
@@ -39,17 +39,33 @@
  */
 package org.glassfish.jersey.server;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.Principal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.RequestHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.glassfish.jersey.message.internal.Requests;
+import org.glassfish.jersey.server.spi.ContainerRequestContext;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+import org.glassfish.jersey.server.spi.RequestScopedInitializer;
 
 import org.junit.Test;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Test basic application behavior.
@@ -84,4 +100,175 @@ public class ApplicationHandlerTest {
         Response response = app.apply(Requests.from("/", "GET").header(HttpHeaders.CONTENT_LENGTH, "text").build()).get();
         assertEquals(400, response.getStatus());
     }
+
+    @Path("a")
+    public static class ResourceA {
+
+        @GET
+        public String get() {
+            return "a";
+        }
+    }
+
+    @Path("b")
+    public static class ResourceB {
+
+        @GET
+        public String get() {
+            return "b";
+        }
+    }
+
+    @Path("c")
+    public static class ResourceC {
+
+        @GET
+        public String get() {
+            return "c";
+        }
+    }
+
+    @Test
+    public void testParallelModelInitialization() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(ResourceA.class, ResourceB.class, ResourceC.class);
+        resourceConfig.setProperty(ServerProperties.RESOURCE_MODEL_PARALLELISM, 4);
+        final ApplicationHandler app = new ApplicationHandler(resourceConfig);
+
+        for (String path : new String[]{"a", "b", "c"}) {
+            final Response response = app.apply(Requests.from("/", "/" + path, "GET").build()).get();
+            assertEquals(200, response.getStatus());
+            assertEquals(path, response.readEntity(String.class));
+        }
+    }
+
+    @Path("streaming")
+    public static class StreamingResource {
+
+        private static final ByteArrayOutputStream containerOutput = new ByteArrayOutputStream();
+        private static final AtomicInteger flushedBytes = new AtomicInteger();
+
+        @GET
+        public StreamingOutput get() {
+            return new StreamingOutput() {
+
+                @Override
+                public void write(OutputStream output) throws IOException, WebApplicationException {
+                    output.write("flushed".getBytes());
+                    output.flush();
+                    flushedBytes.set(containerOutput.size());
+                    output.write(" rest".getBytes());
+                }
+            };
+        }
+    }
+
+    @Path("text")
+    public static class TextResource {
+
+        @GET
+        public String get() {
+            return "buffered";
+        }
+    }
+
+    @Test
+    public void testBufferedEntityContentLength() throws Exception {
+        final ApplicationHandler app = createApplication(TextResource.class);
+
+        final Response response = app.apply(Requests.from("/", "/text", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertEquals("8", response.getHeaders().getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    public void testEntityExceedingBufferStreamed() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(TextResource.class);
+        resourceConfig.setProperty(ServerProperties.OUTBOUND_CONTENT_LENGTH_BUFFER, 4);
+        final ApplicationHandler app = new ApplicationHandler(resourceConfig);
+
+        final Response response = app.apply(Requests.from("/", "/text", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        assertNull(response.getHeaders().getHeader(HttpHeaders.CONTENT_LENGTH));
+    }
+
+    @Test
+    public void testStreamingOutputFlushSentToContainer() throws Exception {
+        final ApplicationHandler app = createApplication(StreamingResource.class);
+        StreamingResource.containerOutput.reset();
+        StreamingResource.flushedBytes.set(0);
+
+        final AtomicLong contentLength = new AtomicLong();
+        final ContainerResponseWriter writer = new ContainerResponseWriter() {
+
+            @Override
+            public OutputStream writeResponseStatusAndHeaders(long length, Response response) {
+                contentLength.set(length);
+                return StreamingResource.containerOutput;
+            }
+
+            @Override
+            public void suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+            }
+
+            @Override
+            public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+
+            @Override
+            public void commit() {
+            }
+        };
+        final Request request = Requests.from("/", "/streaming", "GET").build();
+        app.apply(new ContainerRequestContext() {
+
+            @Override
+            public Request getRequest() {
+                return request;
+            }
+
+            @Override
+            public ContainerResponseWriter getResponseWriter() {
+                return writer;
+            }
+
+            @Override
+            public SecurityContext getSecurityContext() {
+                return new SecurityContext() {
+
+                    @Override
+                    public Principal getUserPrincipal() {
+                        return null;
+                    }
+
+                    @Override
+                    public boolean isUserInRole(String role) {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean isSecure() {
+                        return false;
+                    }
+
+                    @Override
+                    public String getAuthenticationScheme() {
+                        return null;
+                    }
+                };
+            }
+
+            @Override
+            public RequestScopedInitializer getRequestScopedInitializer() {
+                return null;
+            }
+        });
+
+        assertEquals("flushed".length(), StreamingResource.flushedBytes.get());
+        assertEquals(-1, contentLength.get());
+        assertEquals("flushed rest", StreamingResource.containerOutput.toString());
+    }
 }
@@ -0,0 +1,138 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.Requests;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Server-side built-in request processing mode tests.
+ */
+public class ProcessingModeTest {
+
+    private static volatile CountDownLatch started;
+    private static volatile CountDownLatch release;
+
+    @Path("slow")
+    public static class SlowResource {
+
+        @GET
+        public String get() throws InterruptedException {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return "slow";
+        }
+    }
+
+    @Path("fast")
+    public static class FastResource {
+
+        @GET
+        public String get() {
+            return "fast";
+        }
+    }
+
+    private ApplicationHandler app;
+
+    @Before
+    public void setUp() {
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+
+        final ResourceConfig resourceConfig = new ResourceConfig(SlowResource.class, FastResource.class);
+        resourceConfig.setProperty(ServerProperties.PROCESSING_MODE, "bounded");
+        resourceConfig.setProperty(ServerProperties.PROCESSING_POOL_SIZE, 1);
+        resourceConfig.setProperty(ServerProperties.PROCESSING_QUEUE_SIZE, 0);
+        resourceConfig.setProperty(ServerProperties.PROCESSING_RETRY_AFTER, 3);
+        app = new ApplicationHandler(resourceConfig);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        app.destroy();
+    }
+
+    @Test
+    public void testBoundedPool() throws Exception {
+        assertEquals("fast", app.apply(Requests.from("/", "/fast", "GET").build()).get(10, TimeUnit.SECONDS).getEntity());
+    }
+
+    @Test
+    public void testRejectedRequestUnavailable() throws Exception {
+        final Future<Response> slow = app.apply(Requests.from("/", "/slow", "GET").build());
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // the only worker is busy and the requests are not queued
+        final Response rejected = app.apply(Requests.from("/", "/fast", "GET").build()).get(10, TimeUnit.SECONDS);
+        assertEquals(503, rejected.getStatus());
+        assertEquals("3", rejected.getHeaders().getHeader("Retry-After"));
+
+        release.countDown();
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).getStatus());
+    }
+
+    @Test
+    public void testDestroyShutsDownPool() throws Exception {
+        final Future<Response> slow = app.apply(Requests.from("/", "/slow", "GET").build());
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        app.destroy();
+
+        // the request in progress is completed, new requests are rejected by the shut down pool
+        release.countDown();
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).getStatus());
+        assertEquals(503, app.apply(Requests.from("/", "/fast", "GET").build()).get(10, TimeUnit.SECONDS).getStatus());
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.Requests;
+import org.glassfish.jersey.server.model.ModelValidationException;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.server.monitoring.RequestStatistics;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Request processing event and request statistics tests.
+ */
+public class RequestEventTest {
+
+    @Path("hello")
+    public static class HelloResource {
+
+        @GET
+        public String get() {
+            return "hello";
+        }
+    }
+
+    @Path("overloaded")
+    public static class OverloadedResource {
+
+        @GET
+        public String get() {
+            return "all";
+        }
+
+        @GET
+        @Path("{id}")
+        public String get(@PathParam("id") final String id) {
+            return id;
+        }
+    }
+
+    @Path("ambiguous")
+    public static class AmbiguousResource {
+
+        @GET
+        public String get1() {
+            return "1";
+        }
+
+        @GET
+        public String get2() {
+            return "2";
+        }
+    }
+
+    private static class CollectingListener implements RequestEventListener {
+
+        private final List<RequestEvent> events = new ArrayList<RequestEvent>();
+
+        @Override
+        public synchronized void onEvent(final RequestEvent event) {
+            events.add(event);
+        }
+
+        public synchronized List<RequestEvent.Type> getTypes() {
+            final List<RequestEvent.Type> types = new ArrayList<RequestEvent.Type>();
+            for (RequestEvent event : events) {
+                types.add(event.getType());
+            }
+            return types;
+        }
+
+        public synchronized RequestEvent getLast() {
+            return events.get(events.size() - 1);
+        }
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        final CollectingListener listener = new CollectingListener();
+        final ApplicationHandler app = new ApplicationHandler(
+                new ResourceConfig(HelloResource.class).addSingletons(listener));
+
+        final Response response = app.apply(Requests.from("/", "hello", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+
+        assertEquals(Arrays.asList(
+                RequestEvent.Type.START,
+                RequestEvent.Type.MATCHING_START,
+                RequestEvent.Type.MATCHED,
+                RequestEvent.Type.DISPATCHED,
+                RequestEvent.Type.RESPONSE_READY,
+                RequestEvent.Type.ENTITY_WRITTEN,
+                RequestEvent.Type.FINISHED), listener.getTypes());
+
+        final RequestEvent finished = listener.getLast();
+        assertNotNull(finished.getResourceMethod());
+        assertEquals("GET", finished.getResourceMethod().getHttpMethod());
+        assertEquals(200, finished.getResponse().getStatus());
+
+        RequestEvent event = finished;
+        while (event.getPreviousEvent() != null) {
+            assertTrue(event.getTime() >= event.getPreviousEvent().getTime());
+            event = event.getPreviousEvent();
+        }
+        assertSame(RequestEvent.Type.START, event.getType());
+        assertEquals(event.getTime(), finished.getStartTime());
+    }
+
+    @Test
+    public void testEventsNotMatched() throws Exception {
+        final CollectingListener listener = new CollectingListener();
+        final ApplicationHandler app = new ApplicationHandler(
+                new ResourceConfig(HelloResource.class).addSingletons(listener));
+
+        final Response response = app.apply(Requests.from("/", "missing", "GET").build()).get();
+        assertEquals(404, response.getStatus());
+
+        final List<RequestEvent.Type> types = listener.getTypes();
+        assertEquals(RequestEvent.Type.START, types.get(0));
+        assertTrue(!types.contains(RequestEvent.Type.DISPATCHED));
+        assertEquals(RequestEvent.Type.FINISHED, types.get(types.size() - 1));
+        assertNull(listener.getLast().getResourceMethod());
+    }
+
+    @Test
+    public void testStatisticsDisabledByDefault() {
+        final ApplicationHandler app = new ApplicationHandler(new ResourceConfig(HelloResource.class));
+        assertNull(app.getRequestStatistics());
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(HelloResource.class);
+        resourceConfig.setProperty(ServerProperties.MONITORING_STATISTICS_ENABLED, true);
+        resourceConfig.setProperty(ServerProperties.MONITORING_STATISTICS_PATH, "statistics");
+        final ApplicationHandler app = new ApplicationHandler(resourceConfig);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, app.apply(Requests.from("/", "hello", "GET").build()).get().getStatus());
+        }
+
+        final RequestStatistics statistics = app.getRequestStatistics();
+        assertNotNull(statistics);
+        assertEquals(3, statistics.getRequestHistogram().getCount());
+        for (RequestStatistics.Stage stage : RequestStatistics.Stage.values()) {
+            assertEquals(stage.name(), 3, statistics.getStageHistogram(stage).getCount());
+        }
+        assertEquals(1, statistics.getResourceMethodHistograms().size());
+        assertEquals(3, statistics.getCount("method:GET " + HelloResource.class.getName() + "#get()"));
+
+        final Response response = app.apply(Requests.from("/", "statistics", "GET").build()).get();
+        assertEquals(200, response.getStatus());
+        final String report = response.readEntity(String.class);
+        assertTrue(report, report.contains(RequestStatistics.REQUEST_HISTOGRAM + "\t3\t"));
+        assertTrue(report, report.contains("stage:DISPATCH\t3\t"));
+
+        app.destroy();
+    }
+
+    @Test
+    public void testStatisticsOverloadedMethods() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(OverloadedResource.class);
+        resourceConfig.setProperty(ServerProperties.MONITORING_STATISTICS_ENABLED, true);
+        final ApplicationHandler app = new ApplicationHandler(resourceConfig);
+
+        assertEquals(200, app.apply(Requests.from("/", "overloaded", "GET").build()).get().getStatus());
+        assertEquals(200, app.apply(Requests.from("/", "overloaded", "GET").build()).get().getStatus());
+        assertEquals(200, app.apply(Requests.from("/", "overloaded/1", "GET").build()).get().getStatus());
+
+        final RequestStatistics statistics = app.getRequestStatistics();
+        final String name = "method:GET " + OverloadedResource.class.getName() + "#get";
+        assertEquals(2, statistics.getResourceMethodHistograms().size());
+        assertEquals(2, statistics.getCount(name + "()"));
+        assertEquals(1, statistics.getCount(name + "(java.lang.String)"));
+
+        app.destroy();
+    }
+
+    @Test
+    public void testStatisticsMBeanNotRegisteredOnFailedInitialization() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName query = new ObjectName("org.glassfish.jersey:type=RequestStatistics,name="
+                + ObjectName.quote(ResourceConfig.class.getName()) + ",*");
+        final int registered = server.queryNames(query, null).size();
+
+        final ResourceConfig resourceConfig = new ResourceConfig(AmbiguousResource.class);
+        resourceConfig.setProperty(ServerProperties.MONITORING_STATISTICS_ENABLED, true);
+        try {
+            new ApplicationHandler(resourceConfig);
+            fail("Model validation should have failed.");
+        } catch (ModelValidationException expected) {
+            // ok
+        }
+        assertEquals(registered, server.queryNames(query, null).size());
+    }
+
+    @Test
+    public void testStatisticsMBeanPerApplication() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName query = new ObjectName("org.glassfish.jersey:type=RequestStatistics,name="
+                + ObjectName.quote(ResourceConfig.class.getName()) + ",*");
+        final int registered = server.queryNames(query, null).size();
+
+        final ResourceConfig firstConfig = new ResourceConfig(HelloResource.class);
+        firstConfig.setProperty(ServerProperties.MONITORING_STATISTICS_ENABLED, true);
+        final ApplicationHandler first = new ApplicationHandler(firstConfig);
+        final ResourceConfig secondConfig = new ResourceConfig(HelloResource.class);
+        secondConfig.setProperty(ServerProperties.MONITORING_STATISTICS_ENABLED, true);
+        final ApplicationHandler second = new ApplicationHandler(secondConfig);
+        assertEquals(registered + 2, server.queryNames(query, null).size());
+
+        first.destroy();
+        first.destroy();
+        assertEquals(registered + 1, server.queryNames(query, null).size());
+
+        second.destroy();
+        assertEquals(registered, server.queryNames(query, null).size());
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.FilterContext;
+import javax.ws.rs.ext.RequestFilter;
+
+import org.glassfish.jersey.filter.RequestFilterModule;
+import org.glassfish.jersey.message.internal.Requests;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Server-side response cache tests.
+ */
+public class ResponseCachingTest {
+
+    private static final AtomicInteger invocations = new AtomicInteger();
+
+    @Path("cached")
+    public static class CachedResource {
+
+        @GET
+        public Response get() {
+            final CacheControl cacheControl = new CacheControl();
+            cacheControl.setMaxAge(60);
+            return Response.ok("value-" + invocations.incrementAndGet())
+                    .cacheControl(cacheControl)
+                    .tag(new EntityTag("v1"))
+                    .build();
+        }
+
+        @POST
+        public String post() {
+            return "posted";
+        }
+    }
+
+    @Path("negotiated")
+    public static class NegotiatedResource {
+
+        @GET
+        @Produces({"text/plain", "text/html"})
+        public Response get() {
+            final CacheControl cacheControl = new CacheControl();
+            cacheControl.setMaxAge(60);
+            return Response.ok("value-" + invocations.incrementAndGet()).cacheControl(cacheControl).build();
+        }
+    }
+
+    @Path("uncached")
+    public static class UncachedResource {
+
+        @GET
+        public String get() {
+            return "value-" + invocations.incrementAndGet();
+        }
+    }
+
+    private ApplicationHandler app;
+
+    @Before
+    public void setUp() {
+        invocations.set(0);
+        final ResourceConfig resourceConfig = new ResourceConfig(CachedResource.class, NegotiatedResource.class,
+                UncachedResource.class);
+        resourceConfig.setProperty(ServerProperties.RESPONSE_CACHE_SIZE, 1024 * 1024);
+        app = new ApplicationHandler(resourceConfig);
+    }
+
+    private static String entity(final Response response) {
+        final Object entity = response.getEntity();
+        return (entity instanceof byte[]) ? new String((byte[]) entity) : entity.toString();
+    }
+
+    private Response get(final String path, final String... headers) throws Exception {
+        Request.RequestBuilder request = Requests.from("/", path, "GET");
+        for (int i = 0; i < headers.length; i += 2) {
+            request = request.header(headers[i], headers[i + 1]);
+        }
+        return app.apply(request.build()).get();
+    }
+
+    @Test
+    public void testCachedResponseServedWithoutInvocation() throws Exception {
+        Response response = get("/cached");
+        assertEquals(200, response.getStatus());
+        assertEquals("value-1", entity(response));
+        assertNull(response.getHeaders().getHeader("Age"));
+
+        response = get("/cached");
+        assertEquals(200, response.getStatus());
+        assertEquals("value-1", entity(response));
+        assertNotNull(response.getHeaders().getHeader("Age"));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void testNotModified() throws Exception {
+        get("/cached");
+
+        final Response response = get("/cached", HttpHeaders.IF_NONE_MATCH, "\"v1\"");
+        assertEquals(304, response.getStatus());
+        assertEquals(new EntityTag("v1"), response.getHeaders().getEntityTag());
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void testNoCacheRequestBypassesCache() throws Exception {
+        get("/cached");
+
+        assertEquals("value-2", entity(get("/cached", HttpHeaders.CACHE_CONTROL, "no-cache")));
+        assertEquals("value-2", entity(get("/cached")));
+    }
+
+    @Test
+    public void testUnsafeMethodInvalidatesCache() throws Exception {
+        get("/cached");
+        app.apply(Requests.from("/", "/cached", "POST").build()).get();
+
+        assertEquals("value-2", entity(get("/cached")));
+    }
+
+    @Test
+    public void testResponseWithoutExpirationNotCached() throws Exception {
+        assertEquals("value-1", entity(get("/uncached")));
+        assertEquals("value-2", entity(get("/uncached")));
+    }
+
+    @Test
+    public void testCookieRequestBypassesCache() throws Exception {
+        get("/cached");
+
+        assertEquals("value-2", entity(get("/cached", HttpHeaders.COOKIE, "session=user-2")));
+        assertEquals("value-3", entity(get("/cached", HttpHeaders.COOKIE, "session=user-3")));
+        assertEquals("value-1", entity(get("/cached")));
+    }
+
+    @Test
+    public void testNegotiatedRepresentationsCachedSeparately() throws Exception {
+        Response response = get("/negotiated", HttpHeaders.ACCEPT, "text/plain");
+        assertEquals("value-1", entity(response));
+        assertEquals("text/plain", response.getHeaders().getMediaType().toString());
+
+        response = get("/negotiated", HttpHeaders.ACCEPT, "text/html");
+        assertEquals("value-2", entity(response));
+        assertEquals("text/html", response.getHeaders().getMediaType().toString());
+
+        response = get("/negotiated", HttpHeaders.ACCEPT, "text/plain");
+        assertEquals("value-1", entity(response));
+        assertEquals("text/plain", response.getHeaders().getMediaType().toString());
+        assertEquals(2, invocations.get());
+    }
+
+    @Test
+    public void testRequestFiltersAppliedToCachedResponses() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(CachedResource.class)
+                .addModules(new RequestFilterModule(Collections.<RequestFilter>singletonList(new RequestFilter() {
+
+                    @Override
+                    public void preFilter(final FilterContext context) throws IOException {
+                        if (!"secret".equals(context.getRequest().getHeaders().getHeader("X-Token"))) {
+                            context.setResponse(Response.status(Response.Status.UNAUTHORIZED).build());
+                        }
+                    }
+                })));
+        resourceConfig.setProperty(ServerProperties.RESPONSE_CACHE_SIZE, 1024 * 1024);
+        app = new ApplicationHandler(resourceConfig);
+
+        assertEquals("value-1", entity(get("/cached", "X-Token", "secret")));
+        assertEquals(401, get("/cached").getStatus());
+        assertEquals("value-1", entity(get("/cached", "X-Token", "secret")));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    public void testStatistics() throws Exception {
+        final ResponseCacheStatistics statistics = app.getResponseCacheStatistics();
+        assertNotNull(statistics);
+
+        get("/cached");
+        get("/cached");
+        get("/cached");
+
+        assertEquals(2, statistics.getHitCount());
+        assertEquals(1, statistics.getMissCount());
+        assertEquals(1, statistics.getEntryCount());
+        assertEquals("value-1".length(), statistics.getSize());
+    }
+}
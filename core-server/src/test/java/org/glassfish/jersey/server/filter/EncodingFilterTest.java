@@ -0,0 +1,399 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+
+import org.glassfish.jersey.message.GZipEncoder;
+import org.glassfish.jersey.message.MessageProperties;
+import org.glassfish.jersey.message.internal.ReaderWriter;
+import org.glassfish.jersey.message.internal.Requests;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.spi.ContainerRequestContext;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+import org.glassfish.jersey.server.spi.RequestScopedInitializer;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Server-side content coding negotiation tests.
+ */
+public class EncodingFilterTest {
+
+    private static final String LARGE;
+
+    static {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            sb.append("entity-").append(i).append(' ');
+        }
+        LARGE = sb.toString();
+    }
+
+    @Path("text")
+    public static class TextResource {
+
+        @GET
+        @Produces("text/plain")
+        public String get() {
+            return LARGE;
+        }
+    }
+
+    @Path("small")
+    public static class SmallResource {
+
+        @GET
+        @Produces("text/plain")
+        public String get() {
+            return "small";
+        }
+    }
+
+    @Path("image")
+    public static class ImageResource {
+
+        @GET
+        @Produces("image/png")
+        public byte[] get() {
+            return LARGE.getBytes();
+        }
+    }
+
+    @Path("vary")
+    public static class VaryResource {
+
+        @GET
+        @Produces("text/plain")
+        public Response get() {
+            return Response.ok(LARGE).header(HttpHeaders.VARY, "Accept-Language, Accept-Encoding").build();
+        }
+    }
+
+    @Path("echo")
+    public static class EchoResource {
+
+        @POST
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        public String post(final String entity) {
+            return "echo:" + entity.length();
+        }
+    }
+
+    private ApplicationHandler app;
+
+    @Before
+    public void setUp() {
+        final ResourceConfig resourceConfig = new ResourceConfig(TextResource.class, SmallResource.class,
+                ImageResource.class, VaryResource.class, EchoResource.class);
+        EncodingFilter.enableFor(resourceConfig);
+        resourceConfig.setProperty(MessageProperties.DECODING_MAX_RATIO, 10);
+        app = new ApplicationHandler(resourceConfig);
+    }
+
+    /**
+     * Process the request and return the response as written to the container; the written
+     * entity is stored in the supplied output stream.
+     */
+    private Response apply(final Request request, final OutputStream entity) {
+        final AtomicReference<Response> written = new AtomicReference<Response>();
+        final ContainerResponseWriter writer = new ContainerResponseWriter() {
+
+            @Override
+            public OutputStream writeResponseStatusAndHeaders(long contentLength, Response response) {
+                written.set(response);
+                return entity;
+            }
+
+            @Override
+            public void suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+            }
+
+            @Override
+            public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) {
+            }
+
+            @Override
+            public void cancel() {
+            }
+
+            @Override
+            public void commit() {
+            }
+        };
+        app.apply(new ContainerRequestContext() {
+
+            @Override
+            public Request getRequest() {
+                return request;
+            }
+
+            @Override
+            public ContainerResponseWriter getResponseWriter() {
+                return writer;
+            }
+
+            @Override
+            public SecurityContext getSecurityContext() {
+                return new SecurityContext() {
+
+                    @Override
+                    public Principal getUserPrincipal() {
+                        return null;
+                    }
+
+                    @Override
+                    public boolean isUserInRole(String role) {
+                        return false;
+                    }
+
+                    @Override
+                    public boolean isSecure() {
+                        return false;
+                    }
+
+                    @Override
+                    public String getAuthenticationScheme() {
+                        return null;
+                    }
+                };
+            }
+
+            @Override
+            public RequestScopedInitializer getRequestScopedInitializer() {
+                return null;
+            }
+        });
+        return written.get();
+    }
+
+    private Response get(final String path, final String acceptEncoding, final OutputStream entity) {
+        Request.RequestBuilder request = Requests.from("/", path, "GET");
+        if (acceptEncoding != null) {
+            request = request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return apply(request.build(), entity);
+    }
+
+    private static String read(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ReaderWriter.writeTo(in, out);
+        return out.toString();
+    }
+
+    private static byte[] gzip(final byte[] data) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(data);
+        gzip.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testGzipResponse() throws Exception {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        final Response response = get("/text", "gzip", entity);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("gzip", response.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getHeader(HttpHeaders.VARY));
+        assertEquals(LARGE, read(new GZIPInputStream(new ByteArrayInputStream(entity.toByteArray()))));
+    }
+
+    @Test
+    public void testDeflateResponse() throws Exception {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        final Response response = get("/text", "gzip;q=0.5, deflate", entity);
+
+        assertEquals("deflate", response.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE, read(new InflaterInputStream(new ByteArrayInputStream(entity.toByteArray()))));
+    }
+
+    @Test
+    public void testIdentityResponse() throws Exception {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        final Response response = get("/text", null, entity);
+
+        assertNull(response.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE, entity.toString());
+    }
+
+    @Test
+    public void testSmallEntityNotEncoded() throws Exception {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        final Response response = get("/small", "gzip", entity);
+
+        // the negotiated coding is dropped for entities smaller than the minimum size
+        assertNull(response.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, response.getHeaders().getHeader(HttpHeaders.VARY));
+        assertEquals("small", entity.toString());
+    }
+
+    @Test
+    public void testCompressedMediaTypeSkipped() throws Exception {
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        final Response response = get("/image", "gzip", entity);
+
+        assertNull(response.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertNull(response.getHeaders().getHeader(HttpHeaders.VARY));
+        assertArrayEquals(LARGE.getBytes(), entity.toByteArray());
+    }
+
+    @Test
+    public void testVaryNotDuplicated() throws Exception {
+        final Response response = get("/vary", "gzip", new ByteArrayOutputStream());
+
+        assertEquals("gzip", response.getHeaders().getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(Arrays.asList("Accept-Language, Accept-Encoding"),
+                response.getHeaders().asMap().get(HttpHeaders.VARY));
+    }
+
+    @Test
+    public void testGzipRequest() throws Exception {
+        final Request request = Requests.from(URI.create("/"), URI.create("/echo"), "POST",
+                new ByteArrayInputStream(gzip(LARGE.getBytes())))
+                .type("text/plain")
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .build();
+        final ByteArrayOutputStream entity = new ByteArrayOutputStream();
+        final Response response = apply(request, entity);
+
+        assertEquals(200, response.getStatus());
+        assertEquals("echo:" + LARGE.length(), entity.toString());
+    }
+
+    @Test
+    public void testDecompressionRatioExceeded() throws Exception {
+        final Request request = Requests.from(URI.create("/"), URI.create("/echo"), "POST",
+                new ByteArrayInputStream(gzip(new byte[1024 * 1024])))
+                .type("text/plain")
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .build();
+        final Response response = apply(request, new ByteArrayOutputStream());
+
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    public void testEncodersLookedUpFromProviders() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(TextResource.class);
+        EncodingFilter.enableFor(resourceConfig, GZipEncoder.class);
+        app = new ApplicationHandler(resourceConfig);
+
+        // deflate is not supported by the registered encoders
+        assertNull(get("/text", "deflate", new ByteArrayOutputStream()).getHeaders()
+                .getHeader(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", get("/text", "*", new ByteArrayOutputStream()).getHeaders()
+                .getHeader(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    public void testSelectEncodingQuality() {
+        final EncodingFilter filter = new EncodingFilter("gzip", "deflate");
+
+        assertEquals("deflate", filter.selectEncoding(Arrays.asList("gzip;q=0.5, deflate")));
+        assertEquals("gzip", filter.selectEncoding(Arrays.asList("deflate;q=0.1", "gzip;q=0.2")));
+        assertNull(filter.selectEncoding(Arrays.asList("compress")));
+        assertNull(filter.selectEncoding(Arrays.asList("gzip;q=0")));
+        assertNull(filter.selectEncoding(null));
+    }
+
+    @Test
+    public void testSelectEncodingTies() {
+        final EncodingFilter filter = new EncodingFilter("gzip", "deflate");
+
+        // equally acceptable codings are selected in the order of the header
+        assertEquals("gzip", filter.selectEncoding(Arrays.asList("gzip, deflate")));
+        assertEquals("deflate", filter.selectEncoding(Arrays.asList("deflate, gzip")));
+        assertNull(filter.selectEncoding(Arrays.asList("identity, gzip")));
+    }
+
+    @Test
+    public void testSelectEncodingIdentity() {
+        final EncodingFilter filter = new EncodingFilter("gzip", "deflate");
+
+        assertEquals("gzip", filter.selectEncoding(Arrays.asList("identity;q=0, gzip;q=0.5")));
+        assertNull(filter.selectEncoding(Arrays.asList("identity, gzip;q=0.5")));
+        assertNull(filter.selectEncoding(Arrays.asList("identity;q=0")));
+    }
+
+    @Test
+    public void testSelectEncodingWildcard() {
+        final EncodingFilter filter = new EncodingFilter("gzip", "deflate");
+
+        assertEquals("gzip", filter.selectEncoding(Arrays.asList("*")));
+        assertEquals("deflate", filter.selectEncoding(Arrays.asList("gzip;q=0, *")));
+        assertEquals("deflate", filter.selectEncoding(Arrays.asList("*;q=0.5, deflate")));
+        assertNull(filter.selectEncoding(Arrays.asList("gzip;q=0, deflate;q=0, *")));
+    }
+
+    @Test
+    public void testSelectEncodingInvalidHeader() {
+        assertNull(new EncodingFilter("gzip").selectEncoding(Arrays.asList("gzip;q=x")));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ApplicationHandlerReference} unit tests.
+ */
+public class ApplicationHandlerReferenceTest {
+
+    @Test
+    public void testSwapDrainsInFlightRequests() throws Exception {
+        final ApplicationHandler original = new ApplicationHandler(new ResourceConfig());
+        final ApplicationHandler reloaded = new ApplicationHandler(new ResourceConfig());
+        final ApplicationHandlerReference reference = new ApplicationHandlerReference(original);
+
+        final ApplicationHandlerReference.Lease inFlight = reference.acquire();
+        assertSame(original, inFlight.getHandler());
+
+        final CountDownLatch swapped = new CountDownLatch(1);
+        final Thread reloader = new Thread() {
+            @Override
+            public void run() {
+                reference.swap(reloaded);
+                swapped.countDown();
+            }
+        };
+        reloader.start();
+
+        // the new handler is published right away...
+        while (reference.get() != reloaded) {
+            Thread.sleep(1);
+        }
+        final ApplicationHandlerReference.Lease next = reference.acquire();
+        assertSame(reloaded, next.getHandler());
+        next.release();
+
+        // ...but the swap waits until the in-flight request is finished
+        assertFalse(swapped.await(100, TimeUnit.MILLISECONDS));
+        inFlight.release();
+        assertTrue(swapped.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDrainTimeout() throws Exception {
+        final ApplicationHandlerReference reference =
+                new ApplicationHandlerReference(new ApplicationHandler(new ResourceConfig()));
+        reference.acquire(); // never released
+
+        final ApplicationHandler reloaded = reference.reload(
+                new ResourceConfig().setProperty(ServerProperties.RELOAD_DRAIN_TIMEOUT, 50));
+        assertSame(reloaded, reference.get());
+    }
+}
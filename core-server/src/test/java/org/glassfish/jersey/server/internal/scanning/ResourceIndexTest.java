@@ -0,0 +1,130 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.internal.scanning;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link ResourceIndex} unit tests.
+ */
+public class ResourceIndexTest {
+
+    private File indexedRoot;
+    private File plainRoot;
+
+    @Before
+    public void setUp() throws IOException {
+        indexedRoot = createRoot("indexed");
+        plainRoot = createRoot("plain");
+
+        new File(indexedRoot, "org/example/api/v1").mkdirs();
+        new File(indexedRoot, "org/example/other").mkdirs();
+        new File(plainRoot, "org/example/impl").mkdirs();
+
+        write(new File(indexedRoot, ResourceIndex.RESOURCE_NAME),
+                "# comment\norg.example.api.RootResource\n\norg.example.api.v1.Provider$Inner\norg.example.other.Other\n");
+    }
+
+    @After
+    public void tearDown() {
+        delete(indexedRoot);
+        delete(plainRoot);
+    }
+
+    @Test
+    public void testIndexedPackages() throws Exception {
+        final ClassLoader cl = new URLClassLoader(new URL[]{indexedRoot.toURI().toURL(), plainRoot.toURI().toURL()}, null);
+
+        final Set<String> names = ResourceIndex.getIndexedClassNames(cl, new String[]{"org.example.api"});
+        assertEquals(2, names.size());
+        assertTrue(names.contains("org.example.api.RootResource"));
+        assertTrue(names.contains("org.example.api.v1.Provider$Inner"));
+    }
+
+    @Test
+    public void testNotIndexedPackage() throws Exception {
+        final ClassLoader cl = new URLClassLoader(new URL[]{indexedRoot.toURI().toURL(), plainRoot.toURI().toURL()}, null);
+
+        // org.example is contributed also by the root without index
+        assertNull(ResourceIndex.getIndexedClassNames(cl, new String[]{"org.example"}));
+        assertNull(ResourceIndex.getIndexedClassNames(cl, new String[]{"org.example.api", "org.example.impl"}));
+    }
+
+    private static File createRoot(final String name) throws IOException {
+        final File root = File.createTempFile("jersey-index-" + name, "");
+        root.delete();
+        root.mkdirs();
+        return root;
+    }
+
+    private static void write(final File file, final String content) throws IOException {
+        file.getParentFile().mkdirs();
+        final OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(content.getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static void delete(final File file) {
+        final File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.model;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+
+import org.glassfish.jersey.message.internal.Requests;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.ServerProperties;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+
+/**
+ * Test of resource methods returning a future of the response.
+ */
+public class FutureResourceMethodTest {
+
+    private static final SettableFuture<String> PENDING = SettableFuture.create();
+    private static final SettableFuture<String> FAILING = SettableFuture.create();
+    private static final SettableFuture<String> LATE = SettableFuture.create();
+    private static final FutureTask<String> PLAIN_LATE = new FutureTask<String>(new Callable<String>() {
+
+        @Override
+        public String call() throws Exception {
+            return "late";
+        }
+    });
+
+    public static class FutureFailedException extends RuntimeException {
+
+        public FutureFailedException(final String message) {
+            super(message);
+        }
+    }
+
+    public static class FutureFailedExceptionMapper implements ExceptionMapper<FutureFailedException> {
+
+        @Override
+        public Response toResponse(final FutureFailedException exception) {
+            return Response.status(409).entity(exception.getMessage()).build();
+        }
+    }
+
+    @Path("future")
+    public static class FutureResource {
+
+        @GET
+        @Path("done")
+        public ListenableFuture<String> done() {
+            return Futures.immediateFuture("done");
+        }
+
+        @GET
+        @Path("pending")
+        public ListenableFuture<String> pending() {
+            return PENDING;
+        }
+
+        @GET
+        @Path("failing")
+        public ListenableFuture<String> failing() {
+            return FAILING;
+        }
+
+        @GET
+        @Path("late")
+        public ListenableFuture<String> late() {
+            return LATE;
+        }
+
+        @GET
+        @Path("plain")
+        public Future<Response> plain() {
+            final ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                return executor.submit(new Callable<Response>() {
+
+                    @Override
+                    public Response call() throws Exception {
+                        return Response.status(202).entity("plain").build();
+                    }
+                });
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @GET
+        @Path("plain-late")
+        public Future<String> plainLate() {
+            return PLAIN_LATE;
+        }
+
+        @GET
+        @Path("null")
+        public ListenableFuture<String> nullFuture() {
+            return null;
+        }
+    }
+
+    private ApplicationHandler createApplication() {
+        return new ApplicationHandler(new ResourceConfig(FutureResource.class, FutureFailedExceptionMapper.class));
+    }
+
+    @Test
+    public void testCompletedFuture() throws Exception {
+        final Response response = createApplication().apply(Requests.from("/future/done", "GET").build()).get();
+
+        assertEquals(200, response.getStatus());
+        assertEquals("done", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testPendingFuture() throws Exception {
+        final Future<Response> responseFuture = createApplication().apply(Requests.from("/future/pending", "GET").build());
+        assertFalse(responseFuture.isDone());
+
+        PENDING.set("pending");
+
+        final Response response = responseFuture.get(5, TimeUnit.SECONDS);
+        assertEquals(200, response.getStatus());
+        assertEquals("pending", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testPlainFuture() throws Exception {
+        final Response response = createApplication().apply(Requests.from("/future/plain", "GET").build())
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(202, response.getStatus());
+        assertEquals("plain", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testNullFuture() throws Exception {
+        final Response response = createApplication().apply(Requests.from("/future/null", "GET").build()).get();
+
+        assertEquals(204, response.getStatus());
+    }
+
+    @Test
+    public void testFailedFutureMapped() throws Exception {
+        final Future<Response> responseFuture = createApplication().apply(Requests.from("/future/failing", "GET").build());
+        assertFalse(responseFuture.isDone());
+
+        FAILING.setException(new FutureFailedException("failed"));
+
+        final Response response = responseFuture.get(5, TimeUnit.SECONDS);
+        assertEquals(409, response.getStatus());
+        assertEquals("failed", response.readEntity(String.class));
+    }
+
+    @Test
+    public void testTimedOutFuture() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(FutureResource.class);
+        resourceConfig.setProperty(ServerProperties.FUTURE_RESPONSE_TIMEOUT, 100);
+        final Future<Response> responseFuture = new ApplicationHandler(resourceConfig)
+                .apply(Requests.from("/future/late", "GET").build());
+
+        final Response response = responseFuture.get(5, TimeUnit.SECONDS);
+        assertEquals(500, response.getStatus());
+        assertEquals("Request processing has timed out.", response.readEntity(String.class));
+
+        // the timed out future is cancelled
+        assertTrue(LATE.isCancelled());
+        assertFalse(LATE.set("late"));
+        assertEquals(500, responseFuture.get().getStatus());
+    }
+
+    @Test
+    public void testTimedOutPlainFuture() throws Exception {
+        final ResourceConfig resourceConfig = new ResourceConfig(FutureResource.class);
+        resourceConfig.setProperty(ServerProperties.FUTURE_RESPONSE_TIMEOUT, 100);
+        final Future<Response> responseFuture = new ApplicationHandler(resourceConfig)
+                .apply(Requests.from("/future/plain-late", "GET").build());
+
+        final Response response = responseFuture.get(5, TimeUnit.SECONDS);
+        assertEquals(500, response.getStatus());
+
+        // the cancellation releases the thread waiting for the plain future
+        assertTrue(PLAIN_LATE.isCancelled());
+    }
+}
@@ -39,12 +39,18 @@
  */
 package org.glassfish.jersey.server.model;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Set;
+
 import javax.ws.rs.GET;
 import javax.ws.rs.HEAD;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.glassfish.jersey.message.internal.Requests;
 import org.glassfish.jersey.server.ApplicationHandler;
@@ -245,4 +251,43 @@ public class HeadTest {
         assertEquals(200, response.getStatus());
         assertEquals("html", response.getHeaders().getHeader("x-value"));
     }
+
+    @Path("/")
+    static public class ResourceGetStreamingNoHead {
+
+        @GET
+        public StreamingOutput get() {
+            return new StreamingOutput() {
+
+                @Override
+                public void write(OutputStream output) throws IOException, WebApplicationException {
+                    output.write("STREAMED".getBytes());
+                }
+            };
+        }
+    }
+
+    @Test
+    public void testGetStreamingNoHeadContentLength() throws Exception {
+        initiateWebApplication(ResourceGetStreamingNoHead.class);
+
+        Response response = app.apply(Requests.from("/", "HEAD").build()).get();
+        assertEquals(200, response.getStatus());
+        String length = response.getHeaders().getHeader("Content-Length");
+        assertNotNull(length);
+        assertEquals(8, Integer.parseInt(length));
+        assertFalse(response.hasEntity());
+    }
+
+    @Test
+    public void testMethodNotAllowedIncludesImplicitMethods() throws Exception {
+        initiateWebApplication(ResourceGetNoHead.class);
+
+        Response response = app.apply(Requests.from("/", "DELETE").build()).get();
+        assertEquals(405, response.getStatus());
+        final Set<String> allowed = response.getHeaders().getAllowedMethods();
+        assertTrue(allowed.contains("GET"));
+        assertTrue(allowed.contains("HEAD"));
+        assertTrue(allowed.contains("OPTIONS"));
+    }
 }
@@ -0,0 +1,117 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link LatencyHistogram} tests.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void testBuckets() {
+        long previousUpperBound = -1;
+        for (long value = 0; value < (1L << 20); value++) {
+            final int index = LatencyHistogram.bucketIndex(value);
+            final long upperBound = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(value <= upperBound);
+            assertTrue(upperBound - value <= value / LatencyHistogram.SUB_BUCKET_COUNT);
+            if (upperBound != previousUpperBound) {
+                assertEquals(previousUpperBound + 1, value);
+                previousUpperBound = upperBound;
+            }
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean(TimeUnit.MILLISECONDS), 0);
+        assertEquals(0, histogram.getMax(TimeUnit.MILLISECONDS));
+        assertEquals(0, histogram.getPercentile(99, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final Random random = new Random(42);
+        final long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + random.nextInt(1000000);
+            histogram.record(values[i], TimeUnit.MICROSECONDS);
+        }
+        Arrays.sort(values);
+
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMax(TimeUnit.MICROSECONDS));
+        for (double percentile : new double[] {1, 50, 90, 99, 99.9, 100}) {
+            final long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            final long actual = histogram.getPercentile(percentile, TimeUnit.MICROSECONDS);
+            assertTrue(percentile + ": " + actual + " < " + expected, actual >= expected);
+            assertTrue(percentile + ": " + actual + " > " + expected,
+                    actual <= expected + expected / LatencyHistogram.SUB_BUCKET_COUNT);
+        }
+    }
+
+    @Test
+    public void testUnitsAndReset() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(2, TimeUnit.MILLISECONDS);
+        histogram.record(4, TimeUnit.MILLISECONDS);
+        histogram.record(-1, TimeUnit.MILLISECONDS);
+
+        assertEquals(3, histogram.getCount());
+        assertEquals(2, histogram.getMean(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(2000000, histogram.getMean(TimeUnit.NANOSECONDS), 1);
+        assertEquals(4, histogram.getMax(TimeUnit.MILLISECONDS));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax(TimeUnit.MICROSECONDS));
+    }
+}
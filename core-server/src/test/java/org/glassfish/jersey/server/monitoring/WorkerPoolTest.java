@@ -0,0 +1,199 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.server.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * {@link WorkerPool} tests.
+ */
+public class WorkerPoolTest {
+
+    private static Runnable await(final CountDownLatch started, final CountDownLatch release) {
+        return new Runnable() {
+
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+    }
+
+    @Test
+    public void testSaturatedPoolRunsOnSubmittingThread() throws Exception {
+        final WorkerPool pool = new WorkerPool("test-pool", 2, 1, 60, TimeUnit.SECONDS);
+        final ExecutorService executor = pool.getExecutorService();
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            executor.execute(await(started, release));
+            executor.execute(await(started, release));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.execute(await(new CountDownLatch(1), release));
+
+            assertEquals(2, pool.getActiveCount());
+            assertEquals(1, pool.getQueuedCount());
+            assertEquals(1, pool.getQueueCapacity());
+            assertEquals(0, pool.getSaturatedCount());
+
+            final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+            executor.execute(new Runnable() {
+
+                @Override
+                public void run() {
+                    thread.set(Thread.currentThread());
+                }
+            });
+
+            assertSame(Thread.currentThread(), thread.get());
+            assertEquals(1, pool.getSaturatedCount());
+            assertEquals(2, pool.getLargestPoolSize());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(3, pool.getCompletedCount());
+        assertEquals(3, pool.getQueueWaitHistogram().getCount());
+    }
+
+    @Test
+    public void testSaturatedPoolRejectsTasks() throws Exception {
+        final WorkerPool pool = new WorkerPool("test-pool", 1, 0, 60, TimeUnit.SECONDS,
+                WorkerPool.SaturationPolicy.REJECT);
+        final ExecutorService executor = pool.getExecutorService();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            executor.execute(await(started, release));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            try {
+                executor.execute(await(new CountDownLatch(1), release));
+                fail("Task submitted to the saturated pool not rejected.");
+            } catch (RejectedExecutionException expected) {
+                // expected
+            }
+            assertEquals(1, pool.getSaturatedCount());
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(1, pool.getCompletedCount());
+    }
+
+    @Test
+    public void testShutdownUnregistersMBean() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName query = new ObjectName("org.glassfish.jersey:type=WorkerPool,name="
+                + ObjectName.quote("test-pool-mbean") + ",*");
+        final WorkerPool pool = new WorkerPool("test-pool-mbean", 1, 0, 60, TimeUnit.SECONDS);
+
+        pool.registerMBean();
+        assertEquals(1, server.queryNames(query, null).size());
+
+        pool.shutdown();
+        assertEquals(0, server.queryNames(query, null).size());
+    }
+
+    @Test
+    public void testSameNamePoolsMBeans() throws Exception {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName query = new ObjectName("org.glassfish.jersey:type=WorkerPool,name="
+                + ObjectName.quote("test-pool-same-name") + ",*");
+        final WorkerPool first = new WorkerPool("test-pool-same-name", 1, 0, 60, TimeUnit.SECONDS);
+        final WorkerPool second = new WorkerPool("test-pool-same-name", 1, 0, 60, TimeUnit.SECONDS);
+
+        first.registerMBean();
+        second.registerMBean();
+        assertEquals(2, server.queryNames(query, null).size());
+
+        first.shutdown();
+        assertEquals(1, server.queryNames(query, null).size());
+
+        second.shutdown();
+        assertEquals(0, server.queryNames(query, null).size());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void testShutDownPoolRejectsTasks() {
+        final WorkerPool pool = new WorkerPool("test-pool", 1, 0, 60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        pool.getExecutorService().execute(new Runnable() {
+
+            @Override
+            public void run() {
+            }
+        });
+    }
+
+    @Test
+    public void testUnboundedQueue() {
+        final WorkerPool pool = new WorkerPool("test-pool", 1, -1, 60, TimeUnit.SECONDS);
+        assertEquals(-1, pool.getQueueCapacity());
+        assertEquals(1, pool.getMaximumPoolSize());
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.json.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reusable first-in first-out byte buffer backed by a chain of fixed-size segments.
+ * <p />
+ * Bytes written to the buffer are appended to the last segment of the chain, a new
+ * segment is added once the last one is full. Bytes are read from the first segment,
+ * segments that have been read completely are removed from the chain. Segments are
+ * taken from (and returned to) a bounded pool shared by all the buffer instances so
+ * that a buffer that is used to transform an entity stream does not allocate new
+ * arrays for each chunk of data passing through it.
+ * <p />
+ * Instances are not thread-safe. Once the buffer is not needed anymore, it should be
+ * {@link #release() released} to return its segments to the pool.
+ */
+public final class ChunkedByteBuffer extends OutputStream {
+
+    /**
+     * Size of a single buffer segment in bytes.
+     */
+    public static final int SEGMENT_SIZE = 4096;
+    /**
+     * Maximum number of idle segments kept in the shared segment pool.
+     */
+    public static final int MAX_POOLED_SEGMENTS = 64;
+
+    private static final Queue<byte[]> SEGMENT_POOL = new ConcurrentLinkedQueue<byte[]>();
+    private static final AtomicInteger POOLED_SEGMENT_COUNT = new AtomicInteger();
+
+    private final ArrayDeque<byte[]> segments = new ArrayDeque<byte[]>();
+    /**
+     * Read position in the first segment.
+     */
+    private int readPosition;
+    /**
+     * Write position in the last segment.
+     */
+    private int writePosition;
+    private int size;
+
+    private static byte[] borrowSegment() {
+        final byte[] segment = SEGMENT_POOL.poll();
+        if (segment == null) {
+            return new byte[SEGMENT_SIZE];
+        }
+        POOLED_SEGMENT_COUNT.decrementAndGet();
+        return segment;
+    }
+
+    private static void returnSegment(final byte[] segment) {
+        if (POOLED_SEGMENT_COUNT.incrementAndGet() <= MAX_POOLED_SEGMENTS) {
+            SEGMENT_POOL.offer(segment);
+        } else {
+            POOLED_SEGMENT_COUNT.decrementAndGet();
+        }
+    }
+
+    /**
+     * Get the number of bytes that have been written to the buffer and not read yet.
+     *
+     * @return number of bytes available for reading.
+     */
+    public int available() {
+        return size;
+    }
+
+    @Override
+    public void write(final int b) {
+        if (segments.isEmpty() || writePosition == SEGMENT_SIZE) {
+            segments.addLast(borrowSegment());
+            writePosition = 0;
+        }
+        segments.peekLast()[writePosition++] = (byte) b;
+        size++;
+    }
+
+    @Override
+    public void write(final byte[] b, int off, int len) {
+        if ((off | len) < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        while (len > 0) {
+            if (segments.isEmpty() || writePosition == SEGMENT_SIZE) {
+                segments.addLast(borrowSegment());
+                writePosition = 0;
+            }
+            final int count = Math.min(len, SEGMENT_SIZE - writePosition);
+            System.arraycopy(b, off, segments.peekLast(), writePosition, count);
+            writePosition += count;
+            size += count;
+            off += count;
+            len -= count;
+        }
+    }
+
+    /**
+     * Read the next byte from the buffer.
+     *
+     * @return the next byte as an unsigned value or {@code -1} if the buffer is empty.
+     */
+    public int read() {
+        if (size == 0) {
+            return -1;
+        }
+
+        final int b = segments.peekFirst()[readPosition++] & 0xFF;
+        size--;
+        segmentRead();
+        return b;
+    }
+
+    /**
+     * Read up to {@code len} bytes from the buffer into the given array.
+     *
+     * @param b the buffer into which the data is read.
+     * @param off the start offset in array {@code b} at which the data is written.
+     * @param len the maximum number of bytes to read.
+     * @return the number of bytes read or {@code -1} if the buffer is empty and
+     *         {@code len} is greater than zero.
+     */
+    public int read(final byte[] b, int off, final int len) {
+        if ((off | len) < 0 || off + len > b.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (size == 0) {
+            return -1;
+        }
+
+        int remaining = Math.min(len, size);
+        final int read = remaining;
+        while (remaining > 0) {
+            final int count = Math.min(remaining, readableInFirstSegment());
+            System.arraycopy(segments.peekFirst(), readPosition, b, off, count);
+            readPosition += count;
+            size -= count;
+            off += count;
+            remaining -= count;
+            segmentRead();
+        }
+        return read;
+    }
+
+    /**
+     * Write all the buffered bytes to the output stream and empty the buffer.
+     *
+     * @param out output stream to write the buffered bytes to.
+     * @throws IOException in case of an I/O error while writing to the output stream.
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        while (size > 0) {
+            final int count = readableInFirstSegment();
+            out.write(segments.peekFirst(), readPosition, count);
+            readPosition += count;
+            size -= count;
+            segmentRead();
+        }
+    }
+
+    /**
+     * Discard any buffered bytes and return all the buffer segments to the shared pool.
+     * The buffer can still be used after it has been released.
+     */
+    public void release() {
+        byte[] segment;
+        while ((segment = segments.pollFirst()) != null) {
+            returnSegment(segment);
+        }
+        readPosition = 0;
+        writePosition = 0;
+        size = 0;
+    }
+
+    /**
+     * Same as {@link #release()}.
+     */
+    @Override
+    public void close() {
+        release();
+    }
+
+    private int readableInFirstSegment() {
+        return (segments.size() == 1 ? writePosition : SEGMENT_SIZE) - readPosition;
+    }
+
+    /**
+     * Recycle the first segment if it has been read completely.
+     */
+    private void segmentRead() {
+        if (segments.size() == 1) {
+            if (readPosition == writePosition) {
+                // keep the only segment for subsequent writes
+                readPosition = 0;
+                writePosition = 0;
+            }
+        } else if (readPosition == SEGMENT_SIZE) {
+            returnSegment(segments.pollFirst());
+            readPosition = 0;
+        }
+    }
+}
@@ -1,143 +0,0 @@
-/*
- * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
- *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
- *
- * The contents of this file are subject to the terms of either the GNU
- * General Public License Version 2 only ("GPL") or the Common Development
- * and Distribution License("CDDL") (collectively, the "License").  You
- * may not use this file except in compliance with the License.  You can
- * obtain a copy of the License at
- * http://glassfish.java.net/public/CDDL+GPL_1_1.html
- * or packager/legal/LICENSE.txt.  See the License for the specific
- * language governing permissions and limitations under the License.
- *
- * When distributing the software, include this License Header Notice in each
- * file and include the License file at packager/legal/LICENSE.txt.
- *
- * GPL Classpath Exception:
- * Oracle designates this particular file as subject to the "Classpath"
- * exception as provided by Oracle in the GPL Version 2 section of the License
- * file that accompanied this code.
- *
- * Modifications:
- * If applicable, add the following below the License Header, with the fields
- * enclosed by brackets [] replaced by your own identifying information:
- * "Portions Copyright [year] [name of copyright owner]"
- *
- * Contributor(s):
- * If you wish your version of this file to be governed by only the CDDL or
- * only the GPL Version 2, indicate your decision by adding "[Contributor]
- * elects to include this software in this distribution under the [CDDL or GPL
- * Version 2] license."  If you don't indicate a single choice of license, a
- * recipient has the option to distribute your version of this file under
- * either the CDDL, the GPL Version 2 or to extend the choice of license to
- * its licensees as provided above.  However, if you add GPL Version 2 code
- * and therefore, elected the GPL Version 2 license, then the option applies
- * only if the new code is made subject to such option by the copyright
- * holder.
- */
-package org.glassfish.jersey.media.json.internal;
-
-import java.io.IOException;
-import java.io.InputStream;
-
-/**
- * Abstract filtering input stream.
- *
- * @author Jakub Podlesak
- */
-public abstract class FilteringInputStream extends InputStream {
-
-    private byte[] currentBuffer;
-    private int cursor;
-
-    /**
-     * Get the next available chunk of bytes.
-     * @return the next available chunk of bytes.
-     * @throws IOException
-     */
-    protected abstract byte[] nextBytes() throws IOException;
-
-    @Override
-    public int available() throws IOException {
-
-        if (currentBuffer == null) {
-            return 0;
-        }
-
-        return currentBuffer.length - cursor;
-    }
-
-    @Override
-    public synchronized void mark(int readlimit) {
-        throw new UnsupportedOperationException();
-    }
-
-    @Override
-    public boolean markSupported() {
-        return false;
-    }
-
-    private void getNextBytesIfNothingAvailable() throws IOException {
-        if (available() < 1) {
-            currentBuffer = nextBytes();
-            cursor = 0;
-        }
-
-    }
-
-    @Override
-    public int read() throws IOException {
-
-        getNextBytesIfNothingAvailable();
-
-        if ((currentBuffer == null) || (currentBuffer.length == 0)) {
-            return -1;
-        }
-
-        return currentBuffer[cursor++];
-    }
-
-    @Override
-    public int read(byte[] b) throws IOException {
-        return this.read(b, 0, b.length);
-    }
-
-    @Override
-    public int read(byte[] b, int off, int len) throws IOException {
-
-        getNextBytesIfNothingAvailable();
-
-        if (currentBuffer == null) {
-            return -1;
-        }
-
-        int availableBytes = currentBuffer.length - cursor;
-
-        if (len >= availableBytes) {
-            System.arraycopy(currentBuffer, cursor, b, off, availableBytes);
-            currentBuffer = null;
-            return availableBytes;
-        } else {
-            System.arraycopy(currentBuffer, cursor, b, off, len);
-            cursor += len;
-            return len;
-        }
-    }
-
-    @Override
-    public synchronized void reset() throws IOException {
-        throw new IOException();
-    }
-
-    @Override
-    public long skip(long n) throws IOException {
-        return super.skip(n);
-    }
-
-    @Override
-    public String toString() {
-        return super.toString();
-    }
-}
@@ -49,50 +49,86 @@ import org.codehaus.jackson.JsonToken;
 
 /**
  * JSON root eating filtering input stream.
+ * <p />
+ * The stream is a streaming transformation of the underlying JSON input: parsing
+ * events of the wrapped input are copied (without the root element) into a JSON
+ * generator writing into a pooled {@link ChunkedByteBuffer}, from which the transformed
+ * bytes are read. The buffer segments are returned to the pool once the stream is
+ * exhausted or closed.
  *
  * @author Jakub Podlesak
  */
-public class JsonRootEatingInputStreamFilter extends FilteringInputStream {
+public class JsonRootEatingInputStreamFilter extends InputStream {
 
-    private JsonParser jsonParser;
-    private JsonGenerator jsonGenerator;
+    /**
+     * Maximum number of parsing events copied to the buffer before the generator
+     * is flushed.
+     */
+    private static final int EVENTS_PER_FILL = 256;
+
+    private final JsonParser jsonParser;
+    private final JsonGenerator jsonGenerator;
+    private final ChunkedByteBuffer buffer;
     private int depth;
-    private BufferingInputOutputStream buffers;
+    private boolean eof;
 
     public JsonRootEatingInputStreamFilter(InputStream inputStream) throws IOException {
         JsonFactory jsonFactory = new JsonFactory();
         this.jsonParser = jsonFactory.createJsonParser(inputStream);
-        this.buffers = new BufferingInputOutputStream();
-        this.jsonGenerator = jsonFactory.createJsonGenerator(this.buffers, JsonEncoding.UTF8);
+        this.buffer = new ChunkedByteBuffer();
+        this.jsonGenerator = jsonFactory.createJsonGenerator(this.buffer, JsonEncoding.UTF8);
         this.depth = 0;
+        this.eof = false;
     }
 
-    @Override
-    protected byte[] nextBytes() throws IOException {
-        if (!jsonParser.hasCurrentToken()) {
-            jsonParser.nextToken();
+    /**
+     * Copy parsing events into the buffer until there are some bytes available
+     * for reading or the end of the root element value has been reached.
+     *
+     * @return {@code true} if there are bytes available in the buffer.
+     * @throws IOException in case of parsing error.
+     */
+    private boolean fill() throws IOException {
+        while (buffer.available() == 0 && !eof) {
+            for (int i = 0; i < EVENTS_PER_FILL && !eof; i++) {
+                copyNextEvent();
+            }
+            jsonGenerator.flush();
         }
 
-        final JsonToken token = jsonParser.getCurrentToken();
+        if (buffer.available() == 0) {
+            buffer.release();
+            return false;
+        }
+        return true;
+    }
+
+    private void copyNextEvent() throws IOException {
+        final JsonToken token = jsonParser.hasCurrentToken() ? jsonParser.getCurrentToken() : jsonParser.nextToken();
+
+        if (token == null) {
+            eof = true;
+            return;
+        }
 
         if ((depth == 0) && (token == JsonToken.START_OBJECT)) {
             jsonParser.nextToken();
-            return nextBytes();
+            return;
         }
 
         if ((depth == 0) && (token == JsonToken.FIELD_NAME)) {
             depth++;
             jsonParser.nextToken();
-            return nextBytes();
+            return;
         }
 
         if ((depth == 1) && ((token == JsonToken.END_OBJECT) || (token == JsonToken.END_ARRAY))) {
             jsonParser.nextToken();
-            return null;
+            eof = true;
+            return;
         }
 
         jsonGenerator.copyCurrentEvent(jsonParser);
-        jsonGenerator.flush();
         jsonParser.nextToken();
 
         if ((token == JsonToken.START_ARRAY) || (token == JsonToken.START_OBJECT)) {
@@ -100,12 +136,32 @@ public class JsonRootEatingInputStreamFilter extends FilteringInputStream {
         } else if ((token == JsonToken.END_ARRAY) || (token == JsonToken.END_OBJECT)) {
             depth--;
         }
+    }
 
-        return buffers.nextBytes();
+    @Override
+    public int read() throws IOException {
+        return fill() ? buffer.read() : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        return fill() ? buffer.read(b, off, len) : -1;
     }
 
     @Override
     public int available() throws IOException {
-        return super.available()/* + buffers.available()*/;
+        return buffer.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            jsonParser.close();
+        } finally {
+            buffer.release();
+        }
     }
 }
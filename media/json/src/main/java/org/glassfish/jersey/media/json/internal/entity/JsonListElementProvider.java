@@ -47,7 +47,7 @@ import java.io.OutputStreamWriter;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
-import java.util.Collection;
+import java.util.Iterator;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -130,7 +130,7 @@ public class JsonListElementProvider extends AbstractCollectionJaxbProvider {
     }
 
     @Override
-    public final void writeList(Class<?> elementType, Collection<?> t, MediaType mediaType, Charset c, Marshaller m, OutputStream entityStream) throws JAXBException, IOException {
+    public final void writeList(Class<?> elementType, Iterator<?> t, MediaType mediaType, Charset c, Marshaller m, OutputStream entityStream) throws JAXBException, IOException {
         final OutputStreamWriter osw = new OutputStreamWriter(entityStream, c);
 
         JsonConfiguration origJsonConfig = JsonConfiguration.DEFAULT;
@@ -152,8 +152,8 @@ public class JsonListElementProvider extends AbstractCollectionJaxbProvider {
             }
             jxsw.writeStartDocument();
             jxsw.writeStartElement(invisibleRootName);
-            for (Object o : t) {
-                m.marshal(o, jxsw);
+            while (t.hasNext()) {
+                m.marshal(t.next(), jxsw);
             }
             jxsw.writeEndElement();
             jxsw.writeEndDocument();
@@ -0,0 +1,136 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.media.json.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import junit.framework.TestCase;
+
+/**
+ * {@link ChunkedByteBuffer} unit tests.
+ */
+public class ChunkedByteBufferTest extends TestCase {
+
+    public ChunkedByteBufferTest(String testName) {
+        super(testName);
+    }
+
+    private static byte[] data(int length) {
+        final byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        return data;
+    }
+
+    public void testSingleByteWriteAndRead() throws Exception {
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer();
+
+        buffer.write(0x41);
+        buffer.write(0xC3);
+        buffer.write(0xA9);
+        assertEquals(3, buffer.available());
+
+        assertEquals(0x41, buffer.read());
+        assertEquals(0xC3, buffer.read());
+        assertEquals(0xA9, buffer.read());
+        assertEquals(-1, buffer.read());
+        assertEquals(0, buffer.available());
+
+        buffer.release();
+    }
+
+    public void testBulkWriteAndReadAcrossSegments() throws Exception {
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer();
+        final byte[] data = data(3 * ChunkedByteBuffer.SEGMENT_SIZE + 17);
+
+        buffer.write(data, 0, 100);
+        buffer.write(data, 100, data.length - 100);
+        assertEquals(data.length, buffer.available());
+
+        final byte[] result = new byte[data.length];
+        int offset = 0;
+        int read;
+        while ((read = buffer.read(result, offset, Math.min(1000, result.length - offset))) > 0) {
+            offset += read;
+        }
+
+        assertEquals(data.length, offset);
+        assertTrue(Arrays.equals(data, result));
+        assertEquals(-1, buffer.read(result, 0, result.length));
+
+        buffer.release();
+    }
+
+    public void testInterleavedWritesAndReads() throws Exception {
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer();
+        final byte[] data = data(10000);
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        final byte[] chunk = new byte[333];
+
+        for (int i = 0; i < data.length; i += 777) {
+            buffer.write(data, i, Math.min(777, data.length - i));
+            final int read = buffer.read(chunk, 0, chunk.length);
+            result.write(chunk, 0, read);
+        }
+        buffer.writeTo(result);
+
+        assertEquals(0, buffer.available());
+        assertTrue(Arrays.equals(data, result.toByteArray()));
+
+        buffer.release();
+    }
+
+    public void testReuseAfterRelease() throws Exception {
+        final ChunkedByteBuffer buffer = new ChunkedByteBuffer();
+
+        buffer.write(data(ChunkedByteBuffer.SEGMENT_SIZE + 1));
+        buffer.release();
+        assertEquals(0, buffer.available());
+        assertEquals(-1, buffer.read());
+
+        buffer.write(new byte[] {1, 2, 3});
+        final byte[] result = new byte[10];
+        assertEquals(3, buffer.read(result, 0, result.length));
+        assertEquals(3, result[2]);
+
+        buffer.release();
+    }
+}
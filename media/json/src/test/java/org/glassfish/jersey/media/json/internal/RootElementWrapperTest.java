@@ -92,6 +92,35 @@ public class RootElementWrapperTest extends TestCase {
                 "{\"one\":1,\"two\":[1,2,3],\"three\":{\"name\":\"John\",\"surname\":\"Big\"}}");
     }
 
+    public void testUnwrapInputForNonAsciiSingleByteReads() throws Exception {
+        final String expectedJson = "{\"name\":\"\u017dlu\u0165ou\u010dk\u00fd k\u016f\u0148\"}";
+        final InputStream input = new ByteArrayInputStream(("{\"root\":" + expectedJson + "}").getBytes("UTF-8"));
+
+        final InputStream result = RootElementWrapper.unwrapInput(input);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        int b;
+        while ((b = result.read()) != -1) {
+            output.write(b);
+        }
+        result.close();
+
+        assertEquals(expectedJson, output.toString("UTF-8"));
+    }
+
+    public void testUnwrapInputForLargeArray() throws Exception {
+        final StringBuilder expectedJson = new StringBuilder("[");
+        for (int i = 0; i < 5000; i++) {
+            if (i > 0) {
+                expectedJson.append(',');
+            }
+            expectedJson.append("{\"index\":").append(i).append('}');
+        }
+        expectedJson.append(']');
+
+        _testUnwrapInput("{\"root\":" + expectedJson + "}", expectedJson.toString());
+    }
+
     public void _testUnwrapOutputForObject() throws Exception {
         _testUnwrapOutput("{\"root\":{\"one\":1}}", "{\"one\":1}");
     }
@@ -0,0 +1,90 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.test.load;
+
+import java.net.URI;
+import java.util.Map;
+
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Invocation;
+import javax.ws.rs.core.Response;
+
+/**
+ * Load target that invokes the requests using a JAX-RS {@link Client client}, typically
+ * against an application deployed in a Grizzly or JDK HTTP server test container.
+ * <p />
+ * The response entity, if any, is read fully as a byte array before the response
+ * is returned.
+ *
+ * @see org.glassfish.jersey.test.JerseyTest#client()
+ */
+public final class ClientLoadTarget implements LoadTarget {
+
+    private final Client client;
+    private final URI baseUri;
+
+    /**
+     * Create new client load target.
+     *
+     * @param client client used to invoke the requests.
+     * @param baseUri base URI of the deployed application.
+     */
+    public ClientLoadTarget(final Client client, final URI baseUri) {
+        this.client = client;
+        this.baseUri = baseUri;
+    }
+
+    @Override
+    public Response invoke(final LoadRequest request) throws Exception {
+        Invocation.Builder builder = client.target(request.resolve(baseUri)).request();
+        for (Map.Entry<String, String> header : request.getHeaders().entries()) {
+            builder = builder.header(header.getKey(), header.getValue());
+        }
+
+        final Response response = (request.getEntity() == null)
+                ? builder.method(request.getMethod())
+                : builder.method(request.getMethod(), Entity.entity(request.getEntity(), request.getEntityType()));
+        if (response.hasEntity()) {
+            response.readEntity(byte[].class);
+        }
+        return response;
+    }
+}
@@ -0,0 +1,581 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.test.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.Response;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Load generator that drives a weighted mix of requests against a {@link LoadTarget load target}
+ * by many concurrent virtual clients and reports the achieved throughput, latency percentiles
+ * and allocation rate.
+ * <p />
+ * The load generator supports two load models:
+ * <ul>
+ * <li><i>closed loop</i> ({@link Builder#virtualClients(int)}) - a fixed number of virtual
+ * clients, each of them issuing the next request as soon as the response to the previous one
+ * has been received. The request latency is measured from the actual request invocation.</li>
+ * <li><i>open loop</i> ({@link Builder#arrivalRate(double)}) - requests arrive at a fixed mean
+ * rate regardless of how fast the target responds. The request latency is measured from the
+ * scheduled arrival time and thus includes any time the request spent waiting for a free
+ * virtual client, which prevents a slow target from hiding its latency by reducing the
+ * offered load.</li>
+ * </ul>
+ * Only requests started within the measurement period (following the optional warm-up period)
+ * are included in the {@link LoadReport load report}. A typical capacity regression test
+ * would look like:
+ * <pre>
+ * LoadReport report = LoadGenerator.builder()
+ *         .target(new InProcessLoadTarget(new ApplicationHandler(config), URI.create("http://localhost/")))
+ *         .request(LoadRequest.get("items"), 9)
+ *         .request(LoadRequest.builder("POST", "items").entity(item, MediaType.APPLICATION_XML_TYPE).build(), 1)
+ *         .arrivalRate(2000)
+ *         .warmUp(5, TimeUnit.SECONDS)
+ *         .duration(20, TimeUnit.SECONDS)
+ *         .build()
+ *         .run();
+ *
+ * assertEquals(0, report.getErrorCount());
+ * assertTrue(report.getLatencyPercentile(99, TimeUnit.MILLISECONDS) &lt; 50);
+ * </pre>
+ */
+public final class LoadGenerator {
+
+    private static final Logger LOGGER = Logger.getLogger(LoadGenerator.class.getName());
+    /**
+     * Maximum time to wait for the requests still in progress at the end of the measurement
+     * period to complete.
+     */
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final LoadTarget target;
+    private final RequestMix mix;
+    private final int virtualClients;
+    private final double arrivalRate;
+    private final boolean poissonArrivals;
+    private final long warmUpNanos;
+    private final long durationNanos;
+
+    private LoadGenerator(final Builder builder) {
+        this.target = builder.target;
+        this.mix = new RequestMix(builder.requests, builder.weights);
+        this.virtualClients = builder.virtualClients;
+        this.arrivalRate = builder.arrivalRate;
+        this.poissonArrivals = builder.poissonArrivals;
+        this.warmUpNanos = builder.warmUpNanos;
+        this.durationNanos = builder.durationNanos;
+    }
+
+    /**
+     * Create a new load generator builder.
+     *
+     * @return new load generator builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Check whether the load generator uses the open loop load model.
+     *
+     * @return {@code true} if requests are issued at a fixed arrival rate, {@code false}
+     *         if requests are issued by a fixed number of virtual clients back to back.
+     */
+    public boolean isOpenLoop() {
+        return arrivalRate > 0;
+    }
+
+    /**
+     * Run the load and wait for its completion. The method blocks for the duration of the warm-up
+     * and measurement periods plus the time needed to complete the requests still in progress
+     * at the end of the measurement period.
+     *
+     * @return load report of the measurement period.
+     * @throws InterruptedException in case the calling thread has been interrupted while waiting
+     *                              for the load to complete.
+     */
+    public LoadReport run() throws InterruptedException {
+        final ThreadFactory threadFactory = new ThreadFactoryBuilder()
+                .setNameFormat("jersey-load-client-%d")
+                .setDaemon(true)
+                .build();
+        final ExecutorService clients = Executors.newFixedThreadPool(virtualClients, threadFactory);
+        final ExecutorService scheduler = Executors.newSingleThreadExecutor(threadFactory);
+
+        final long start = System.nanoTime();
+        final Recorder recorder = new Recorder(start + warmUpNanos, start + warmUpNanos + durationNanos);
+        try {
+            if (isOpenLoop()) {
+                scheduler.execute(new ArrivalScheduler(start, recorder, clients));
+            } else {
+                for (int i = 0; i < virtualClients; i++) {
+                    clients.execute(new VirtualClient(recorder));
+                }
+            }
+
+            sleepUntil(recorder.measurementStart);
+            final ResourceUsage usageAtStart = ResourceUsage.snapshot();
+            sleepUntil(recorder.measurementEnd);
+            final ResourceUsage usageAtEnd = ResourceUsage.snapshot();
+
+            scheduler.shutdown();
+            scheduler.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            clients.shutdown();
+            if (!clients.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.log(Level.WARNING, "Requests still in progress {0} seconds after the end of the load.",
+                        DRAIN_TIMEOUT_SECONDS);
+            }
+
+            return recorder.report(usageAtEnd.allocatedSince(usageAtStart),
+                    usageAtEnd.gcCount - usageAtStart.gcCount,
+                    usageAtEnd.gcTimeMillis - usageAtStart.gcTimeMillis);
+        } finally {
+            scheduler.shutdownNow();
+            clients.shutdownNow();
+        }
+    }
+
+    private static void sleepUntil(final long deadline) throws InterruptedException {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(remaining);
+        }
+    }
+
+    private void invoke(final LoadRequest request, final long startNanos, final Recorder recorder) {
+        try {
+            final Response response = target.invoke(request);
+            recorder.response(startNanos, System.nanoTime(), response.getStatus());
+        } catch (Exception ex) {
+            recorder.error(startNanos, ex);
+        }
+    }
+
+    /**
+     * Closed loop virtual client issuing requests back to back.
+     */
+    private class VirtualClient implements Runnable {
+
+        private final Recorder recorder;
+        private final Random random = new Random();
+
+        VirtualClient(final Recorder recorder) {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public void run() {
+            long now;
+            while ((now = System.nanoTime()) - recorder.measurementEnd < 0 && !Thread.currentThread().isInterrupted()) {
+                invoke(mix.next(random), now, recorder);
+            }
+        }
+    }
+
+    /**
+     * Open loop request arrival scheduler handing the arriving requests over to the virtual
+     * clients.
+     */
+    private class ArrivalScheduler implements Runnable {
+
+        private final long start;
+        private final Recorder recorder;
+        private final ExecutorService clients;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final Random random = new Random();
+
+        ArrivalScheduler(final long start, final Recorder recorder, final ExecutorService clients) {
+            this.start = start;
+            this.recorder = recorder;
+            this.clients = clients;
+        }
+
+        @Override
+        public void run() {
+            final double meanInterval = TimeUnit.SECONDS.toNanos(1) / arrivalRate;
+            double offset = 0;
+
+            long arrival;
+            while ((arrival = start + (long) offset) - recorder.measurementEnd < 0) {
+                final long scheduled = arrival;
+                long delay;
+                while ((delay = scheduled - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                    if (Thread.currentThread().isInterrupted()) {
+                        return;
+                    }
+                }
+
+                if (outstanding.get() >= virtualClients) {
+                    recorder.dropped(scheduled);
+                } else {
+                    outstanding.incrementAndGet();
+                    final LoadRequest request = mix.next(random);
+                    clients.execute(new Runnable() {
+
+                        @Override
+                        public void run() {
+                            try {
+                                invoke(request, scheduled, recorder);
+                            } finally {
+                                outstanding.decrementAndGet();
+                            }
+                        }
+                    });
+                }
+
+                offset += poissonArrivals ? -Math.log(1 - random.nextDouble()) * meanInterval : meanInterval;
+            }
+        }
+    }
+
+    /**
+     * Weighted request mix.
+     */
+    private static class RequestMix {
+
+        private final LoadRequest[] requests;
+        private final int[] cumulativeWeights;
+
+        RequestMix(final List<LoadRequest> requests, final List<Integer> weights) {
+            this.requests = requests.toArray(new LoadRequest[requests.size()]);
+            this.cumulativeWeights = new int[weights.size()];
+
+            int total = 0;
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                total += weights.get(i);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        LoadRequest next(final Random random) {
+            if (requests.length == 1) {
+                return requests[0];
+            }
+
+            final int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int low = 0;
+            int high = cumulativeWeights.length - 1;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (cumulativeWeights[middle] > value) {
+                    high = middle;
+                } else {
+                    low = middle + 1;
+                }
+            }
+            return requests[low];
+        }
+    }
+
+    /**
+     * Process-wide resource usage snapshot.
+     */
+    private static class ResourceUsage {
+
+        private final Map<Long, Long> allocatedBytes;
+        private final long gcCount;
+        private final long gcTimeMillis;
+
+        private ResourceUsage(final Map<Long, Long> allocatedBytes, final long gcCount, final long gcTimeMillis) {
+            this.allocatedBytes = allocatedBytes;
+            this.gcCount = gcCount;
+            this.gcTimeMillis = gcTimeMillis;
+        }
+
+        static ResourceUsage snapshot() {
+            Map<Long, Long> allocatedBytes = null;
+            final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+            if (threadBean instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+                if (allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                    final long[] threadIds = allocationBean.getAllThreadIds();
+                    final long[] bytes = allocationBean.getThreadAllocatedBytes(threadIds);
+                    allocatedBytes = Maps.newHashMapWithExpectedSize(threadIds.length);
+                    for (int i = 0; i < threadIds.length; i++) {
+                        if (bytes[i] >= 0) {
+                            allocatedBytes.put(threadIds[i], bytes[i]);
+                        }
+                    }
+                }
+            }
+
+            long gcCount = 0;
+            long gcTimeMillis = 0;
+            for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(gcBean.getCollectionCount(), 0);
+                gcTimeMillis += Math.max(gcBean.getCollectionTime(), 0);
+            }
+
+            return new ResourceUsage(allocatedBytes, gcCount, gcTimeMillis);
+        }
+
+        /**
+         * Get the number of bytes allocated since the earlier snapshot by the threads
+         * alive at the time of this snapshot.
+         *
+         * @param earlier earlier snapshot.
+         * @return number of allocated bytes or {@code -1} if the allocated memory
+         *         measurement is not supported by the JVM.
+         */
+        long allocatedSince(final ResourceUsage earlier) {
+            if (allocatedBytes == null || earlier.allocatedBytes == null) {
+                return -1;
+            }
+
+            long total = 0;
+            for (Map.Entry<Long, Long> entry : allocatedBytes.entrySet()) {
+                final Long before = earlier.allocatedBytes.get(entry.getKey());
+                total += entry.getValue() - (before == null ? 0 : before);
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Thread-safe recorder of the results of the requests started in the measurement period.
+     */
+    private static class Recorder {
+
+        private final long measurementStart;
+        private final long measurementEnd;
+        private final LoadReport.Builder report = new LoadReport.Builder();
+
+        Recorder(final long measurementStart, final long measurementEnd) {
+            this.measurementStart = measurementStart;
+            this.measurementEnd = measurementEnd;
+        }
+
+        private boolean isMeasured(final long startNanos) {
+            return startNanos - measurementStart >= 0 && startNanos - measurementEnd < 0;
+        }
+
+        void response(final long startNanos, final long endNanos, final int status) {
+            if (isMeasured(startNanos)) {
+                report.response(endNanos - startNanos, status);
+            }
+        }
+
+        void error(final long startNanos, final Exception error) {
+            if (isMeasured(startNanos)) {
+                report.error(error);
+            }
+        }
+
+        void dropped(final long startNanos) {
+            if (isMeasured(startNanos)) {
+                report.dropped();
+            }
+        }
+
+        LoadReport report(final long allocatedBytes, final long gcCount, final long gcTimeMillis) {
+            return report.build(measurementEnd - measurementStart, allocatedBytes, gcCount, gcTimeMillis);
+        }
+    }
+
+    /**
+     * {@link LoadGenerator} builder.
+     */
+    public static final class Builder {
+
+        private LoadTarget target;
+        private final List<LoadRequest> requests = Lists.newArrayList();
+        private final List<Integer> weights = Lists.newArrayList();
+        private int virtualClients = 16;
+        private double arrivalRate = 0;
+        private boolean poissonArrivals = false;
+        private long warmUpNanos = 0;
+        private long durationNanos = TimeUnit.SECONDS.toNanos(10);
+
+        private Builder() {
+        }
+
+        /**
+         * Set the target of the generated load.
+         *
+         * @param target load target.
+         * @return updated builder.
+         */
+        public Builder target(final LoadTarget target) {
+            this.target = target;
+            return this;
+        }
+
+        /**
+         * Add a request to the request mix with a weight of {@code 1}.
+         *
+         * @param request request to be added to the request mix.
+         * @return updated builder.
+         */
+        public Builder request(final LoadRequest request) {
+            return request(request, 1);
+        }
+
+        /**
+         * Add a request to the request mix. The probability of the request being issued
+         * is proportional to its weight.
+         *
+         * @param request request to be added to the request mix.
+         * @param weight positive relative weight of the request in the request mix.
+         * @return updated builder.
+         */
+        public Builder request(final LoadRequest request, final int weight) {
+            if (request == null || weight <= 0) {
+                throw new IllegalArgumentException("Request must not be null and its weight must be positive.");
+            }
+            requests.add(request);
+            weights.add(weight);
+            return this;
+        }
+
+        /**
+         * Set the number of concurrent virtual clients. In the closed loop load model (default),
+         * this is the number of requests in progress at any time. In the open loop load model,
+         * this is the maximum number of requests in progress, arriving requests that would
+         * exceed the limit are {@link LoadReport#getDroppedCount() dropped}.
+         * <p />
+         * The default value is {@code 16}.
+         *
+         * @param virtualClients number of virtual clients.
+         * @return updated builder.
+         */
+        public Builder virtualClients(final int virtualClients) {
+            if (virtualClients <= 0) {
+                throw new IllegalArgumentException("Number of virtual clients must be positive.");
+            }
+            this.virtualClients = virtualClients;
+            return this;
+        }
+
+        /**
+         * Switch to the open loop load model with the given mean request arrival rate.
+         *
+         * @param requestsPerSecond mean number of arriving requests per second.
+         * @return updated builder.
+         */
+        public Builder arrivalRate(final double requestsPerSecond) {
+            if (!(requestsPerSecond > 0)) {
+                throw new IllegalArgumentException("Arrival rate must be positive.");
+            }
+            this.arrivalRate = requestsPerSecond;
+            return this;
+        }
+
+        /**
+         * Set whether the open loop request arrivals should follow a Poisson process (exponentially
+         * distributed intervals between arrivals) instead of arriving in constant intervals.
+         * <p />
+         * The default value is {@code false}.
+         *
+         * @param poissonArrivals {@code true} for Poisson distributed arrivals.
+         * @return updated builder.
+         */
+        public Builder poissonArrivals(final boolean poissonArrivals) {
+            this.poissonArrivals = poissonArrivals;
+            return this;
+        }
+
+        /**
+         * Set the warm-up period preceding the measurement period. Requests started in the warm-up
+         * period are not included in the load report.
+         * <p />
+         * There is no warm-up period by default.
+         *
+         * @param warmUp warm-up period duration.
+         * @param unit warm-up period duration time unit.
+         * @return updated builder.
+         */
+        public Builder warmUp(final long warmUp, final TimeUnit unit) {
+            this.warmUpNanos = unit.toNanos(Math.max(warmUp, 0));
+            return this;
+        }
+
+        /**
+         * Set the measurement period duration.
+         * <p />
+         * The default value is {@code 10} seconds.
+         *
+         * @param duration measurement period duration.
+         * @param unit measurement period duration time unit.
+         * @return updated builder.
+         */
+        public Builder duration(final long duration, final TimeUnit unit) {
+            if (duration <= 0) {
+                throw new IllegalArgumentException("Duration must be positive.");
+            }
+            this.durationNanos = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Build the load generator.
+         *
+         * @return new load generator.
+         * @throws IllegalStateException in case no load target or no request has been set.
+         */
+        public LoadGenerator build() {
+            if (target == null) {
+                throw new IllegalStateException("Load target has not been set.");
+            }
+            if (requests.isEmpty()) {
+                throw new IllegalStateException("Request mix is empty.");
+            }
+            return new LoadGenerator(this);
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.test.load;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.glassfish.jersey.server.monitoring.LatencyHistogram;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Results of a {@link LoadGenerator load generator} run, covering the requests started
+ * within the measurement period.
+ * <p />
+ * The allocation figures are measured for the whole JVM process (including the load
+ * generator itself) over the measurement period and require the JVM to support thread
+ * allocated memory measurement. Memory allocated by threads that terminated during
+ * the measurement period is not included.
+ */
+public final class LoadReport {
+
+    private final long durationNanos;
+    private final LatencyHistogram latencies;
+    private final SortedMap<Integer, Long> statusCounts;
+    private final long errorCount;
+    private final Exception firstError;
+    private final long droppedCount;
+    private final long allocatedBytes;
+    private final long gcCount;
+    private final long gcTimeMillis;
+
+    private LoadReport(final Builder builder, final long durationNanos,
+                       final long allocatedBytes, final long gcCount, final long gcTimeMillis) {
+        this.durationNanos = durationNanos;
+        this.latencies = builder.latencies;
+        this.errorCount = builder.errorCount.get();
+        this.firstError = builder.firstError.get();
+        this.droppedCount = builder.droppedCount.get();
+        this.allocatedBytes = allocatedBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTimeMillis;
+
+        final SortedMap<Integer, Long> counts = Maps.newTreeMap();
+        for (int status = 0; status < Builder.MAX_STATUS; status++) {
+            final long count = builder.statusCounts.get(status);
+            if (count > 0) {
+                counts.put(status, count);
+            }
+        }
+        this.statusCounts = Collections.unmodifiableSortedMap(counts);
+    }
+
+    /**
+     * Get the duration of the measurement period.
+     *
+     * @param unit time unit of the returned value.
+     * @return measurement period duration.
+     */
+    public long getDuration(final TimeUnit unit) {
+        return unit.convert(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Get the number of completed requests, i.e. requests that either received a response
+     * or failed.
+     *
+     * @return number of completed requests.
+     */
+    public long getRequestCount() {
+        return getResponseCount() + errorCount;
+    }
+
+    /**
+     * Get the number of requests that received a response.
+     *
+     * @return number of responses.
+     */
+    public long getResponseCount() {
+        return latencies.getCount();
+    }
+
+    /**
+     * Get the number of responses per response status code.
+     *
+     * @return unmodifiable map of response counts keyed by response status code.
+     */
+    public Map<Integer, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    /**
+     * Get the number of responses with a successful ({@code 2xx}) response status code.
+     *
+     * @return number of successful responses.
+     */
+    public long getSuccessCount() {
+        long count = 0;
+        for (Long value : statusCounts.subMap(200, 300).values()) {
+            count += value;
+        }
+        return count;
+    }
+
+    /**
+     * Get the number of requests that failed with an exception.
+     *
+     * @return number of failed requests.
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Get the exception of the first failed request.
+     *
+     * @return exception of the first failed request or {@code null} if no request failed.
+     */
+    public Exception getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * Get the number of open loop request arrivals that have been dropped because all
+     * the virtual clients were busy.
+     *
+     * @return number of dropped requests.
+     */
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Get the throughput of completed requests.
+     *
+     * @return number of completed requests per second.
+     */
+    public double getThroughput() {
+        return getRequestCount() / (durationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Get the latency histogram of the requests that received a response.
+     *
+     * @return latency histogram.
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencies;
+    }
+
+    /**
+     * Get the response latency at the given percentile.
+     *
+     * @param percentile requested percentile in the range {@code [0, 100]}.
+     * @param unit time unit of the returned value.
+     * @return latency at the given percentile.
+     * @see LatencyHistogram#getPercentile(double, TimeUnit)
+     */
+    public long getLatencyPercentile(final double percentile, final TimeUnit unit) {
+        return latencies.getPercentile(percentile, unit);
+    }
+
+    /**
+     * Get the mean response latency.
+     *
+     * @param unit time unit of the returned value.
+     * @return mean latency.
+     */
+    public double getMeanLatency(final TimeUnit unit) {
+        return latencies.getMean(unit);
+    }
+
+    /**
+     * Get the maximum response latency.
+     *
+     * @param unit time unit of the returned value.
+     * @return maximum latency.
+     */
+    public long getMaxLatency(final TimeUnit unit) {
+        return latencies.getMax(unit);
+    }
+
+    /**
+     * Get the number of bytes allocated in the JVM during the measurement period.
+     *
+     * @return number of allocated bytes or {@code -1} if not supported by the JVM.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Get the allocation rate during the measurement period.
+     *
+     * @return number of allocated bytes per second or {@code -1} if not supported by the JVM.
+     */
+    public double getAllocationRate() {
+        if (allocatedBytes < 0) {
+            return -1;
+        }
+        return allocatedBytes / (durationNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Get the mean number of bytes allocated in the JVM per completed request.
+     *
+     * @return number of allocated bytes per request or {@code -1} if not supported by the JVM
+     *         or no request has been completed.
+     */
+    public double getAllocatedBytesPerRequest() {
+        final long requests = getRequestCount();
+        if (allocatedBytes < 0 || requests == 0) {
+            return -1;
+        }
+        return allocatedBytes / (double) requests;
+    }
+
+    /**
+     * Get the number of garbage collections during the measurement period.
+     *
+     * @return number of garbage collections.
+     */
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    /**
+     * Get the accumulated garbage collection time during the measurement period.
+     *
+     * @param unit time unit of the returned value.
+     * @return garbage collection time.
+     */
+    public long getGcTime(final TimeUnit unit) {
+        return unit.convert(gcTimeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("requests: %d (%.1f/s), errors: %d, dropped: %d, statuses: %s%n",
+                getRequestCount(), getThroughput(), errorCount, droppedCount, statusCounts));
+        sb.append(String.format("latency [us]: mean %.1f, p50 %d, p90 %d, p99 %d, p99.9 %d, max %d%n",
+                getMeanLatency(TimeUnit.MICROSECONDS),
+                getLatencyPercentile(50, TimeUnit.MICROSECONDS),
+                getLatencyPercentile(90, TimeUnit.MICROSECONDS),
+                getLatencyPercentile(99, TimeUnit.MICROSECONDS),
+                getLatencyPercentile(99.9, TimeUnit.MICROSECONDS),
+                getMaxLatency(TimeUnit.MICROSECONDS)));
+        sb.append(String.format("allocation: %.1f MB/s, %.0f B/request, gc: %d collections, %d ms",
+                getAllocationRate() / (1024 * 1024), getAllocatedBytesPerRequest(), gcCount, gcTimeMillis));
+        return sb.toString();
+    }
+
+    /**
+     * Thread-safe accumulator of the load report data.
+     */
+    static final class Builder {
+
+        private static final int MAX_STATUS = 600;
+
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final AtomicLongArray statusCounts = new AtomicLongArray(MAX_STATUS);
+        private final AtomicLong errorCount = new AtomicLong();
+        private final AtomicReference<Exception> firstError = new AtomicReference<Exception>();
+        private final AtomicLong droppedCount = new AtomicLong();
+
+        void response(final long latencyNanos, final int status) {
+            latencies.record(latencyNanos, TimeUnit.NANOSECONDS);
+            if (status >= 0 && status < MAX_STATUS) {
+                statusCounts.incrementAndGet(status);
+            }
+        }
+
+        void error(final Exception error) {
+            errorCount.incrementAndGet();
+            firstError.compareAndSet(null, error);
+        }
+
+        void dropped() {
+            droppedCount.incrementAndGet();
+        }
+
+        LoadReport build(final long durationNanos, final long allocatedBytes, final long gcCount, final long gcTimeMillis) {
+            return new LoadReport(this, durationNanos, allocatedBytes, gcCount, gcTimeMillis);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.test.load;
+
+import java.net.URI;
+
+import javax.ws.rs.core.MediaType;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+
+/**
+ * Immutable description of a request issued by a {@link LoadGenerator load generator}.
+ * <p />
+ * The request path is relative to the base URI of the {@link LoadTarget load target}
+ * and may contain a query string, e.g.:
+ * <pre>
+ * LoadRequest getItem = LoadRequest.builder("GET", "items/42?fields=name")
+ *         .accept(MediaType.APPLICATION_JSON_TYPE)
+ *         .build();
+ * LoadRequest postItem = LoadRequest.builder("POST", "items")
+ *         .entity("{\"name\":\"foo\"}", MediaType.APPLICATION_JSON_TYPE)
+ *         .build();
+ * </pre>
+ */
+public final class LoadRequest {
+
+    private final String method;
+    private final String path;
+    private final ListMultimap<String, String> headers;
+    private final Object entity;
+    private final MediaType entityType;
+
+    private LoadRequest(final Builder builder) {
+        this.method = builder.method;
+        this.path = builder.path;
+        this.headers = builder.headers.build();
+        this.entity = builder.entity;
+        this.entityType = builder.entityType;
+    }
+
+    /**
+     * Create a new {@code GET} request without any additional headers.
+     *
+     * @param path request path relative to the base URI of the load target.
+     * @return new {@code GET} request.
+     */
+    public static LoadRequest get(final String path) {
+        return builder("GET", path).build();
+    }
+
+    /**
+     * Create a new request builder.
+     *
+     * @param method request method.
+     * @param path request path relative to the base URI of the load target.
+     * @return new request builder.
+     */
+    public static Builder builder(final String method, final String path) {
+        return new Builder(method, path);
+    }
+
+    /**
+     * Get the request method.
+     *
+     * @return request method.
+     */
+    public String getMethod() {
+        return method;
+    }
+
+    /**
+     * Get the request path relative to the base URI of the load target.
+     *
+     * @return relative request path.
+     */
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Get the request headers.
+     *
+     * @return immutable request headers.
+     */
+    public ListMultimap<String, String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Get the request entity.
+     *
+     * @return request entity or {@code null} if the request does not have an entity.
+     */
+    public Object getEntity() {
+        return entity;
+    }
+
+    /**
+     * Get the media type of the request entity.
+     *
+     * @return request entity media type or {@code null} if the request does not have
+     *         an entity.
+     */
+    public MediaType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * Resolve the request URI against a base URI.
+     *
+     * @param baseUri base URI of the load target. A missing trailing slash of
+     *                the base URI path is assumed.
+     * @return absolute request URI.
+     */
+    public URI resolve(final URI baseUri) {
+        final String base = baseUri.toString();
+        final String relative = path.startsWith("/") ? path.substring(1) : path;
+        return URI.create(base.endsWith("/") ? base + relative : base + '/' + relative);
+    }
+
+    @Override
+    public String toString() {
+        return method + ' ' + path;
+    }
+
+    /**
+     * {@link LoadRequest} builder.
+     */
+    public static final class Builder {
+
+        private final String method;
+        private final String path;
+        private final ImmutableListMultimap.Builder<String, String> headers = ImmutableListMultimap.builder();
+        private Object entity;
+        private MediaType entityType;
+
+        private Builder(final String method, final String path) {
+            if (method == null || path == null) {
+                throw new IllegalArgumentException("Request method and path must not be null.");
+            }
+            this.method = method;
+            this.path = path;
+        }
+
+        /**
+         * Add a request header value.
+         *
+         * @param name header name.
+         * @param value header value.
+         * @return updated builder.
+         */
+        public Builder header(final String name, final String value) {
+            headers.put(name, value);
+            return this;
+        }
+
+        /**
+         * Add an {@code Accept} header value.
+         *
+         * @param mediaType accepted media type.
+         * @return updated builder.
+         */
+        public Builder accept(final MediaType mediaType) {
+            return header("Accept", mediaType.toString());
+        }
+
+        /**
+         * Set the request entity.
+         *
+         * @param entity request entity.
+         * @param mediaType media type of the request entity.
+         * @return updated builder.
+         */
+        public Builder entity(final Object entity, final MediaType mediaType) {
+            this.entity = entity;
+            this.entityType = mediaType;
+            return this;
+        }
+
+        /**
+         * Build the request.
+         *
+         * @return new immutable request.
+         */
+        public LoadRequest build() {
+            return new LoadRequest(this);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.test.load;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * {@link LoadGenerator} tests.
+ */
+public class LoadGeneratorTest {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+
+    @Path("echo")
+    public static class EchoResource {
+
+        @GET
+        @Produces("text/plain")
+        public String get() {
+            return "echo";
+        }
+
+        @POST
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        public String post(String entity) {
+            return entity;
+        }
+    }
+
+    private LoadTarget target;
+
+    @Before
+    public void setUp() {
+        target = new InProcessLoadTarget(new ApplicationHandler(new ResourceConfig(EchoResource.class)), BASE_URI);
+    }
+
+    @Test
+    public void testClosedLoop() throws Exception {
+        final LoadReport report = LoadGenerator.builder()
+                .target(target)
+                .request(LoadRequest.builder("GET", "echo").accept(MediaType.TEXT_PLAIN_TYPE).build(), 3)
+                .request(LoadRequest.builder("POST", "echo").entity("hello", MediaType.TEXT_PLAIN_TYPE).build(), 1)
+                .request(LoadRequest.get("missing"), 1)
+                .virtualClients(4)
+                .warmUp(200, TimeUnit.MILLISECONDS)
+                .duration(500, TimeUnit.MILLISECONDS)
+                .build()
+                .run();
+
+        assertEquals(0, report.getErrorCount());
+        assertNull(report.getFirstError());
+        assertEquals(0, report.getDroppedCount());
+        assertTrue(report.getRequestCount() > 0);
+        assertEquals(report.getRequestCount(), report.getResponseCount());
+        assertTrue(report.getStatusCounts().get(200) > 0);
+        assertTrue(report.getStatusCounts().get(404) > 0);
+        assertEquals(report.getResponseCount() - report.getStatusCounts().get(404), report.getSuccessCount());
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getLatencyPercentile(50, TimeUnit.MICROSECONDS)
+                <= report.getLatencyPercentile(99, TimeUnit.MICROSECONDS));
+        assertTrue(report.getLatencyPercentile(99, TimeUnit.MICROSECONDS) <= report.getMaxLatency(TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void testOpenLoop() throws Exception {
+        final LoadReport report = LoadGenerator.builder()
+                .target(target)
+                .request(LoadRequest.get("echo"))
+                .arrivalRate(200)
+                .poissonArrivals(true)
+                .duration(500, TimeUnit.MILLISECONDS)
+                .build()
+                .run();
+
+        assertEquals(0, report.getErrorCount());
+        assertTrue(report.getRequestCount() > 0);
+        assertEquals(report.getRequestCount(), report.getSuccessCount());
+        assertEquals(500, report.getDuration(TimeUnit.MILLISECONDS));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEmptyRequestMix() {
+        LoadGenerator.builder().target(target).build();
+    }
+
+    @Test
+    public void testRequestUriResolution() {
+        assertEquals(URI.create("http://localhost:9998/app/items?id=1"),
+                LoadRequest.get("/items?id=1").resolve(URI.create("http://localhost:9998/app")));
+        assertEquals(URI.create("http://localhost:9998/app/items"),
+                LoadRequest.get("items").resolve(URI.create("http://localhost:9998/app/")));
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.benchmarks;
+
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.Target;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.client.JerseyClient;
+import org.glassfish.jersey.client.JerseyClientFactory;
+import org.glassfish.jersey.message.internal.Requests;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.test.inmemory.internal.InMemoryTransport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * In-process request processing benchmark.
+ * <p>
+ * Measures the complete server-side request processing of {@link ApplicationHandler#apply(javax.ws.rs.core.Request)}
+ * for an annotated resource as well as a full client-server round trip through the
+ * {@link InMemoryTransport in-memory transport}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ApplicationHandlerBenchmark {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+    private static final URI HELLO_URI = BASE_URI.resolve("hello");
+    private static final URI HELLO_NAME_URI = BASE_URI.resolve("hello/jersey");
+
+    @Path("hello")
+    public static class HelloResource {
+
+        @GET
+        @Produces("text/plain")
+        public String get() {
+            return "Hello World!";
+        }
+
+        @GET
+        @Path("{name}")
+        @Produces("text/plain")
+        public String getName(@PathParam("name") String name) {
+            return name;
+        }
+
+        @POST
+        @Consumes("text/plain")
+        @Produces("text/plain")
+        public String post(String entity) {
+            return entity;
+        }
+    }
+
+    private ApplicationHandler handler;
+    private JerseyClient client;
+    private Target hello;
+
+    @Setup
+    public void setup() {
+        handler = new ApplicationHandler(new ResourceConfig(HelloResource.class));
+        client = JerseyClientFactory.clientBuilder().transport(new InMemoryTransport(BASE_URI, handler)).build();
+        hello = client.target(BASE_URI).path("hello");
+    }
+
+    @TearDown
+    public void tearDown() {
+        client.close();
+    }
+
+    @Benchmark
+    public Response serverGet() throws InterruptedException, ExecutionException {
+        return handler.apply(Requests.from(BASE_URI, HELLO_URI, "GET").accept(MediaType.TEXT_PLAIN_TYPE).build()).get();
+    }
+
+    @Benchmark
+    public Response serverGetPathParam() throws InterruptedException, ExecutionException {
+        return handler.apply(Requests.from(BASE_URI, HELLO_NAME_URI, "GET").build()).get();
+    }
+
+    @Benchmark
+    public Response serverPost() throws InterruptedException, ExecutionException {
+        return handler.apply(Requests.from(BASE_URI, HELLO_URI, "POST")
+                .entity("Hello Jersey!").type(MediaType.TEXT_PLAIN_TYPE).build()).get();
+    }
+
+    @Benchmark
+    public String clientGet() {
+        return hello.request(MediaType.TEXT_PLAIN_TYPE).get(String.class);
+    }
+
+    @Benchmark
+    public String clientPost() {
+        return hello.request(MediaType.TEXT_PLAIN_TYPE).post(Entity.text("Hello Jersey!"), String.class);
+    }
+}
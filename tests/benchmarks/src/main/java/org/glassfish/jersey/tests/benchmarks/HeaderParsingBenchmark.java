@@ -0,0 +1,130 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.benchmarks;
+
+import java.net.URI;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Cookie;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+
+import org.glassfish.jersey.message.internal.Requests;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * HTTP header parsing benchmark.
+ * <p>
+ * The header values are parsed using the public JAX-RS header delegates and the typed
+ * request header accessors, both of which are backed by the internal {@code HttpHeaderReader}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class HeaderParsingBenchmark {
+
+    private static final URI REQUEST_URI = URI.create("http://localhost/");
+
+    private static final String MEDIA_TYPE = "application/json;charset=UTF-8";
+    private static final String ACCEPT = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+    private static final String ACCEPT_LANGUAGE = "en-US,en;q=0.8,cs;q=0.6";
+    private static final String CACHE_CONTROL = "no-cache, no-store, max-age=0, must-revalidate";
+    private static final String ENTITY_TAG = "W/\"686897696a7c876b7e\"";
+    private static final String COOKIES = "JSESSIONID=a1b2c3d4e5f6; theme=dark; $Version=1; lang=en";
+    private static final String DATE = "Sun, 06 Nov 1994 08:49:37 GMT";
+
+    @Benchmark
+    public MediaType mediaType() {
+        return MediaType.valueOf(MEDIA_TYPE);
+    }
+
+    @Benchmark
+    public CacheControl cacheControl() {
+        return CacheControl.valueOf(CACHE_CONTROL);
+    }
+
+    @Benchmark
+    public EntityTag entityTag() {
+        return EntityTag.valueOf(ENTITY_TAG);
+    }
+
+    @Benchmark
+    public List<MediaType> acceptableMediaTypes() {
+        return request().header("Accept", ACCEPT).build().getHeaders().getAcceptableMediaTypes();
+    }
+
+    @Benchmark
+    public List<Locale> acceptableLanguages() {
+        return request().header("Accept-Language", ACCEPT_LANGUAGE).build().getHeaders().getAcceptableLanguages();
+    }
+
+    @Benchmark
+    public Map<String, Cookie> cookies() {
+        return request().header("Cookie", COOKIES).build().getHeaders().getCookies();
+    }
+
+    @Benchmark
+    public Date date() {
+        return request().header("Date", DATE).build().getHeaders().getDate();
+    }
+
+    private static Request.RequestBuilder request() {
+        return Requests.from(REQUEST_URI, "GET");
+    }
+}
@@ -1,7 +1,7 @@
 /*
  * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
  *
- * Copyright (c) 2010-2012 Oracle and/or its affiliates. All rights reserved.
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
  *
  * The contents of this file are subject to the terms of either the GNU
  * General Public License Version 2 only ("GPL") or the Common Development
@@ -37,53 +37,31 @@
  * only if the new code is made subject to such option by the copyright
  * holder.
  */
-package org.glassfish.jersey.media.json.internal;
+package org.glassfish.jersey.tests.benchmarks;
 
-import java.io.IOException;
-import java.io.OutputStream;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlRootElement;
 
 /**
- * Output stream that buffers the written chunks of bytes and makes them available
- * for reading/retrieval.
- *
- * @author Jakub Podlesak
+ * Simple JAXB bean used by the entity related benchmarks.
  */
-public class BufferingInputOutputStream extends OutputStream {
-
-    private final Queue<byte[]> buffers = new LinkedList<byte[]>();
-
-    @Override
-    public void write(int b) throws IOException {
-        byte[] buffer = new byte[1];
-        buffer[0] = (byte) b;
-        buffers.add(buffer);
-    }
+@XmlRootElement
+public class JaxbBean {
 
-    @Override
-    public void write(byte[] b) throws IOException {
-        buffers.add(b);
-    }
-
-    @Override
-    public void write(byte[] b, int off, int len) throws IOException {
-        if (len > 0) {
-            byte[] buffer = new byte[len];
-            System.arraycopy(b, off, buffer, 0, len);
-            buffers.add(buffer);
-        }
-    }
+    public String name;
+    public int count;
+    public List<String> tags = new ArrayList<String>();
 
-    public byte[] nextBytes() {
-        return buffers.poll();
+    public JaxbBean() {
     }
 
-    public int available() {
-        if (buffers.isEmpty()) {
-            return 0;
-        } else {
-            return buffers.peek().length;
+    public JaxbBean(String name, int count, String... tags) {
+        this.name = name;
+        this.count = count;
+        for (String tag : tags) {
+            this.tags.add(tag);
         }
     }
 }
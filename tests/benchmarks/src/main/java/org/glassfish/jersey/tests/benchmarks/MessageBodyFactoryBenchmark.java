@@ -0,0 +1,126 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.benchmarks;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+
+import org.glassfish.jersey.media.json.JsonJaxbModule;
+import org.glassfish.jersey.message.MessageBodyWorkers;
+import org.glassfish.jersey.message.internal.MessageBodyFactory;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link MessageBodyFactory} message body reader and writer lookup benchmark.
+ * <p>
+ * The factory is created for the providers of an application with the JSON JAXB support
+ * enabled so that the lookups have to choose among the built-in as well as the JSON providers.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class MessageBodyFactoryBenchmark {
+
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+    private static final List<MediaType> ACCEPTABLE_TYPES = Arrays.asList(
+            MediaType.valueOf("application/xhtml+xml"),
+            MediaType.APPLICATION_JSON_TYPE,
+            MediaType.WILDCARD_TYPE);
+
+    private MessageBodyWorkers workers;
+
+    @Setup
+    public void setup() {
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig().addModules(new JsonJaxbModule()));
+        workers = new MessageBodyFactory(handler.getServiceProviders());
+    }
+
+    @Benchmark
+    public MessageBodyWriter<String> stringWriter() {
+        return workers.getMessageBodyWriter(String.class, String.class, NO_ANNOTATIONS, MediaType.TEXT_PLAIN_TYPE);
+    }
+
+    @Benchmark
+    public MessageBodyReader<String> stringReader() {
+        return workers.getMessageBodyReader(String.class, String.class, NO_ANNOTATIONS, MediaType.TEXT_PLAIN_TYPE);
+    }
+
+    @Benchmark
+    public MessageBodyWriter<byte[]> byteArrayWildcardWriter() {
+        return workers.getMessageBodyWriter(byte[].class, byte[].class, NO_ANNOTATIONS, MediaType.WILDCARD_TYPE);
+    }
+
+    @Benchmark
+    public MessageBodyWriter<JaxbBean> jaxbJsonWriter() {
+        return workers.getMessageBodyWriter(JaxbBean.class, JaxbBean.class, NO_ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE);
+    }
+
+    @Benchmark
+    public MessageBodyReader<JaxbBean> jaxbXmlReader() {
+        return workers.getMessageBodyReader(JaxbBean.class, JaxbBean.class, NO_ANNOTATIONS, MediaType.APPLICATION_XML_TYPE);
+    }
+
+    @Benchmark
+    public MediaType jaxbWriterMediaType() {
+        return workers.getMessageBodyWriterMediaType(JaxbBean.class, JaxbBean.class, NO_ANNOTATIONS, ACCEPTABLE_TYPES);
+    }
+}
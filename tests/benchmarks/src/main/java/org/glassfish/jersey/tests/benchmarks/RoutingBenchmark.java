@@ -0,0 +1,172 @@
+/*
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright (c) 2012 Oracle and/or its affiliates. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of either the GNU
+ * General Public License Version 2 only ("GPL") or the Common Development
+ * and Distribution License("CDDL") (collectively, the "License").  You
+ * may not use this file except in compliance with the License.  You can
+ * obtain a copy of the License at
+ * http://glassfish.java.net/public/CDDL+GPL_1_1.html
+ * or packager/legal/LICENSE.txt.  See the License for the specific
+ * language governing permissions and limitations under the License.
+ *
+ * When distributing the software, include this License Header Notice in each
+ * file and include the License file at packager/legal/LICENSE.txt.
+ *
+ * GPL Classpath Exception:
+ * Oracle designates this particular file as subject to the "Classpath"
+ * exception as provided by Oracle in the GPL Version 2 section of the License
+ * file that accompanied this code.
+ *
+ * Modifications:
+ * If applicable, add the following below the License Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyright [year] [name of copyright owner]"
+ *
+ * Contributor(s):
+ * If you wish your version of this file to be governed by only the CDDL or
+ * only the GPL Version 2, indicate your decision by adding "[Contributor]
+ * elects to include this software in this distribution under the [CDDL or GPL
+ * Version 2] license."  If you don't indicate a single choice of license, a
+ * recipient has the option to distribute your version of this file under
+ * either the CDDL, the GPL Version 2 or to extend the choice of license to
+ * its licensees as provided above.  However, if you add GPL Version 2 code
+ * and therefore, elected the GPL Version 2 license, then the option applies
+ * only if the new code is made subject to such option by the copyright
+ * holder.
+ */
+package org.glassfish.jersey.tests.benchmarks;
+
+import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.message.internal.Requests;
+import org.glassfish.jersey.message.internal.Responses;
+import org.glassfish.jersey.process.Inflector;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.model.Resource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Sets;
+
+/**
+ * Resource matching benchmark with synthetic route tables.
+ * <p>
+ * The application consists of the configured number of programmatic resources, each bound to
+ * a {@code route<n>/{id}} path template and handling a {@code GET} producing {@code text/plain},
+ * a {@code GET} producing {@code application/json} and a {@code PUT} consuming {@code text/plain}.
+ * The routing tree the {@link ApplicationHandler} builds for the model is therefore formed by
+ * one pattern route per resource (matched by the {@code PatternRouteAcceptor}) with a
+ * {@code MethodSelectingAcceptor} choosing among the resource methods. The resource method
+ * inflectors return an empty response so that the measured time is dominated by the routing.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+    private static final MediaType TEXT_PLAIN_UTF8 = MediaType.valueOf("text/plain;charset=UTF-8");
+
+    /**
+     * Number of resources in the application.
+     */
+    @Param({"10", "100", "1000", "5000"})
+    public int routes;
+
+    private ApplicationHandler handler;
+    private URI firstRoute;
+    private URI middleRoute;
+    private URI lastRoute;
+    private URI missingRoute;
+
+    @Setup
+    public void setup() {
+        final Inflector<Request, Response> inflector = new Inflector<Request, Response>() {
+
+            @Override
+            public Response apply(Request request) {
+                return Responses.empty().status(200).build();
+            }
+        };
+
+        final Set<Resource> resources = Sets.newHashSet();
+        for (int i = 0; i < routes; i++) {
+            final Resource.Builder resourceBuilder = Resource.builder(routePath(i) + "/{id}");
+            resourceBuilder.addMethod("GET").produces(MediaType.TEXT_PLAIN_TYPE).handledBy(inflector);
+            resourceBuilder.addMethod("GET").produces(MediaType.APPLICATION_JSON_TYPE).handledBy(inflector);
+            resourceBuilder.addMethod("PUT").consumes(MediaType.TEXT_PLAIN_TYPE).handledBy(inflector);
+            resources.add(resourceBuilder.build());
+        }
+        handler = new ApplicationHandler(new ResourceConfig().addResources(resources));
+
+        firstRoute = BASE_URI.resolve(routePath(0) + "/1");
+        middleRoute = BASE_URI.resolve(routePath(routes / 2) + "/1");
+        lastRoute = BASE_URI.resolve(routePath(routes - 1) + "/1");
+        missingRoute = BASE_URI.resolve("missing/1");
+    }
+
+    private static String routePath(int index) {
+        return "route" + index;
+    }
+
+    @Benchmark
+    public Response matchFirst() throws InterruptedException, ExecutionException {
+        return get(firstRoute);
+    }
+
+    @Benchmark
+    public Response matchMiddle() throws InterruptedException, ExecutionException {
+        return get(middleRoute);
+    }
+
+    @Benchmark
+    public Response matchLast() throws InterruptedException, ExecutionException {
+        return get(lastRoute);
+    }
+
+    @Benchmark
+    public Response matchMissing() throws InterruptedException, ExecutionException {
+        return get(missingRoute);
+    }
+
+    @Benchmark
+    public Response selectByAcceptHeader() throws InterruptedException, ExecutionException {
+        return handler.apply(Requests.from(BASE_URI, lastRoute, "GET")
+                .accept("application/json;q=0.9", "text/plain;q=0.5").build()).get();
+    }
+
+    @Benchmark
+    public Response selectByContentType() throws InterruptedException, ExecutionException {
+        return handler.apply(Requests.from(BASE_URI, lastRoute, "PUT")
+                .entity("data").type(TEXT_PLAIN_UTF8).build()).get();
+    }
+
+    private Response get(final URI uri) throws InterruptedException, ExecutionException {
+        return handler.apply(Requests.from(BASE_URI, uri, "GET").accept(MediaType.TEXT_PLAIN_TYPE).build()).get();
+    }
+}